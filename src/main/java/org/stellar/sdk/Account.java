@@ -4,7 +4,8 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
  * Represents an account in Stellar network with it's sequence number.
- * Account object is required to build a {@link Transaction}.
+ * Account object is required to build a {@link Transaction}. It is thread-safe, concurrent
+ * {@link org.stellar.sdk.Transaction.Builder#build()} calls get consecutive sequence numbers.
  * @see org.stellar.sdk.Transaction.Builder
  */
 public class Account implements TransactionBuilderAccount {
@@ -27,19 +28,19 @@ public class Account implements TransactionBuilderAccount {
   }
 
   @Override
-  public Long getSequenceNumber() {
+  public synchronized Long getSequenceNumber() {
     return mSequenceNumber;
   }
 
   @Override
-  public Long getIncrementedSequenceNumber() {
+  public synchronized Long getIncrementedSequenceNumber() {
     return new Long(mSequenceNumber + 1);
   }
 
   /**
    * Increments sequence number in this object by one.
    */
-  public void incrementSequenceNumber() {
+  public synchronized void incrementSequenceNumber() {
     mSequenceNumber++;
   }
 }
@@ -0,0 +1,300 @@
+package org.stellar.sdk;
+
+import org.stellar.sdk.requests.EventListener;
+import org.stellar.sdk.requests.ManagedStream;
+import org.stellar.sdk.requests.StreamManager;
+import org.stellar.sdk.responses.operations.AccountMergeOperationResponse;
+import org.stellar.sdk.responses.operations.AllowTrustOperationResponse;
+import org.stellar.sdk.responses.operations.ChangeTrustOperationResponse;
+import org.stellar.sdk.responses.operations.CreateAccountOperationResponse;
+import org.stellar.sdk.responses.operations.OperationResponse;
+import org.stellar.sdk.responses.operations.PathPaymentOperationResponse;
+import org.stellar.sdk.responses.operations.PaymentOperationResponse;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Watches many accounts over a single stream. All payments (or all operations) are streamed once through a
+ * {@link StreamManager} and every event is passed to the listeners of the accounts it involves.
+ * Accounts can be subscribed and unsubscribed at any time.
+ * <p>An operation involves its source account and the accounts it sends to or changes, e.g. the destination
+ * of a payment or the funder of a created account. A listener subscribed to several involved accounts
+ * receives the operation once.</p>
+ * <p>Listeners are called on the stream's thread. An exception thrown by one listener does not stop others
+ * from receiving the event, it is counted in {@link #getListenerErrors()}.</p>
+ * <p>Example:</p>
+ * <pre>
+ * AccountWatcher watcher = new AccountWatcher.Builder(server, streamManager).build();
+ * watcher.subscribe(KeyPair.fromAccountId(accountId), new EventListener&lt;OperationResponse&gt;() {
+ *   public void onEvent(OperationResponse operation) {
+ *     credit(accountId, operation);
+ *   }
+ * });
+ * </pre>
+ */
+public class AccountWatcher implements Closeable {
+  private final Server mServer;
+  private final StreamManager mManager;
+  private final String mCursor;
+  private final boolean mAllOperations;
+  // Listener lists are copied on write so events are dispatched without locking
+  private final ConcurrentMap<AccountKey, CopyOnWriteArrayList<EventListener<OperationResponse>>> mListeners =
+          new ConcurrentHashMap<AccountKey, CopyOnWriteArrayList<EventListener<OperationResponse>>>();
+  private final AtomicLong mListenerErrors = new AtomicLong();
+  private ManagedStream<OperationResponse> mStream;
+
+  private AccountWatcher(Builder builder) {
+    mServer = builder.mServer;
+    mManager = builder.mManager;
+    mCursor = builder.mCursor;
+    mAllOperations = builder.mAllOperations;
+  }
+
+  /**
+   * Returns the underlying stream, e.g. to check its health or save its cursor.
+   */
+  public ManagedStream<OperationResponse> getStream() {
+    return mStream;
+  }
+
+  /**
+   * Returns number of accounts with at least one listener.
+   */
+  public int getWatchedAccounts() {
+    return mListeners.size();
+  }
+
+  /**
+   * Returns number of exceptions thrown by listeners.
+   */
+  public long getListenerErrors() {
+    return mListenerErrors.get();
+  }
+
+  public boolean isWatched(KeyPair account) {
+    checkNotNull(account, "account cannot be null");
+    return mListeners.containsKey(new AccountKey(account.getPublicKey()));
+  }
+
+  /**
+   * Passes operations involving <code>account</code> to <code>listener</code>.
+   * @param account account to watch
+   * @param listener listener of the account's operations
+   */
+  public synchronized void subscribe(KeyPair account, EventListener<OperationResponse> listener) {
+    checkNotNull(account, "account cannot be null");
+    checkNotNull(listener, "listener cannot be null");
+    AccountKey key = new AccountKey(account.getPublicKey().clone());
+    CopyOnWriteArrayList<EventListener<OperationResponse>> listeners = mListeners.get(key);
+    if (listeners == null) {
+      listeners = new CopyOnWriteArrayList<EventListener<OperationResponse>>();
+      mListeners.put(key, listeners);
+    }
+    listeners.add(listener);
+  }
+
+  /**
+   * Stops passing operations involving <code>account</code> to <code>listener</code>.
+   * @param account watched account
+   * @param listener listener of the account's operations
+   */
+  public synchronized void unsubscribe(KeyPair account, EventListener<OperationResponse> listener) {
+    checkNotNull(account, "account cannot be null");
+    AccountKey key = new AccountKey(account.getPublicKey());
+    CopyOnWriteArrayList<EventListener<OperationResponse>> listeners = mListeners.get(key);
+    if (listeners == null) {
+      return;
+    }
+    // Listeners are compared by identity, writes are serialized by this monitor
+    for (int i = listeners.size() - 1; i >= 0; i--) {
+      if (listeners.get(i) == listener) {
+        listeners.remove(i);
+      }
+    }
+    if (listeners.isEmpty()) {
+      mListeners.remove(key);
+    }
+  }
+
+  /**
+   * Removes all listeners of <code>account</code>.
+   * @param account watched account
+   */
+  public synchronized void unsubscribe(KeyPair account) {
+    checkNotNull(account, "account cannot be null");
+    mListeners.remove(new AccountKey(account.getPublicKey()));
+  }
+
+  /**
+   * Closes the stream, listeners receive no more operations.
+   */
+  @Override
+  public void close() {
+    mStream.close();
+  }
+
+  private void start() {
+    EventListener<OperationResponse> dispatcher = new EventListener<OperationResponse>() {
+      @Override
+      public void onEvent(OperationResponse operation) {
+        dispatch(operation);
+      }
+    };
+    if (mAllOperations) {
+      mStream = mServer.operations().cursor(mCursor).stream(mManager, dispatcher);
+    } else {
+      mStream = mServer.payments().cursor(mCursor).stream(mManager, dispatcher);
+    }
+  }
+
+  void dispatch(OperationResponse operation) {
+    if (mListeners.isEmpty()) {
+      return;
+    }
+    List<EventListener<OperationResponse>> notified = null;
+    for (KeyPair account : involvedAccounts(operation)) {
+      if (account == null) {
+        continue;
+      }
+      List<EventListener<OperationResponse>> listeners = mListeners.get(new AccountKey(account.getPublicKey()));
+      if (listeners == null) {
+        continue;
+      }
+      if (notified == null) {
+        notified = new ArrayList<EventListener<OperationResponse>>(listeners.size());
+      }
+      for (EventListener<OperationResponse> listener : listeners) {
+        if (contains(notified, listener)) {
+          continue;
+        }
+        notified.add(listener);
+        try {
+          listener.onEvent(operation);
+        } catch (RuntimeException e) {
+          mListenerErrors.incrementAndGet();
+        }
+      }
+    }
+  }
+
+  private static boolean contains(List<EventListener<OperationResponse>> listeners, EventListener<OperationResponse> listener) {
+    for (EventListener<OperationResponse> existing : listeners) {
+      if (existing == listener) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static KeyPair[] involvedAccounts(OperationResponse operation) {
+    KeyPair source = operation.getSourceAccount();
+    if (operation instanceof PaymentOperationResponse) {
+      PaymentOperationResponse payment = (PaymentOperationResponse) operation;
+      return new KeyPair[] {source, payment.getFrom(), payment.getTo()};
+    } else if (operation instanceof PathPaymentOperationResponse) {
+      PathPaymentOperationResponse payment = (PathPaymentOperationResponse) operation;
+      return new KeyPair[] {source, payment.getFrom(), payment.getTo()};
+    } else if (operation instanceof CreateAccountOperationResponse) {
+      CreateAccountOperationResponse createAccount = (CreateAccountOperationResponse) operation;
+      return new KeyPair[] {source, createAccount.getFunder(), createAccount.getAccount()};
+    } else if (operation instanceof AccountMergeOperationResponse) {
+      AccountMergeOperationResponse merge = (AccountMergeOperationResponse) operation;
+      return new KeyPair[] {source, merge.getAccount(), merge.getInto()};
+    } else if (operation instanceof AllowTrustOperationResponse) {
+      AllowTrustOperationResponse allowTrust = (AllowTrustOperationResponse) operation;
+      return new KeyPair[] {source, allowTrust.getTrustee(), allowTrust.getTrustor()};
+    } else if (operation instanceof ChangeTrustOperationResponse) {
+      return new KeyPair[] {source, ((ChangeTrustOperationResponse) operation).getTrustor()};
+    }
+    return new KeyPair[] {source};
+  }
+
+  /**
+   * Index key wrapping raw ed25519 public key bytes.
+   */
+  private static final class AccountKey {
+    private final byte[] mKey;
+    private final int mHash;
+
+    AccountKey(byte[] key) {
+      mKey = key;
+      // Public keys are uniformly distributed, their first four bytes are a good hash
+      mHash = ((key[0] & 0xff) << 24) | ((key[1] & 0xff) << 16) | ((key[2] & 0xff) << 8) | (key[3] & 0xff);
+    }
+
+    @Override
+    public int hashCode() {
+      return mHash;
+    }
+
+    @Override
+    public boolean equals(Object object) {
+      if (this == object) {
+        return true;
+      }
+      if (!(object instanceof AccountKey)) {
+        return false;
+      }
+      AccountKey other = (AccountKey) object;
+      return mHash == other.mHash && Arrays.equals(mKey, other.mKey);
+    }
+  }
+
+  /**
+   * Builds a new AccountWatcher object.
+   */
+  public static class Builder {
+    private final Server mServer;
+    private final StreamManager mManager;
+    private String mCursor = "now";
+    private boolean mAllOperations;
+
+    /**
+     * Creates a new AccountWatcher builder.
+     * @param server server to stream operations from
+     * @param manager {@link StreamManager} opening the stream
+     */
+    public Builder(Server server, StreamManager manager) {
+      mServer = checkNotNull(server, "server cannot be null");
+      mManager = checkNotNull(manager, "manager cannot be null");
+    }
+
+    /**
+     * Sets paging token the stream starts after. Defaults to <code>now</code>.
+     * @param cursor
+     * @return Builder object so you can chain methods.
+     */
+    public Builder setCursor(String cursor) {
+      mCursor = checkNotNull(cursor, "cursor cannot be null");
+      return this;
+    }
+
+    /**
+     * Streams all operations instead of payments only, e.g. to watch trustline changes.
+     * @param allOperations
+     * @return Builder object so you can chain methods.
+     */
+    public Builder setAllOperations(boolean allOperations) {
+      mAllOperations = allOperations;
+      return this;
+    }
+
+    /**
+     * Opens the stream.
+     */
+    public AccountWatcher build() {
+      AccountWatcher watcher = new AccountWatcher(this);
+      watcher.start();
+      return watcher;
+    }
+  }
+}
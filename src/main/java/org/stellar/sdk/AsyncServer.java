@@ -0,0 +1,243 @@
+package org.stellar.sdk;
+
+import com.google.common.util.concurrent.ListenableFuture;
+
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.stellar.sdk.requests.AccountsRequestBuilder;
+import org.stellar.sdk.requests.EffectsRequestBuilder;
+import org.stellar.sdk.requests.HttpClientConfig;
+import org.stellar.sdk.requests.LedgersRequestBuilder;
+import org.stellar.sdk.requests.OffersRequestBuilder;
+import org.stellar.sdk.requests.OperationsRequestBuilder;
+import org.stellar.sdk.requests.OrderBookRequestBuilder;
+import org.stellar.sdk.requests.PathsRequestBuilder;
+import org.stellar.sdk.requests.PaymentsRequestBuilder;
+import org.stellar.sdk.requests.TradesRequestBuilder;
+import org.stellar.sdk.requests.TransactionsRequestBuilder;
+import org.stellar.sdk.responses.AccountResponse;
+import org.stellar.sdk.responses.LedgerResponse;
+import org.stellar.sdk.responses.OfferResponse;
+import org.stellar.sdk.responses.OrderBookResponse;
+import org.stellar.sdk.responses.Page;
+import org.stellar.sdk.responses.PathResponse;
+import org.stellar.sdk.responses.SubmitTransactionResponse;
+import org.stellar.sdk.responses.TradeResponse;
+import org.stellar.sdk.responses.TransactionResponse;
+import org.stellar.sdk.responses.effects.EffectResponse;
+import org.stellar.sdk.responses.operations.OperationResponse;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URISyntaxException;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Sends requests of a {@link Server} without blocking the caller. Every method returns a
+ * {@link ListenableFuture} completed with the response or failed with the exception the
+ * blocking method would throw.
+ * <p>Requests are sent by a non-blocking {@link CloseableHttpAsyncClient}, so thousands of requests
+ * can be in flight on a few I/O threads. Requests over the connection limits of the client wait
+ * for a free connection. Responses are parsed on the I/O threads, listeners of the returned futures
+ * should hand off long running work to their own executor.</p>
+ * <p>Pages returned by this class fetch next pages with the blocking client of the server,
+ * use {@link #nextPage(Page)} to fetch them without blocking.</p>
+ * <p>Example:</p>
+ * <pre>
+ * AsyncServer async = new AsyncServer(server, new HttpClientConfig.Builder().setMaxConnectionsPerRoute(64).build());
+ * ListenableFuture&lt;Page&lt;LedgerResponse&gt;&gt; ledgers = async.execute(server.ledgers().limit(10));
+ * </pre>
+ */
+public class AsyncServer implements Closeable {
+    private final Server mServer;
+    private final CloseableHttpAsyncClient mClient;
+    private final boolean mOwnsClient;
+
+    /**
+     * Creates a new AsyncServer using non-blocking HTTP client with default {@link HttpClientConfig}.
+     * @param server server to send requests to
+     */
+    public AsyncServer(Server server) {
+        this(server, new HttpClientConfig.Builder().build());
+    }
+
+    /**
+     * Creates a new AsyncServer using non-blocking HTTP client created from <code>config</code>.
+     * The client is closed by {@link #close()}.
+     * @param server server to send requests to
+     * @param config configuration of the HTTP client
+     */
+    public AsyncServer(Server server, HttpClientConfig config) {
+        this(server, checkNotNull(config, "config cannot be null").createHttpAsyncClient(), true);
+    }
+
+    /**
+     * Creates a new AsyncServer that sends all requests using <code>client</code>. The client must be started
+     * and is not closed by {@link #close()}.
+     * @param server server to send requests to
+     * @param client non-blocking HTTP client to use
+     */
+    public AsyncServer(Server server, CloseableHttpAsyncClient client) {
+        this(server, client, false);
+    }
+
+    private AsyncServer(Server server, CloseableHttpAsyncClient client, boolean ownsClient) {
+        mServer = checkNotNull(server, "server cannot be null");
+        mClient = checkNotNull(client, "client cannot be null");
+        mOwnsClient = ownsClient;
+    }
+
+    public Server getServer() {
+        return mServer;
+    }
+
+    /**
+     * Returns non-blocking HTTP client used by this server.
+     */
+    public CloseableHttpAsyncClient getHttpAsyncClient() {
+        return mClient;
+    }
+
+    /**
+     * Requests <code>GET /accounts/{account}</code>
+     * @see AccountsRequestBuilder#account(KeyPair)
+     */
+    public ListenableFuture<AccountResponse> account(KeyPair account) {
+        checkNotNull(account, "account cannot be null");
+        return mServer.accounts().account(mClient, account);
+    }
+
+    /**
+     * Requests <code>GET /ledgers/{ledgerSeq}</code>
+     * @see LedgersRequestBuilder#ledger(long)
+     */
+    public ListenableFuture<LedgerResponse> ledger(long ledgerSeq) {
+        return mServer.ledgers().ledger(mClient, ledgerSeq);
+    }
+
+    /**
+     * Requests <code>GET /operations/{operationId}</code>
+     * @see OperationsRequestBuilder#operation(long)
+     */
+    public ListenableFuture<OperationResponse> operation(long operationId) {
+        return mServer.operations().operation(mClient, operationId);
+    }
+
+    /**
+     * Requests <code>GET /transactions/{transactionId}</code>
+     * @see TransactionsRequestBuilder#transaction(String)
+     */
+    public ListenableFuture<TransactionResponse> transaction(String transactionId) {
+        checkNotNull(transactionId, "transactionId cannot be null");
+        return mServer.transactions().transaction(mClient, transactionId);
+    }
+
+    /**
+     * Submits transaction to the network.
+     * @see Server#submitTransaction(Transaction)
+     */
+    public ListenableFuture<SubmitTransactionResponse> submitTransaction(Transaction transaction) {
+        checkNotNull(transaction, "transaction cannot be null");
+        return mServer.submitTransaction(mClient, transaction);
+    }
+
+    /**
+     * Requests the next page of <code>page</code>. The future is completed with null when there are no more results.
+     * @see Page#getNextPage()
+     * @throws URISyntaxException when the link to the next page is invalid
+     */
+    public <T> ListenableFuture<Page<T>> nextPage(Page<T> page) throws URISyntaxException {
+        checkNotNull(page, "page cannot be null");
+        return page.getNextPage(mClient);
+    }
+
+    /**
+     * Executes <code>builder</code> request.
+     */
+    public ListenableFuture<Page<AccountResponse>> execute(AccountsRequestBuilder builder) {
+        checkNotNull(builder, "builder cannot be null");
+        return builder.execute(mClient);
+    }
+
+    /**
+     * Executes <code>builder</code> request.
+     */
+    public ListenableFuture<Page<EffectResponse>> execute(EffectsRequestBuilder builder) {
+        checkNotNull(builder, "builder cannot be null");
+        return builder.execute(mClient);
+    }
+
+    /**
+     * Executes <code>builder</code> request.
+     */
+    public ListenableFuture<Page<LedgerResponse>> execute(LedgersRequestBuilder builder) {
+        checkNotNull(builder, "builder cannot be null");
+        return builder.execute(mClient);
+    }
+
+    /**
+     * Executes <code>builder</code> request.
+     */
+    public ListenableFuture<Page<OfferResponse>> execute(OffersRequestBuilder builder) {
+        checkNotNull(builder, "builder cannot be null");
+        return builder.execute(mClient);
+    }
+
+    /**
+     * Executes <code>builder</code> request.
+     */
+    public ListenableFuture<Page<OperationResponse>> execute(OperationsRequestBuilder builder) {
+        checkNotNull(builder, "builder cannot be null");
+        return builder.execute(mClient);
+    }
+
+    /**
+     * Executes <code>builder</code> request.
+     */
+    public ListenableFuture<OrderBookResponse> execute(OrderBookRequestBuilder builder) {
+        checkNotNull(builder, "builder cannot be null");
+        return builder.execute(mClient);
+    }
+
+    /**
+     * Executes <code>builder</code> request.
+     */
+    public ListenableFuture<Page<PathResponse>> execute(PathsRequestBuilder builder) {
+        checkNotNull(builder, "builder cannot be null");
+        return builder.execute(mClient);
+    }
+
+    /**
+     * Executes <code>builder</code> request.
+     */
+    public ListenableFuture<Page<OperationResponse>> execute(PaymentsRequestBuilder builder) {
+        checkNotNull(builder, "builder cannot be null");
+        return builder.execute(mClient);
+    }
+
+    /**
+     * Executes <code>builder</code> request.
+     */
+    public ListenableFuture<Page<TradeResponse>> execute(TradesRequestBuilder builder) {
+        checkNotNull(builder, "builder cannot be null");
+        return builder.execute(mClient);
+    }
+
+    /**
+     * Executes <code>builder</code> request.
+     */
+    public ListenableFuture<Page<TransactionResponse>> execute(TransactionsRequestBuilder builder) {
+        checkNotNull(builder, "builder cannot be null");
+        return builder.execute(mClient);
+    }
+
+    /**
+     * Closes HTTP client created by this server. Clients passed to the constructor are left open.
+     */
+    @Override
+    public void close() throws IOException {
+        if (mOwnsClient) {
+            mClient.close();
+        }
+    }
+}
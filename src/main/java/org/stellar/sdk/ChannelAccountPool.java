@@ -0,0 +1,205 @@
+package org.stellar.sdk;
+
+import org.stellar.sdk.responses.SubmitTransactionResponse;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Pool of <a href="https://www.stellar.org/developers/guides/channels.html" target="_blank">channel accounts</a>.
+ * A channel account is the source of a transaction and provides its sequence number, while operations
+ * keep the real source account set with <code>setSourceAccount</code> on operation builders. Transactions
+ * using different channels can be submitted in parallel.
+ * <p>Channels are leased to a single thread at a time. Sequence numbers are loaded from Horizon on first lease
+ * and again after a channel is released with <code>resync</code> set.</p>
+ * <p>Example:</p>
+ * <pre>
+ * ChannelAccountPool pool = new ChannelAccountPool(server, channelKeyPairs);
+ * SubmitTransactionResponse response = pool.submit(new TransactionSubmissionQueue.TransactionFactory() {
+ *   public Transaction build(TransactionBuilderAccount channel) {
+ *     Transaction transaction = new Transaction.Builder(channel)
+ *         .addOperation(new PaymentOperation.Builder(destination, asset, "10").setSourceAccount(source).build())
+ *         .build();
+ *     transaction.sign(source);
+ *     return transaction;
+ *   }
+ * });
+ * </pre>
+ */
+public class ChannelAccountPool {
+  private final Server mServer;
+  private final List<ChannelAccount> mChannels;
+  private final BlockingQueue<ChannelAccount> mIdle;
+
+  /**
+   * Creates a new pool.
+   * @param server server used to load sequence numbers and submit transactions
+   * @param channels channel accounts, they must contain secret keys
+   */
+  public ChannelAccountPool(Server server, List<KeyPair> channels) {
+    mServer = checkNotNull(server, "server cannot be null");
+    checkNotNull(channels, "channels cannot be null");
+    checkArgument(channels.size() > 0, "At least one channel required");
+    List<ChannelAccount> accounts = new ArrayList<ChannelAccount>(channels.size());
+    for (KeyPair channel : channels) {
+      checkNotNull(channel, "channel cannot be null");
+      checkArgument(channel.canSign(), "Channel KeyPair does not contain secret key");
+      accounts.add(new ChannelAccount(this, channel));
+    }
+    mChannels = Collections.unmodifiableList(accounts);
+    mIdle = new LinkedBlockingQueue<ChannelAccount>(accounts);
+  }
+
+  /**
+   * Returns all channels of this pool.
+   */
+  public List<ChannelAccount> getChannels() {
+    return mChannels;
+  }
+
+  /**
+   * Returns number of channels that are not leased.
+   */
+  public int getIdleCount() {
+    return mIdle.size();
+  }
+
+  /**
+   * Leases a channel, waiting until one is released if all are in use.
+   * @return channel with an up to date sequence number
+   * @throws IOException when sequence number could not be loaded, the channel is returned to the pool
+   * @throws InterruptedException when interrupted while waiting
+   */
+  public ChannelAccount lease() throws IOException, InterruptedException {
+    return prepare(mIdle.take());
+  }
+
+  /**
+   * Leases a channel, waiting up to <code>timeout</code> if all are in use.
+   * @return channel with an up to date sequence number or null when no channel was released in time
+   * @throws IOException when sequence number could not be loaded, the channel is returned to the pool
+   * @throws InterruptedException when interrupted while waiting
+   */
+  public ChannelAccount lease(long timeout, TimeUnit unit) throws IOException, InterruptedException {
+    ChannelAccount channel = mIdle.poll(timeout, unit);
+    return channel != null ? prepare(channel) : null;
+  }
+
+  /**
+   * Returns a leased channel to the pool.
+   * @param channel leased channel
+   * @param resync <code>true</code> when the channel's sequence number may be out of sync, e.g. a transaction
+   *               was built but not submitted or failed with <code>tx_bad_seq</code>
+   */
+  public void release(ChannelAccount channel, boolean resync) {
+    checkNotNull(channel, "channel cannot be null");
+    checkArgument(channel.mPool == this, "Channel does not belong to this pool");
+    synchronized (channel) {
+      checkArgument(channel.mLeased, "Channel is not leased");
+      channel.mLeased = false;
+      if (resync) {
+        channel.mSynced = false;
+      }
+    }
+    mIdle.add(channel);
+  }
+
+  /**
+   * Leases a channel, builds a transaction with it, signs it with the channel key and submits it.
+   * The channel is released afterwards.
+   * @param factory builds the transaction from the channel account and signs it with operation source accounts
+   * @return submission response
+   * @throws IOException when the transaction could not be submitted
+   * @throws InterruptedException when interrupted while waiting for a channel
+   */
+  public SubmitTransactionResponse submit(TransactionSubmissionQueue.TransactionFactory factory) throws IOException, InterruptedException {
+    checkNotNull(factory, "factory cannot be null");
+    ChannelAccount channel = lease();
+    boolean resync = true;
+    try {
+      Transaction transaction = factory.build(channel);
+      checkNotNull(transaction, "factory returned null");
+      checkArgument(transaction.getSourceAccount().getAccountId().equals(channel.getKeypair().getAccountId()),
+              "Transaction must be built from the channel account");
+      for (Operation operation : transaction.getOperations()) {
+        checkArgument(operation.getSourceAccount() != null, "Operations must have a source account set");
+      }
+      transaction.sign(channel.getKeypair());
+      SubmitTransactionResponse response = mServer.submitTransaction(transaction);
+      resync = response == null || TransactionSubmissionQueue.isBadSequence(response);
+      return response;
+    } finally {
+      release(channel, resync);
+    }
+  }
+
+  private ChannelAccount prepare(ChannelAccount channel) throws IOException {
+    boolean prepared = false;
+    try {
+      synchronized (channel) {
+        if (!channel.mSynced) {
+          channel.mSequenceNumber = mServer.accounts().noCache().account(channel.getKeypair()).getSequenceNumber();
+          channel.mSynced = true;
+        }
+        channel.mLeased = true;
+      }
+      prepared = true;
+      return channel;
+    } finally {
+      if (!prepared) {
+        mIdle.add(channel);
+      }
+    }
+  }
+
+  /**
+   * Channel account leased from {@link ChannelAccountPool}.
+   */
+  public static class ChannelAccount implements TransactionBuilderAccount {
+    private final ChannelAccountPool mPool;
+    private final KeyPair mKeyPair;
+    private long mSequenceNumber;
+    private boolean mSynced;
+    private boolean mLeased;
+
+    ChannelAccount(ChannelAccountPool pool, KeyPair keyPair) {
+      mPool = pool;
+      mKeyPair = keyPair;
+    }
+
+    @Override
+    public KeyPair getKeypair() {
+      return mKeyPair;
+    }
+
+    @Override
+    public synchronized Long getSequenceNumber() {
+      return mSequenceNumber;
+    }
+
+    @Override
+    public synchronized Long getIncrementedSequenceNumber() {
+      return mSequenceNumber + 1;
+    }
+
+    @Override
+    public synchronized void incrementSequenceNumber() {
+      mSequenceNumber++;
+    }
+
+    /**
+     * Returns true when this channel is leased.
+     */
+    public synchronized boolean isLeased() {
+      return mLeased;
+    }
+  }
+}
@@ -11,8 +11,6 @@ import net.i2p.crypto.eddsa.spec.EdDSAPublicKeySpec;
 
 import org.stellar.sdk.xdr.*;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.security.GeneralSecurityException;
 import java.security.MessageDigest;
 import java.security.Signature;
@@ -28,6 +26,18 @@ public class KeyPair {
 
   private static final EdDSANamedCurveSpec ed25519 = EdDSANamedCurveTable.getByName("ed25519-sha-512");
 
+  // EdDSAEngine is re-initialized on every initSign/initVerify call so each thread can reuse its own engine
+  private static final ThreadLocal<Signature> sEngine = new ThreadLocal<Signature>() {
+    @Override
+    protected Signature initialValue() {
+      try {
+        return new EdDSAEngine(MessageDigest.getInstance("SHA-512"));
+      } catch (GeneralSecurityException e) {
+        throw new RuntimeException(e);
+      }
+    }
+  };
+
   private final EdDSAPublicKey mPublicKey;
   private final EdDSAPrivateKey mPrivateKey;
 
@@ -143,19 +153,13 @@ public class KeyPair {
   }
 
   public SignatureHint getSignatureHint() {
-    try {
-      ByteArrayOutputStream publicKeyBytesStream = new ByteArrayOutputStream();
-      XdrDataOutputStream xdrOutputStream = new XdrDataOutputStream(publicKeyBytesStream);
-      PublicKey.encode(xdrOutputStream, this.getXdrPublicKey());
-      byte[] publicKeyBytes = publicKeyBytesStream.toByteArray();
-      byte[] signatureHintBytes = Arrays.copyOfRange(publicKeyBytes, publicKeyBytes.length - 4, publicKeyBytes.length);
-
-      SignatureHint signatureHint = new SignatureHint();
-      signatureHint.setSignatureHint(signatureHintBytes);
-      return signatureHint;
-    } catch (IOException e) {
-      throw new AssertionError(e);
-    }
+    // Last 4 bytes of XDR encoded PublicKey are the last 4 bytes of the ed25519 key
+    byte[] publicKeyBytes = getPublicKey();
+    byte[] signatureHintBytes = Arrays.copyOfRange(publicKeyBytes, publicKeyBytes.length - 4, publicKeyBytes.length);
+
+    SignatureHint signatureHint = new SignatureHint();
+    signatureHint.setSignatureHint(signatureHintBytes);
+    return signatureHint;
   }
 
   public PublicKey getXdrPublicKey() {
@@ -194,7 +198,7 @@ public class KeyPair {
       throw new RuntimeException("KeyPair does not contain secret key. Use KeyPair.fromSecretSeed method to create a new KeyPair with a secret key.");
     }
     try {
-      Signature sgr = new EdDSAEngine(MessageDigest.getInstance("SHA-512"));
+      Signature sgr = sEngine.get();
       sgr.initSign(mPrivateKey);
       sgr.update(data);
       return sgr.sign();
@@ -228,7 +232,7 @@ public class KeyPair {
    */
   public boolean verify(byte[] data, byte[] signature) {
     try {
-      Signature sgr = new EdDSAEngine(MessageDigest.getInstance("SHA-512"));
+      Signature sgr = sEngine.get();
       sgr.initVerify(mPublicKey);
       sgr.update(data);
       return sgr.verify(signature);
@@ -0,0 +1,47 @@
+package org.stellar.sdk;
+
+import org.stellar.sdk.responses.LedgerResponse;
+import org.stellar.sdk.responses.TransactionResponse;
+import org.stellar.sdk.responses.effects.EffectResponse;
+import org.stellar.sdk.responses.operations.OperationResponse;
+
+import java.util.List;
+
+/**
+ * Closed ledger together with all its transactions, operations and effects, in the order Horizon returns them.
+ * @see LedgerBundleStream
+ */
+public class LedgerBundle {
+  private final LedgerResponse mLedger;
+  private final List<TransactionResponse> mTransactions;
+  private final List<OperationResponse> mOperations;
+  private final List<EffectResponse> mEffects;
+
+  LedgerBundle(LedgerResponse ledger, List<TransactionResponse> transactions,
+               List<OperationResponse> operations, List<EffectResponse> effects) {
+    mLedger = ledger;
+    mTransactions = transactions;
+    mOperations = operations;
+    mEffects = effects;
+  }
+
+  public long getSequence() {
+    return mLedger.getSequence();
+  }
+
+  public LedgerResponse getLedger() {
+    return mLedger;
+  }
+
+  public List<TransactionResponse> getTransactions() {
+    return mTransactions;
+  }
+
+  public List<OperationResponse> getOperations() {
+    return mOperations;
+  }
+
+  public List<EffectResponse> getEffects() {
+    return mEffects;
+  }
+}
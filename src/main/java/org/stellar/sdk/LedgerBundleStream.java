@@ -0,0 +1,308 @@
+package org.stellar.sdk;
+
+import org.stellar.sdk.requests.EventListener;
+import org.stellar.sdk.requests.ManagedStream;
+import org.stellar.sdk.requests.StreamManager;
+import org.stellar.sdk.responses.LedgerResponse;
+import org.stellar.sdk.responses.TransactionResponse;
+import org.stellar.sdk.responses.effects.EffectResponse;
+import org.stellar.sdk.responses.operations.OperationResponse;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeMap;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Streams closed ledgers as {@link LedgerBundle}s. Ledger, transaction, operation and effect streams are
+ * opened through a {@link StreamManager} and their events are grouped by ledger sequence. Bundles are
+ * delivered one at a time, in ledger order and without gaps.
+ * <p>A ledger is complete once its transaction and operation counts are reached. Its effects are taken from the
+ * effects stream when that stream already moved on to a later ledger, otherwise they are requested with
+ * <code>GET /ledgers/{sequence}/effects</code>, so a closed ledger is never held back waiting for later traffic.</p>
+ * <p>When the listener throws an exception or effects cannot be requested, the bundle is delivered again with
+ * the next received event.</p>
+ * <p>Example:</p>
+ * <pre>
+ * LedgerBundleStream stream = new LedgerBundleStream.Builder(server, streamManager, new EventListener&lt;LedgerBundle&gt;() {
+ *   public void onEvent(LedgerBundle bundle) {
+ *     accounting.commit(bundle);
+ *   }
+ * }).setStartLedger(lastCommitted + 1).build();
+ * </pre>
+ */
+public class LedgerBundleStream implements Closeable {
+  private final Server mServer;
+  private final StreamManager mManager;
+  private final EventListener<LedgerBundle> mListener;
+  private final long mStartLedger;
+  private final TreeMap<Long, PendingLedger> mPending = new TreeMap<Long, PendingLedger>();
+  private final List<ManagedStream<?>> mStreams = new ArrayList<ManagedStream<?>>();
+  private long mNextLedger;
+  private long mLastTransaction;
+  private long mLastOperation;
+  private long mLastEffectOperation;
+  private long mLastEffectIndex;
+  private long mEffectsLedger;
+  private boolean mClosed;
+
+  private LedgerBundleStream(Builder builder) {
+    mServer = builder.mServer;
+    mManager = builder.mManager;
+    mListener = builder.mListener;
+    mStartLedger = builder.mStartLedger;
+  }
+
+  /**
+   * Returns sequence of the next ledger to be delivered or 0 when no ledger was received yet.
+   */
+  public synchronized long getNextLedger() {
+    return mNextLedger;
+  }
+
+  /**
+   * Returns number of ledgers with received events that were not delivered yet.
+   */
+  public synchronized int getPendingLedgers() {
+    return mPending.size();
+  }
+
+  /**
+   * Closes all streams, no more bundles are delivered.
+   */
+  @Override
+  public void close() {
+    List<ManagedStream<?>> streams;
+    synchronized (this) {
+      mClosed = true;
+      mPending.clear();
+      streams = new ArrayList<ManagedStream<?>>(mStreams);
+      mStreams.clear();
+    }
+    for (ManagedStream<?> stream : streams) {
+      stream.close();
+    }
+  }
+
+  private synchronized void start() {
+    // Paging tokens of ledgers are their sequence shifted by 32 bits
+    String cursor = mStartLedger > 0 ? String.valueOf((mStartLedger - 1) << 32) : "now";
+    mStreams.add(mServer.ledgers().cursor(cursor).stream(mManager, new EventListener<LedgerResponse>() {
+      @Override
+      public void onEvent(LedgerResponse ledger) {
+        onLedger(ledger);
+      }
+    }));
+  }
+
+  /**
+   * Record streams are opened once the first ledger is known, so they start exactly at its first record.
+   */
+  private void openRecordStreams(long ledgerSequence) {
+    String cursor = String.valueOf(ledgerSequence << 32);
+    mStreams.add(mServer.transactions().cursor(cursor).stream(mManager, new EventListener<TransactionResponse>() {
+      @Override
+      public void onEvent(TransactionResponse transaction) {
+        onTransaction(transaction);
+      }
+    }));
+    mStreams.add(mServer.operations().cursor(cursor).stream(mManager, new EventListener<OperationResponse>() {
+      @Override
+      public void onEvent(OperationResponse operation) {
+        onOperation(operation);
+      }
+    }));
+    mStreams.add(mServer.effects().cursor(cursor).stream(mManager, new EventListener<EffectResponse>() {
+      @Override
+      public void onEvent(EffectResponse effect) {
+        onEffect(effect);
+      }
+    }));
+  }
+
+  private synchronized void onLedger(LedgerResponse ledger) {
+    if (mClosed) {
+      return;
+    }
+    long sequence = ledger.getSequence();
+    if (mNextLedger == 0) {
+      mNextLedger = sequence;
+      openRecordStreams(sequence);
+    }
+    if (sequence >= mNextLedger) {
+      pending(sequence).mLedger = ledger;
+    }
+    flush();
+  }
+
+  private synchronized void onTransaction(TransactionResponse transaction) {
+    if (mClosed) {
+      return;
+    }
+    // Events can be received again after the listener failed
+    long token = Long.parseLong(transaction.getPagingToken());
+    if (token > mLastTransaction) {
+      mLastTransaction = token;
+      if (transaction.getLedger() >= mNextLedger) {
+        pending(transaction.getLedger()).mTransactions.add(transaction);
+      }
+    }
+    flush();
+  }
+
+  private synchronized void onOperation(OperationResponse operation) {
+    if (mClosed) {
+      return;
+    }
+    long id = operation.getId();
+    if (id > mLastOperation) {
+      mLastOperation = id;
+      long sequence = id >> 32;
+      if (sequence >= mNextLedger) {
+        pending(sequence).mOperations.add(operation);
+      }
+    }
+    flush();
+  }
+
+  private synchronized void onEffect(EffectResponse effect) {
+    if (mClosed) {
+      return;
+    }
+    // Paging token of an effect is <operation id>-<effect index>
+    String[] token = effect.getPagingToken().split("-");
+    long operationId = Long.parseLong(token[0]);
+    long index = token.length > 1 ? Long.parseLong(token[1]) : 0;
+    if (operationId > mLastEffectOperation || (operationId == mLastEffectOperation && index > mLastEffectIndex)) {
+      mLastEffectOperation = operationId;
+      mLastEffectIndex = index;
+      long sequence = operationId >> 32;
+      mEffectsLedger = sequence;
+      if (sequence >= mNextLedger) {
+        PendingLedger pending = pending(sequence);
+        // Fetched effects already contain it
+        if (!pending.mEffectsFetched) {
+          pending.mEffects.add(effect);
+        }
+      }
+    }
+    flush();
+  }
+
+  private PendingLedger pending(long sequence) {
+    PendingLedger pending = mPending.get(sequence);
+    if (pending == null) {
+      pending = new PendingLedger();
+      mPending.put(sequence, pending);
+    }
+    return pending;
+  }
+
+  private void flush() {
+    while (!mClosed) {
+      PendingLedger pending = mPending.get(mNextLedger);
+      if (pending == null || !pending.hasRecords()) {
+        return;
+      }
+      if (!pending.hasEffects(mNextLedger, mEffectsLedger)) {
+        pending.setEffects(fetchEffects(mNextLedger));
+      }
+      mListener.onEvent(pending.toBundle());
+      mPending.remove(mNextLedger);
+      mNextLedger++;
+    }
+  }
+
+  /**
+   * Requests all effects of a ledger.
+   * @throws RuntimeException when a page cannot be fetched, the stream delivering the event retries
+   */
+  private List<EffectResponse> fetchEffects(long sequence) {
+    List<EffectResponse> effects = new ArrayList<EffectResponse>();
+    for (EffectResponse effect : mServer.effects().forLedger(sequence).limit(200).iterate(null)) {
+      effects.add(effect);
+    }
+    return effects;
+  }
+
+  private static class PendingLedger {
+    private LedgerResponse mLedger;
+    private final List<TransactionResponse> mTransactions = new ArrayList<TransactionResponse>();
+    private final List<OperationResponse> mOperations = new ArrayList<OperationResponse>();
+    private List<EffectResponse> mEffects = new ArrayList<EffectResponse>();
+    private boolean mEffectsFetched;
+
+    boolean hasRecords() {
+      return mLedger != null
+              && mTransactions.size() >= count(mLedger.getTransactionCount())
+              && mOperations.size() >= count(mLedger.getOperationCount());
+    }
+
+    /**
+     * Returns true when all effects of the ledger were received from the stream or fetched.
+     */
+    boolean hasEffects(long sequence, long effectsLedger) {
+      return mEffectsFetched || count(mLedger.getOperationCount()) == 0 || effectsLedger > sequence;
+    }
+
+    void setEffects(List<EffectResponse> effects) {
+      mEffects = effects;
+      mEffectsFetched = true;
+    }
+
+    LedgerBundle toBundle() {
+      return new LedgerBundle(mLedger, Collections.unmodifiableList(mTransactions),
+              Collections.unmodifiableList(mOperations), Collections.unmodifiableList(mEffects));
+    }
+
+    private static int count(Integer count) {
+      return count != null ? count : 0;
+    }
+  }
+
+  /**
+   * Builds a new LedgerBundleStream object.
+   */
+  public static class Builder {
+    private final Server mServer;
+    private final StreamManager mManager;
+    private final EventListener<LedgerBundle> mListener;
+    private long mStartLedger;
+
+    /**
+     * Creates a new LedgerBundleStream builder.
+     * @param server server to stream ledgers from
+     * @param manager {@link StreamManager} opening the streams
+     * @param listener receives ledger bundles in ledger order
+     */
+    public Builder(Server server, StreamManager manager, EventListener<LedgerBundle> listener) {
+      mServer = checkNotNull(server, "server cannot be null");
+      mManager = checkNotNull(manager, "manager cannot be null");
+      mListener = checkNotNull(listener, "listener cannot be null");
+    }
+
+    /**
+     * Sets sequence of the first delivered ledger. By default streaming starts with the next closed ledger.
+     * @param startLedger
+     * @return Builder object so you can chain methods.
+     */
+    public Builder setStartLedger(long startLedger) {
+      checkArgument(startLedger > 0, "startLedger must be positive");
+      mStartLedger = startLedger;
+      return this;
+    }
+
+    /**
+     * Opens the streams.
+     */
+    public LedgerBundleStream build() {
+      LedgerBundleStream stream = new LedgerBundleStream(this);
+      stream.start();
+      return stream;
+    }
+  }
+}
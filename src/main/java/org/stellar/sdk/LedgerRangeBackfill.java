@@ -0,0 +1,323 @@
+package org.stellar.sdk;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.stellar.sdk.requests.TooManyRequestsException;
+import org.stellar.sdk.responses.LedgerResponse;
+import org.stellar.sdk.responses.TransactionResponse;
+import org.stellar.sdk.responses.operations.OperationResponse;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Loads ledgers of a sequence range together with their transactions, operations and payments.
+ * Ledgers are fetched concurrently but handed to the {@link Sink} one by one in ledger order.
+ * <p>Only a limited window of ledgers is fetched ahead of the sink so memory use stays bounded when the sink
+ * is slower than Horizon. Requests rejected with <code>429 Too Many Requests</code> are retried after
+ * the delay sent by Horizon.</p>
+ * <p>Example:</p>
+ * <pre>
+ * new LedgerRangeBackfill.Builder(server, 1000, 2000)
+ *     .setConcurrency(8)
+ *     .setIncludeOperations(false)
+ *     .build()
+ *     .run(new LedgerRangeBackfill.Sink() {
+ *       public void onLedger(LedgerRangeBackfill.LedgerRecords records) {
+ *         store(records);
+ *       }
+ *     });
+ * </pre>
+ */
+public class LedgerRangeBackfill {
+  private final Server mServer;
+  private final long mFromLedger;
+  private final long mToLedger;
+  private final int mConcurrency;
+  private final int mWindow;
+  private final int mPageLimit;
+  private final int mMaxRetries;
+  private final boolean mIncludeTransactions;
+  private final boolean mIncludeOperations;
+  private final boolean mIncludePayments;
+
+  private LedgerRangeBackfill(Builder builder) {
+    mServer = builder.mServer;
+    mFromLedger = builder.mFromLedger;
+    mToLedger = builder.mToLedger;
+    mConcurrency = builder.mConcurrency;
+    mWindow = builder.mWindow > 0 ? builder.mWindow : builder.mConcurrency * 2;
+    mPageLimit = builder.mPageLimit;
+    mMaxRetries = builder.mMaxRetries;
+    mIncludeTransactions = builder.mIncludeTransactions;
+    mIncludeOperations = builder.mIncludeOperations;
+    mIncludePayments = builder.mIncludePayments;
+  }
+
+  public long getFromLedger() {
+    return mFromLedger;
+  }
+
+  public long getToLedger() {
+    return mToLedger;
+  }
+
+  /**
+   * Fetches all ledgers of the range and passes them to <code>sink</code> in ledger order. Returns when
+   * the last ledger was handed to the sink or after the first failure.
+   * @param sink receives ledgers in order
+   * @throws IOException when a ledger could not be fetched or the sink failed
+   * @throws InterruptedException when interrupted while waiting for ledgers
+   */
+  public void run(Sink sink) throws IOException, InterruptedException {
+    checkNotNull(sink, "sink cannot be null");
+    ExecutorService executor = Executors.newFixedThreadPool(mConcurrency,
+            new ThreadFactoryBuilder().setNameFormat("ledger-backfill-%d").setDaemon(true).build());
+    Deque<Future<LedgerRecords>> pending = new ArrayDeque<Future<LedgerRecords>>(mWindow);
+    try {
+      long next = mFromLedger;
+      while (next <= mToLedger || !pending.isEmpty()) {
+        while (next <= mToLedger && pending.size() < mWindow) {
+          pending.add(executor.submit(fetchTask(next++)));
+        }
+        sink.onLedger(await(pending.poll()));
+      }
+    } finally {
+      for (Future<LedgerRecords> future : pending) {
+        future.cancel(true);
+      }
+      executor.shutdownNow();
+    }
+  }
+
+  private Callable<LedgerRecords> fetchTask(final long sequence) {
+    return new Callable<LedgerRecords>() {
+      @Override
+      public LedgerRecords call() throws IOException, InterruptedException {
+        for (int attempt = 0; ; attempt++) {
+          try {
+            return fetch(sequence);
+          } catch (TooManyRequestsException e) {
+            if (attempt >= mMaxRetries) {
+              throw e;
+            }
+            TimeUnit.SECONDS.sleep(Math.max(1, e.getRetryAfter()));
+          }
+        }
+      }
+    };
+  }
+
+  private LedgerRecords fetch(long sequence) throws IOException {
+    LedgerResponse ledger = mServer.ledgers().ledger(sequence);
+    List<TransactionResponse> transactions = Collections.emptyList();
+    List<OperationResponse> operations = Collections.emptyList();
+    List<OperationResponse> payments = Collections.emptyList();
+    if (mIncludeTransactions) {
+      transactions = toList(mServer.transactions().forLedger(sequence).limit(mPageLimit).iterate(null));
+    }
+    if (mIncludeOperations) {
+      operations = toList(mServer.operations().forLedger(sequence).limit(mPageLimit).iterate(null));
+    }
+    if (mIncludePayments) {
+      payments = toList(mServer.payments().forLedger(sequence).limit(mPageLimit).iterate(null));
+    }
+    return new LedgerRecords(sequence, ledger, transactions, operations, payments);
+  }
+
+  private static <T> List<T> toList(Iterable<T> records) throws IOException {
+    List<T> list = new ArrayList<T>();
+    try {
+      for (T record : records) {
+        list.add(record);
+      }
+    } catch (TooManyRequestsException e) {
+      throw e;
+    } catch (RuntimeException e) {
+      // PageIterable wraps checked exceptions
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw e;
+    }
+    return Collections.unmodifiableList(list);
+  }
+
+  private static LedgerRecords await(Future<LedgerRecords> future) throws IOException, InterruptedException {
+    try {
+      return future.get();
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new IOException(cause);
+    }
+  }
+
+  /**
+   * Receives ledgers fetched by {@link LedgerRangeBackfill}.
+   */
+  public interface Sink {
+    /**
+     * Called for every ledger of the range in ledger order, always from the thread that called
+     * {@link LedgerRangeBackfill#run(Sink)}.
+     * @param records ledger with its records
+     * @throws IOException to stop the backfill
+     */
+    void onLedger(LedgerRecords records) throws IOException;
+  }
+
+  /**
+   * Ledger together with its transactions, operations and payments. Lists of records that were not
+   * requested are empty.
+   */
+  public static class LedgerRecords {
+    private final long mLedgerSequence;
+    private final LedgerResponse mLedger;
+    private final List<TransactionResponse> mTransactions;
+    private final List<OperationResponse> mOperations;
+    private final List<OperationResponse> mPayments;
+
+    LedgerRecords(long ledgerSequence, LedgerResponse ledger, List<TransactionResponse> transactions,
+                  List<OperationResponse> operations, List<OperationResponse> payments) {
+      mLedgerSequence = ledgerSequence;
+      mLedger = ledger;
+      mTransactions = transactions;
+      mOperations = operations;
+      mPayments = payments;
+    }
+
+    public long getLedgerSequence() {
+      return mLedgerSequence;
+    }
+
+    public LedgerResponse getLedger() {
+      return mLedger;
+    }
+
+    public List<TransactionResponse> getTransactions() {
+      return mTransactions;
+    }
+
+    public List<OperationResponse> getOperations() {
+      return mOperations;
+    }
+
+    public List<OperationResponse> getPayments() {
+      return mPayments;
+    }
+  }
+
+  /**
+   * Builds a new LedgerRangeBackfill object.
+   */
+  public static class Builder {
+    private final Server mServer;
+    private final long mFromLedger;
+    private final long mToLedger;
+    private int mConcurrency = 4;
+    private int mWindow;
+    private int mPageLimit = 200;
+    private int mMaxRetries = 5;
+    private boolean mIncludeTransactions = true;
+    private boolean mIncludeOperations = true;
+    private boolean mIncludePayments = true;
+
+    /**
+     * Creates a new LedgerRangeBackfill builder.
+     * @param server server to fetch ledgers from
+     * @param fromLedger sequence of the first ledger
+     * @param toLedger sequence of the last ledger, inclusive
+     */
+    public Builder(Server server, long fromLedger, long toLedger) {
+      mServer = checkNotNull(server, "server cannot be null");
+      checkArgument(fromLedger > 0, "fromLedger must be positive");
+      checkArgument(toLedger >= fromLedger, "toLedger cannot be lower than fromLedger");
+      mFromLedger = fromLedger;
+      mToLedger = toLedger;
+    }
+
+    /**
+     * Sets number of ledgers fetched at the same time.
+     * @param concurrency
+     * @return Builder object so you can chain methods.
+     */
+    public Builder setConcurrency(int concurrency) {
+      checkArgument(concurrency > 0, "concurrency must be positive");
+      mConcurrency = concurrency;
+      return this;
+    }
+
+    /**
+     * Sets how many ledgers can be fetched ahead of the sink. Defaults to twice the concurrency.
+     * @param window
+     * @return Builder object so you can chain methods.
+     */
+    public Builder setWindow(int window) {
+      checkArgument(window > 0, "window must be positive");
+      mWindow = window;
+      return this;
+    }
+
+    /**
+     * Sets page size of transactions, operations and payments requests.
+     * @param pageLimit
+     * @return Builder object so you can chain methods.
+     */
+    public Builder setPageLimit(int pageLimit) {
+      checkArgument(pageLimit > 0, "pageLimit must be positive");
+      mPageLimit = pageLimit;
+      return this;
+    }
+
+    /**
+     * Sets how many times a ledger is fetched again after Horizon responded with <code>429 Too Many Requests</code>.
+     * @param maxRetries
+     * @return Builder object so you can chain methods.
+     */
+    public Builder setMaxRetries(int maxRetries) {
+      checkArgument(maxRetries >= 0, "maxRetries cannot be negative");
+      mMaxRetries = maxRetries;
+      return this;
+    }
+
+    public Builder setIncludeTransactions(boolean includeTransactions) {
+      mIncludeTransactions = includeTransactions;
+      return this;
+    }
+
+    public Builder setIncludeOperations(boolean includeOperations) {
+      mIncludeOperations = includeOperations;
+      return this;
+    }
+
+    public Builder setIncludePayments(boolean includePayments) {
+      mIncludePayments = includePayments;
+      return this;
+    }
+
+    public LedgerRangeBackfill build() {
+      return new LedgerRangeBackfill(this);
+    }
+  }
+}
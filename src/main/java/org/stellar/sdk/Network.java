@@ -14,9 +14,10 @@ import static com.google.common.base.Preconditions.checkNotNull;
 public class Network {
     private final static String PUBLIC = "Public Global Stellar Network ; September 2015";
     private final static String TESTNET = "Test SDF Network ; September 2015";
-    private static Network current;
+    private static volatile Network current;
 
     private final String networkPassphrase;
+    private final byte[] networkId;
 
     /**
      * Creates a new Network object to represent a network with a given passphrase
@@ -24,6 +25,7 @@ public class Network {
      */
     public Network(String networkPassphrase) {
         this.networkPassphrase = checkNotNull(networkPassphrase, "networkPassphrase cannot be null");
+        this.networkId = Util.hash(networkPassphrase.getBytes(StandardCharsets.UTF_8));
     }
 
     /**
@@ -37,7 +39,14 @@ public class Network {
      * Returns network id (SHA-256 hashed <code>networkPassphrase</code>).
      */
     public byte[] getNetworkId() {
-        return Util.hash(current.getNetworkPassphrase().getBytes(StandardCharsets.UTF_8));
+        return networkId.clone();
+    }
+
+    /**
+     * Returns network id without copying it. Callers must not modify the returned array.
+     */
+    byte[] networkId() {
+        return networkId;
     }
 
     /**
@@ -0,0 +1,299 @@
+package org.stellar.sdk;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * Packs a stream of operations into transactions of at most {@link #MAX_OPERATIONS} operations, signs them
+ * and queues them ready for submission. Transactions are queued in sequence number order.
+ * <p>The queue is bounded so {@link #add(Operation)} blocks when consumers fall behind.</p>
+ * <p>Example:</p>
+ * <pre>
+ * final OperationBatcher batcher = new OperationBatcher.Builder(account, source).setMaxFee(5000).build();
+ * // producer thread
+ * for (Operation payment : payments) {
+ *   batcher.add(payment);
+ * }
+ * batcher.close();
+ * // consumer thread
+ * Transaction transaction;
+ * while ((transaction = batcher.take()) != null) {
+ *   server.submitTransaction(transaction);
+ * }
+ * </pre>
+ */
+public class OperationBatcher {
+  /**
+   * Maximum number of operations in a transaction allowed by the protocol.
+   */
+  public static final int MAX_OPERATIONS = 100;
+  private static final Object END = new Object();
+
+  private final TransactionBuilderAccount mSourceAccount;
+  private final KeyPair[] mSigners;
+  private final int mOperationsPerTransaction;
+  private final Memo mMemo;
+  private final Network mNetwork;
+  private final BlockingQueue<Object> mQueue;
+  private final List<Operation> mBatch;
+  // Built transactions and the end marker not queued yet, in sequence number order
+  private final Deque<Object> mPending = new ArrayDeque<Object>();
+  // Held while moving pending elements to the queue so they are queued in order
+  private final ReentrantLock mQueueLock = new ReentrantLock();
+  private boolean mClosed;
+  private long mTransactionsCount;
+
+  private OperationBatcher(Builder builder) {
+    mSourceAccount = builder.mSourceAccount;
+    mSigners = builder.mSigners;
+    mOperationsPerTransaction = Math.min(builder.mMaxOperations, builder.mMaxFee / Transaction.BASE_FEE);
+    mMemo = builder.mMemo;
+    mNetwork = builder.mNetwork;
+    mQueue = new LinkedBlockingQueue<Object>(builder.mQueueCapacity);
+    mBatch = new ArrayList<Operation>(mOperationsPerTransaction);
+  }
+
+  /**
+   * Returns maximum number of operations packed into a single transaction.
+   */
+  public int getOperationsPerTransaction() {
+    return mOperationsPerTransaction;
+  }
+
+  /**
+   * Returns number of transactions built so far.
+   */
+  public synchronized long getTransactionsCount() {
+    return mTransactionsCount;
+  }
+
+  /**
+   * Adds an operation to the current batch. When the batch is full a transaction is built and queued,
+   * waiting for free space in the queue.
+   * <p>The operation is always accepted once this method is called, even when it throws
+   * {@link InterruptedException}: transactions that could not be queued are kept and queued by the next call to
+   * {@link #add(Operation)}, {@link #flush()} or {@link #close()}, so do not add the operation again.</p>
+   * @param operation operation to add
+   * @throws InterruptedException when interrupted while waiting for free space in the queue
+   */
+  public void add(Operation operation) throws InterruptedException {
+    synchronized (this) {
+      checkNotNull(operation, "operation cannot be null");
+      checkState(!mClosed, "Batcher has been closed");
+      mBatch.add(operation);
+      if (mBatch.size() >= mOperationsPerTransaction) {
+        cut();
+      }
+    }
+    drain();
+  }
+
+  /**
+   * Builds and queues a transaction from operations added since the last transaction, if any.
+   * @throws InterruptedException when interrupted while waiting for free space in the queue
+   */
+  public void flush() throws InterruptedException {
+    synchronized (this) {
+      checkState(!mClosed, "Batcher has been closed");
+      if (mBatch.size() > 0) {
+        cut();
+      }
+    }
+    drain();
+  }
+
+  /**
+   * Flushes remaining operations and marks the end of the stream. {@link #take()} returns null once
+   * all queued transactions have been taken. When interrupted, call it again to finish queueing.
+   * @throws InterruptedException when interrupted while waiting for free space in the queue
+   */
+  public void close() throws InterruptedException {
+    synchronized (this) {
+      if (!mClosed) {
+        if (mBatch.size() > 0) {
+          cut();
+        }
+        mClosed = true;
+        mPending.add(END);
+      }
+    }
+    drain();
+  }
+
+  /**
+   * Returns the next transaction, waiting until one is built.
+   * @return next transaction or null when the batcher was closed and all transactions were taken
+   * @throws InterruptedException when interrupted while waiting
+   */
+  public Transaction take() throws InterruptedException {
+    return next(mQueue.take());
+  }
+
+  /**
+   * Returns the next transaction, waiting up to <code>timeout</code> until one is built.
+   * @return next transaction or null when none was built in time or the batcher was closed and all
+   * transactions were taken. Use {@link #isDrained()} to distinguish both cases.
+   * @throws InterruptedException when interrupted while waiting
+   */
+  public Transaction poll(long timeout, TimeUnit unit) throws InterruptedException {
+    Object element = mQueue.poll(timeout, unit);
+    return element != null ? next(element) : null;
+  }
+
+  /**
+   * Returns true when the batcher was closed and all transactions were taken.
+   */
+  public boolean isDrained() {
+    return mQueue.peek() == END;
+  }
+
+  private Transaction next(Object element) {
+    if (element == END) {
+      // Leave the marker for other consumers
+      mQueue.offer(END);
+      return null;
+    }
+    return (Transaction) element;
+  }
+
+  private void cut() {
+    mPending.add(build());
+    mTransactionsCount++;
+    mBatch.clear();
+  }
+
+  private void drain() throws InterruptedException {
+    // Wait for free space without holding the monitor, so other threads can keep adding
+    mQueueLock.lockInterruptibly();
+    try {
+      while (true) {
+        Object next;
+        synchronized (this) {
+          next = mPending.peek();
+        }
+        if (next == null) {
+          return;
+        }
+        mQueue.put(next);
+        synchronized (this) {
+          mPending.poll();
+        }
+      }
+    } finally {
+      mQueueLock.unlock();
+    }
+  }
+
+  private Transaction build() {
+    Transaction.Builder builder = new Transaction.Builder(mSourceAccount);
+    for (Operation operation : mBatch) {
+      builder.addOperation(operation);
+    }
+    if (mMemo != null) {
+      builder.addMemo(mMemo);
+    }
+    if (mNetwork != null) {
+      builder.setNetwork(mNetwork);
+    }
+    Transaction transaction = builder.build();
+    if (mSigners.length > 0) {
+      transaction.sign(mSigners, mNetwork);
+    }
+    return transaction;
+  }
+
+  /**
+   * Builds a new OperationBatcher object.
+   */
+  public static class Builder {
+    private final TransactionBuilderAccount mSourceAccount;
+    private final KeyPair[] mSigners;
+    private int mMaxOperations = MAX_OPERATIONS;
+    private int mMaxFee = MAX_OPERATIONS * Transaction.BASE_FEE;
+    private int mQueueCapacity = 16;
+    private Memo mMemo;
+    private Network mNetwork;
+
+    /**
+     * Creates a new OperationBatcher builder.
+     * @param sourceAccount source account of transactions, its sequence number is incremented for every transaction
+     * @param signers {@link KeyPair} objects every transaction is signed with
+     */
+    public Builder(TransactionBuilderAccount sourceAccount, KeyPair... signers) {
+      mSourceAccount = checkNotNull(sourceAccount, "sourceAccount cannot be null");
+      mSigners = checkNotNull(signers, "signers cannot be null").clone();
+      for (KeyPair signer : mSigners) {
+        checkNotNull(signer, "signer cannot be null");
+        checkArgument(signer.canSign(), "KeyPair does not contain secret key");
+      }
+    }
+
+    /**
+     * Sets maximum number of operations in a transaction, at most {@link #MAX_OPERATIONS}.
+     * @param maxOperations
+     * @return Builder object so you can chain methods.
+     */
+    public Builder setMaxOperations(int maxOperations) {
+      checkArgument(maxOperations > 0 && maxOperations <= MAX_OPERATIONS, "maxOperations must be between 1 and " + MAX_OPERATIONS);
+      mMaxOperations = maxOperations;
+      return this;
+    }
+
+    /**
+     * Sets maximum fee of a single transaction in stroops. Every operation costs the base fee of 100 stroops.
+     * @param maxFee
+     * @return Builder object so you can chain methods.
+     */
+    public Builder setMaxFee(int maxFee) {
+      checkArgument(maxFee >= Transaction.BASE_FEE, "maxFee must allow at least one operation");
+      mMaxFee = maxFee;
+      return this;
+    }
+
+    /**
+     * Sets how many built transactions can wait in the queue before {@link OperationBatcher#add(Operation)} blocks.
+     * @param queueCapacity
+     * @return Builder object so you can chain methods.
+     */
+    public Builder setQueueCapacity(int queueCapacity) {
+      checkArgument(queueCapacity > 0, "queueCapacity must be positive");
+      mQueueCapacity = queueCapacity;
+      return this;
+    }
+
+    /**
+     * Adds a memo to every transaction.
+     * @param memo
+     * @return Builder object so you can chain methods.
+     */
+    public Builder setMemo(Memo memo) {
+      mMemo = checkNotNull(memo, "memo cannot be null");
+      return this;
+    }
+
+    /**
+     * Binds every transaction to a <code>network</code>.
+     * @param network
+     * @return Builder object so you can chain methods.
+     * @see Transaction.Builder#setNetwork(Network)
+     */
+    public Builder setNetwork(Network network) {
+      mNetwork = checkNotNull(network, "network cannot be null");
+      return this;
+    }
+
+    public OperationBatcher build() {
+      return new OperationBatcher(this);
+    }
+  }
+}
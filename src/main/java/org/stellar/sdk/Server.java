@@ -1,5 +1,7 @@
 package org.stellar.sdk;
 
+import com.google.common.util.concurrent.ListenableFuture;
+
 import org.apache.commons.io.IOUtils;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
@@ -7,13 +9,17 @@ import org.apache.http.NameValuePair;
 import org.apache.http.client.HttpClient;
 import org.apache.http.client.entity.UrlEncodedFormEntity;
 import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.protocol.HttpClientContext;
 import org.apache.http.client.utils.URIBuilder;
-import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.message.BasicNameValuePair;
+import org.apache.http.nio.client.HttpAsyncClient;
+import org.apache.http.util.EntityUtils;
 import org.stellar.sdk.requests.*;
 import org.stellar.sdk.responses.GsonSingleton;
 import org.stellar.sdk.responses.SubmitTransactionResponse;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.StringWriter;
@@ -23,89 +29,179 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
 /**
  * Main class used to connect to Horizon server.
  */
-public class Server {
+public class Server implements Closeable {
+    private static final org.apache.http.client.ResponseHandler<SubmitTransactionResponse> SUBMIT_TRANSACTION_RESPONSE_HANDLER =
+            new org.apache.http.client.ResponseHandler<SubmitTransactionResponse>() {
+                @Override
+                public SubmitTransactionResponse handleResponse(HttpResponse response) throws IOException {
+                    return parseSubmitTransactionResponse(response);
+                }
+            };
+
     private URI serverURI;
-    private HttpClient httpClient = HttpClients.createDefault();
+    private HttpClient httpClient;
+    private final CloseableHttpClient ownedHttpClient;
 
+    /**
+     * Creates a new Server object using the pooled HTTP client shared by all servers created with this
+     * constructor, see {@link HttpClientConfig#getDefaultHttpClient()}. The shared client is not closed by
+     * {@link #close()}, so servers created this way do not need to be closed.
+     * @param uri Horizon server URI
+     */
     public Server(String uri) {
+        this(uri, HttpClientConfig.getDefaultHttpClient(), false);
+    }
+
+    /**
+     * Creates a new Server object using pooled HTTP client created from <code>config</code>.
+     * The client is closed by {@link #close()}.
+     * @param uri Horizon server URI
+     * @param config configuration of the HTTP client
+     */
+    public Server(String uri, HttpClientConfig config) {
+        this(uri, checkNotNull(config, "config cannot be null").createHttpClient(), true);
+    }
+
+    /**
+     * Creates a new Server object spreading requests across several Horizon nodes using pooled HTTP client
+     * with default {@link HttpClientConfig}.
+     * @param uris URIs of Horizon nodes serving the same network
+     * @see LoadBalancingHttpClient
+     */
+    public Server(List<String> uris) {
+        this(uris, new HttpClientConfig.Builder().build());
+    }
+
+    /**
+     * Creates a new Server object spreading requests across several Horizon nodes using pooled HTTP client
+     * created from <code>config</code>. The client is closed by {@link #close()}.
+     * @param uris URIs of Horizon nodes serving the same network
+     * @param config configuration of the HTTP client
+     * @see LoadBalancingHttpClient
+     */
+    public Server(List<String> uris, HttpClientConfig config) {
+        this(firstUri(uris), checkNotNull(config, "config cannot be null").createHttpClient(toURIs(uris)), true);
+    }
+
+    /**
+     * Creates a new Server object that sends all requests using <code>httpClient</code>.
+     * The client is not closed by {@link #close()}.
+     * @param uri Horizon server URI
+     * @param httpClient HTTP client to use
+     */
+    public Server(String uri, HttpClient httpClient) {
+        this(uri, httpClient, false);
+    }
+
+    private Server(String uri, HttpClient httpClient, boolean owned) {
         try {
             serverURI = new URI(uri);
         } catch (URISyntaxException e) {
             throw new RuntimeException(e);
         }
+        this.httpClient = checkNotNull(httpClient, "httpClient cannot be null");
+        this.ownedHttpClient = owned ? (CloseableHttpClient) httpClient : null;
+    }
+
+    private static String firstUri(List<String> uris) {
+        checkNotNull(uris, "uris cannot be null");
+        checkArgument(uris.size() > 0, "At least one URI required");
+        return uris.get(0);
+    }
+
+    private static List<URI> toURIs(List<String> uris) {
+        List<URI> result = new ArrayList<URI>(uris.size());
+        for (String uri : uris) {
+            try {
+                result.add(new URI(checkNotNull(uri, "uri cannot be null")));
+            } catch (URISyntaxException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns HTTP client used by this server and its request builders.
+     */
+    public HttpClient getHttpClient() {
+        return httpClient;
     }
 
     /**
      * Returns {@link AccountsRequestBuilder} instance.
      */
     public AccountsRequestBuilder accounts() {
-        return new AccountsRequestBuilder(serverURI);
+        return new AccountsRequestBuilder(httpClient, serverURI);
     }
 
     /**
      * Returns {@link EffectsRequestBuilder} instance.
      */
     public EffectsRequestBuilder effects() {
-        return new EffectsRequestBuilder(serverURI);
+        return new EffectsRequestBuilder(httpClient, serverURI);
     }
 
     /**
      * Returns {@link LedgersRequestBuilder} instance.
      */
     public LedgersRequestBuilder ledgers() {
-        return new LedgersRequestBuilder(serverURI);
+        return new LedgersRequestBuilder(httpClient, serverURI);
     }
 
     /**
      * Returns {@link OffersRequestBuilder} instance.
      */
     public OffersRequestBuilder offers() {
-        return new OffersRequestBuilder(serverURI);
+        return new OffersRequestBuilder(httpClient, serverURI);
     }
 
     /**
      * Returns {@link OperationsRequestBuilder} instance.
      */
     public OperationsRequestBuilder operations() {
-        return new OperationsRequestBuilder(serverURI);
+        return new OperationsRequestBuilder(httpClient, serverURI);
     }
 
     /**
      * Returns {@link OrderBookRequestBuilder} instance.
      */
     public OrderBookRequestBuilder orderBook() {
-        return new OrderBookRequestBuilder(serverURI);
+        return new OrderBookRequestBuilder(httpClient, serverURI);
     }
 
     /**
      * Returns {@link TradesRequestBuilder} instance.
      */
     public TradesRequestBuilder trades() {
-        return new TradesRequestBuilder(serverURI);
+        return new TradesRequestBuilder(httpClient, serverURI);
     }
 
     /**
      * Returns {@link PathsRequestBuilder} instance.
      */
     public PathsRequestBuilder paths() {
-        return new PathsRequestBuilder(serverURI);
+        return new PathsRequestBuilder(httpClient, serverURI);
     }
 
     /**
      * Returns {@link PaymentsRequestBuilder} instance.
      */
     public PaymentsRequestBuilder payments() {
-        return new PaymentsRequestBuilder(serverURI);
+        return new PaymentsRequestBuilder(httpClient, serverURI);
     }
 
     /**
      * Returns {@link TransactionsRequestBuilder} instance.
      */
     public TransactionsRequestBuilder transactions() {
-        return new TransactionsRequestBuilder(serverURI);
+        return new TransactionsRequestBuilder(httpClient, serverURI);
     }
 
     /**
@@ -115,6 +211,35 @@ public class Server {
      * @throws IOException
      */
     public SubmitTransactionResponse submitTransaction(Transaction transaction) throws IOException {
+        HttpPost submitTransactionRequest = createSubmitTransactionRequest(transaction);
+
+        HttpClientContext context = HttpClientContext.create();
+        try {
+            // Resubmissions of a transaction go to the same Horizon node
+            context.setAttribute(LoadBalancingHttpClient.AFFINITY_KEY, Util.bytesToHex(transaction.hash()));
+        } catch (NoNetworkSelectedException e) {
+            // Without a network the hash is unknown, any node can be used
+        }
+        HttpResponse response = httpClient.execute(submitTransactionRequest, context);
+        try {
+            return SUBMIT_TRANSACTION_RESPONSE_HANDLER.handleResponse(response);
+        } finally {
+            EntityUtils.consumeQuietly(response.getEntity());
+        }
+    }
+
+    /**
+     * Submits transaction to the network without blocking.
+     * @param asyncClient started asynchronous HTTP client
+     * @param transaction transaction to submit to the network.
+     * @return future completed with {@link SubmitTransactionResponse}
+     */
+    public ListenableFuture<SubmitTransactionResponse> submitTransaction(HttpAsyncClient asyncClient, Transaction transaction) {
+        checkNotNull(asyncClient, "asyncClient cannot be null");
+        return ResponseHandler.executeAsync(asyncClient, createSubmitTransactionRequest(transaction), SUBMIT_TRANSACTION_RESPONSE_HANDLER);
+    }
+
+    private HttpPost createSubmitTransactionRequest(Transaction transaction) {
         URI transactionsURI;
         try {
             transactionsURI = new URIBuilder(serverURI).setPath("/transactions").build();
@@ -125,9 +250,15 @@ public class Server {
 
         List<NameValuePair> params = new ArrayList<NameValuePair>();
         params.add(new BasicNameValuePair("tx", transaction.toEnvelopeXdrBase64()));
-        submitTransactionRequest.setEntity(new UrlEncodedFormEntity(params));
+        submitTransactionRequest.setEntity(new UrlEncodedFormEntity(params, StandardCharsets.UTF_8));
+        return submitTransactionRequest;
+    }
 
-        HttpResponse response = httpClient.execute(submitTransactionRequest);
+    /**
+     * Parses the response body whatever the status code, failed transactions are returned with <code>400 Bad Request</code>.
+     */
+    private static SubmitTransactionResponse parseSubmitTransactionResponse(HttpResponse response) throws IOException {
+        ResponseHandler.checkTooManyRequests(response);
         HttpEntity entity = response.getEntity();
 
         if (entity != null) {
@@ -145,6 +276,16 @@ public class Server {
         return null;
     }
 
+    /**
+     * Closes HTTP client created by this server. Clients passed to the constructor are left open.
+     */
+    @Override
+    public void close() throws IOException {
+        if (ownedHttpClient != null) {
+            ownedHttpClient.close();
+        }
+    }
+
     /**
      * To support mocking a client
      * @param httpClient
@@ -4,11 +4,9 @@ import org.apache.commons.codec.binary.Base64;
 import org.stellar.sdk.xdr.DecoratedSignature;
 import org.stellar.sdk.xdr.EnvelopeType;
 import org.stellar.sdk.xdr.SignatureHint;
-import org.stellar.sdk.xdr.XdrDataOutputStream;
+import org.stellar.sdk.xdr.XdrByteBufferWriter;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -21,7 +19,18 @@ import static com.google.common.base.Preconditions.checkNotNull;
  * Represents <a href="https://www.stellar.org/developers/learn/concepts/transactions.html" target="_blank">Transaction</a> in Stellar network.
  */
 public class Transaction {
-  private final int BASE_FEE = 100;
+  /**
+   * Fee charged per operation in stroops.
+   */
+  static final int BASE_FEE = 100;
+
+  // Encoding buffers are reused by each thread to avoid allocating streams on every call
+  private static final ThreadLocal<XdrByteBufferWriter> sXdrWriter = new ThreadLocal<XdrByteBufferWriter>() {
+    @Override
+    protected XdrByteBufferWriter initialValue() {
+      return new XdrByteBufferWriter();
+    }
+  };
 
   private final int mFee;
   private final KeyPair mSourceAccount;
@@ -29,18 +38,26 @@ public class Transaction {
   private final Operation[] mOperations;
   private final Memo mMemo;
   private final TimeBounds mTimeBounds;
+  private final Network mNetwork;
   private List<DecoratedSignature> mSignatures;
+  private volatile byte[] mBody;
+  private volatile NetworkHash mHash;
 
   Transaction(KeyPair sourceAccount, long sequenceNumber, Operation[] operations, Memo memo, TimeBounds timeBounds) {
+    this(sourceAccount, sequenceNumber, operations, memo, timeBounds, null);
+  }
+
+  Transaction(KeyPair sourceAccount, long sequenceNumber, Operation[] operations, Memo memo, TimeBounds timeBounds, Network network) {
     mSourceAccount = checkNotNull(sourceAccount, "sourceAccount cannot be null");
     mSequenceNumber = checkNotNull(sequenceNumber, "sequenceNumber cannot be null");
     mOperations = checkNotNull(operations, "operations cannot be null");
     checkArgument(operations.length > 0, "At least one operation required");
 
     mFee = operations.length * BASE_FEE;
-    mSignatures = new ArrayList<DecoratedSignature>();
+    mSignatures = Collections.synchronizedList(new ArrayList<DecoratedSignature>());
     mMemo = memo != null ? memo : Memo.none();
     mTimeBounds = timeBounds;
+    mNetwork = network;
   }
 
   /**
@@ -53,6 +70,30 @@ public class Transaction {
     mSignatures.add(signer.signDecorated(txHash));
   }
 
+  /**
+   * Adds a new signature ed25519PublicKey to this transaction, computed in a given <code>network</code>.
+   * Does not depend on {@link Network#current()} so transactions of different networks can be signed concurrently.
+   * @param signer {@link KeyPair} object representing a signer
+   * @param network network the transaction is signed for
+   */
+  public void sign(KeyPair signer, Network network) {
+    checkNotNull(signer, "signer cannot be null");
+    byte[] txHash = this.hash(network);
+    mSignatures.add(signer.signDecorated(txHash));
+  }
+
+  /**
+   * Adds signatures of all <code>signers</code> computing transaction hash only once.
+   * @param signers {@link KeyPair} objects representing signers
+   * @param network network the transaction is signed for or null to use the default one
+   */
+  void sign(KeyPair[] signers, Network network) {
+    byte[] txHash = network != null ? this.hash(network) : this.hash();
+    for (KeyPair signer : signers) {
+      mSignatures.add(signer.signDecorated(txHash));
+    }
+  }
+
   /**
    * Adds a new sha256Hash signature to this transaction by revealing preimage.
    * @param preimage the sha256 hash of preimage should be equal to signer hash
@@ -78,35 +119,101 @@ public class Transaction {
    * Returns transaction hash.
    */
   public byte[] hash() {
-    return Util.hash(this.signatureBase());
+    return this.hash(this.network());
   }
 
   /**
-   * Returns signature base.
+   * Returns transaction hash in a given <code>network</code>.
+   * @param network network the transaction is hashed for
+   */
+  public byte[] hash(Network network) {
+    checkNotNull(network, "network cannot be null");
+    NetworkHash cached = mHash;
+    if (cached == null || !cached.isFor(network)) {
+      cached = new NetworkHash(network, Util.hash(this.signatureBase(network)));
+      mHash = cached;
+    }
+    return cached.mHash.clone();
+  }
+
+  /**
+   * Returns signature base. It is computed in the network this transaction was built for
+   * or, if none was set, in {@link Network#current()}.
    */
   public byte[] signatureBase() {
-    if (Network.current() == null) {
+    return this.signatureBase(this.network());
+  }
+
+  /**
+   * Returns signature base in a given <code>network</code>.
+   * @param network network the signature base is computed for
+   */
+  public byte[] signatureBase(Network network) {
+    checkNotNull(network, "network cannot be null");
+    byte[] body = this.body();
+    try {
+      XdrByteBufferWriter writer = xdrWriter();
+      writer.write(network.networkId());
+      writer.writeInt(EnvelopeType.ENVELOPE_TYPE_TX.getValue());
+      writer.write(body);
+      return writer.toByteArray();
+    } catch (IOException e) {
+      throw new AssertionError(e);
+    }
+  }
+
+  private Network network() {
+    Network network = mNetwork != null ? mNetwork : Network.current();
+    if (network == null) {
       throw new NoNetworkSelectedException();
     }
+    return network;
+  }
+
+  /**
+   * Returns XDR encoded transaction body. It is encoded once since transaction fields never change.
+   */
+  private byte[] body() {
+    byte[] body = mBody;
+    if (body == null) {
+      try {
+        XdrByteBufferWriter writer = xdrWriter();
+        org.stellar.sdk.xdr.Transaction.encode(writer, this.toXdr());
+        body = writer.toByteArray();
+      } catch (IOException e) {
+        throw new AssertionError(e);
+      }
+      mBody = body;
+    }
+    return body;
+  }
 
+  /**
+   * Returns signature base of XDR <code>transaction</code> in a given <code>network</code>.
+   */
+  static byte[] signatureBase(Network network, org.stellar.sdk.xdr.Transaction transaction) {
     try {
-      ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+      XdrByteBufferWriter writer = xdrWriter();
       // Hashed NetworkID
-      outputStream.write(Network.current().getNetworkId());
+      writer.write(network.networkId());
       // Envelope Type - 4 bytes
-      outputStream.write(ByteBuffer.allocate(4).putInt(EnvelopeType.ENVELOPE_TYPE_TX.getValue()).array());
+      writer.writeInt(EnvelopeType.ENVELOPE_TYPE_TX.getValue());
       // Transaction XDR bytes
-      ByteArrayOutputStream txOutputStream = new ByteArrayOutputStream();
-      XdrDataOutputStream xdrOutputStream = new XdrDataOutputStream(txOutputStream);
-      org.stellar.sdk.xdr.Transaction.encode(xdrOutputStream, this.toXdr());
-      outputStream.write(txOutputStream.toByteArray());
+      org.stellar.sdk.xdr.Transaction.encode(writer, transaction);
 
-      return outputStream.toByteArray();
+      return writer.toByteArray();
     } catch (IOException exception) {
       return null;
     }
   }
 
+  /**
+   * Returns network this transaction was built for or null when {@link Network#current()} is used.
+   */
+  public Network getNetwork() {
+    return mNetwork;
+  }
+
   public KeyPair getSourceAccount() {
     return mSourceAccount;
   }
@@ -119,6 +226,10 @@ public class Transaction {
     return mSignatures;
   }
 
+  public Operation[] getOperations() {
+    return mOperations.clone();
+  }
+
   public Memo getMemo() {
     return mMemo;
   }
@@ -194,18 +305,52 @@ public class Transaction {
    * Returns base64-encoded TransactionEnvelope XDR object. Transaction need to have at least one signature.
    */
   public String toEnvelopeXdrBase64() {
+    DecoratedSignature[] signatures = mSignatures.toArray(new DecoratedSignature[0]);
+    if (signatures.length == 0) {
+      throw new NotEnoughSignaturesException("Transaction must be signed by at least one signer. Use transaction.sign().");
+    }
+    byte[] body = this.body();
     try {
-      org.stellar.sdk.xdr.TransactionEnvelope envelope = this.toEnvelopeXdr();
-      ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-      XdrDataOutputStream xdrOutputStream = new XdrDataOutputStream(outputStream);
-      org.stellar.sdk.xdr.TransactionEnvelope.encode(xdrOutputStream, envelope);
+      // TransactionEnvelope is encoded body followed by signatures array
+      XdrByteBufferWriter writer = xdrWriter();
+      writer.write(body);
+      writer.writeInt(signatures.length);
+      for (DecoratedSignature signature : signatures) {
+        DecoratedSignature.encode(writer, signature);
+      }
       Base64 base64Codec = new Base64();
-      return base64Codec.encodeAsString(outputStream.toByteArray());
+      return base64Codec.encodeAsString(writer.toByteArray());
     } catch (IOException e) {
       throw new AssertionError(e);
     }
   }
 
+  /**
+   * Returns this thread's encoding buffer, emptied and ready to be written to.
+   */
+  private static XdrByteBufferWriter xdrWriter() {
+    XdrByteBufferWriter writer = sXdrWriter.get();
+    writer.reset();
+    return writer;
+  }
+
+  /**
+   * Transaction hash together with the network it was computed for.
+   */
+  private static final class NetworkHash {
+    private final byte[] mNetworkId;
+    private final byte[] mHash;
+
+    NetworkHash(Network network, byte[] hash) {
+      mNetworkId = network.networkId();
+      mHash = hash;
+    }
+
+    boolean isFor(Network network) {
+      return mNetworkId == network.networkId() || Arrays.equals(mNetworkId, network.networkId());
+    }
+  }
+
   /**
    * Builds a new Transaction object.
    */
@@ -213,6 +358,7 @@ public class Transaction {
     private final TransactionBuilderAccount mSourceAccount;
     private Memo mMemo;
     private TimeBounds mTimeBounds;
+    private Network mNetwork;
     List<Operation> mOperations;
 
     /**
@@ -273,16 +419,31 @@ public class Transaction {
       return this;
     }
 
+    /**
+     * Binds the transaction to a <code>network</code> so it is hashed and signed for that network
+     * regardless of {@link Network#current()}.
+     * @param network
+     * @return Builder object so you can chain methods.
+     */
+    public Builder setNetwork(Network network) {
+      checkNotNull(network, "network cannot be null");
+      mNetwork = network;
+      return this;
+    }
+
     /**
      * Builds a transaction. It will increment sequence number of the source account.
      */
     public Transaction build() {
       Operation[] operations = new Operation[mOperations.size()];
       operations = mOperations.toArray(operations);
-      Transaction transaction = new Transaction(mSourceAccount.getKeypair(), mSourceAccount.getIncrementedSequenceNumber(), operations, mMemo, mTimeBounds);
-      // Increment sequence number when there were no exceptions when creating a transaction
-      mSourceAccount.incrementSequenceNumber();
-      return transaction;
+      // Lock the account so concurrent builds do not reuse the same sequence number
+      synchronized (mSourceAccount) {
+        Transaction transaction = new Transaction(mSourceAccount.getKeypair(), mSourceAccount.getIncrementedSequenceNumber(), operations, mMemo, mTimeBounds, mNetwork);
+        // Increment sequence number when there were no exceptions when creating a transaction
+        mSourceAccount.incrementSequenceNumber();
+        return transaction;
+      }
     }
   }
 }
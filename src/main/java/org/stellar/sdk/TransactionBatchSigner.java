@@ -0,0 +1,99 @@
+package org.stellar.sdk;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Signs many transactions in parallel. Transactions are split into batches which are signed on
+ * the given executor, each transaction hash is computed once no matter how many signers there are.
+ */
+public class TransactionBatchSigner {
+  private static final int DEFAULT_BATCH_SIZE = 64;
+
+  private final ExecutorService mExecutor;
+  private final int mBatchSize;
+
+  /**
+   * Creates a new signer.
+   * @param executor executor on which signatures are computed, it is not shut down by the signer
+   */
+  public TransactionBatchSigner(ExecutorService executor) {
+    this(executor, DEFAULT_BATCH_SIZE);
+  }
+
+  /**
+   * Creates a new signer.
+   * @param executor executor on which signatures are computed, it is not shut down by the signer
+   * @param batchSize number of transactions signed by a single task
+   */
+  public TransactionBatchSigner(ExecutorService executor, int batchSize) {
+    mExecutor = checkNotNull(executor, "executor cannot be null");
+    checkArgument(batchSize > 0, "batchSize must be positive");
+    mBatchSize = batchSize;
+  }
+
+  /**
+   * Signs every transaction with every signer and blocks until all signatures are added.
+   * A single transaction must not be signed concurrently from other threads.
+   * @param transactions transactions to sign
+   * @param signers {@link KeyPair} objects representing signers
+   * @throws InterruptedException when interrupted while waiting for signatures
+   */
+  public void sign(List<Transaction> transactions, KeyPair... signers) throws InterruptedException {
+    sign(transactions, (Network) null, signers);
+  }
+
+  /**
+   * Signs every transaction with every signer in a given <code>network</code> and blocks until all signatures are added.
+   * A single transaction must not be signed concurrently from other threads.
+   * @param transactions transactions to sign
+   * @param network network the transactions are signed for or null to use the network of each transaction
+   * @param signers {@link KeyPair} objects representing signers
+   * @throws InterruptedException when interrupted while waiting for signatures
+   */
+  public void sign(List<Transaction> transactions, final Network network, KeyPair... signers) throws InterruptedException {
+    checkNotNull(transactions, "transactions cannot be null");
+    checkNotNull(signers, "signers cannot be null");
+    checkArgument(signers.length > 0, "At least one signer required");
+    for (KeyPair signer : signers) {
+      checkNotNull(signer, "signer cannot be null");
+      checkArgument(signer.canSign(), "KeyPair does not contain secret key");
+    }
+    final KeyPair[] keyPairs = signers.clone();
+
+    List<Future<Void>> futures = new ArrayList<Future<Void>>();
+    try {
+      for (int start = 0; start < transactions.size(); start += mBatchSize) {
+        final List<Transaction> batch = transactions.subList(start, Math.min(start + mBatchSize, transactions.size()));
+        futures.add(mExecutor.submit(new Callable<Void>() {
+          @Override
+          public Void call() {
+            for (Transaction transaction : batch) {
+              transaction.sign(keyPairs, network);
+            }
+            return null;
+          }
+        }));
+      }
+      for (Future<Void> future : futures) {
+        future.get();
+      }
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new RuntimeException(e.getCause());
+    } finally {
+      for (Future<Void> future : futures) {
+        future.cancel(true);
+      }
+    }
+  }
+}
@@ -0,0 +1,195 @@
+package org.stellar.sdk;
+
+import org.stellar.sdk.xdr.DecoratedSignature;
+import org.stellar.sdk.xdr.TransactionEnvelope;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Verifies signatures of many transaction envelopes in parallel. Every {@link DecoratedSignature}
+ * is matched by its hint against candidate signers and verified only against the matching keys.
+ */
+public class TransactionBatchVerifier {
+  private static final int DEFAULT_BATCH_SIZE = 64;
+
+  private final ExecutorService mExecutor;
+  private final int mBatchSize;
+
+  /**
+   * Creates a new verifier.
+   * @param executor executor on which signatures are verified, it is not shut down by the verifier
+   */
+  public TransactionBatchVerifier(ExecutorService executor) {
+    this(executor, DEFAULT_BATCH_SIZE);
+  }
+
+  /**
+   * Creates a new verifier.
+   * @param executor executor on which signatures are verified, it is not shut down by the verifier
+   * @param batchSize number of envelopes verified by a single task
+   */
+  public TransactionBatchVerifier(ExecutorService executor, int batchSize) {
+    mExecutor = checkNotNull(executor, "executor cannot be null");
+    checkArgument(batchSize > 0, "batchSize must be positive");
+    mBatchSize = batchSize;
+  }
+
+  /**
+   * Verifies signatures of a single envelope in the current network.
+   * @param envelope envelope to verify
+   * @param candidateSigners keys that may have signed the transaction
+   * @return results in the order of envelope signatures
+   * @throws InterruptedException when interrupted while waiting for results
+   */
+  public List<SignatureResult> verify(TransactionEnvelope envelope, Collection<KeyPair> candidateSigners) throws InterruptedException {
+    return verify(Collections.singletonList(envelope), candidateSigners).get(0);
+  }
+
+  /**
+   * Verifies signatures of all envelopes in the current network.
+   * @param envelopes envelopes to verify
+   * @param candidateSigners keys that may have signed the transactions
+   * @return for every envelope, results in the order of its signatures
+   * @throws InterruptedException when interrupted while waiting for results
+   */
+  public List<List<SignatureResult>> verify(List<TransactionEnvelope> envelopes, Collection<KeyPair> candidateSigners) throws InterruptedException {
+    Network network = Network.current();
+    if (network == null) {
+      throw new NoNetworkSelectedException();
+    }
+    return verify(envelopes, candidateSigners, network);
+  }
+
+  /**
+   * Verifies signatures of all envelopes in a given <code>network</code>.
+   * @param envelopes envelopes to verify
+   * @param candidateSigners keys that may have signed the transactions
+   * @param network network the transactions were signed for
+   * @return for every envelope, results in the order of its signatures
+   * @throws InterruptedException when interrupted while waiting for results
+   */
+  public List<List<SignatureResult>> verify(List<TransactionEnvelope> envelopes, Collection<KeyPair> candidateSigners, final Network network) throws InterruptedException {
+    checkNotNull(envelopes, "envelopes cannot be null");
+    checkNotNull(candidateSigners, "candidateSigners cannot be null");
+    checkNotNull(network, "network cannot be null");
+
+    final Map<Integer, List<KeyPair>> signersByHint = new HashMap<Integer, List<KeyPair>>();
+    for (KeyPair signer : candidateSigners) {
+      Integer hint = hintKey(signer.getSignatureHint().getSignatureHint());
+      List<KeyPair> signers = signersByHint.get(hint);
+      if (signers == null) {
+        signers = new ArrayList<KeyPair>();
+        signersByHint.put(hint, signers);
+      }
+      signers.add(signer);
+    }
+
+    List<Future<List<List<SignatureResult>>>> futures = new ArrayList<Future<List<List<SignatureResult>>>>();
+    List<List<SignatureResult>> results = new ArrayList<List<SignatureResult>>(envelopes.size());
+    try {
+      for (int start = 0; start < envelopes.size(); start += mBatchSize) {
+        final List<TransactionEnvelope> batch = envelopes.subList(start, Math.min(start + mBatchSize, envelopes.size()));
+        futures.add(mExecutor.submit(new Callable<List<List<SignatureResult>>>() {
+          @Override
+          public List<List<SignatureResult>> call() {
+            List<List<SignatureResult>> batchResults = new ArrayList<List<SignatureResult>>(batch.size());
+            for (TransactionEnvelope envelope : batch) {
+              batchResults.add(verifyEnvelope(network, envelope, signersByHint));
+            }
+            return batchResults;
+          }
+        }));
+      }
+      for (Future<List<List<SignatureResult>>> future : futures) {
+        results.addAll(future.get());
+      }
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new RuntimeException(e.getCause());
+    } finally {
+      for (Future<List<List<SignatureResult>>> future : futures) {
+        future.cancel(true);
+      }
+    }
+    return results;
+  }
+
+  private static List<SignatureResult> verifyEnvelope(Network network, TransactionEnvelope envelope, Map<Integer, List<KeyPair>> signersByHint) {
+    byte[] txHash = Util.hash(Transaction.signatureBase(network, envelope.getTx()));
+    DecoratedSignature[] signatures = envelope.getSignatures();
+    List<SignatureResult> results = new ArrayList<SignatureResult>(signatures.length);
+    for (int i = 0; i < signatures.length; i++) {
+      DecoratedSignature signature = signatures[i];
+      KeyPair signer = null;
+      List<KeyPair> candidates = signersByHint.get(hintKey(signature.getHint().getSignatureHint()));
+      if (candidates != null) {
+        for (KeyPair candidate : candidates) {
+          if (candidate.verify(txHash, signature.getSignature().getSignature())) {
+            signer = candidate;
+            break;
+          }
+        }
+      }
+      results.add(new SignatureResult(i, signature, signer));
+    }
+    return results;
+  }
+
+  private static Integer hintKey(byte[] hint) {
+    return ((hint[0] & 0xFF) << 24) | ((hint[1] & 0xFF) << 16) | ((hint[2] & 0xFF) << 8) | (hint[3] & 0xFF);
+  }
+
+  /**
+   * Result of verifying a single {@link DecoratedSignature}.
+   */
+  public static class SignatureResult {
+    private final int mSignatureIndex;
+    private final DecoratedSignature mSignature;
+    private final KeyPair mSigner;
+
+    SignatureResult(int signatureIndex, DecoratedSignature signature, KeyPair signer) {
+      mSignatureIndex = signatureIndex;
+      mSignature = signature;
+      mSigner = signer;
+    }
+
+    /**
+     * Returns index of the signature in the envelope.
+     */
+    public int getSignatureIndex() {
+      return mSignatureIndex;
+    }
+
+    public DecoratedSignature getSignature() {
+      return mSignature;
+    }
+
+    /**
+     * Returns candidate signer whose key verified the signature, or null.
+     */
+    public KeyPair getSigner() {
+      return mSigner;
+    }
+
+    /**
+     * Returns true if the signature was verified by one of candidate signers.
+     */
+    public boolean isValid() {
+      return mSigner != null;
+    }
+  }
+}
@@ -0,0 +1,187 @@
+package org.stellar.sdk;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.stellar.sdk.responses.SubmitTransactionResponse;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Submits transactions of a single source account keeping up to <code>maxInFlight</code> of them in flight.
+ * <p>Sequence numbers are handed out atomically in the order transactions are built. The current sequence
+ * number is loaded from Horizon on first use and again after a transaction fails with
+ * <code>tx_bad_seq</code> or cannot be submitted. A transaction rejected with <code>tx_bad_seq</code> is then
+ * rebuilt with a new sequence number and resubmitted.</p>
+ * <p>Concurrent submissions can reach Horizon out of order, so a transaction can be rejected because the one
+ * before it has not arrived yet. Before reloading the sequence number the queue stops building transactions
+ * and waits until all transactions in flight are answered, so the loaded sequence number is never lower than
+ * one that is still pending. The sequence number also never goes back below one that was already
+ * accepted.</p>
+ * <p>Example:</p>
+ * <pre>
+ * TransactionSubmissionQueue queue = new TransactionSubmissionQueue(server, source, 4);
+ * ListenableFuture&lt;SubmitTransactionResponse&gt; response = queue.submit(new TransactionSubmissionQueue.TransactionFactory() {
+ *   public Transaction build(TransactionBuilderAccount account) {
+ *     Transaction transaction = new Transaction.Builder(account).addOperation(operation).build();
+ *     transaction.sign(source);
+ *     return transaction;
+ *   }
+ * });
+ * </pre>
+ */
+public class TransactionSubmissionQueue implements Closeable {
+  private static final String TX_BAD_SEQ = "tx_bad_seq";
+  private static final int DEFAULT_MAX_BAD_SEQ_RETRIES = 3;
+
+  private final Server mServer;
+  private final KeyPair mSourceAccount;
+  private final int mMaxBadSeqRetries;
+  private final ListeningExecutorService mExecutor;
+  private final Object mSequenceLock = new Object();
+  private long mSequenceNumber;
+  private boolean mSynced;
+  private int mInFlight;
+  private long mHighestAccepted;
+
+  /**
+   * Creates a new submission queue.
+   * @param server server to submit transactions to
+   * @param sourceAccount source account of all transactions
+   * @param maxInFlight maximum number of transactions submitted at the same time
+   */
+  public TransactionSubmissionQueue(Server server, KeyPair sourceAccount, int maxInFlight) {
+    this(server, sourceAccount, maxInFlight, DEFAULT_MAX_BAD_SEQ_RETRIES);
+  }
+
+  /**
+   * Creates a new submission queue.
+   * @param server server to submit transactions to
+   * @param sourceAccount source account of all transactions
+   * @param maxInFlight maximum number of transactions submitted at the same time
+   * @param maxBadSeqRetries how many times a transaction is rebuilt after <code>tx_bad_seq</code>
+   */
+  public TransactionSubmissionQueue(Server server, KeyPair sourceAccount, int maxInFlight, int maxBadSeqRetries) {
+    mServer = checkNotNull(server, "server cannot be null");
+    mSourceAccount = checkNotNull(sourceAccount, "sourceAccount cannot be null");
+    checkArgument(maxInFlight > 0, "maxInFlight must be positive");
+    checkArgument(maxBadSeqRetries >= 0, "maxBadSeqRetries cannot be negative");
+    mMaxBadSeqRetries = maxBadSeqRetries;
+    mExecutor = MoreExecutors.listeningDecorator(Executors.newFixedThreadPool(maxInFlight,
+            new ThreadFactoryBuilder().setNameFormat("transaction-submission-%d").setDaemon(true).build()));
+  }
+
+  public KeyPair getSourceAccount() {
+    return mSourceAccount;
+  }
+
+  /**
+   * Builds a transaction with a reserved sequence number and submits it.
+   * @param factory builds and signs the transaction, it may be called again when the transaction has to be rebuilt
+   * @return future completed with the last submission response or failed when the transaction could not be submitted
+   */
+  public ListenableFuture<SubmitTransactionResponse> submit(final TransactionFactory factory) {
+    checkNotNull(factory, "factory cannot be null");
+    return mExecutor.submit(new Callable<SubmitTransactionResponse>() {
+      @Override
+      public SubmitTransactionResponse call() throws IOException, InterruptedException {
+        return submitWithRetries(factory);
+      }
+    });
+  }
+
+  /**
+   * Forces reloading sequence number from Horizon before the next transaction is built. The sequence
+   * number is reloaded once all transactions in flight are answered.
+   */
+  public void resync() {
+    synchronized (mSequenceLock) {
+      mSynced = false;
+    }
+  }
+
+  /**
+   * Stops submitting queued transactions. Transactions already in flight are not cancelled.
+   */
+  @Override
+  public void close() {
+    mExecutor.shutdown();
+  }
+
+  private SubmitTransactionResponse submitWithRetries(TransactionFactory factory) throws IOException, InterruptedException {
+    for (int attempt = 0; ; attempt++) {
+      Transaction transaction = build(factory);
+
+      SubmitTransactionResponse response;
+      boolean accepted = false;
+      try {
+        response = mServer.submitTransaction(transaction);
+        accepted = response != null && response.isSuccess();
+      } finally {
+        synchronized (mSequenceLock) {
+          mInFlight--;
+          if (accepted) {
+            mHighestAccepted = Math.max(mHighestAccepted, transaction.getSequenceNumber());
+          } else {
+            // Unknown outcome or rejected transaction, reload sequence number once in-flight transactions settle
+            mSynced = false;
+          }
+          mSequenceLock.notifyAll();
+        }
+      }
+      if (response == null || !isBadSequence(response) || attempt >= mMaxBadSeqRetries) {
+        return response;
+      }
+    }
+  }
+
+  private Transaction build(TransactionFactory factory) throws IOException, InterruptedException {
+    // Build under the lock so sequence numbers are used in the order they are reserved
+    synchronized (mSequenceLock) {
+      while (!mSynced && mInFlight > 0) {
+        mSequenceLock.wait();
+      }
+      if (!mSynced) {
+        long sequenceNumber = mServer.accounts().noCache().account(mSourceAccount).getSequenceNumber();
+        mSequenceNumber = Math.max(sequenceNumber, mHighestAccepted);
+        mSynced = true;
+      }
+      Account account = new Account(mSourceAccount, mSequenceNumber);
+      Transaction transaction = factory.build(account);
+      checkNotNull(transaction, "factory returned null");
+      if (transaction.getSequenceNumber() != mSequenceNumber + 1 || !transaction.getSourceAccount().getAccountId().equals(mSourceAccount.getAccountId())) {
+        throw new IllegalStateException("Transaction must be built from the account passed to the factory");
+      }
+      mSequenceNumber++;
+      mInFlight++;
+      return transaction;
+    }
+  }
+
+  static boolean isBadSequence(SubmitTransactionResponse response) {
+    return !response.isSuccess() &&
+            response.getExtras() != null &&
+            response.getExtras().getResultCodes() != null &&
+            TX_BAD_SEQ.equals(response.getExtras().getResultCodes().getTransactionResultCode());
+  }
+
+  /**
+   * Builds a transaction submitted by {@link TransactionSubmissionQueue}.
+   */
+  public interface TransactionFactory {
+    /**
+     * Builds and signs a transaction. The transaction must be built with <code>Transaction.Builder(account)</code>
+     * so it uses the sequence number reserved for it.
+     * @param account source account with reserved sequence number
+     */
+    Transaction build(TransactionBuilderAccount account);
+  }
+}
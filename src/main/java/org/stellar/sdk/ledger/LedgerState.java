@@ -0,0 +1,147 @@
+package org.stellar.sdk.ledger;
+
+import org.stellar.sdk.xdr.AccountEntry;
+import org.stellar.sdk.xdr.DataEntry;
+import org.stellar.sdk.xdr.LedgerEntry;
+import org.stellar.sdk.xdr.LedgerEntryType;
+import org.stellar.sdk.xdr.LedgerKey;
+import org.stellar.sdk.xdr.OfferEntry;
+import org.stellar.sdk.xdr.TrustLineEntry;
+import org.stellar.sdk.xdr.XdrByteBufferWriter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Snapshot of live ledger entries keyed by {@link LedgerKey}.
+ * @see LedgerStateLoader
+ */
+public class LedgerState {
+  private final Map<ByteBuffer, LedgerEntry> mEntries;
+
+  LedgerState(Map<ByteBuffer, LedgerEntry> entries) {
+    mEntries = entries;
+  }
+
+  /**
+   * Returns live entry for a given <code>key</code> or null if there is no such entry.
+   * @param key ledger key of the entry
+   */
+  public LedgerEntry get(LedgerKey key) {
+    checkNotNull(key, "key cannot be null");
+    return mEntries.get(encodeKey(key, new XdrByteBufferWriter()));
+  }
+
+  /**
+   * Returns number of live entries.
+   */
+  public int size() {
+    return mEntries.size();
+  }
+
+  /**
+   * Returns all live entries.
+   */
+  public Collection<LedgerEntry> getEntries() {
+    return Collections.unmodifiableCollection(mEntries.values());
+  }
+
+  public List<AccountEntry> getAccounts() {
+    List<AccountEntry> accounts = new ArrayList<AccountEntry>();
+    for (LedgerEntry entry : mEntries.values()) {
+      if (entry.getData().getDiscriminant() == LedgerEntryType.ACCOUNT) {
+        accounts.add(entry.getData().getAccount());
+      }
+    }
+    return accounts;
+  }
+
+  public List<TrustLineEntry> getTrustLines() {
+    List<TrustLineEntry> trustLines = new ArrayList<TrustLineEntry>();
+    for (LedgerEntry entry : mEntries.values()) {
+      if (entry.getData().getDiscriminant() == LedgerEntryType.TRUSTLINE) {
+        trustLines.add(entry.getData().getTrustLine());
+      }
+    }
+    return trustLines;
+  }
+
+  public List<OfferEntry> getOffers() {
+    List<OfferEntry> offers = new ArrayList<OfferEntry>();
+    for (LedgerEntry entry : mEntries.values()) {
+      if (entry.getData().getDiscriminant() == LedgerEntryType.OFFER) {
+        offers.add(entry.getData().getOffer());
+      }
+    }
+    return offers;
+  }
+
+  public List<DataEntry> getData() {
+    List<DataEntry> data = new ArrayList<DataEntry>();
+    for (LedgerEntry entry : mEntries.values()) {
+      if (entry.getData().getDiscriminant() == LedgerEntryType.DATA) {
+        data.add(entry.getData().getData());
+      }
+    }
+    return data;
+  }
+
+  /**
+   * Returns {@link LedgerKey} identifying a given ledger entry.
+   * @param entry ledger entry
+   */
+  public static LedgerKey keyOf(LedgerEntry entry) {
+    LedgerEntry.LedgerEntryData data = entry.getData();
+    LedgerKey key = new LedgerKey();
+    key.setDiscriminant(data.getDiscriminant());
+    switch (data.getDiscriminant()) {
+      case ACCOUNT:
+        LedgerKey.LedgerKeyAccount account = new LedgerKey.LedgerKeyAccount();
+        account.setAccountID(data.getAccount().getAccountID());
+        key.setAccount(account);
+        break;
+      case TRUSTLINE:
+        LedgerKey.LedgerKeyTrustLine trustLine = new LedgerKey.LedgerKeyTrustLine();
+        trustLine.setAccountID(data.getTrustLine().getAccountID());
+        trustLine.setAsset(data.getTrustLine().getAsset());
+        key.setTrustLine(trustLine);
+        break;
+      case OFFER:
+        LedgerKey.LedgerKeyOffer offer = new LedgerKey.LedgerKeyOffer();
+        offer.setSellerID(data.getOffer().getSellerID());
+        offer.setOfferID(data.getOffer().getOfferID());
+        key.setOffer(offer);
+        break;
+      case DATA:
+        LedgerKey.LedgerKeyData dataKey = new LedgerKey.LedgerKeyData();
+        dataKey.setAccountID(data.getData().getAccountID());
+        dataKey.setDataName(data.getData().getDataName());
+        key.setData(dataKey);
+        break;
+      default:
+        throw new RuntimeException("Unknown ledger entry type " + data.getDiscriminant());
+    }
+    return key;
+  }
+
+  /**
+   * XDR representation of a key is used as a map key, because generated XDR classes
+   * do not implement <code>equals</code> and <code>hashCode</code>.
+   */
+  static ByteBuffer encodeKey(LedgerKey key, XdrByteBufferWriter writer) {
+    try {
+      writer.reset();
+      LedgerKey.encode(writer, key);
+      return ByteBuffer.wrap(writer.toByteArray());
+    } catch (IOException e) {
+      throw new AssertionError(e);
+    }
+  }
+}
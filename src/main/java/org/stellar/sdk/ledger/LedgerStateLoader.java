@@ -0,0 +1,206 @@
+package org.stellar.sdk.ledger;
+
+import org.stellar.sdk.xdr.BucketEntry;
+import org.stellar.sdk.xdr.XdrByteBufferWriter;
+import org.stellar.sdk.xdr.XdrRecordDecoder;
+import org.stellar.sdk.xdr.XdrRecordReader;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Builds {@link LedgerState} from bucket files.
+ * <p>Buckets are read and decoded in parallel on the given executor, at most <code>maxInFlight</code>
+ * at a time. Each bucket is merged as soon as it has been decoded and then dropped from memory, so
+ * peak memory is the merged state plus <code>maxInFlight</code> decoded buckets. A key keeps the entry
+ * of the newest bucket it occurs in, so a <code>DEADENTRY</code> in a newer bucket shadows a
+ * <code>LIVEENTRY</code> for the same key in older buckets regardless of the order buckets finish in.</p>
+ * @see <a href="https://www.stellar.org/developers/stellar-core/software/admin.html" target="_blank">History archives</a>
+ */
+public class LedgerStateLoader {
+  private final ExecutorService mExecutor;
+  private final int mMaxInFlight;
+
+  /**
+   * Creates a loader using the given executor to read buckets, reading a bucket per available processor at a time.
+   * @param executor executor used to read bucket files, it is not shut down by the loader
+   */
+  public LedgerStateLoader(ExecutorService executor) {
+    this(executor, Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Creates a loader using the given executor to read buckets.
+   * @param executor executor used to read bucket files, it is not shut down by the loader
+   * @param maxInFlight maximum number of buckets decoded and kept in memory at the same time
+   */
+  public LedgerStateLoader(ExecutorService executor, int maxInFlight) {
+    mExecutor = checkNotNull(executor, "executor cannot be null");
+    checkArgument(maxInFlight > 0, "maxInFlight must be positive");
+    mMaxInFlight = maxInFlight;
+  }
+
+  /**
+   * Loads bucket files using a thread per available processor.
+   * @param buckets bucket files in bucket list order: level 0 <code>curr</code>, level 0 <code>snap</code>,
+   *                level 1 <code>curr</code> and so on (newest first). Files with <code>.gz</code>
+   *                extension are decompressed.
+   * @throws IOException when any of the buckets cannot be read
+   */
+  public static LedgerState loadBuckets(List<File> buckets) throws IOException {
+    ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    try {
+      return new LedgerStateLoader(executor).load(buckets);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Loads bucket files.
+   * @param buckets bucket files in bucket list order: level 0 <code>curr</code>, level 0 <code>snap</code>,
+   *                level 1 <code>curr</code> and so on (newest first). Files with <code>.gz</code>
+   *                extension are decompressed.
+   * @throws IOException when any of the buckets cannot be read
+   */
+  public LedgerState load(List<File> buckets) throws IOException {
+    checkNotNull(buckets, "buckets cannot be null");
+    CompletionService<Bucket> completionService = new ExecutorCompletionService<Bucket>(mExecutor);
+    List<Future<Bucket>> futures = new ArrayList<Future<Bucket>>();
+
+    // Dead entries are kept with null entry until all buckets are merged
+    Map<ByteBuffer, MergedEntry> merged = new HashMap<ByteBuffer, MergedEntry>();
+    try {
+      int next = 0;
+      int inFlight = 0;
+      while (next < buckets.size() || inFlight > 0) {
+        while (next < buckets.size() && inFlight < mMaxInFlight) {
+          final int index = next++;
+          final File bucket = buckets.get(index);
+          futures.add(completionService.submit(new Callable<Bucket>() {
+            @Override
+            public Bucket call() throws IOException {
+              return new Bucket(index, readBucket(bucket));
+            }
+          }));
+          inFlight++;
+        }
+        Bucket bucket = takeBucket(completionService);
+        inFlight--;
+        merge(merged, bucket);
+      }
+    } finally {
+      for (Future<Bucket> future : futures) {
+        future.cancel(true);
+      }
+    }
+
+    Map<ByteBuffer, org.stellar.sdk.xdr.LedgerEntry> live = new HashMap<ByteBuffer, org.stellar.sdk.xdr.LedgerEntry>();
+    for (Iterator<Map.Entry<ByteBuffer, MergedEntry>> it = merged.entrySet().iterator(); it.hasNext(); ) {
+      Map.Entry<ByteBuffer, MergedEntry> entry = it.next();
+      if (entry.getValue().mEntry != null) {
+        live.put(entry.getKey(), entry.getValue().mEntry.getLiveEntry());
+      }
+      it.remove();
+    }
+    return new LedgerState(live);
+  }
+
+  private static void merge(Map<ByteBuffer, MergedEntry> merged, Bucket bucket) {
+    for (Map.Entry<ByteBuffer, BucketEntry> entry : bucket.mEntries.entrySet()) {
+      MergedEntry existing = merged.get(entry.getKey());
+      if (existing == null) {
+        merged.put(entry.getKey(), new MergedEntry(bucket.mIndex, entry.getValue()));
+      } else if (existing.mBucket > bucket.mIndex) {
+        existing.mBucket = bucket.mIndex;
+        existing.mEntry = entry.getValue();
+      }
+    }
+  }
+
+  /**
+   * Reads a single bucket. Live entries are mapped to themselves and dead entries to null.
+   */
+  private static Map<ByteBuffer, BucketEntry> readBucket(File bucket) throws IOException {
+    FileInputStream in = new FileInputStream(bucket);
+    try {
+      XdrRecordReader<BucketEntry> reader = new XdrRecordReader.Builder<BucketEntry>(in.getChannel(), XdrRecordDecoder.BUCKET_ENTRY)
+              .setGzipped(bucket.getName().endsWith(".gz"))
+              .build();
+      XdrByteBufferWriter writer = new XdrByteBufferWriter();
+      Map<ByteBuffer, BucketEntry> entries = new HashMap<ByteBuffer, BucketEntry>();
+      try {
+        BucketEntry entry;
+        while ((entry = reader.read()) != null) {
+          switch (entry.getDiscriminant()) {
+            case LIVEENTRY:
+              entries.put(LedgerState.encodeKey(LedgerState.keyOf(entry.getLiveEntry()), writer), entry);
+              break;
+            case DEADENTRY:
+              entries.put(LedgerState.encodeKey(entry.getDeadEntry(), writer), null);
+              break;
+            default:
+              throw new IOException("Unknown bucket entry type " + entry.getDiscriminant());
+          }
+        }
+      } finally {
+        reader.close();
+      }
+      return entries;
+    } finally {
+      in.close();
+    }
+  }
+
+  private static Bucket takeBucket(CompletionService<Bucket> completionService) throws IOException {
+    try {
+      return completionService.take().get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while loading buckets");
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw new RuntimeException(e.getCause());
+    }
+  }
+
+  private static class Bucket {
+    final int mIndex;
+    final Map<ByteBuffer, BucketEntry> mEntries;
+
+    Bucket(int index, Map<ByteBuffer, BucketEntry> entries) {
+      mIndex = index;
+      mEntries = entries;
+    }
+  }
+
+  private static class MergedEntry {
+    // Position of the bucket the entry comes from, lower is newer
+    int mBucket;
+    BucketEntry mEntry;
+
+    MergedEntry(int bucket, BucketEntry entry) {
+      mBucket = bucket;
+      mEntry = entry;
+    }
+  }
+}
@@ -1,31 +1,44 @@
 package org.stellar.sdk.requests;
 
+import com.google.common.util.concurrent.ListenableFuture;
 import com.google.gson.reflect.TypeToken;
 
-import org.apache.http.client.fluent.Request;
+import org.apache.http.client.HttpClient;
+import org.apache.http.nio.client.HttpAsyncClient;
 import org.glassfish.jersey.media.sse.EventSource;
 import org.glassfish.jersey.media.sse.InboundEvent;
 import org.glassfish.jersey.media.sse.SseFeature;
 import org.stellar.sdk.KeyPair;
 import org.stellar.sdk.responses.AccountResponse;
-import org.stellar.sdk.responses.GsonSingleton;
 import org.stellar.sdk.responses.Page;
 
 import java.io.IOException;
 import java.net.URI;
+import java.util.concurrent.ExecutorService;
 
 import javax.ws.rs.client.Client;
 import javax.ws.rs.client.ClientBuilder;
 import javax.ws.rs.client.WebTarget;
 
+import static com.google.common.base.Preconditions.checkNotNull;
+
 /**
  * Builds requests connected to accounts.
  */
 public class AccountsRequestBuilder extends RequestBuilder {
+  private boolean noCache;
+
   public AccountsRequestBuilder(URI serverURI) {
     super(serverURI, "accounts");
   }
 
+  /**
+   * Creates a new builder that sends requests using <code>httpClient</code>.
+   */
+  public AccountsRequestBuilder(HttpClient httpClient, URI serverURI) {
+    super(httpClient, serverURI, "accounts");
+  }
+
   /**
    * Requests specific <code>uri</code> and returns {@link AccountResponse}.
    * This method is helpful for getting the links.
@@ -33,8 +46,7 @@ public class AccountsRequestBuilder extends RequestBuilder {
    */
   public AccountResponse account(URI uri) throws IOException {
     TypeToken type = new TypeToken<AccountResponse>() {};
-    ResponseHandler<AccountResponse> responseHandler = new ResponseHandler<AccountResponse>(type);
-    return (AccountResponse) Request.Get(uri).execute().handleResponse(responseHandler);
+    return (AccountResponse) executeGet(httpClient, uri, type, noCache);
   }
 
   /**
@@ -48,6 +60,16 @@ public class AccountsRequestBuilder extends RequestBuilder {
     return this.account(this.buildUri());
   }
 
+  /**
+   * Requests <code>GET /accounts/{account}</code> without blocking.
+   * @param asyncClient started asynchronous HTTP client
+   * @param account Account to fetch
+   */
+  public ListenableFuture<AccountResponse> account(HttpAsyncClient asyncClient, KeyPair account) {
+    this.setSegments("accounts", account.getAccountId());
+    return executeGetAsync(asyncClient, httpClient, this.buildUri(), new TypeToken<AccountResponse>() {});
+  }
+
   /**
    * Requests specific <code>uri</code> and returns {@link Page} of {@link AccountResponse}.
    * This method is helpful for getting the next set of results.
@@ -57,8 +79,7 @@ public class AccountsRequestBuilder extends RequestBuilder {
    */
   public static Page<AccountResponse> execute(URI uri) throws IOException, TooManyRequestsException {
     TypeToken type = new TypeToken<Page<AccountResponse>>() {};
-    ResponseHandler<Page<AccountResponse>> responseHandler = new ResponseHandler<Page<AccountResponse>>(type);
-    return (Page<AccountResponse>) Request.Get(uri).execute().handleResponse(responseHandler);
+    return (Page<AccountResponse>) executeGet(HttpClientConfig.getDefaultHttpClient(), uri, type);
   }
 
   /**
@@ -74,20 +95,31 @@ public class AccountsRequestBuilder extends RequestBuilder {
   public EventSource stream(final EventListener<AccountResponse> listener) {
     Client client = ClientBuilder.newBuilder().register(SseFeature.class).build();
     WebTarget target = client.target(this.buildUri());
+    final EventDecoder<AccountResponse> decoder = EventDecoder.of(AccountResponse.class);
     EventSource eventSource = new EventSource(target) {
       @Override
       public void onEvent(InboundEvent inboundEvent) {
-        String data = inboundEvent.readData(String.class);
-        if (data.equals("\"hello\"")) {
-          return;
+        AccountResponse account = decoder.decode(inboundEvent);
+        if (account != null) {
+          listener.onEvent(account);
         }
-        AccountResponse account = GsonSingleton.getInstance().fromJson(data, AccountResponse.class);
-        listener.onEvent(account);
       }
     };
     return eventSource;
   }
 
+  /**
+   * Streams SSE events from horizon through <code>manager</code>. The stream shares the manager's client
+   * and reconnects after errors, resuming from the last delivered event.
+   * @param manager {@link StreamManager} opening the stream
+   * @param listener {@link EventListener} implementation with {@link AccountResponse} type
+   * @return ManagedStream object, so you can check its health and <code>close()</code> it when not needed anymore
+   */
+  public ManagedStream<AccountResponse> stream(StreamManager manager, EventListener<AccountResponse> listener) {
+    checkNotNull(manager, "manager cannot be null");
+    return manager.stream(this.buildUri(), AccountResponse.class, listener);
+  }
+
   /**
    * Build and execute request. <strong>Warning!</strong> {@link AccountResponse}s in {@link Page} will contain only <code>keypair</code> field.
    * @return {@link Page} of {@link AccountResponse}
@@ -95,7 +127,38 @@ public class AccountsRequestBuilder extends RequestBuilder {
    * @throws IOException
    */
   public Page<AccountResponse> execute() throws IOException, TooManyRequestsException {
-    return this.execute(this.buildUri());
+    TypeToken type = new TypeToken<Page<AccountResponse>>() {};
+    return (Page<AccountResponse>) executeGet(httpClient, this.buildUri(), type);
+  }
+
+  /**
+   * Build and execute request without blocking.
+   * @param asyncClient started asynchronous HTTP client
+   * @return future completed with {@link Page} of {@link AccountResponse}
+   */
+  public ListenableFuture<Page<AccountResponse>> execute(HttpAsyncClient asyncClient) {
+    return executeGetAsync(asyncClient, httpClient, this.buildUri(), new TypeToken<Page<AccountResponse>>() {});
+  }
+
+  /**
+   * Returns records of all pages of this request. Next pages are prefetched on <code>executor</code>.
+   * Use {@link #cursor(String)} with {@link PageIterable.PageIterator#getCursor()} to resume iteration.
+   * @param executor executor on which next pages are prefetched or null to fetch them when needed
+   * @return {@link PageIterable} of {@link AccountResponse}
+   */
+  public PageIterable<AccountResponse> iterate(ExecutorService executor) {
+    return this.pageIterable(new TypeToken<Page<AccountResponse>>() {}, executor);
+  }
+
+  /**
+   * Requests a fresh account from Horizon instead of one stored by a response cache, like
+   * {@link CachingHttpClient}. The fresh response replaces the cached one. Applies to <code>account()</code>
+   * requests sent with an {@link HttpClient}, other requests are never answered from the cache.
+   * Use it when a stale response causes errors, e.g. when reloading sequence number after <code>tx_bad_seq</code>.
+   */
+  public AccountsRequestBuilder noCache() {
+    noCache = true;
+    return this;
   }
 
   @Override
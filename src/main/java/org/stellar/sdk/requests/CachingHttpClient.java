@@ -0,0 +1,226 @@
+package org.stellar.sdk.requests;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpRequestWrapper;
+import org.apache.http.client.utils.URIUtils;
+import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.util.EntityUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * HTTP client answering GET requests of single Horizon resources from a {@link ResponseCache}.
+ * <p>Ledgers, transactions and operations never change once they exist, so their responses are cached
+ * until evicted. Accounts and order books are cached for a short time to live. Other requests, like collections
+ * and transaction submissions, are always sent to Horizon. Expired responses with an <code>ETag</code>
+ * are revalidated with <code>If-None-Match</code>. Requests with <code>Cache-Control: no-cache</code>, sent by
+ * {@link AccountsRequestBuilder#noCache()} and {@link OrderBookRequestBuilder#noCache()}, skip the cache and replace the cached response.</p>
+ * <p>It is created by {@link HttpClientConfig} when a response cache is set, or it can wrap your own client.</p>
+ */
+public class CachingHttpClient extends CloseableHttpClient {
+  private static final Pattern IMMUTABLE = Pattern.compile(".*/(ledgers/\\d+|transactions/[0-9a-fA-F]{64}|operations/\\d+)/?");
+  private static final Pattern MUTABLE = Pattern.compile(".*/(accounts/G[A-Z2-7]{55}|order_book)/?");
+  private static final String[] STORED_HEADERS = {"Content-Type", "ETag", "X-Ratelimit-Limit", "X-Ratelimit-Remaining", "X-Ratelimit-Reset"};
+
+  private final CloseableHttpClient mDelegate;
+  private final ResponseCache mCache;
+  private final long mMutableTtl;
+  private final AtomicLong mHits = new AtomicLong();
+  private final AtomicLong mMisses = new AtomicLong();
+
+  /**
+   * Creates a new client.
+   * @param delegate client sending requests, it is closed with this client
+   * @param cache storage of responses
+   * @param mutableTtl milliseconds account and order book responses are cached, 0 to not cache them
+   */
+  public CachingHttpClient(CloseableHttpClient delegate, ResponseCache cache, long mutableTtl) {
+    mDelegate = checkNotNull(delegate, "delegate cannot be null");
+    mCache = checkNotNull(cache, "cache cannot be null");
+    checkArgument(mutableTtl >= 0, "mutableTtl cannot be negative");
+    mMutableTtl = mutableTtl;
+  }
+
+  /**
+   * Returns number of requests answered from the cache.
+   */
+  public long getHits() {
+    return mHits.get();
+  }
+
+  /**
+   * Returns number of cacheable requests sent to Horizon.
+   */
+  public long getMisses() {
+    return mMisses.get();
+  }
+
+  @Override
+  protected CloseableHttpResponse doExecute(HttpHost target, HttpRequest request, HttpContext context) throws IOException {
+    if (!"GET".equals(request.getRequestLine().getMethod())) {
+      return mDelegate.execute(target, request, context);
+    }
+    URI uri;
+    try {
+      uri = URIUtils.rewriteURI(new URI(request.getRequestLine().getUri()), target);
+    } catch (URISyntaxException e) {
+      return mDelegate.execute(target, request, context);
+    }
+    long ttl = ttl(uri.getPath());
+    if (ttl < 0) {
+      return mDelegate.execute(target, request, context);
+    }
+
+    String key = uri.toString();
+    long now = System.currentTimeMillis();
+    ResponseCache.Entry cached = isNoCache(request) ? null : get(key);
+    if (cached != null && !cached.isExpired(now)) {
+      mHits.incrementAndGet();
+      return new CachedResponse(cached);
+    }
+    mMisses.incrementAndGet();
+
+    HttpRequest outgoing = request;
+    String etag = cached != null ? cached.getETag() : null;
+    if (etag != null) {
+      HttpRequestWrapper conditional = HttpRequestWrapper.wrap(request);
+      conditional.setHeader("If-None-Match", etag);
+      outgoing = conditional;
+    }
+    CloseableHttpResponse response = mDelegate.execute(target, outgoing, context);
+    int statusCode = response.getStatusLine().getStatusCode();
+    if (statusCode == 304 && cached != null) {
+      discard(response);
+      ResponseCache.Entry refreshed = cached.withExpiresAt(expiresAt(ttl, now));
+      put(key, refreshed);
+      return new CachedResponse(refreshed);
+    }
+    HttpEntity entity = response.getEntity();
+    if (statusCode != 200 || entity == null) {
+      return response;
+    }
+    byte[] body;
+    try {
+      body = EntityUtils.toByteArray(entity);
+    } finally {
+      response.close();
+    }
+    ResponseCache.Entry entry = new ResponseCache.Entry(body, storedHeaders(response), expiresAt(ttl, now));
+    put(key, entry);
+    return new CachedResponse(entry);
+  }
+
+  private long ttl(String path) {
+    if (path == null) {
+      return -1;
+    }
+    if (IMMUTABLE.matcher(path).matches()) {
+      return Long.MAX_VALUE;
+    }
+    if (mMutableTtl > 0 && MUTABLE.matcher(path).matches()) {
+      return mMutableTtl;
+    }
+    return -1;
+  }
+
+  private static boolean isNoCache(HttpRequest request) {
+    for (Header header : request.getHeaders(HttpHeaders.CACHE_CONTROL)) {
+      if (header.getValue() != null && header.getValue().toLowerCase(Locale.ROOT).contains("no-cache")) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static long expiresAt(long ttl, long now) {
+    return ttl == Long.MAX_VALUE ? ResponseCache.Entry.NEVER : now + ttl;
+  }
+
+  private ResponseCache.Entry get(String key) {
+    try {
+      return mCache.get(key);
+    } catch (IOException e) {
+      // A broken cache must not break requests
+      return null;
+    }
+  }
+
+  private void put(String key, ResponseCache.Entry entry) {
+    try {
+      mCache.put(key, entry);
+    } catch (IOException e) {
+      // Response is still returned, it will be fetched again next time
+    }
+  }
+
+  private static Header[] storedHeaders(CloseableHttpResponse response) {
+    List<Header> headers = new ArrayList<Header>(STORED_HEADERS.length);
+    for (String name : STORED_HEADERS) {
+      Header header = response.getFirstHeader(name);
+      if (header != null) {
+        headers.add(header);
+      }
+    }
+    return headers.toArray(new Header[headers.size()]);
+  }
+
+  private static void discard(CloseableHttpResponse response) throws IOException {
+    EntityUtils.consumeQuietly(response.getEntity());
+    response.close();
+  }
+
+  @Override
+  public void close() throws IOException {
+    mDelegate.close();
+  }
+
+  @Override
+  @Deprecated
+  public HttpParams getParams() {
+    return mDelegate.getParams();
+  }
+
+  @Override
+  @Deprecated
+  public ClientConnectionManager getConnectionManager() {
+    return mDelegate.getConnectionManager();
+  }
+
+  private static class CachedResponse extends BasicHttpResponse implements CloseableHttpResponse {
+    CachedResponse(ResponseCache.Entry entry) {
+      super(HttpVersion.HTTP_1_1, 200, "OK");
+      setHeaders(entry.getHeaders());
+      ByteArrayEntity entity = new ByteArrayEntity(entry.getBody());
+      Header contentType = getFirstHeader("Content-Type");
+      if (contentType != null) {
+        entity.setContentType(contentType);
+      }
+      setEntity(entity);
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+}
@@ -0,0 +1,172 @@
+package org.stellar.sdk.requests;
+
+import com.google.common.hash.Hashing;
+
+import org.apache.http.Header;
+import org.apache.http.message.BasicHeader;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * {@link ResponseCache} storing responses as files in a directory, so they survive restarts.
+ * Least recently used files are deleted when the total size of files exceeds <code>maxBytes</code>.
+ */
+public class DiskResponseCache implements ResponseCache {
+  private static final int VERSION = 1;
+  private static final String SUFFIX = ".response";
+
+  private final File mDirectory;
+  private final long mMaxBytes;
+  private final AtomicLong mSize = new AtomicLong();
+
+  /**
+   * Creates a new cache.
+   * @param directory directory to store responses in, it is created if it does not exist
+   * @param maxBytes maximum total size of stored responses
+   * @throws IOException when the directory could not be created
+   */
+  public DiskResponseCache(File directory, long maxBytes) throws IOException {
+    mDirectory = checkNotNull(directory, "directory cannot be null");
+    checkArgument(maxBytes > 0, "maxBytes must be positive");
+    if (!directory.isDirectory() && !directory.mkdirs()) {
+      throw new IOException("Cannot create directory " + directory);
+    }
+    mMaxBytes = maxBytes;
+    for (File file : files()) {
+      mSize.addAndGet(file.length());
+    }
+  }
+
+  /**
+   * Returns total size of stored responses in bytes.
+   */
+  public long getSize() {
+    return mSize.get();
+  }
+
+  @Override
+  public Entry get(String uri) throws IOException {
+    File file = file(uri);
+    DataInputStream in;
+    try {
+      in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+    } catch (FileNotFoundException e) {
+      return null;
+    }
+    try {
+      // Different URIs could share a file name only on a hash collision
+      if (in.readInt() != VERSION || !in.readUTF().equals(uri)) {
+        return null;
+      }
+      long expiresAt = in.readLong();
+      Header[] headers = new Header[in.readInt()];
+      for (int i = 0; i < headers.length; i++) {
+        headers[i] = new BasicHeader(in.readUTF(), in.readUTF());
+      }
+      byte[] body = new byte[in.readInt()];
+      in.readFully(body);
+      file.setLastModified(System.currentTimeMillis());
+      return new Entry(body, headers, expiresAt);
+    } finally {
+      in.close();
+    }
+  }
+
+  @Override
+  public void put(String uri, Entry entry) throws IOException {
+    File file = file(uri);
+    File temporary = File.createTempFile("put", ".tmp", mDirectory);
+    try {
+      DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporary)));
+      try {
+        out.writeInt(VERSION);
+        out.writeUTF(uri);
+        out.writeLong(entry.getExpiresAt());
+        out.writeInt(entry.getHeaders().length);
+        for (Header header : entry.getHeaders()) {
+          out.writeUTF(header.getName());
+          out.writeUTF(header.getValue());
+        }
+        out.writeInt(entry.getBody().length);
+        out.write(entry.getBody());
+      } finally {
+        out.close();
+      }
+      synchronized (this) {
+        long previous = file.length();
+        if (file.exists() && !file.delete()) {
+          throw new IOException("Cannot replace " + file);
+        }
+        if (!temporary.renameTo(file)) {
+          throw new IOException("Cannot rename " + temporary + " to " + file);
+        }
+        mSize.addAndGet(file.length() - previous);
+      }
+    } finally {
+      temporary.delete();
+    }
+    if (mSize.get() > mMaxBytes) {
+      evict(file);
+    }
+  }
+
+  private synchronized void evict(File keep) {
+    File[] files = files();
+    Arrays.sort(files, new Comparator<File>() {
+      @Override
+      public int compare(File a, File b) {
+        long difference = a.lastModified() - b.lastModified();
+        return difference < 0 ? -1 : difference > 0 ? 1 : 0;
+      }
+    });
+    // Leave some room so eviction does not run on every put
+    long target = mMaxBytes - mMaxBytes / 10;
+    for (File file : files) {
+      if (mSize.get() <= target) {
+        break;
+      }
+      // Modification times can have a resolution of seconds, never evict the entry just stored
+      if (file.equals(keep)) {
+        continue;
+      }
+      long length = file.length();
+      if (file.delete()) {
+        mSize.addAndGet(-length);
+      }
+    }
+  }
+
+  private File file(String uri) {
+    checkNotNull(uri, "uri cannot be null");
+    return new File(mDirectory, Hashing.sha256().hashString(uri, StandardCharsets.UTF_8).toString() + SUFFIX);
+  }
+
+  private File[] files() {
+    File[] files = mDirectory.listFiles();
+    if (files == null) {
+      return new File[0];
+    }
+    int count = 0;
+    for (File file : files) {
+      if (file.getName().endsWith(SUFFIX)) {
+        files[count++] = file;
+      }
+    }
+    return Arrays.copyOf(files, count);
+  }
+}
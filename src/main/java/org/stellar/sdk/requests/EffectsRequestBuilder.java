@@ -1,18 +1,20 @@
 package org.stellar.sdk.requests;
 
+import com.google.common.util.concurrent.ListenableFuture;
 import com.google.gson.reflect.TypeToken;
 
-import org.apache.http.client.fluent.Request;
+import org.apache.http.client.HttpClient;
+import org.apache.http.nio.client.HttpAsyncClient;
 import org.glassfish.jersey.media.sse.EventSource;
 import org.glassfish.jersey.media.sse.InboundEvent;
 import org.glassfish.jersey.media.sse.SseFeature;
 import org.stellar.sdk.KeyPair;
-import org.stellar.sdk.responses.GsonSingleton;
 import org.stellar.sdk.responses.Page;
 import org.stellar.sdk.responses.effects.EffectResponse;
 
 import java.io.IOException;
 import java.net.URI;
+import java.util.concurrent.ExecutorService;
 
 import javax.ws.rs.client.Client;
 import javax.ws.rs.client.ClientBuilder;
@@ -28,6 +30,13 @@ public class EffectsRequestBuilder extends RequestBuilder {
     super(serverURI, "effects");
   }
 
+  /**
+   * Creates a new builder that sends requests using <code>httpClient</code>.
+   */
+  public EffectsRequestBuilder(HttpClient httpClient, URI serverURI) {
+    super(httpClient, serverURI, "effects");
+  }
+
   /**
    * Builds request to <code>GET /accounts/{account}/effects</code>
    * @see <a href="https://www.stellar.org/developers/horizon/reference/effects-for-account.html">Effects for Account</a>
@@ -79,8 +88,7 @@ public class EffectsRequestBuilder extends RequestBuilder {
    */
   public static Page<EffectResponse> execute(URI uri) throws IOException, TooManyRequestsException {
     TypeToken type = new TypeToken<Page<EffectResponse>>() {};
-    ResponseHandler<Page<EffectResponse>> responseHandler = new ResponseHandler<Page<EffectResponse>>(type);
-    return (Page<EffectResponse>) Request.Get(uri).execute().handleResponse(responseHandler);
+    return (Page<EffectResponse>) executeGet(HttpClientConfig.getDefaultHttpClient(), uri, type);
   }
 
   /**
@@ -96,20 +104,31 @@ public class EffectsRequestBuilder extends RequestBuilder {
   public EventSource stream(final EventListener<EffectResponse> listener) {
     Client client = ClientBuilder.newBuilder().register(SseFeature.class).build();
     WebTarget target = client.target(this.buildUri());
+    final EventDecoder<EffectResponse> decoder = EventDecoder.of(EffectResponse.class);
     EventSource eventSource = new EventSource(target) {
       @Override
       public void onEvent(InboundEvent inboundEvent) {
-        String data = inboundEvent.readData(String.class);
-        if (data.equals("\"hello\"")) {
-          return;
+        EffectResponse effect = decoder.decode(inboundEvent);
+        if (effect != null) {
+          listener.onEvent(effect);
         }
-        EffectResponse effect = GsonSingleton.getInstance().fromJson(data, EffectResponse.class);
-        listener.onEvent(effect);
       }
     };
     return eventSource;
   }
 
+  /**
+   * Streams SSE events from horizon through <code>manager</code>. The stream shares the manager's client
+   * and reconnects after errors, resuming from the last delivered event.
+   * @param manager {@link StreamManager} opening the stream
+   * @param listener {@link EventListener} implementation with {@link EffectResponse} type
+   * @return ManagedStream object, so you can check its health and <code>close()</code> it when not needed anymore
+   */
+  public ManagedStream<EffectResponse> stream(StreamManager manager, EventListener<EffectResponse> listener) {
+    checkNotNull(manager, "manager cannot be null");
+    return manager.stream(this.buildUri(), EffectResponse.class, listener);
+  }
+
   /**
    * Build and execute request.
    * @return {@link Page} of {@link EffectResponse}
@@ -117,7 +136,27 @@ public class EffectsRequestBuilder extends RequestBuilder {
    * @throws IOException
    */
   public Page<EffectResponse> execute() throws IOException, TooManyRequestsException {
-    return this.execute(this.buildUri());
+    TypeToken type = new TypeToken<Page<EffectResponse>>() {};
+    return (Page<EffectResponse>) executeGet(httpClient, this.buildUri(), type);
+  }
+
+  /**
+   * Build and execute request without blocking.
+   * @param asyncClient started asynchronous HTTP client
+   * @return future completed with {@link Page} of {@link EffectResponse}
+   */
+  public ListenableFuture<Page<EffectResponse>> execute(HttpAsyncClient asyncClient) {
+    return executeGetAsync(asyncClient, httpClient, this.buildUri(), new TypeToken<Page<EffectResponse>>() {});
+  }
+
+  /**
+   * Returns records of all pages of this request. Next pages are prefetched on <code>executor</code>.
+   * Use {@link #cursor(String)} with {@link PageIterable.PageIterator#getCursor()} to resume iteration.
+   * @param executor executor on which next pages are prefetched or null to fetch them when needed
+   * @return {@link PageIterable} of {@link EffectResponse}
+   */
+  public PageIterable<EffectResponse> iterate(ExecutorService executor) {
+    return this.pageIterable(new TypeToken<Page<EffectResponse>>() {}, executor);
   }
 
   @Override
@@ -0,0 +1,81 @@
+package org.stellar.sdk.requests;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+
+import org.glassfish.jersey.media.sse.InboundEvent;
+import org.stellar.sdk.responses.GsonSingleton;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Decodes data of SSE events sent by Horizon. The JSON is read straight from the event bytes with a
+ * Gson adapter looked up once per type, skipping the intermediate <code>String</code>.
+ * @param <T> type of events
+ */
+public class EventDecoder<T> {
+  private static final byte[] HELLO = "\"hello\"".getBytes(StandardCharsets.UTF_8);
+  private static final ConcurrentMap<Class<?>, EventDecoder<?>> DECODERS = new ConcurrentHashMap<Class<?>, EventDecoder<?>>();
+
+  private final TypeAdapter<T> mAdapter;
+
+  private EventDecoder(Class<T> type) {
+    mAdapter = GsonSingleton.getInstance().getAdapter(type);
+  }
+
+  /**
+   * Returns the shared decoder of events of <code>type</code>.
+   * @param type
+   * @param <T> type of events
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> EventDecoder<T> of(Class<T> type) {
+    checkNotNull(type, "type cannot be null");
+    EventDecoder<T> decoder = (EventDecoder<T>) DECODERS.get(type);
+    if (decoder == null) {
+      decoder = new EventDecoder<T>(type);
+      EventDecoder<T> existing = (EventDecoder<T>) DECODERS.putIfAbsent(type, decoder);
+      if (existing != null) {
+        decoder = existing;
+      }
+    }
+    return decoder;
+  }
+
+  /**
+   * Decodes data of <code>event</code>.
+   * @return decoded object or null for the <code>hello</code> message Horizon sends when a stream is opened
+   * @throws JsonParseException when the data is not valid
+   */
+  public T decode(InboundEvent event) {
+    return decode(event.getRawData());
+  }
+
+  /**
+   * Decodes UTF-8 encoded JSON <code>data</code>.
+   * @return decoded object or null for empty data and the <code>hello</code> message
+   * @throws JsonParseException when the data is not valid
+   */
+  public T decode(byte[] data) {
+    if (data == null || data.length == 0 || Arrays.equals(data, HELLO)) {
+      return null;
+    }
+    JsonReader reader = new JsonReader(new InputStreamReader(new ByteArrayInputStream(data), StandardCharsets.UTF_8));
+    try {
+      return mAdapter.read(reader);
+    } catch (IOException e) {
+      throw new JsonParseException(e);
+    } catch (IllegalStateException e) {
+      throw new JsonParseException(e);
+    }
+  }
+}
@@ -0,0 +1,330 @@
+package org.stellar.sdk.requests;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.protocol.HttpContext;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Configuration of the pooled, keep-alive HTTP client used to send requests to Horizon.
+ * <p>Example:</p>
+ * <pre>
+ * HttpClientConfig config = new HttpClientConfig.Builder()
+ *     .setMaxConnectionsPerRoute(50)
+ *     .setSocketTimeout(10000)
+ *     .build();
+ * Server server = new Server("https://horizon.stellar.org", config);
+ * </pre>
+ */
+public class HttpClientConfig {
+  private final int mMaxConnections;
+  private final int mMaxConnectionsPerRoute;
+  private final int mConnectTimeout;
+  private final int mConnectionRequestTimeout;
+  private final int mSocketTimeout;
+  private final long mKeepAlive;
+  private final RateLimiter mRateLimiter;
+  private final RetryPolicy mRetryPolicy;
+  private final ResponseCache mResponseCache;
+  private final long mResponseCacheTtl;
+
+  private HttpClientConfig(Builder builder) {
+    mMaxConnections = builder.mMaxConnections;
+    mMaxConnectionsPerRoute = builder.mMaxConnectionsPerRoute;
+    mConnectTimeout = builder.mConnectTimeout;
+    mConnectionRequestTimeout = builder.mConnectionRequestTimeout;
+    mSocketTimeout = builder.mSocketTimeout;
+    mKeepAlive = builder.mKeepAlive;
+    mRateLimiter = builder.mRateLimiter;
+    mRetryPolicy = builder.mRetryPolicy;
+    mResponseCache = builder.mResponseCache;
+    mResponseCacheTtl = builder.mResponseCacheTtl;
+  }
+
+  public int getMaxConnections() {
+    return mMaxConnections;
+  }
+
+  public int getMaxConnectionsPerRoute() {
+    return mMaxConnectionsPerRoute;
+  }
+
+  public int getConnectTimeout() {
+    return mConnectTimeout;
+  }
+
+  public int getConnectionRequestTimeout() {
+    return mConnectionRequestTimeout;
+  }
+
+  public int getSocketTimeout() {
+    return mSocketTimeout;
+  }
+
+  public long getKeepAlive() {
+    return mKeepAlive;
+  }
+
+  /**
+   * Returns rate limiter pacing requests or null when requests are not paced.
+   */
+  public RateLimiter getRateLimiter() {
+    return mRateLimiter;
+  }
+
+  /**
+   * Returns retry policy of GET requests or null when requests are not retried.
+   */
+  public RetryPolicy getRetryPolicy() {
+    return mRetryPolicy;
+  }
+
+  /**
+   * Returns cache of Horizon responses or null when responses are not cached.
+   */
+  public ResponseCache getResponseCache() {
+    return mResponseCache;
+  }
+
+  public long getResponseCacheTtl() {
+    return mResponseCacheTtl;
+  }
+
+  /**
+   * Creates a new pooled HTTP client. The caller is responsible for closing it.
+   */
+  public CloseableHttpClient createHttpClient() {
+    return decorate(createPooledHttpClient());
+  }
+
+  /**
+   * Creates a new pooled HTTP client spreading requests across Horizon <code>endpoints</code>.
+   * Failed requests are retried on the next chosen node. The caller is responsible for closing it.
+   * @param endpoints URIs of Horizon nodes
+   * @see LoadBalancingHttpClient
+   */
+  public CloseableHttpClient createHttpClient(List<URI> endpoints) {
+    return decorate(new LoadBalancingHttpClient(createPooledHttpClient(), endpoints));
+  }
+
+  private CloseableHttpClient decorate(CloseableHttpClient client) {
+    if (mRetryPolicy != null) {
+      // The rate limiter already retries 429 responses after pausing all requests
+      client = new RetryingHttpClient(client, mRetryPolicy, mRateLimiter == null);
+    }
+    if (mResponseCache != null) {
+      client = new CachingHttpClient(client, mResponseCache, mResponseCacheTtl);
+    }
+    return client;
+  }
+
+  private CloseableHttpClient createPooledHttpClient() {
+    PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+    connectionManager.setMaxTotal(mMaxConnections);
+    connectionManager.setDefaultMaxPerRoute(mMaxConnectionsPerRoute);
+
+    HttpClientBuilder builder = HttpClients.custom()
+            .setConnectionManager(connectionManager)
+            .setDefaultRequestConfig(createRequestConfig())
+            .setKeepAliveStrategy(createKeepAliveStrategy())
+            .evictExpiredConnections()
+            .evictIdleConnections(mKeepAlive, TimeUnit.MILLISECONDS);
+    if (mRateLimiter != null) {
+      mRateLimiter.apply(builder);
+    }
+    return builder.build();
+  }
+
+  /**
+   * Creates and starts a new non-blocking HTTP client with the same pool size, timeouts and keep-alive.
+   * Requests are multiplexed over a few I/O threads instead of blocking a thread each. Rate limiting,
+   * retries, caching and load balancing only apply to clients created by {@link #createHttpClient()}.
+   * The caller is responsible for closing it.
+   * @see org.stellar.sdk.AsyncServer
+   */
+  public CloseableHttpAsyncClient createHttpAsyncClient() {
+    CloseableHttpAsyncClient client = HttpAsyncClients.custom()
+            .setMaxConnTotal(mMaxConnections)
+            .setMaxConnPerRoute(mMaxConnectionsPerRoute)
+            .setDefaultRequestConfig(createRequestConfig())
+            .setKeepAliveStrategy(createKeepAliveStrategy())
+            .build();
+    client.start();
+    return client;
+  }
+
+  private RequestConfig createRequestConfig() {
+    return RequestConfig.custom()
+            .setConnectTimeout(mConnectTimeout)
+            .setConnectionRequestTimeout(mConnectionRequestTimeout)
+            .setSocketTimeout(mSocketTimeout)
+            .build();
+  }
+
+  private ConnectionKeepAliveStrategy createKeepAliveStrategy() {
+    // Use Keep-Alive header sent by the server and fall back to configured keep-alive
+    return new ConnectionKeepAliveStrategy() {
+      @Override
+      public long getKeepAliveDuration(HttpResponse response, HttpContext context) {
+        long duration = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+        return duration > 0 ? Math.min(duration, mKeepAlive) : mKeepAlive;
+      }
+    };
+  }
+
+  /**
+   * Returns HTTP client shared by servers created without a config, and by request builders and pages created
+   * without a {@link org.stellar.sdk.Server}. It is created with the default configuration on first use and never closed.
+   */
+  public static CloseableHttpClient getDefaultHttpClient() {
+    return DefaultHttpClientHolder.INSTANCE;
+  }
+
+  private static class DefaultHttpClientHolder {
+    private static final CloseableHttpClient INSTANCE = new Builder().build().createHttpClient();
+  }
+
+  /**
+   * Builds a new HttpClientConfig object.
+   */
+  public static class Builder {
+    private int mMaxConnections = 64;
+    private int mMaxConnectionsPerRoute = 16;
+    private int mConnectTimeout = 10000;
+    private int mConnectionRequestTimeout = 10000;
+    private int mSocketTimeout = 30000;
+    private long mKeepAlive = 30000;
+    private RateLimiter mRateLimiter;
+    private RetryPolicy mRetryPolicy;
+    private ResponseCache mResponseCache;
+    private long mResponseCacheTtl = 5000;
+
+    /**
+     * Sets maximum number of connections in the pool.
+     * @param maxConnections
+     * @return Builder object so you can chain methods.
+     */
+    public Builder setMaxConnections(int maxConnections) {
+      checkArgument(maxConnections > 0, "maxConnections must be positive");
+      mMaxConnections = maxConnections;
+      return this;
+    }
+
+    /**
+     * Sets maximum number of connections to a single Horizon host.
+     * @param maxConnectionsPerRoute
+     * @return Builder object so you can chain methods.
+     */
+    public Builder setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+      checkArgument(maxConnectionsPerRoute > 0, "maxConnectionsPerRoute must be positive");
+      mMaxConnectionsPerRoute = maxConnectionsPerRoute;
+      return this;
+    }
+
+    /**
+     * Sets timeout of establishing a connection in milliseconds.
+     * @param connectTimeout
+     * @return Builder object so you can chain methods.
+     */
+    public Builder setConnectTimeout(int connectTimeout) {
+      checkArgument(connectTimeout >= 0, "connectTimeout cannot be negative");
+      mConnectTimeout = connectTimeout;
+      return this;
+    }
+
+    /**
+     * Sets timeout of waiting for a free connection from the pool in milliseconds.
+     * @param connectionRequestTimeout
+     * @return Builder object so you can chain methods.
+     */
+    public Builder setConnectionRequestTimeout(int connectionRequestTimeout) {
+      checkArgument(connectionRequestTimeout >= 0, "connectionRequestTimeout cannot be negative");
+      mConnectionRequestTimeout = connectionRequestTimeout;
+      return this;
+    }
+
+    /**
+     * Sets timeout of waiting for data in milliseconds.
+     * @param socketTimeout
+     * @return Builder object so you can chain methods.
+     */
+    public Builder setSocketTimeout(int socketTimeout) {
+      checkArgument(socketTimeout >= 0, "socketTimeout cannot be negative");
+      mSocketTimeout = socketTimeout;
+      return this;
+    }
+
+    /**
+     * Sets how long idle connections are kept open in milliseconds.
+     * @param keepAlive
+     * @return Builder object so you can chain methods.
+     */
+    public Builder setKeepAlive(long keepAlive) {
+      checkArgument(keepAlive > 0, "keepAlive must be positive");
+      mKeepAlive = keepAlive;
+      return this;
+    }
+
+    /**
+     * Paces all requests sent by the client with <code>rateLimiter</code>.
+     * @param rateLimiter
+     * @return Builder object so you can chain methods.
+     */
+    public Builder setRateLimiter(RateLimiter rateLimiter) {
+      mRateLimiter = checkNotNull(rateLimiter, "rateLimiter cannot be null");
+      return this;
+    }
+
+    /**
+     * Retries and optionally hedges GET requests according to <code>retryPolicy</code>.
+     * @param retryPolicy
+     * @return Builder object so you can chain methods.
+     */
+    public Builder setRetryPolicy(RetryPolicy retryPolicy) {
+      mRetryPolicy = checkNotNull(retryPolicy, "retryPolicy cannot be null");
+      return this;
+    }
+
+    /**
+     * Caches responses of single ledgers, transactions and operations forever, and of accounts and order books
+     * for the time set with {@link #setResponseCacheTtl(long)}.
+     * @param responseCache
+     * @return Builder object so you can chain methods.
+     * @see CachingHttpClient
+     */
+    public Builder setResponseCache(ResponseCache responseCache) {
+      mResponseCache = checkNotNull(responseCache, "responseCache cannot be null");
+      return this;
+    }
+
+    /**
+     * Sets milliseconds account and order book responses are cached, 0 to not cache them.
+     * @param responseCacheTtl
+     * @return Builder object so you can chain methods.
+     */
+    public Builder setResponseCacheTtl(long responseCacheTtl) {
+      checkArgument(responseCacheTtl >= 0, "responseCacheTtl cannot be negative");
+      mResponseCacheTtl = responseCacheTtl;
+      return this;
+    }
+
+    public HttpClientConfig build() {
+      checkArgument(mMaxConnectionsPerRoute <= mMaxConnections, "maxConnectionsPerRoute cannot be greater than maxConnections");
+      return new HttpClientConfig(this);
+    }
+  }
+}
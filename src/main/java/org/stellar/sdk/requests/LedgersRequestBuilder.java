@@ -1,22 +1,26 @@
 package org.stellar.sdk.requests;
 
+import com.google.common.util.concurrent.ListenableFuture;
 import com.google.gson.reflect.TypeToken;
 
-import org.apache.http.client.fluent.Request;
+import org.apache.http.client.HttpClient;
+import org.apache.http.nio.client.HttpAsyncClient;
 import org.glassfish.jersey.media.sse.EventSource;
 import org.glassfish.jersey.media.sse.InboundEvent;
 import org.glassfish.jersey.media.sse.SseFeature;
-import org.stellar.sdk.responses.GsonSingleton;
 import org.stellar.sdk.responses.LedgerResponse;
 import org.stellar.sdk.responses.Page;
 
 import java.io.IOException;
 import java.net.URI;
+import java.util.concurrent.ExecutorService;
 
 import javax.ws.rs.client.Client;
 import javax.ws.rs.client.ClientBuilder;
 import javax.ws.rs.client.WebTarget;
 
+import static com.google.common.base.Preconditions.checkNotNull;
+
 /**
  * Builds requests connected to ledgers.
  */
@@ -25,6 +29,13 @@ public class LedgersRequestBuilder extends RequestBuilder {
     super(serverURI, "ledgers");
   }
 
+  /**
+   * Creates a new builder that sends requests using <code>httpClient</code>.
+   */
+  public LedgersRequestBuilder(HttpClient httpClient, URI serverURI) {
+    super(httpClient, serverURI, "ledgers");
+  }
+
   /**
    * Requests specific <code>uri</code> and returns {@link LedgerResponse}.
    * This method is helpful for getting the links.
@@ -32,8 +43,7 @@ public class LedgersRequestBuilder extends RequestBuilder {
    */
   public LedgerResponse ledger(URI uri) throws IOException {
     TypeToken type = new TypeToken<LedgerResponse>() {};
-    ResponseHandler<LedgerResponse> responseHandler = new ResponseHandler<LedgerResponse>(type);
-    return (LedgerResponse) Request.Get(uri).execute().handleResponse(responseHandler);
+    return (LedgerResponse) executeGet(httpClient, uri, type);
   }
 
   /**
@@ -47,6 +57,16 @@ public class LedgersRequestBuilder extends RequestBuilder {
     return this.ledger(this.buildUri());
   }
 
+  /**
+   * Requests <code>GET /ledgers/{ledgerSeq}</code> without blocking.
+   * @param asyncClient started asynchronous HTTP client
+   * @param ledgerSeq Ledger to fetch
+   */
+  public ListenableFuture<LedgerResponse> ledger(HttpAsyncClient asyncClient, long ledgerSeq) {
+    this.setSegments("ledgers", String.valueOf(ledgerSeq));
+    return executeGetAsync(asyncClient, httpClient, this.buildUri(), new TypeToken<LedgerResponse>() {});
+  }
+
   /**
    * Requests specific <code>uri</code> and returns {@link Page} of {@link LedgerResponse}.
    * This method is helpful for getting the next set of results.
@@ -56,8 +76,7 @@ public class LedgersRequestBuilder extends RequestBuilder {
    */
   public static Page<LedgerResponse> execute(URI uri) throws IOException, TooManyRequestsException {
     TypeToken type = new TypeToken<Page<LedgerResponse>>() {};
-    ResponseHandler<Page<LedgerResponse>> responseHandler = new ResponseHandler<Page<LedgerResponse>>(type);
-    return (Page<LedgerResponse>) Request.Get(uri).execute().handleResponse(responseHandler);
+    return (Page<LedgerResponse>) executeGet(HttpClientConfig.getDefaultHttpClient(), uri, type);
   }
 
   /**
@@ -73,20 +92,31 @@ public class LedgersRequestBuilder extends RequestBuilder {
   public EventSource stream(final EventListener<LedgerResponse> listener) {
     Client client = ClientBuilder.newBuilder().register(SseFeature.class).build();
     WebTarget target = client.target(this.buildUri());
+    final EventDecoder<LedgerResponse> decoder = EventDecoder.of(LedgerResponse.class);
     EventSource eventSource = new EventSource(target) {
       @Override
       public void onEvent(InboundEvent inboundEvent) {
-        String data = inboundEvent.readData(String.class);
-        if (data.equals("\"hello\"")) {
-          return;
+        LedgerResponse ledger = decoder.decode(inboundEvent);
+        if (ledger != null) {
+          listener.onEvent(ledger);
         }
-        LedgerResponse ledger = GsonSingleton.getInstance().fromJson(data, LedgerResponse.class);
-        listener.onEvent(ledger);
       }
     };
     return eventSource;
   }
 
+  /**
+   * Streams SSE events from horizon through <code>manager</code>. The stream shares the manager's client
+   * and reconnects after errors, resuming from the last delivered event.
+   * @param manager {@link StreamManager} opening the stream
+   * @param listener {@link EventListener} implementation with {@link LedgerResponse} type
+   * @return ManagedStream object, so you can check its health and <code>close()</code> it when not needed anymore
+   */
+  public ManagedStream<LedgerResponse> stream(StreamManager manager, EventListener<LedgerResponse> listener) {
+    checkNotNull(manager, "manager cannot be null");
+    return manager.stream(this.buildUri(), LedgerResponse.class, listener);
+  }
+
   /**
    * Build and execute request.
    * @return {@link Page} of {@link LedgerResponse}
@@ -94,7 +124,27 @@ public class LedgersRequestBuilder extends RequestBuilder {
    * @throws IOException
    */
   public Page<LedgerResponse> execute() throws IOException, TooManyRequestsException {
-    return this.execute(this.buildUri());
+    TypeToken type = new TypeToken<Page<LedgerResponse>>() {};
+    return (Page<LedgerResponse>) executeGet(httpClient, this.buildUri(), type);
+  }
+
+  /**
+   * Build and execute request without blocking.
+   * @param asyncClient started asynchronous HTTP client
+   * @return future completed with {@link Page} of {@link LedgerResponse}
+   */
+  public ListenableFuture<Page<LedgerResponse>> execute(HttpAsyncClient asyncClient) {
+    return executeGetAsync(asyncClient, httpClient, this.buildUri(), new TypeToken<Page<LedgerResponse>>() {});
+  }
+
+  /**
+   * Returns records of all pages of this request. Next pages are prefetched on <code>executor</code>.
+   * Use {@link #cursor(String)} with {@link PageIterable.PageIterator#getCursor()} to resume iteration.
+   * @param executor executor on which next pages are prefetched or null to fetch them when needed
+   * @return {@link PageIterable} of {@link LedgerResponse}
+   */
+  public PageIterable<LedgerResponse> iterate(ExecutorService executor) {
+    return this.pageIterable(new TypeToken<Page<LedgerResponse>>() {}, executor);
   }
 
   @Override
@@ -0,0 +1,275 @@
+package org.stellar.sdk.requests;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpRequestWrapper;
+import org.apache.http.client.utils.URIUtils;
+import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.HttpContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * HTTP client spreading requests across several Horizon nodes.
+ * <p>Every request is sent to the healthy node with the lowest cost, computed from the number of requests
+ * in flight, the average response time and the recent error rate. A node is considered unhealthy for
+ * a cooldown period after several requests in a row failed with an I/O error or a <code>5xx</code> response.
+ * When all nodes are unhealthy the one that will recover first is used.</p>
+ * <p>Requests executed with {@link #AFFINITY_KEY} set in their context, like transaction submissions
+ * carrying the transaction hash, are always routed to the same healthy node for the same key.</p>
+ * <p>Nodes must serve Horizon at the same path, only scheme, host and port of request URIs are replaced.
+ * Requests targeting a host that is not one of the nodes, like hedged requests of {@link RetryingHttpClient},
+ * are sent to that host unchanged.</p>
+ */
+public class LoadBalancingHttpClient extends CloseableHttpClient {
+  /**
+   * Name of the {@link HttpContext} attribute holding a string key of requests that must be routed
+   * to the same node.
+   */
+  public static final String AFFINITY_KEY = "org.stellar.sdk.affinity-key";
+  private static final int DEFAULT_MAX_FAILURES = 3;
+  private static final long DEFAULT_COOLDOWN = 10000;
+  private static final double ALPHA = 0.2;
+  private static final HashFunction HASH = Hashing.murmur3_32();
+
+  private final CloseableHttpClient mDelegate;
+  private final List<Node> mNodes;
+  private final int mMaxFailures;
+  private final long mCooldownNanos;
+  private final AtomicInteger mNext = new AtomicInteger();
+
+  /**
+   * Creates a new client.
+   * @param delegate client sending requests, it is closed with this client
+   * @param endpoints URIs of Horizon nodes
+   */
+  public LoadBalancingHttpClient(CloseableHttpClient delegate, List<URI> endpoints) {
+    this(delegate, endpoints, DEFAULT_MAX_FAILURES, DEFAULT_COOLDOWN);
+  }
+
+  /**
+   * Creates a new client.
+   * @param delegate client sending requests, it is closed with this client
+   * @param endpoints URIs of Horizon nodes
+   * @param maxFailures number of failed requests in a row after which a node is considered unhealthy
+   * @param cooldown milliseconds an unhealthy node does not receive requests
+   */
+  public LoadBalancingHttpClient(CloseableHttpClient delegate, List<URI> endpoints, int maxFailures, long cooldown) {
+    mDelegate = checkNotNull(delegate, "delegate cannot be null");
+    checkNotNull(endpoints, "endpoints cannot be null");
+    checkArgument(endpoints.size() > 0, "At least one endpoint required");
+    checkArgument(maxFailures > 0, "maxFailures must be positive");
+    checkArgument(cooldown >= 0, "cooldown cannot be negative");
+    List<Node> nodes = new ArrayList<Node>(endpoints.size());
+    for (URI endpoint : endpoints) {
+      checkNotNull(endpoint, "endpoint cannot be null");
+      nodes.add(new Node(checkNotNull(URIUtils.extractHost(endpoint), "endpoint must be an absolute URI")));
+    }
+    mNodes = Collections.unmodifiableList(nodes);
+    mMaxFailures = maxFailures;
+    mCooldownNanos = TimeUnit.MILLISECONDS.toNanos(cooldown);
+  }
+
+  /**
+   * Returns Horizon nodes with their current state.
+   */
+  public List<Node> getNodes() {
+    return mNodes;
+  }
+
+  @Override
+  protected CloseableHttpResponse doExecute(HttpHost target, HttpRequest request, HttpContext context) throws IOException {
+    if (target != null && !isNode(target)) {
+      return mDelegate.execute(target, request, context);
+    }
+    Object affinityKey = context != null ? context.getAttribute(AFFINITY_KEY) : null;
+    Node node = affinityKey != null ? choose(affinityKey.toString()) : choose();
+    HttpRequestWrapper routed = HttpRequestWrapper.wrap(request, node.mHost);
+    try {
+      routed.setURI(URIUtils.rewriteURI(routed.getURI(), null));
+    } catch (URISyntaxException e) {
+      throw new IOException(e);
+    }
+
+    node.mInFlight.incrementAndGet();
+    long start = System.nanoTime();
+    try {
+      CloseableHttpResponse response = mDelegate.execute(node.mHost, routed, context);
+      if (response.getStatusLine().getStatusCode() >= 500) {
+        node.onFailure(System.nanoTime(), mMaxFailures, mCooldownNanos);
+      } else {
+        node.onSuccess(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+      }
+      return response;
+    } catch (IOException e) {
+      node.onFailure(System.nanoTime(), mMaxFailures, mCooldownNanos);
+      throw e;
+    } finally {
+      node.mInFlight.decrementAndGet();
+    }
+  }
+
+  private boolean isNode(HttpHost host) {
+    for (Node node : mNodes) {
+      if (node.mHost.equals(host)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private Node choose() {
+    long now = System.nanoTime();
+    int size = mNodes.size();
+    // Rotate the starting node so equally loaded nodes share requests
+    int start = (mNext.getAndIncrement() & Integer.MAX_VALUE) % size;
+    Node best = null;
+    double bestCost = Double.MAX_VALUE;
+    for (int i = 0; i < size; i++) {
+      Node node = mNodes.get((start + i) % size);
+      if (!node.isHealthy(now)) {
+        continue;
+      }
+      double cost = node.cost();
+      if (cost < bestCost) {
+        best = node;
+        bestCost = cost;
+      }
+    }
+    return best != null ? best : firstToRecover();
+  }
+
+  private Node choose(String affinityKey) {
+    long now = System.nanoTime();
+    // Rendezvous hashing keeps keys on their node while other nodes come and go
+    Node best = null;
+    int bestScore = 0;
+    for (Node node : mNodes) {
+      if (!node.isHealthy(now)) {
+        continue;
+      }
+      int score = HASH.hashString(affinityKey + "@" + node.mHost.toURI(), StandardCharsets.UTF_8).asInt();
+      if (best == null || score > bestScore) {
+        best = node;
+        bestScore = score;
+      }
+    }
+    return best != null ? best : firstToRecover();
+  }
+
+  private Node firstToRecover() {
+    Node first = mNodes.get(0);
+    for (Node node : mNodes) {
+      if (node.unhealthyUntil() - first.unhealthyUntil() < 0) {
+        first = node;
+      }
+    }
+    return first;
+  }
+
+  @Override
+  public void close() throws IOException {
+    mDelegate.close();
+  }
+
+  @Override
+  @Deprecated
+  public HttpParams getParams() {
+    return mDelegate.getParams();
+  }
+
+  @Override
+  @Deprecated
+  public ClientConnectionManager getConnectionManager() {
+    return mDelegate.getConnectionManager();
+  }
+
+  /**
+   * Horizon node and its passive health statistics.
+   */
+  public static class Node {
+    private final HttpHost mHost;
+    private final AtomicInteger mInFlight = new AtomicInteger();
+    private double mLatency;
+    private double mErrorRate;
+    private int mFailures;
+    private long mUnhealthyUntil;
+    private boolean mUnhealthy;
+
+    Node(HttpHost host) {
+      mHost = host;
+    }
+
+    public HttpHost getHost() {
+      return mHost;
+    }
+
+    public int getInFlight() {
+      return mInFlight.get();
+    }
+
+    /**
+     * Returns moving average of response times in milliseconds.
+     */
+    public synchronized double getLatency() {
+      return mLatency;
+    }
+
+    /**
+     * Returns moving average of failed requests, between 0 and 1.
+     */
+    public synchronized double getErrorRate() {
+      return mErrorRate;
+    }
+
+    public boolean isHealthy() {
+      return isHealthy(System.nanoTime());
+    }
+
+    synchronized boolean isHealthy(long now) {
+      return !mUnhealthy || now - mUnhealthyUntil >= 0;
+    }
+
+    synchronized long unhealthyUntil() {
+      return mUnhealthyUntil;
+    }
+
+    synchronized double cost() {
+      return (mInFlight.get() + 1) * (mLatency + 1) * (1 + 4 * mErrorRate);
+    }
+
+    synchronized void onSuccess(long latency) {
+      mLatency = mLatency == 0 ? latency : ALPHA * latency + (1 - ALPHA) * mLatency;
+      mErrorRate = (1 - ALPHA) * mErrorRate;
+      mFailures = 0;
+      mUnhealthy = false;
+    }
+
+    synchronized void onFailure(long now, int maxFailures, long cooldownNanos) {
+      mErrorRate = ALPHA + (1 - ALPHA) * mErrorRate;
+      mFailures++;
+      if (mFailures >= maxFailures) {
+        // A failure after the cooldown ejects the node again right away
+        mUnhealthy = true;
+        mUnhealthyUntil = now + cooldownNanos;
+      }
+    }
+  }
+}
@@ -0,0 +1,243 @@
+package org.stellar.sdk.requests;
+
+import com.google.common.base.Objects;
+import com.google.gson.JsonParseException;
+
+import org.apache.http.client.utils.URIBuilder;
+import org.glassfish.jersey.media.sse.EventInput;
+import org.glassfish.jersey.media.sse.InboundEvent;
+import org.glassfish.jersey.media.sse.SseFeature;
+import org.stellar.sdk.responses.Pageable;
+
+import java.io.Closeable;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.concurrent.Future;
+
+/**
+ * SSE stream opened by {@link StreamManager}. The stream reconnects after errors, resuming from the
+ * paging token of the last event delivered to the listener, until it is closed.
+ * <p>When the listener throws an exception, the connection is reopened and the event is delivered again, up to
+ * {@link StreamManager#getMaxRedeliveries()} times. Then the event is skipped, like events whose data cannot be
+ * decoded, and the error is available from {@link #getLastError()}.</p>
+ * @param <T> type of events
+ */
+public class ManagedStream<T> implements Closeable {
+  /**
+   * State of a stream.
+   */
+  public enum State {
+    CONNECTING,
+    CONNECTED,
+    RECONNECTING,
+    CLOSED
+  }
+
+  private final StreamManager mManager;
+  private final URI mUri;
+  private final EventDecoder<T> mDecoder;
+  private final EventListener<T> mListener;
+  private volatile String mCursor;
+  private volatile State mState = State.CONNECTING;
+  private volatile long mLastEventTime;
+  private volatile int mReconnects;
+  private volatile Throwable mLastError;
+  private volatile long mSkipped;
+  private String mFailedCursor;
+  private int mRedeliveries;
+  private EventInput mInput;
+  private Future<?> mTask;
+  private boolean mClosed;
+
+  ManagedStream(StreamManager manager, URI uri, Class<T> type, EventListener<T> listener) {
+    mManager = manager;
+    mUri = uri;
+    mDecoder = EventDecoder.of(type);
+    mListener = listener;
+  }
+
+  public URI getUri() {
+    return mUri;
+  }
+
+  /**
+   * Returns paging token of the last event delivered to the listener or null when no event was delivered.
+   */
+  public String getCursor() {
+    return mCursor;
+  }
+
+  public State getState() {
+    return mState;
+  }
+
+  /**
+   * Returns true when the stream is connected to Horizon.
+   */
+  public boolean isHealthy() {
+    return mState == State.CONNECTED;
+  }
+
+  /**
+   * Returns time in milliseconds since epoch when the last event was received, 0 when none was received.
+   */
+  public long getLastEventTime() {
+    return mLastEventTime;
+  }
+
+  /**
+   * Returns number of times the stream reconnected.
+   */
+  public int getReconnects() {
+    return mReconnects;
+  }
+
+  /**
+   * Returns the error that closed the last connection or skipped the last event, or null.
+   */
+  public Throwable getLastError() {
+    return mLastError;
+  }
+
+  /**
+   * Returns number of events skipped because they could not be decoded or the listener kept failing.
+   */
+  public long getSkipped() {
+    return mSkipped;
+  }
+
+  /**
+   * Closes the stream, it will not reconnect anymore.
+   */
+  @Override
+  public void close() {
+    synchronized (this) {
+      if (mClosed) {
+        return;
+      }
+      mClosed = true;
+      if (mInput != null) {
+        mInput.close();
+      }
+      if (mTask != null) {
+        mTask.cancel(true);
+      }
+    }
+    mState = State.CLOSED;
+    mManager.remove(this);
+  }
+
+  synchronized void start(Future<?> task) {
+    mTask = task;
+  }
+
+  synchronized boolean isClosed() {
+    return mClosed;
+  }
+
+  void run() {
+    for (int failures = 0; !isClosed(); failures++) {
+      try {
+        EventInput input = mManager.getClient().target(currentUri())
+                .request(SseFeature.SERVER_SENT_EVENTS_TYPE)
+                .get(EventInput.class);
+        synchronized (this) {
+          if (mClosed) {
+            input.close();
+            break;
+          }
+          mInput = input;
+        }
+        mState = State.CONNECTED;
+        InboundEvent event;
+        while ((event = input.read()) != null) {
+          onEvent(event);
+          // Only delivered events count as progress, so a failing listener still backs off
+          failures = 0;
+        }
+      } catch (Exception e) {
+        if (isClosed()) {
+          break;
+        }
+        mLastError = e;
+      } finally {
+        synchronized (this) {
+          if (mInput != null) {
+            mInput.close();
+            mInput = null;
+          }
+        }
+      }
+      if (isClosed()) {
+        break;
+      }
+      mState = State.RECONNECTING;
+      try {
+        Thread.sleep(mManager.backoff(failures));
+      } catch (InterruptedException e) {
+        break;
+      }
+      mReconnects++;
+    }
+    mState = State.CLOSED;
+  }
+
+  private void onEvent(InboundEvent event) {
+    mLastEventTime = System.currentTimeMillis();
+    T object;
+    try {
+      object = mDecoder.decode(event);
+    } catch (JsonParseException e) {
+      // Receiving the same data again will not help
+      skip(event.getId(), e);
+      return;
+    }
+    if (object == null) {
+      return;
+    }
+    // Horizon sets event ID to the paging token
+    String cursor = event.getId();
+    if (cursor == null && object instanceof Pageable) {
+      cursor = ((Pageable) object).getPagingToken();
+    }
+    try {
+      mListener.onEvent(object);
+    } catch (RuntimeException e) {
+      if (isClosed() || Thread.currentThread().isInterrupted()) {
+        throw e;
+      }
+      if (!Objects.equal(cursor, mFailedCursor)) {
+        mFailedCursor = cursor;
+        mRedeliveries = 0;
+      }
+      if (mRedeliveries++ < mManager.getMaxRedeliveries()) {
+        throw e;
+      }
+      skip(cursor, e);
+      return;
+    }
+    mFailedCursor = null;
+    mRedeliveries = 0;
+    if (cursor != null) {
+      mCursor = cursor;
+    }
+  }
+
+  private void skip(String cursor, Exception error) {
+    mLastError = error;
+    mSkipped++;
+    mFailedCursor = null;
+    mRedeliveries = 0;
+    if (cursor != null) {
+      mCursor = cursor;
+    }
+  }
+
+  private URI currentUri() throws URISyntaxException {
+    String cursor = mCursor;
+    if (cursor == null) {
+      return mUri;
+    }
+    return new URIBuilder(mUri).setParameter("cursor", cursor).build();
+  }
+}
@@ -0,0 +1,49 @@
+package org.stellar.sdk.requests;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.Weigher;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * {@link ResponseCache} keeping responses in memory. Least recently used entries are evicted when
+ * the total size of entries exceeds <code>maxBytes</code>.
+ */
+public class MemoryResponseCache implements ResponseCache {
+  private final Cache<String, Entry> mCache;
+
+  /**
+   * Creates a new cache.
+   * @param maxBytes maximum total size of cached responses
+   */
+  public MemoryResponseCache(long maxBytes) {
+    checkArgument(maxBytes > 0, "maxBytes must be positive");
+    mCache = CacheBuilder.newBuilder()
+            .maximumWeight(maxBytes)
+            .weigher(new Weigher<String, Entry>() {
+              @Override
+              public int weigh(String uri, Entry entry) {
+                return uri.length() + entry.getSize();
+              }
+            })
+            .build();
+  }
+
+  @Override
+  public Entry get(String uri) {
+    return mCache.getIfPresent(uri);
+  }
+
+  @Override
+  public void put(String uri, Entry entry) {
+    mCache.put(uri, entry);
+  }
+
+  /**
+   * Returns number of cached responses.
+   */
+  public long size() {
+    return mCache.size();
+  }
+}
@@ -1,14 +1,17 @@
 package org.stellar.sdk.requests;
 
+import com.google.common.util.concurrent.ListenableFuture;
 import com.google.gson.reflect.TypeToken;
 
-import org.apache.http.client.fluent.Request;
+import org.apache.http.client.HttpClient;
+import org.apache.http.nio.client.HttpAsyncClient;
 import org.stellar.sdk.KeyPair;
 import org.stellar.sdk.responses.OfferResponse;
 import org.stellar.sdk.responses.Page;
 
 import java.io.IOException;
 import java.net.URI;
+import java.util.concurrent.ExecutorService;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
@@ -20,6 +23,13 @@ public class OffersRequestBuilder extends RequestBuilder {
     super(serverURI, "offers");
   }
 
+  /**
+   * Creates a new builder that sends requests using <code>httpClient</code>.
+   */
+  public OffersRequestBuilder(HttpClient httpClient, URI serverURI) {
+    super(httpClient, serverURI, "offers");
+  }
+
   /**
    * Builds request to <code>GET /accounts/{account}/offers</code>
    * @see <a href="https://www.stellar.org/developers/horizon/reference/offers-for-account.html">Offers for Account</a>
@@ -40,8 +50,7 @@ public class OffersRequestBuilder extends RequestBuilder {
    */
   public static Page<OfferResponse> execute(URI uri) throws IOException, TooManyRequestsException {
     TypeToken type = new TypeToken<Page<OfferResponse>>() {};
-    ResponseHandler<Page<OfferResponse>> responseHandler = new ResponseHandler<Page<OfferResponse>>(type);
-    return (Page<OfferResponse>) Request.Get(uri).execute().handleResponse(responseHandler);
+    return (Page<OfferResponse>) executeGet(HttpClientConfig.getDefaultHttpClient(), uri, type);
   }
 
   /**
@@ -51,7 +60,27 @@ public class OffersRequestBuilder extends RequestBuilder {
    * @throws IOException
    */
   public Page<OfferResponse> execute() throws IOException, TooManyRequestsException {
-    return this.execute(this.buildUri());
+    TypeToken type = new TypeToken<Page<OfferResponse>>() {};
+    return (Page<OfferResponse>) executeGet(httpClient, this.buildUri(), type);
+  }
+
+  /**
+   * Build and execute request without blocking.
+   * @param asyncClient started asynchronous HTTP client
+   * @return future completed with {@link Page} of {@link OfferResponse}
+   */
+  public ListenableFuture<Page<OfferResponse>> execute(HttpAsyncClient asyncClient) {
+    return executeGetAsync(asyncClient, httpClient, this.buildUri(), new TypeToken<Page<OfferResponse>>() {});
+  }
+
+  /**
+   * Returns records of all pages of this request. Next pages are prefetched on <code>executor</code>.
+   * Use {@link #cursor(String)} with {@link PageIterable.PageIterator#getCursor()} to resume iteration.
+   * @param executor executor on which next pages are prefetched or null to fetch them when needed
+   * @return {@link PageIterable} of {@link OfferResponse}
+   */
+  public PageIterable<OfferResponse> iterate(ExecutorService executor) {
+    return this.pageIterable(new TypeToken<Page<OfferResponse>>() {}, executor);
   }
 
   @Override
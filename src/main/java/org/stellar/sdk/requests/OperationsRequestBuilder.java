@@ -1,14 +1,17 @@
 package org.stellar.sdk.requests;
 
+import com.google.common.util.concurrent.ListenableFuture;
 import com.google.gson.reflect.TypeToken;
 
-import org.apache.http.client.fluent.Request;
+import org.apache.http.client.HttpClient;
+import org.apache.http.nio.client.HttpAsyncClient;
 import org.stellar.sdk.KeyPair;
 import org.stellar.sdk.responses.Page;
 import org.stellar.sdk.responses.operations.OperationResponse;
 
 import java.io.IOException;
 import java.net.URI;
+import java.util.concurrent.ExecutorService;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
@@ -20,6 +23,13 @@ public class OperationsRequestBuilder extends RequestBuilder {
     super(serverURI, "operations");
   }
 
+  /**
+   * Creates a new builder that sends requests using <code>httpClient</code>.
+   */
+  public OperationsRequestBuilder(HttpClient httpClient, URI serverURI) {
+    super(httpClient, serverURI, "operations");
+  }
+
   /**
    * Requests specific <code>uri</code> and returns {@link OperationResponse}.
    * This method is helpful for getting the links.
@@ -27,8 +37,7 @@ public class OperationsRequestBuilder extends RequestBuilder {
    */
   public OperationResponse operation(URI uri) throws IOException {
     TypeToken type = new TypeToken<OperationResponse>() {};
-    ResponseHandler<OperationResponse> responseHandler = new ResponseHandler<OperationResponse>(type);
-    return (OperationResponse) Request.Get(uri).execute().handleResponse(responseHandler);
+    return (OperationResponse) executeGet(httpClient, uri, type);
   }
 
   /**
@@ -42,6 +51,16 @@ public class OperationsRequestBuilder extends RequestBuilder {
     return this.operation(this.buildUri());
   }
 
+  /**
+   * Requests <code>GET /operations/{operationId}</code> without blocking.
+   * @param asyncClient started asynchronous HTTP client
+   * @param operationId Operation to fetch
+   */
+  public ListenableFuture<OperationResponse> operation(HttpAsyncClient asyncClient, long operationId) {
+    this.setSegments("operations", String.valueOf(operationId));
+    return executeGetAsync(asyncClient, httpClient, this.buildUri(), new TypeToken<OperationResponse>() {});
+  }
+
   /**
    * Builds request to <code>GET /accounts/{account}/operations</code>
    * @see <a href="https://www.stellar.org/developers/horizon/reference/operations-for-account.html">Operations for Account</a>
@@ -83,8 +102,19 @@ public class OperationsRequestBuilder extends RequestBuilder {
    */
   public static Page<OperationResponse> execute(URI uri) throws IOException, TooManyRequestsException {
     TypeToken type = new TypeToken<Page<OperationResponse>>() {};
-    ResponseHandler<Page<OperationResponse>> responseHandler = new ResponseHandler<Page<OperationResponse>>(type);
-    return (Page<OperationResponse>) Request.Get(uri).execute().handleResponse(responseHandler);
+    return (Page<OperationResponse>) executeGet(HttpClientConfig.getDefaultHttpClient(), uri, type);
+  }
+
+  /**
+   * Streams SSE events from horizon through <code>manager</code>. The stream shares the manager's client
+   * and reconnects after errors, resuming from the last delivered event.
+   * @param manager {@link StreamManager} opening the stream
+   * @param listener {@link EventListener} implementation with {@link OperationResponse} type
+   * @return ManagedStream object, so you can check its health and <code>close()</code> it when not needed anymore
+   */
+  public ManagedStream<OperationResponse> stream(StreamManager manager, EventListener<OperationResponse> listener) {
+    checkNotNull(manager, "manager cannot be null");
+    return manager.stream(this.buildUri(), OperationResponse.class, listener);
   }
 
   /**
@@ -94,7 +124,27 @@ public class OperationsRequestBuilder extends RequestBuilder {
    * @throws IOException
    */
   public Page<OperationResponse> execute() throws IOException, TooManyRequestsException {
-    return this.execute(this.buildUri());
+    TypeToken type = new TypeToken<Page<OperationResponse>>() {};
+    return (Page<OperationResponse>) executeGet(httpClient, this.buildUri(), type);
+  }
+
+  /**
+   * Build and execute request without blocking.
+   * @param asyncClient started asynchronous HTTP client
+   * @return future completed with {@link Page} of {@link OperationResponse}
+   */
+  public ListenableFuture<Page<OperationResponse>> execute(HttpAsyncClient asyncClient) {
+    return executeGetAsync(asyncClient, httpClient, this.buildUri(), new TypeToken<Page<OperationResponse>>() {});
+  }
+
+  /**
+   * Returns records of all pages of this request. Next pages are prefetched on <code>executor</code>.
+   * Use {@link #cursor(String)} with {@link PageIterable.PageIterator#getCursor()} to resume iteration.
+   * @param executor executor on which next pages are prefetched or null to fetch them when needed
+   * @return {@link PageIterable} of {@link OperationResponse}
+   */
+  public PageIterable<OperationResponse> iterate(ExecutorService executor) {
+    return this.pageIterable(new TypeToken<Page<OperationResponse>>() {}, executor);
   }
 
   @Override
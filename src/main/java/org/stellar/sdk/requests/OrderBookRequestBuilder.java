@@ -1,7 +1,9 @@
 package org.stellar.sdk.requests;
 
+import com.google.common.util.concurrent.ListenableFuture;
 import com.google.gson.reflect.TypeToken;
-import org.apache.http.client.fluent.Request;
+import org.apache.http.client.HttpClient;
+import org.apache.http.nio.client.HttpAsyncClient;
 import org.stellar.sdk.Asset;
 import org.stellar.sdk.AssetTypeCreditAlphaNum;
 import org.stellar.sdk.responses.OrderBookResponse;
@@ -13,10 +15,19 @@ import java.net.URI;
  * Builds requests connected to order book.
  */
 public class OrderBookRequestBuilder extends RequestBuilder {
+  private boolean noCache;
+
   public OrderBookRequestBuilder(URI serverURI) {
     super(serverURI, "order_book");
   }
 
+  /**
+   * Creates a new builder that sends requests using <code>httpClient</code>.
+   */
+  public OrderBookRequestBuilder(HttpClient httpClient, URI serverURI) {
+    super(httpClient, serverURI, "order_book");
+  }
+
   public OrderBookRequestBuilder buyingAsset(Asset asset) {
     uriBuilder.addParameter("buying_asset_type", asset.getType());
     if (asset instanceof AssetTypeCreditAlphaNum) {
@@ -39,12 +50,30 @@ public class OrderBookRequestBuilder extends RequestBuilder {
 
   public static OrderBookResponse execute(URI uri) throws IOException, TooManyRequestsException {
     TypeToken type = new TypeToken<OrderBookResponse>() {};
-    ResponseHandler<OrderBookResponse> responseHandler = new ResponseHandler<OrderBookResponse>(type);
-    return (OrderBookResponse) Request.Get(uri).execute().handleResponse(responseHandler);
+    return (OrderBookResponse) executeGet(HttpClientConfig.getDefaultHttpClient(), uri, type);
   }
 
   public OrderBookResponse execute() throws IOException, TooManyRequestsException {
-    return this.execute(this.buildUri());
+    TypeToken type = new TypeToken<OrderBookResponse>() {};
+    return (OrderBookResponse) executeGet(httpClient, this.buildUri(), type, noCache);
+  }
+
+  /**
+   * Build and execute request without blocking.
+   * @param asyncClient started asynchronous HTTP client
+   * @return future completed with {@link OrderBookResponse}
+   */
+  public ListenableFuture<OrderBookResponse> execute(HttpAsyncClient asyncClient) {
+    return executeGetAsync(asyncClient, httpClient, this.buildUri(), new TypeToken<OrderBookResponse>() {});
+  }
+
+  /**
+   * Requests a fresh order book from Horizon instead of one stored by a response cache, like
+   * {@link CachingHttpClient}. The fresh response replaces the cached one. Applies to {@link #execute()}.
+   */
+  public OrderBookRequestBuilder noCache() {
+    noCache = true;
+    return this;
   }
 
   @Override
@@ -0,0 +1,168 @@
+package org.stellar.sdk.requests;
+
+import com.google.common.collect.AbstractIterator;
+
+import org.stellar.sdk.responses.Page;
+import org.stellar.sdk.responses.Pageable;
+
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Iterates over records of all pages of a collection request. While records of a page are consumed,
+ * the next page is fetched in the background.
+ * <p>Iteration can be resumed after a restart by saving {@link PageIterator#getCursor()} and passing it
+ * to <code>cursor()</code> of a new request builder.</p>
+ * <p>Exceptions thrown while fetching pages are rethrown wrapped in {@link RuntimeException}.</p>
+ * <p>Example:</p>
+ * <pre>
+ * PageIterable.PageIterator&lt;TransactionResponse&gt; transactions = server.transactions()
+ *     .forAccount(account)
+ *     .cursor(savedCursor)
+ *     .iterate(executor)
+ *     .iterator();
+ * while (transactions.hasNext()) {
+ *   process(transactions.next());
+ *   savedCursor = transactions.getCursor();
+ * }
+ * </pre>
+ * @param <T> type of records
+ */
+public class PageIterable<T> implements Iterable<T> {
+  private final Callable<Page<T>> mFirstPage;
+  private final ExecutorService mExecutor;
+
+  /**
+   * Creates a new PageIterable.
+   * @param firstPage fetches the first page
+   * @param executor executor on which next pages are prefetched or null to fetch them when needed
+   */
+  public PageIterable(Callable<Page<T>> firstPage, ExecutorService executor) {
+    mFirstPage = checkNotNull(firstPage, "firstPage cannot be null");
+    mExecutor = executor;
+  }
+
+  /**
+   * Returns a new iterator, every iterator starts again from the first page.
+   */
+  @Override
+  public PageIterator<T> iterator() {
+    return new PageIterator<T>(mFirstPage, mExecutor);
+  }
+
+  /**
+   * Iterator over records of all pages.
+   * @param <T> type of records
+   */
+  public static class PageIterator<T> extends AbstractIterator<T> implements Closeable {
+    private final Callable<Page<T>> mFirstPage;
+    private final ExecutorService mExecutor;
+    private boolean mStarted;
+    private Iterator<T> mRecords;
+    private Future<Page<T>> mNextPage;
+    private Page<T> mPrefetchFrom;
+    private String mCursor;
+
+    PageIterator(Callable<Page<T>> firstPage, ExecutorService executor) {
+      mFirstPage = firstPage;
+      mExecutor = executor;
+    }
+
+    /**
+     * Returns paging token of the last returned record or null when no record has been returned
+     * or records are not {@link Pageable}.
+     */
+    public String getCursor() {
+      return mCursor;
+    }
+
+    /**
+     * Cancels fetching of the next page.
+     */
+    @Override
+    public void close() {
+      if (mNextPage != null) {
+        mNextPage.cancel(true);
+        mNextPage = null;
+      }
+      mPrefetchFrom = null;
+      mRecords = null;
+      mStarted = true;
+    }
+
+    @Override
+    protected T computeNext() {
+      while (mRecords == null || !mRecords.hasNext()) {
+        Page<T> page;
+        if (!mStarted) {
+          mStarted = true;
+          page = fetch(mFirstPage);
+        } else if (mNextPage != null) {
+          page = await(mNextPage);
+          mNextPage = null;
+        } else if (mPrefetchFrom != null) {
+          page = fetch(nextPageOf(mPrefetchFrom));
+        } else {
+          return endOfData();
+        }
+        mPrefetchFrom = null;
+        // Horizon returns `next` link also for the last page, an empty page marks the end
+        if (page == null || page.getRecords() == null || page.getRecords().isEmpty()) {
+          return endOfData();
+        }
+        mRecords = page.getRecords().iterator();
+        if (page.getLinks() != null && page.getLinks().getNext() != null) {
+          if (mExecutor != null) {
+            mNextPage = mExecutor.submit(nextPageOf(page));
+          } else {
+            mPrefetchFrom = page;
+          }
+        }
+      }
+      T record = mRecords.next();
+      if (record instanceof Pageable) {
+        mCursor = ((Pageable) record).getPagingToken();
+      }
+      return record;
+    }
+
+    private static <T> Callable<Page<T>> nextPageOf(final Page<T> page) {
+      return new Callable<Page<T>>() {
+        @Override
+        public Page<T> call() throws Exception {
+          return page.getNextPage();
+        }
+      };
+    }
+
+    private static <T> Page<T> fetch(Callable<Page<T>> request) {
+      try {
+        return request.call();
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw new RuntimeException(e);
+      }
+    }
+
+    private static <T> Page<T> await(Future<Page<T>> future) {
+      try {
+        return future.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException(e);
+      } catch (ExecutionException e) {
+        if (e.getCause() instanceof RuntimeException) {
+          throw (RuntimeException) e.getCause();
+        }
+        throw new RuntimeException(e.getCause());
+      }
+    }
+  }
+}
@@ -1,8 +1,10 @@
 package org.stellar.sdk.requests;
 
+import com.google.common.util.concurrent.ListenableFuture;
 import com.google.gson.reflect.TypeToken;
 
-import org.apache.http.client.fluent.Request;
+import org.apache.http.client.HttpClient;
+import org.apache.http.nio.client.HttpAsyncClient;
 import org.stellar.sdk.Asset;
 import org.stellar.sdk.AssetTypeCreditAlphaNum;
 import org.stellar.sdk.KeyPair;
@@ -11,6 +13,7 @@ import org.stellar.sdk.responses.PathResponse;
 
 import java.io.IOException;
 import java.net.URI;
+import java.util.concurrent.ExecutorService;
 
 /**
  * Builds requests connected to paths.
@@ -20,6 +23,13 @@ public class PathsRequestBuilder extends RequestBuilder {
     super(serverURI, "paths");
   }
 
+  /**
+   * Creates a new builder that sends requests using <code>httpClient</code>.
+   */
+  public PathsRequestBuilder(HttpClient httpClient, URI serverURI) {
+    super(httpClient, serverURI, "paths");
+  }
+
   public PathsRequestBuilder destinationAccount(KeyPair account) {
     uriBuilder.addParameter("destination_account", account.getAccountId());
     return this;
@@ -51,8 +61,7 @@ public class PathsRequestBuilder extends RequestBuilder {
    */
   public static Page<PathResponse> execute(URI uri) throws IOException, TooManyRequestsException {
     TypeToken type = new TypeToken<Page<PathResponse>>() {};
-    ResponseHandler<Page<PathResponse>> responseHandler = new ResponseHandler<Page<PathResponse>>(type);
-    return (Page<PathResponse>) Request.Get(uri).execute().handleResponse(responseHandler);
+    return (Page<PathResponse>) executeGet(HttpClientConfig.getDefaultHttpClient(), uri, type);
   }
 
   /**
@@ -60,6 +69,26 @@ public class PathsRequestBuilder extends RequestBuilder {
    * @throws IOException
    */
   public Page<PathResponse> execute() throws IOException, TooManyRequestsException {
-    return this.execute(this.buildUri());
+    TypeToken type = new TypeToken<Page<PathResponse>>() {};
+    return (Page<PathResponse>) executeGet(httpClient, this.buildUri(), type);
+  }
+
+  /**
+   * Build and execute request without blocking.
+   * @param asyncClient started asynchronous HTTP client
+   * @return future completed with {@link Page} of {@link PathResponse}
+   */
+  public ListenableFuture<Page<PathResponse>> execute(HttpAsyncClient asyncClient) {
+    return executeGetAsync(asyncClient, httpClient, this.buildUri(), new TypeToken<Page<PathResponse>>() {});
+  }
+
+  /**
+   * Returns records of all pages of this request. Next pages are prefetched on <code>executor</code>.
+   * Use {@link #cursor(String)} with {@link PageIterable.PageIterator#getCursor()} to resume iteration.
+   * @param executor executor on which next pages are prefetched or null to fetch them when needed
+   * @return {@link PageIterable} of {@link PathResponse}
+   */
+  public PageIterable<PathResponse> iterate(ExecutorService executor) {
+    return this.pageIterable(new TypeToken<Page<PathResponse>>() {}, executor);
   }
 }
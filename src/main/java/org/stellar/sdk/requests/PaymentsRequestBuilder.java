@@ -1,18 +1,20 @@
 package org.stellar.sdk.requests;
 
+import com.google.common.util.concurrent.ListenableFuture;
 import com.google.gson.reflect.TypeToken;
 
-import org.apache.http.client.fluent.Request;
+import org.apache.http.client.HttpClient;
+import org.apache.http.nio.client.HttpAsyncClient;
 import org.glassfish.jersey.media.sse.EventSource;
 import org.glassfish.jersey.media.sse.InboundEvent;
 import org.glassfish.jersey.media.sse.SseFeature;
 import org.stellar.sdk.KeyPair;
-import org.stellar.sdk.responses.GsonSingleton;
 import org.stellar.sdk.responses.Page;
 import org.stellar.sdk.responses.operations.OperationResponse;
 
 import java.io.IOException;
 import java.net.URI;
+import java.util.concurrent.ExecutorService;
 
 import javax.ws.rs.client.Client;
 import javax.ws.rs.client.ClientBuilder;
@@ -28,6 +30,13 @@ public class PaymentsRequestBuilder extends RequestBuilder {
     super(serverURI, "payments");
   }
 
+  /**
+   * Creates a new builder that sends requests using <code>httpClient</code>.
+   */
+  public PaymentsRequestBuilder(HttpClient httpClient, URI serverURI) {
+    super(httpClient, serverURI, "payments");
+  }
+
   /**
    * Builds request to <code>GET /accounts/{account}/payments</code>
    * @see <a href="https://www.stellar.org/developers/horizon/reference/payments-for-account.html">Payments for Account</a>
@@ -69,8 +78,7 @@ public class PaymentsRequestBuilder extends RequestBuilder {
    */
   public static Page<OperationResponse> execute(URI uri) throws IOException, TooManyRequestsException {
     TypeToken type = new TypeToken<Page<OperationResponse>>() {};
-    ResponseHandler<Page<OperationResponse>> responseHandler = new ResponseHandler<Page<OperationResponse>>(type);
-    return (Page<OperationResponse>) Request.Get(uri).execute().handleResponse(responseHandler);
+    return (Page<OperationResponse>) executeGet(HttpClientConfig.getDefaultHttpClient(), uri, type);
   }
 
   /**
@@ -86,20 +94,31 @@ public class PaymentsRequestBuilder extends RequestBuilder {
   public EventSource stream(final EventListener<OperationResponse> listener) {
     Client client = ClientBuilder.newBuilder().register(SseFeature.class).build();
     WebTarget target = client.target(this.buildUri());
+    final EventDecoder<OperationResponse> decoder = EventDecoder.of(OperationResponse.class);
     EventSource eventSource = new EventSource(target) {
       @Override
       public void onEvent(InboundEvent inboundEvent) {
-        String data = inboundEvent.readData(String.class);
-        if (data.equals("\"hello\"")) {
-          return;
+        OperationResponse payment = decoder.decode(inboundEvent);
+        if (payment != null) {
+          listener.onEvent(payment);
         }
-        OperationResponse payment = GsonSingleton.getInstance().fromJson(data, OperationResponse.class);
-        listener.onEvent(payment);
       }
     };
     return eventSource;
   }
 
+  /**
+   * Streams SSE events from horizon through <code>manager</code>. The stream shares the manager's client
+   * and reconnects after errors, resuming from the last delivered event.
+   * @param manager {@link StreamManager} opening the stream
+   * @param listener {@link EventListener} implementation with {@link OperationResponse} type
+   * @return ManagedStream object, so you can check its health and <code>close()</code> it when not needed anymore
+   */
+  public ManagedStream<OperationResponse> stream(StreamManager manager, EventListener<OperationResponse> listener) {
+    checkNotNull(manager, "manager cannot be null");
+    return manager.stream(this.buildUri(), OperationResponse.class, listener);
+  }
+
   /**
    * Build and execute request.
    * @return {@link Page} of {@link OperationResponse}
@@ -107,7 +126,27 @@ public class PaymentsRequestBuilder extends RequestBuilder {
    * @throws IOException
    */
   public Page<OperationResponse> execute() throws IOException, TooManyRequestsException {
-    return this.execute(this.buildUri());
+    TypeToken type = new TypeToken<Page<OperationResponse>>() {};
+    return (Page<OperationResponse>) executeGet(httpClient, this.buildUri(), type);
+  }
+
+  /**
+   * Build and execute request without blocking.
+   * @param asyncClient started asynchronous HTTP client
+   * @return future completed with {@link Page} of {@link OperationResponse}
+   */
+  public ListenableFuture<Page<OperationResponse>> execute(HttpAsyncClient asyncClient) {
+    return executeGetAsync(asyncClient, httpClient, this.buildUri(), new TypeToken<Page<OperationResponse>>() {});
+  }
+
+  /**
+   * Returns records of all pages of this request. Next pages are prefetched on <code>executor</code>.
+   * Use {@link #cursor(String)} with {@link PageIterable.PageIterator#getCursor()} to resume iteration.
+   * @param executor executor on which next pages are prefetched or null to fetch them when needed
+   * @return {@link PageIterable} of {@link OperationResponse}
+   */
+  public PageIterable<OperationResponse> iterate(ExecutorService executor) {
+    return this.pageIterable(new TypeToken<Page<OperationResponse>>() {}, executor);
   }
 
   @Override
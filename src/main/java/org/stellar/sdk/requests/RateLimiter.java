@@ -0,0 +1,234 @@
+package org.stellar.sdk.requests;
+
+import org.apache.http.Header;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpResponseInterceptor;
+import org.apache.http.client.ServiceUnavailableRetryStrategy;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.protocol.HttpContext;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Token bucket pacing requests sent to Horizon. Requests wait for a token instead of failing
+ * with <code>429 Too Many Requests</code>.
+ * <p>The refill rate follows <code>X-Ratelimit-Remaining</code> and <code>X-Ratelimit-Reset</code> headers so
+ * the remaining requests are spread over the rest of the rate limit window, up to the configured maximum rate.
+ * After a <code>429</code> response all requests are paused for <code>Retry-After</code> seconds and the rejected
+ * request is sent again.</p>
+ * <p>A limiter is shared by all request builders of a {@link org.stellar.sdk.Server} when set in its
+ * {@link HttpClientConfig}:</p>
+ * <pre>
+ * HttpClientConfig config = new HttpClientConfig.Builder()
+ *     .setRateLimiter(new RateLimiter.Builder().setMaxRequestsPerSecond(20).build())
+ *     .build();
+ * Server server = new Server("https://horizon.stellar.org", config);
+ * </pre>
+ * @see <a href="https://www.stellar.org/developers/horizon/learn/rate-limiting.html" target="_blank">Rate Limiting</a>
+ */
+public class RateLimiter {
+  private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+  private final double mMaxRequestsPerSecond;
+  private final int mBurst;
+  private final int mMaxRetries;
+  private double mRequestsPerSecond;
+  private double mTokens;
+  private long mLastRefill;
+  private long mPausedUntil;
+
+  private RateLimiter(Builder builder) {
+    mMaxRequestsPerSecond = builder.mMaxRequestsPerSecond;
+    mBurst = builder.mBurst;
+    mMaxRetries = builder.mMaxRetries;
+    mRequestsPerSecond = mMaxRequestsPerSecond;
+    mTokens = mBurst;
+    mLastRefill = System.nanoTime();
+    mPausedUntil = mLastRefill;
+  }
+
+  /**
+   * Returns current refill rate in requests per second.
+   */
+  public synchronized double getRequestsPerSecond() {
+    return mRequestsPerSecond;
+  }
+
+  public int getMaxRetries() {
+    return mMaxRetries;
+  }
+
+  /**
+   * Waits until a request can be sent.
+   * @throws InterruptedException when interrupted while waiting
+   */
+  public synchronized void acquire() throws InterruptedException {
+    while (true) {
+      long now = System.nanoTime();
+      refill(now);
+      long waitNanos;
+      if (mPausedUntil - now > 0) {
+        waitNanos = mPausedUntil - now;
+      } else if (mTokens >= 1) {
+        mTokens -= 1;
+        return;
+      } else {
+        waitNanos = (long) Math.ceil((1 - mTokens) / mRequestsPerSecond * NANOS_PER_SECOND);
+      }
+      TimeUnit.NANOSECONDS.timedWait(this, Math.max(waitNanos, 1));
+    }
+  }
+
+  /**
+   * Updates the bucket from rate limit headers of a response.
+   * @param remaining value of <code>X-Ratelimit-Remaining</code>
+   * @param reset value of <code>X-Ratelimit-Reset</code>, seconds until a new window starts
+   */
+  public synchronized void onRateLimit(int remaining, int reset) {
+    refill(System.nanoTime());
+    mTokens = Math.min(mTokens, Math.max(remaining, 0));
+    mRequestsPerSecond = Math.min(mMaxRequestsPerSecond, (double) Math.max(remaining, 1) / Math.max(reset, 1));
+    notifyAll();
+  }
+
+  /**
+   * Pauses all requests after Horizon responded with <code>429 Too Many Requests</code>.
+   * @param retryAfter value of <code>Retry-After</code> in seconds
+   */
+  public synchronized void onRetryAfter(int retryAfter) {
+    long now = System.nanoTime();
+    long pausedUntil = now + TimeUnit.SECONDS.toNanos(Math.max(retryAfter, 0));
+    if (pausedUntil - mPausedUntil > 0) {
+      mPausedUntil = pausedUntil;
+    }
+    // Let a single request through when the pause ends
+    mTokens = 1;
+    mLastRefill = mPausedUntil;
+  }
+
+  /**
+   * Makes all requests sent by a client built with <code>builder</code> go through this limiter.
+   * Use it when passing your own client to {@link org.stellar.sdk.Server}.
+   * @param builder
+   * @return <code>builder</code>
+   */
+  public HttpClientBuilder apply(HttpClientBuilder builder) {
+    checkNotNull(builder, "builder cannot be null");
+    return builder
+            .addInterceptorFirst(new HttpRequestInterceptor() {
+              @Override
+              public void process(HttpRequest request, HttpContext context) throws InterruptedIOException {
+                try {
+                  acquire();
+                } catch (InterruptedException e) {
+                  Thread.currentThread().interrupt();
+                  throw new InterruptedIOException("Interrupted while waiting for rate limiter");
+                }
+              }
+            })
+            .addInterceptorLast(new HttpResponseInterceptor() {
+              @Override
+              public void process(HttpResponse response, HttpContext context) {
+                update(response);
+              }
+            })
+            .setServiceUnavailableRetryStrategy(new ServiceUnavailableRetryStrategy() {
+              @Override
+              public boolean retryRequest(HttpResponse response, int executionCount, HttpContext context) {
+                // The request interceptor waits for the pause to end
+                return response.getStatusLine().getStatusCode() == 429 && executionCount <= mMaxRetries;
+              }
+
+              @Override
+              public long getRetryInterval() {
+                return 0;
+              }
+            });
+  }
+
+  void update(HttpResponse response) {
+    if (response.getStatusLine().getStatusCode() == 429) {
+      Integer retryAfter = intHeader(response, "Retry-After");
+      onRetryAfter(retryAfter != null ? retryAfter : 1);
+      return;
+    }
+    Integer remaining = intHeader(response, "X-Ratelimit-Remaining");
+    Integer reset = intHeader(response, "X-Ratelimit-Reset");
+    if (remaining != null && reset != null) {
+      onRateLimit(remaining, reset);
+    }
+  }
+
+  private void refill(long now) {
+    long elapsed = now - mLastRefill;
+    if (elapsed > 0) {
+      mTokens = Math.min(mBurst, mTokens + elapsed * mRequestsPerSecond / NANOS_PER_SECOND);
+      mLastRefill = now;
+    }
+  }
+
+  private static Integer intHeader(HttpResponse response, String name) {
+    Header header = response.getFirstHeader(name);
+    if (header == null) {
+      return null;
+    }
+    try {
+      return Integer.parseInt(header.getValue().trim());
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Builds a new RateLimiter object.
+   */
+  public static class Builder {
+    private double mMaxRequestsPerSecond = 100;
+    private int mBurst = 100;
+    private int mMaxRetries = 3;
+
+    /**
+     * Sets maximum rate of requests, used until Horizon reports its rate limit.
+     * @param maxRequestsPerSecond
+     * @return Builder object so you can chain methods.
+     */
+    public Builder setMaxRequestsPerSecond(double maxRequestsPerSecond) {
+      checkArgument(maxRequestsPerSecond > 0 && !Double.isInfinite(maxRequestsPerSecond), "maxRequestsPerSecond must be positive");
+      mMaxRequestsPerSecond = maxRequestsPerSecond;
+      return this;
+    }
+
+    /**
+     * Sets how many requests can be sent at once after the limiter was idle.
+     * @param burst
+     * @return Builder object so you can chain methods.
+     */
+    public Builder setBurst(int burst) {
+      checkArgument(burst > 0, "burst must be positive");
+      mBurst = burst;
+      return this;
+    }
+
+    /**
+     * Sets how many times a request rejected with <code>429 Too Many Requests</code> is sent again before
+     * {@link TooManyRequestsException} is thrown.
+     * @param maxRetries
+     * @return Builder object so you can chain methods.
+     */
+    public Builder setMaxRetries(int maxRetries) {
+      checkArgument(maxRetries >= 0, "maxRetries cannot be negative");
+      mMaxRetries = maxRetries;
+      return this;
+    }
+
+    public RateLimiter build() {
+      return new RateLimiter(this);
+    }
+  }
+}
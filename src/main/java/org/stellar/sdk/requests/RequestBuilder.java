@@ -1,20 +1,41 @@
 package org.stellar.sdk.requests;
 
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.gson.reflect.TypeToken;
+
+import org.apache.http.HttpHeaders;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.fluent.Executor;
+import org.apache.http.client.fluent.Request;
+import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.utils.URIBuilder;
+import org.apache.http.nio.client.HttpAsyncClient;
+import org.stellar.sdk.responses.Page;
 
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+
+import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
  * Abstract class for request builders.
  */
 public abstract class RequestBuilder {
   protected URIBuilder uriBuilder;
+  protected final HttpClient httpClient;
   private ArrayList<String> segments;
   private boolean segmentsAdded;
 
   RequestBuilder(URI serverURI, String defaultSegment) {
+    this(HttpClientConfig.getDefaultHttpClient(), serverURI, defaultSegment);
+  }
+
+  RequestBuilder(HttpClient httpClient, URI serverURI, String defaultSegment) {
+    this.httpClient = checkNotNull(httpClient, "httpClient cannot be null");
     uriBuilder = new URIBuilder(serverURI);
     segments = new ArrayList<String>();
     if (defaultSegment != null) {
@@ -85,6 +106,49 @@ public abstract class RequestBuilder {
     }
   }
 
+  /**
+   * Sends <code>GET</code> request to <code>uri</code> using <code>httpClient</code> and parses the response.
+   */
+  static <T> T executeGet(HttpClient httpClient, URI uri, TypeToken<T> type) throws IOException, TooManyRequestsException {
+    return executeGet(httpClient, uri, type, false);
+  }
+
+  /**
+   * Sends <code>GET</code> request to <code>uri</code> using <code>httpClient</code> and parses the response.
+   * @param noCache when <code>true</code> the request asks caches to fetch a fresh response
+   */
+  static <T> T executeGet(HttpClient httpClient, URI uri, TypeToken<T> type, boolean noCache) throws IOException, TooManyRequestsException {
+    ResponseHandler<T> responseHandler = new ResponseHandler<T>(type, httpClient);
+    Request request = Request.Get(uri);
+    if (noCache) {
+      request.addHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+    }
+    return (T) Executor.newInstance(httpClient).execute(request).handleResponse(responseHandler);
+  }
+
+  /**
+   * Sends <code>GET</code> request to <code>uri</code> using <code>asyncClient</code> without blocking and parses the response.
+   * Returned {@link Page}s fetch next pages using <code>httpClient</code>.
+   */
+  static <T> ListenableFuture<T> executeGetAsync(HttpAsyncClient asyncClient, HttpClient httpClient, URI uri, TypeToken<T> type) {
+    checkNotNull(asyncClient, "asyncClient cannot be null");
+    return new ResponseHandler<T>(type, httpClient).executeAsync(asyncClient, new HttpGet(uri));
+  }
+
+  /**
+   * Returns {@link PageIterable} over records of the collection requested by this builder.
+   */
+  <T> PageIterable<T> pageIterable(final TypeToken<Page<T>> type, ExecutorService executor) {
+    final URI uri = this.buildUri();
+    final HttpClient client = httpClient;
+    return new PageIterable<T>(new Callable<Page<T>>() {
+      @Override
+      public Page<T> call() throws IOException {
+        return executeGet(client, uri, type);
+      }
+    }, executor);
+  }
+
   /**
    * Represents possible <code>order</code> parameter values.
    */
@@ -0,0 +1,102 @@
+package org.stellar.sdk.requests;
+
+import org.apache.http.Header;
+
+import java.io.IOException;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Storage of Horizon responses used by {@link CachingHttpClient}. Implementations must be thread-safe.
+ * @see MemoryResponseCache
+ * @see DiskResponseCache
+ * @see TieredResponseCache
+ */
+public interface ResponseCache {
+  /**
+   * Returns the entry stored for <code>uri</code> or null, expired entries may be returned.
+   * @param uri request URI
+   * @throws IOException when the storage could not be read
+   */
+  Entry get(String uri) throws IOException;
+
+  /**
+   * Stores an entry for <code>uri</code>, replacing the previous one.
+   * @param uri request URI
+   * @param entry response to store
+   * @throws IOException when the storage could not be written
+   */
+  void put(String uri, Entry entry) throws IOException;
+
+  /**
+   * Successful response stored in a {@link ResponseCache}.
+   */
+  class Entry {
+    /**
+     * Value of {@link #getExpiresAt()} of entries that never expire.
+     */
+    public static final long NEVER = Long.MAX_VALUE;
+
+    private final byte[] mBody;
+    private final Header[] mHeaders;
+    private final long mExpiresAt;
+
+    /**
+     * Creates a new entry.
+     * @param body response body
+     * @param headers response headers to restore
+     * @param expiresAt time in milliseconds since epoch after which the entry must be revalidated, or {@link #NEVER}
+     */
+    public Entry(byte[] body, Header[] headers, long expiresAt) {
+      mBody = checkNotNull(body, "body cannot be null");
+      mHeaders = checkNotNull(headers, "headers cannot be null");
+      mExpiresAt = expiresAt;
+    }
+
+    public byte[] getBody() {
+      return mBody;
+    }
+
+    public Header[] getHeaders() {
+      return mHeaders;
+    }
+
+    public long getExpiresAt() {
+      return mExpiresAt;
+    }
+
+    /**
+     * Returns value of the <code>ETag</code> header or null.
+     */
+    public String getETag() {
+      for (Header header : mHeaders) {
+        if ("ETag".equalsIgnoreCase(header.getName())) {
+          return header.getValue();
+        }
+      }
+      return null;
+    }
+
+    public boolean isExpired(long now) {
+      return mExpiresAt != NEVER && now >= mExpiresAt;
+    }
+
+    /**
+     * Returns approximate size of this entry in bytes.
+     */
+    public int getSize() {
+      int size = mBody.length;
+      for (Header header : mHeaders) {
+        size += header.getName().length() + header.getValue().length();
+      }
+      return size;
+    }
+
+    /**
+     * Returns a copy of this entry with a new expiration time.
+     */
+    public Entry withExpiresAt(long expiresAt) {
+      return new Entry(mBody, mHeaders, expiresAt);
+    }
+  }
+}
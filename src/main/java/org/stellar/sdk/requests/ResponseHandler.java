@@ -1,5 +1,8 @@
 package org.stellar.sdk.requests;
 
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
 import com.google.gson.reflect.TypeToken;
 
 import org.apache.commons.io.IOUtils;
@@ -8,16 +11,23 @@ import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
 import org.apache.http.StatusLine;
 import org.apache.http.client.ClientProtocolException;
+import org.apache.http.client.HttpClient;
 import org.apache.http.client.HttpResponseException;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.nio.client.HttpAsyncClient;
 import org.stellar.sdk.responses.GsonSingleton;
+import org.stellar.sdk.responses.Page;
 import org.stellar.sdk.responses.Response;
 
 import java.io.IOException;
 import java.io.StringWriter;
+import java.util.concurrent.Future;
 
-public class ResponseHandler<T> implements org.apache.http.client.ResponseHandler {
+public class ResponseHandler<T> implements org.apache.http.client.ResponseHandler<T> {
 
   private TypeToken<T> type;
+  private HttpClient httpClient;
 
   /**
    * "Generics on a type are typically erased at runtime, except when the type is compiled with the
@@ -30,15 +40,20 @@ public class ResponseHandler<T> implements org.apache.http.client.ResponseHandle
     this.type = type;
   }
 
+  /**
+   * @param type
+   * @param httpClient client that returned {@link Page}s will use to fetch next pages
+   */
+  public ResponseHandler(TypeToken<T> type, HttpClient httpClient) {
+    this.type = type;
+    this.httpClient = httpClient;
+  }
+
   public T handleResponse(final HttpResponse response) throws IOException, TooManyRequestsException {
     StatusLine statusLine = response.getStatusLine();
     HttpEntity entity = response.getEntity();
 
-    // Too Many Requests
-    if (statusLine.getStatusCode() == 429) {
-      int retryAfter = Integer.parseInt(response.getFirstHeader("Retry-After").getValue());
-      throw new TooManyRequestsException(retryAfter);
-    }
+    checkTooManyRequests(response);
     // Other errors
     if (statusLine.getStatusCode() >= 300) {
       throw new HttpResponseException(statusLine.getStatusCode(), statusLine.getReasonPhrase());
@@ -60,6 +75,76 @@ public class ResponseHandler<T> implements org.apache.http.client.ResponseHandle
               response.getFirstHeader("X-Ratelimit-Reset")
       );
     }
+    if (object instanceof Page) {
+      ((Page) object).setType(type);
+      if (httpClient != null) {
+        ((Page) object).setHttpClient(httpClient);
+      }
+    }
     return object;
   }
+
+  /**
+   * Throws {@link TooManyRequestsException} when Horizon responded with <code>429 Too Many Requests</code>.
+   * @param response
+   */
+  public static void checkTooManyRequests(HttpResponse response) throws TooManyRequestsException {
+    if (response.getStatusLine().getStatusCode() == 429) {
+      int retryAfter = Integer.parseInt(response.getFirstHeader("Retry-After").getValue());
+      throw new TooManyRequestsException(retryAfter);
+    }
+  }
+
+  /**
+   * Sends <code>request</code> using <code>asyncClient</code> without blocking and parses the response with this handler.
+   * The response is parsed on the I/O thread of the client, so listeners of the returned future should not block.
+   * @param asyncClient started asynchronous HTTP client
+   * @param request request to send
+   * @return future completed with the parsed response, cancelling it aborts the request
+   */
+  public ListenableFuture<T> executeAsync(HttpAsyncClient asyncClient, HttpUriRequest request) {
+    return executeAsync(asyncClient, request, this);
+  }
+
+  /**
+   * Sends <code>request</code> using <code>asyncClient</code> without blocking and parses the response with <code>handler</code>.
+   * The response is parsed on the I/O thread of the client, so listeners of the returned future should not block.
+   * @param asyncClient started asynchronous HTTP client
+   * @param request request to send
+   * @param handler parser of the response
+   * @return future completed with the parsed response, cancelling it aborts the request
+   */
+  public static <T> ListenableFuture<T> executeAsync(HttpAsyncClient asyncClient, HttpUriRequest request,
+                                                     final org.apache.http.client.ResponseHandler<? extends T> handler) {
+    final SettableFuture<T> result = SettableFuture.create();
+    final Future<HttpResponse> response = asyncClient.execute(request, new FutureCallback<HttpResponse>() {
+      @Override
+      public void completed(HttpResponse response) {
+        try {
+          result.set(handler.handleResponse(response));
+        } catch (Exception e) {
+          result.setException(e);
+        }
+      }
+
+      @Override
+      public void failed(Exception e) {
+        result.setException(e);
+      }
+
+      @Override
+      public void cancelled() {
+        result.cancel(false);
+      }
+    });
+    result.addListener(new Runnable() {
+      @Override
+      public void run() {
+        if (result.isCancelled()) {
+          response.cancel(true);
+        }
+      }
+    }, MoreExecutors.directExecutor());
+    return result;
+  }
 }
@@ -0,0 +1,167 @@
+package org.stellar.sdk.requests;
+
+import org.apache.http.HttpHost;
+import org.apache.http.client.utils.URIUtils;
+
+import java.net.URI;
+import java.util.Random;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Retry policy of GET requests sent to Horizon. Requests failing with an I/O error or a <code>429</code>,
+ * <code>500</code>, <code>502</code>, <code>503</code> or <code>504</code> response are sent again after an
+ * exponential backoff with full jitter, or after <code>Retry-After</code> seconds when Horizon sends it.
+ * <p>Optionally a request that takes longer than a percentile of recent response times is hedged: the same
+ * request is sent to another Horizon server and the first response wins.</p>
+ * <p>When a {@link RateLimiter} is set in the same {@link HttpClientConfig}, <code>429</code> responses are
+ * retried by the limiter only.</p>
+ * <p>Example:</p>
+ * <pre>
+ * HttpClientConfig config = new HttpClientConfig.Builder()
+ *     .setRetryPolicy(new RetryPolicy.Builder()
+ *         .setMaxRetries(4)
+ *         .setHedging(URI.create("https://horizon-backup.example.com"), 0.95)
+ *         .build())
+ *     .build();
+ * Server server = new Server("https://horizon.example.com", config);
+ * </pre>
+ * @see RetryingHttpClient
+ */
+public class RetryPolicy {
+  private final int mMaxRetries;
+  private final long mInitialBackoff;
+  private final long mMaxBackoff;
+  private final HttpHost mHedgeHost;
+  private final String mHedgePath;
+  private final double mHedgePercentile;
+  private final Random mRandom = new Random();
+
+  private RetryPolicy(Builder builder) {
+    mMaxRetries = builder.mMaxRetries;
+    mInitialBackoff = builder.mInitialBackoff;
+    mMaxBackoff = builder.mMaxBackoff;
+    mHedgeHost = builder.mHedgeHost;
+    mHedgePath = builder.mHedgePath;
+    mHedgePercentile = builder.mHedgePercentile;
+  }
+
+  public int getMaxRetries() {
+    return mMaxRetries;
+  }
+
+  public long getInitialBackoff() {
+    return mInitialBackoff;
+  }
+
+  public long getMaxBackoff() {
+    return mMaxBackoff;
+  }
+
+  /**
+   * Returns host hedged requests are sent to or null when requests are not hedged.
+   */
+  public HttpHost getHedgeHost() {
+    return mHedgeHost;
+  }
+
+  /**
+   * Returns path Horizon is served at on the hedge host, without a trailing slash, empty when served at the root.
+   */
+  public String getHedgePath() {
+    return mHedgePath;
+  }
+
+  public double getHedgePercentile() {
+    return mHedgePercentile;
+  }
+
+  /**
+   * Returns true when a response with <code>statusCode</code> should be retried.
+   */
+  public boolean isRetryable(int statusCode) {
+    return statusCode == 429 || statusCode == 500 || statusCode == 502 || statusCode == 503 || statusCode == 504;
+  }
+
+  /**
+   * Returns milliseconds to wait before retry number <code>attempt</code> (starting at 0), a random value
+   * between 0 and the exponential backoff.
+   */
+  public long backoff(int attempt) {
+    long backoff = mInitialBackoff << Math.min(attempt, 30);
+    if (backoff <= 0 || backoff > mMaxBackoff) {
+      backoff = mMaxBackoff;
+    }
+    synchronized (mRandom) {
+      return (long) (mRandom.nextDouble() * backoff);
+    }
+  }
+
+  /**
+   * Builds a new RetryPolicy object.
+   */
+  public static class Builder {
+    private int mMaxRetries = 3;
+    private long mInitialBackoff = 100;
+    private long mMaxBackoff = 5000;
+    private HttpHost mHedgeHost;
+    private String mHedgePath = "";
+    private double mHedgePercentile;
+
+    /**
+     * Sets how many times a request is retried.
+     * @param maxRetries
+     * @return Builder object so you can chain methods.
+     */
+    public Builder setMaxRetries(int maxRetries) {
+      checkArgument(maxRetries >= 0, "maxRetries cannot be negative");
+      mMaxRetries = maxRetries;
+      return this;
+    }
+
+    /**
+     * Sets backoff before the first retry in milliseconds, it doubles with every retry.
+     * @param initialBackoff
+     * @return Builder object so you can chain methods.
+     */
+    public Builder setInitialBackoff(long initialBackoff) {
+      checkArgument(initialBackoff > 0, "initialBackoff must be positive");
+      mInitialBackoff = initialBackoff;
+      return this;
+    }
+
+    /**
+     * Sets maximum backoff in milliseconds.
+     * @param maxBackoff
+     * @return Builder object so you can chain methods.
+     */
+    public Builder setMaxBackoff(long maxBackoff) {
+      checkArgument(maxBackoff > 0, "maxBackoff must be positive");
+      mMaxBackoff = maxBackoff;
+      return this;
+    }
+
+    /**
+     * Hedges requests slower than <code>percentile</code> of recent response times to another Horizon server.
+     * Request paths are prefixed with the path of <code>server</code> unless they already start with it.
+     * @param server URI of another Horizon server
+     * @param percentile percentile of response times, between 0 and 1, e.g. <code>0.95</code>
+     * @return Builder object so you can chain methods.
+     */
+    public Builder setHedging(URI server, double percentile) {
+      checkNotNull(server, "server cannot be null");
+      checkArgument(percentile > 0 && percentile < 1, "percentile must be between 0 and 1");
+      mHedgeHost = checkNotNull(URIUtils.extractHost(server), "server must be an absolute URI");
+      String path = server.getRawPath() != null ? server.getRawPath() : "";
+      mHedgePath = path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+      mHedgePercentile = percentile;
+      return this;
+    }
+
+    public RetryPolicy build() {
+      checkArgument(mInitialBackoff <= mMaxBackoff, "initialBackoff cannot be greater than maxBackoff");
+      return new RetryPolicy(this);
+    }
+  }
+}
@@ -0,0 +1,344 @@
+package org.stellar.sdk.requests;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.apache.http.Header;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.client.utils.URIUtils;
+import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.util.EntityUtils;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * HTTP client retrying and hedging GET requests according to a {@link RetryPolicy}.
+ * Other requests, like transaction submissions, are sent once.
+ * <p>When a hedged request is answered, the response of the other request is released in the background.</p>
+ * <p>It is created by {@link HttpClientConfig} when a retry policy is set, or it can wrap your own client.</p>
+ */
+public class RetryingHttpClient extends CloseableHttpClient {
+  private final CloseableHttpClient mDelegate;
+  private final RetryPolicy mPolicy;
+  private final boolean mRetryTooManyRequests;
+  private final LatencyTracker mLatencies = new LatencyTracker(128);
+  private final ExecutorService mHedgeExecutor;
+
+  /**
+   * Creates a new client.
+   * @param delegate client sending requests, it is closed with this client
+   * @param policy retry policy
+   */
+  public RetryingHttpClient(CloseableHttpClient delegate, RetryPolicy policy) {
+    this(delegate, policy, true);
+  }
+
+  /**
+   * Creates a new client.
+   * @param delegate client sending requests, it is closed with this client
+   * @param policy retry policy
+   * @param retryTooManyRequests false when <code>delegate</code> already retries <code>429</code> responses,
+   * e.g. it was built with {@link RateLimiter#apply(org.apache.http.impl.client.HttpClientBuilder)}
+   */
+  public RetryingHttpClient(CloseableHttpClient delegate, RetryPolicy policy, boolean retryTooManyRequests) {
+    mDelegate = checkNotNull(delegate, "delegate cannot be null");
+    mPolicy = checkNotNull(policy, "policy cannot be null");
+    mRetryTooManyRequests = retryTooManyRequests;
+    if (policy.getHedgeHost() != null) {
+      mHedgeExecutor = Executors.newCachedThreadPool(
+              new ThreadFactoryBuilder().setNameFormat("horizon-hedge-%d").setDaemon(true).build());
+    } else {
+      mHedgeExecutor = null;
+    }
+  }
+
+  public RetryPolicy getPolicy() {
+    return mPolicy;
+  }
+
+  @Override
+  protected CloseableHttpResponse doExecute(HttpHost target, HttpRequest request, HttpContext context) throws IOException {
+    String method = request.getRequestLine().getMethod();
+    if (!"GET".equals(method) && !"HEAD".equals(method)) {
+      return mDelegate.execute(target, request, context);
+    }
+    for (int attempt = 0; ; attempt++) {
+      CloseableHttpResponse response;
+      try {
+        response = executeHedged(target, request, context);
+      } catch (IOException e) {
+        if (attempt >= mPolicy.getMaxRetries() || !isRetryable(e)) {
+          throw e;
+        }
+        sleep(mPolicy.backoff(attempt));
+        continue;
+      }
+      int statusCode = response.getStatusLine().getStatusCode();
+      if (attempt >= mPolicy.getMaxRetries() || !isRetryable(statusCode)) {
+        return response;
+      }
+      long backoff = Math.max(mPolicy.backoff(attempt), retryAfter(response));
+      discard(response);
+      sleep(backoff);
+    }
+  }
+
+  private CloseableHttpResponse executeHedged(HttpHost target, HttpRequest request, HttpContext context) throws IOException {
+    long hedgeDelay = mHedgeExecutor != null ? mLatencies.percentile(mPolicy.getHedgePercentile()) : -1;
+    if (hedgeDelay < 0) {
+      return timed(target, request, context);
+    }
+
+    CompletionService<CloseableHttpResponse> completion = new ExecutorCompletionService<CloseableHttpResponse>(mHedgeExecutor);
+    Future<CloseableHttpResponse> primary = completion.submit(timedCall(target, request, context));
+    Future<CloseableHttpResponse> hedge = null;
+    HttpUriRequest hedgeRequest = null;
+    CloseableHttpResponse retryable = null;
+    try {
+      Future<CloseableHttpResponse> done = completion.poll(hedgeDelay, TimeUnit.MILLISECONDS);
+      if (done != null) {
+        return get(done);
+      }
+      hedgeRequest = hedgeRequest(request);
+      hedge = completion.submit(timedCall(mPolicy.getHedgeHost(), hedgeRequest, HttpClientContext.create()));
+      IOException failure = null;
+      for (int pending = 2; pending > 0; pending--) {
+        done = completion.take();
+        CloseableHttpResponse response;
+        try {
+          response = get(done);
+        } catch (IOException e) {
+          failure = e;
+          continue;
+        }
+        if (pending > 1 && isRetryable(response.getStatusLine().getStatusCode())) {
+          // Give the other request a chance to succeed
+          discard(retryable);
+          retryable = response;
+          continue;
+        }
+        discard(retryable);
+        retryable = null;
+        if (pending > 1) {
+          if (done == primary) {
+            abandon(hedgeRequest, hedge);
+          } else {
+            abandon(request, primary);
+          }
+        }
+        return response;
+      }
+      if (retryable != null) {
+        return retryable;
+      }
+      throw failure;
+    } catch (InterruptedException e) {
+      // Release responses that arrive after we stopped waiting
+      discard(retryable);
+      abandon(request, primary);
+      if (hedge != null) {
+        abandon(hedgeRequest, hedge);
+      }
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for response");
+    }
+  }
+
+  private CloseableHttpResponse timed(HttpHost target, HttpRequest request, HttpContext context) throws IOException {
+    long start = System.nanoTime();
+    CloseableHttpResponse response = mDelegate.execute(target, request, context);
+    if (response.getStatusLine().getStatusCode() < 500) {
+      mLatencies.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+    return response;
+  }
+
+  private Callable<CloseableHttpResponse> timedCall(final HttpHost target, final HttpRequest request, final HttpContext context) {
+    return new Callable<CloseableHttpResponse>() {
+      @Override
+      public CloseableHttpResponse call() throws IOException {
+        return timed(target, request, context);
+      }
+    };
+  }
+
+  private HttpUriRequest hedgeRequest(HttpRequest request) throws IOException {
+    HttpUriRequest hedge;
+    try {
+      URI uri = new URI(request.getRequestLine().getUri());
+      String path = uri.getRawPath() != null ? uri.getRawPath() : "";
+      String base = mPolicy.getHedgePath();
+      if (!path.equals(base) && !path.startsWith(base + "/")) {
+        path = base + path;
+      }
+      hedge = new HttpGet(new URI(uri.getRawQuery() != null ? path + "?" + uri.getRawQuery() : path));
+    } catch (URISyntaxException e) {
+      throw new IOException(e);
+    }
+    for (Header header : request.getAllHeaders()) {
+      if (!"Host".equalsIgnoreCase(header.getName())) {
+        hedge.addHeader(header);
+      }
+    }
+    return hedge;
+  }
+
+  private static CloseableHttpResponse get(Future<CloseableHttpResponse> future) throws IOException, InterruptedException {
+    try {
+      return future.get();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new IOException(e.getCause());
+    }
+  }
+
+  private static void abort(HttpRequest request) {
+    if (request instanceof HttpUriRequest) {
+      try {
+        ((HttpUriRequest) request).abort();
+      } catch (UnsupportedOperationException e) {
+        // Wrapped requests cannot be aborted, the response is released once it arrives
+      }
+    }
+  }
+
+  /**
+   * Aborts a request whose response is no longer needed and releases the response if it still arrives.
+   */
+  private void abandon(HttpRequest request, final Future<CloseableHttpResponse> future) {
+    abort(request);
+    mHedgeExecutor.execute(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          discard(future.get());
+        } catch (Exception e) {
+          // Aborted or failed, nothing to release
+        }
+      }
+    });
+  }
+
+  private static void discard(CloseableHttpResponse response) {
+    if (response == null) {
+      return;
+    }
+    try {
+      EntityUtils.consumeQuietly(response.getEntity());
+      response.close();
+    } catch (IOException e) {
+      // Connection is not reused
+    }
+  }
+
+  private boolean isRetryable(int statusCode) {
+    return (statusCode != 429 || mRetryTooManyRequests) && mPolicy.isRetryable(statusCode);
+  }
+
+  private static boolean isRetryable(IOException e) {
+    return !(e instanceof UnknownHostException) &&
+            !(e instanceof javax.net.ssl.SSLException) &&
+            !Thread.currentThread().isInterrupted();
+  }
+
+  private static long retryAfter(CloseableHttpResponse response) {
+    Header header = response.getFirstHeader("Retry-After");
+    if (header == null) {
+      return 0;
+    }
+    try {
+      return TimeUnit.SECONDS.toMillis(Long.parseLong(header.getValue().trim()));
+    } catch (NumberFormatException e) {
+      return 0;
+    }
+  }
+
+  private static void sleep(long millis) throws InterruptedIOException {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting to retry");
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (mHedgeExecutor != null) {
+      mHedgeExecutor.shutdownNow();
+    }
+    mDelegate.close();
+  }
+
+  @Override
+  @Deprecated
+  public HttpParams getParams() {
+    return mDelegate.getParams();
+  }
+
+  @Override
+  @Deprecated
+  public ClientConnectionManager getConnectionManager() {
+    return mDelegate.getConnectionManager();
+  }
+
+  /**
+   * Keeps response times of the last requests.
+   */
+  static class LatencyTracker {
+    private static final int MIN_SAMPLES = 20;
+
+    private final long[] mSamples;
+    private int mCount;
+    private int mNext;
+
+    LatencyTracker(int size) {
+      mSamples = new long[size];
+    }
+
+    synchronized void record(long millis) {
+      mSamples[mNext] = millis;
+      mNext = (mNext + 1) % mSamples.length;
+      mCount = Math.min(mCount + 1, mSamples.length);
+    }
+
+    /**
+     * Returns percentile of recorded response times or -1 when there are not enough samples yet.
+     */
+    synchronized long percentile(double percentile) {
+      if (mCount < MIN_SAMPLES) {
+        return -1;
+      }
+      long[] sorted = Arrays.copyOf(mSamples, mCount);
+      Arrays.sort(sorted);
+      return sorted[Math.min(mCount - 1, (int) Math.ceil(percentile * mCount) - 1)];
+    }
+  }
+}
@@ -0,0 +1,176 @@
+package org.stellar.sdk.requests;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.glassfish.jersey.media.sse.SseFeature;
+
+import java.io.Closeable;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * Opens SSE streams sharing a single Jersey client. Streams reconnect after errors with exponential backoff
+ * and resume from the last delivered event, so no events are lost.
+ * <p>Reading SSE events blocks, so every open stream holds its own thread from a cached pool while connected or
+ * waiting to reconnect: 2,000 streams need 2,000 threads and their stacks. Keep the number of streams per manager
+ * in the low hundreds, or combine filters into fewer streams.</p>
+ * <p>Example:</p>
+ * <pre>
+ * StreamManager streams = new StreamManager();
+ * ManagedStream&lt;OperationResponse&gt; payments = server.payments()
+ *     .forAccount(account)
+ *     .cursor("now")
+ *     .stream(streams, listener);
+ * ...
+ * if (!payments.isHealthy()) {
+ *   log(payments.getLastError());
+ * }
+ * streams.close();
+ * </pre>
+ */
+public class StreamManager implements Closeable {
+  private static final long DEFAULT_INITIAL_BACKOFF = 1000;
+  private static final long DEFAULT_MAX_BACKOFF = 60000;
+  private static final int DEFAULT_MAX_REDELIVERIES = 3;
+
+  private final Client mClient;
+  private final ExecutorService mExecutor;
+  private final long mInitialBackoff;
+  private final long mMaxBackoff;
+  private final int mMaxRedeliveries;
+  private final Random mRandom = new Random();
+  private final Set<ManagedStream<?>> mStreams = Collections.newSetFromMap(new ConcurrentHashMap<ManagedStream<?>, Boolean>());
+  private volatile boolean mClosed;
+
+  /**
+   * Creates a new stream manager reconnecting after 1 second, doubling the backoff up to 1 minute.
+   */
+  public StreamManager() {
+    this(DEFAULT_INITIAL_BACKOFF, DEFAULT_MAX_BACKOFF);
+  }
+
+  /**
+   * Creates a new stream manager redelivering an event up to 3 times when the listener throws.
+   * @param initialBackoff milliseconds to wait before reconnecting the first time
+   * @param maxBackoff maximum milliseconds to wait before reconnecting
+   */
+  public StreamManager(long initialBackoff, long maxBackoff) {
+    this(initialBackoff, maxBackoff, DEFAULT_MAX_REDELIVERIES);
+  }
+
+  /**
+   * Creates a new stream manager.
+   * @param initialBackoff milliseconds to wait before reconnecting the first time
+   * @param maxBackoff maximum milliseconds to wait before reconnecting
+   * @param maxRedeliveries how many times an event is delivered again after the listener threw before it is skipped
+   */
+  public StreamManager(long initialBackoff, long maxBackoff, int maxRedeliveries) {
+    checkArgument(initialBackoff > 0, "initialBackoff must be positive");
+    checkArgument(maxBackoff >= initialBackoff, "maxBackoff cannot be lower than initialBackoff");
+    checkArgument(maxRedeliveries >= 0, "maxRedeliveries cannot be negative");
+    mInitialBackoff = initialBackoff;
+    mMaxBackoff = maxBackoff;
+    mMaxRedeliveries = maxRedeliveries;
+    mClient = ClientBuilder.newBuilder().register(SseFeature.class).build();
+    // Reading SSE events blocks, every connected stream needs its own thread
+    mExecutor = Executors.newCachedThreadPool(
+            new ThreadFactoryBuilder().setNameFormat("horizon-stream-%d").setDaemon(true).build());
+  }
+
+  /**
+   * Opens a stream of events of <code>type</code> from <code>uri</code>.
+   * Request builders provide typed <code>stream(StreamManager, EventListener)</code> methods calling this one.
+   * @param uri URI of a streaming endpoint, its <code>cursor</code> parameter is replaced when reconnecting
+   * @param type type events are deserialized to
+   * @param listener receives events on the stream's thread
+   * @param <T> type of events
+   */
+  public <T> ManagedStream<T> stream(URI uri, Class<T> type, EventListener<T> listener) {
+    checkNotNull(uri, "uri cannot be null");
+    checkNotNull(type, "type cannot be null");
+    checkNotNull(listener, "listener cannot be null");
+    checkState(!mClosed, "StreamManager has been closed");
+    final ManagedStream<T> stream = new ManagedStream<T>(this, uri, type, listener);
+    mStreams.add(stream);
+    stream.start(mExecutor.submit(new Runnable() {
+      @Override
+      public void run() {
+        stream.run();
+      }
+    }));
+    return stream;
+  }
+
+  /**
+   * Returns how many times an event is delivered again after the listener threw before it is skipped.
+   */
+  public int getMaxRedeliveries() {
+    return mMaxRedeliveries;
+  }
+
+  /**
+   * Returns all open streams.
+   */
+  public List<ManagedStream<?>> getStreams() {
+    return new ArrayList<ManagedStream<?>>(mStreams);
+  }
+
+  /**
+   * Returns number of open streams connected to Horizon.
+   */
+  public int getConnectedCount() {
+    int count = 0;
+    for (ManagedStream<?> stream : mStreams) {
+      if (stream.isHealthy()) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Closes all streams and the shared client.
+   */
+  @Override
+  public void close() {
+    mClosed = true;
+    for (ManagedStream<?> stream : getStreams()) {
+      stream.close();
+    }
+    mExecutor.shutdownNow();
+    mClient.close();
+  }
+
+  Client getClient() {
+    return mClient;
+  }
+
+  void remove(ManagedStream<?> stream) {
+    mStreams.remove(stream);
+  }
+
+  long backoff(int failures) {
+    long backoff = mInitialBackoff << Math.min(failures, 30);
+    if (backoff <= 0 || backoff > mMaxBackoff) {
+      backoff = mMaxBackoff;
+    }
+    // Spread reconnects of streams dropped at the same time
+    synchronized (mRandom) {
+      return backoff / 2 + (long) (mRandom.nextDouble() * (backoff / 2));
+    }
+  }
+}
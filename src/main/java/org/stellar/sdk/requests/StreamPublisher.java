@@ -0,0 +1,398 @@
+package org.stellar.sdk.requests;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * Buffers events of a stream and publishes them to a single {@link Subscriber} as it requests them, following
+ * the <a href="http://www.reactive-streams.org/" target="_blank">Reactive Streams</a> protocol.
+ * <p>The publisher is an {@link EventListener}, so it can be passed to any <code>stream()</code> method of
+ * request builders. Events are queued in a bounded buffer on the stream's thread and delivered on
+ * <code>executor</code>, so a slow subscriber does not stall the reader. When the buffer is full the
+ * {@link OverflowPolicy} decides what happens.</p>
+ * <p>Example:</p>
+ * <pre>
+ * StreamPublisher&lt;LedgerResponse&gt; ledgers = new StreamPublisher.Builder&lt;LedgerResponse&gt;(executor)
+ *     .setBufferSize(1000)
+ *     .setOverflowPolicy(StreamPublisher.OverflowPolicy.BLOCK)
+ *     .build();
+ * ledgers.attach(server.ledgers().cursor("now").stream(streamManager, ledgers));
+ * ledgers.subscribe(new StreamPublisher.Subscriber&lt;LedgerResponse&gt;() {
+ *   private StreamPublisher.Subscription subscription;
+ *   public void onSubscribe(StreamPublisher.Subscription subscription) {
+ *     this.subscription = subscription;
+ *     subscription.request(1);
+ *   }
+ *   public void onNext(LedgerResponse ledger) {
+ *     database.insert(ledger);
+ *     subscription.request(1);
+ *   }
+ *   public void onError(Throwable error) {}
+ *   public void onComplete() {}
+ * });
+ * </pre>
+ * @param <T> type of events
+ */
+public class StreamPublisher<T> implements EventListener<T>, Closeable {
+  /**
+   * What happens with an event received while the buffer is full.
+   */
+  public enum OverflowPolicy {
+    /**
+     * The stream's thread waits for free space, so the connection stops being read. Combined with
+     * a {@link ManagedStream} no events are lost: when the thread is interrupted while waiting,
+     * {@link #onEvent(Object)} throws so the stream does not move its cursor past the event.
+     */
+    BLOCK,
+    /**
+     * The oldest buffered event is dropped.
+     */
+    DROP_OLDEST,
+    /**
+     * The received event is dropped.
+     */
+    DROP_LATEST,
+    /**
+     * The subscriber receives {@link BufferOverflowException} and the publisher is closed.
+     */
+    FAIL
+  }
+
+  private final BlockingQueue<T> mBuffer;
+  private final int mBufferSize;
+  private final OverflowPolicy mOverflowPolicy;
+  private final Executor mExecutor;
+  private final AtomicLong mDemand = new AtomicLong();
+  private final AtomicLong mDropped = new AtomicLong();
+  private final AtomicInteger mWip = new AtomicInteger();
+  private final AtomicBoolean mTerminated = new AtomicBoolean();
+  private final Runnable mDrain = new Runnable() {
+    @Override
+    public void run() {
+      drain();
+    }
+  };
+  private volatile Subscriber<? super T> mSubscriber;
+  // Set once onSubscribe returned, nothing is delivered before
+  private volatile boolean mSubscribed;
+  private volatile boolean mDone;
+  private volatile Throwable mError;
+  private volatile boolean mCancelled;
+  private volatile Closeable mSource;
+
+  private StreamPublisher(Builder<T> builder) {
+    mBufferSize = builder.mBufferSize;
+    mBuffer = new LinkedBlockingQueue<T>(mBufferSize);
+    mOverflowPolicy = builder.mOverflowPolicy;
+    mExecutor = builder.mExecutor;
+  }
+
+  /**
+   * Returns number of events dropped because the buffer was full.
+   */
+  public long getDropped() {
+    return mDropped.get();
+  }
+
+  /**
+   * Returns number of events waiting in the buffer.
+   */
+  public int getBuffered() {
+    return mBuffer.size();
+  }
+
+  /**
+   * Sets the stream feeding this publisher, it is closed when the subscription is cancelled or the publisher is closed or fails.
+   * @param source stream, e.g. {@link ManagedStream}
+   * @return this publisher
+   */
+  public StreamPublisher<T> attach(Closeable source) {
+    mSource = checkNotNull(source, "source cannot be null");
+    if (mCancelled || mTerminated.get()) {
+      closeSource();
+    }
+    return this;
+  }
+
+  /**
+   * Subscribes the only subscriber of this publisher. Events received so far are buffered until it requests them.
+   * @param subscriber
+   */
+  public void subscribe(final Subscriber<? super T> subscriber) {
+    checkNotNull(subscriber, "subscriber cannot be null");
+    synchronized (this) {
+      checkState(mSubscriber == null, "Publisher already has a subscriber");
+      mSubscriber = subscriber;
+    }
+    subscriber.onSubscribe(new Subscription() {
+      @Override
+      public void request(long n) {
+        if (n <= 0) {
+          fail(new IllegalArgumentException("Requested number of events must be positive"));
+          return;
+        }
+        long current;
+        long next;
+        do {
+          current = mDemand.get();
+          next = current + n < 0 ? Long.MAX_VALUE : current + n;
+        } while (!mDemand.compareAndSet(current, next));
+        schedule();
+      }
+
+      @Override
+      public void cancel() {
+        mCancelled = true;
+        closeSource();
+        schedule();
+      }
+    });
+    mSubscribed = true;
+    schedule();
+  }
+
+  /**
+   * Queues an event received from the stream.
+   * @throws RuntimeException when interrupted while waiting for free space with {@link OverflowPolicy#BLOCK},
+   * the event was not queued
+   */
+  @Override
+  public void onEvent(T event) {
+    if (mDone || mCancelled) {
+      return;
+    }
+    if (!mBuffer.offer(event)) {
+      switch (mOverflowPolicy) {
+        case BLOCK:
+          try {
+            while (!mCancelled && !mBuffer.offer(event, 100, TimeUnit.MILLISECONDS)) {
+              // Wait for the subscriber, checking for cancellation
+            }
+          } catch (InterruptedException e) {
+            // Stream is being closed, it must not treat the event as delivered
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for free space in the buffer", e);
+          }
+          break;
+        case DROP_OLDEST:
+          while (!mBuffer.offer(event)) {
+            if (mBuffer.poll() != null) {
+              mDropped.incrementAndGet();
+            }
+          }
+          break;
+        case DROP_LATEST:
+          mDropped.incrementAndGet();
+          return;
+        case FAIL:
+          mDropped.incrementAndGet();
+          fail(new BufferOverflowException(mBufferSize));
+          return;
+      }
+    }
+    schedule();
+  }
+
+  /**
+   * Closes the attached stream and completes the subscriber once all buffered events were delivered.
+   * Events received afterwards are ignored.
+   */
+  @Override
+  public void close() {
+    mDone = true;
+    closeSource();
+    schedule();
+  }
+
+  /**
+   * Fails the subscriber, buffered events are discarded.
+   * @param error
+   */
+  public void fail(Throwable error) {
+    checkNotNull(error, "error cannot be null");
+    if (mError == null) {
+      mError = error;
+    }
+    mDone = true;
+    closeSource();
+    schedule();
+  }
+
+  private void schedule() {
+    if (mWip.getAndIncrement() == 0) {
+      mExecutor.execute(mDrain);
+    }
+  }
+
+  private void drain() {
+    int missed = 1;
+    do {
+      if (mSubscribed) {
+        deliver(mSubscriber);
+      }
+      missed = mWip.addAndGet(-missed);
+    } while (missed != 0);
+  }
+
+  private void deliver(Subscriber<? super T> subscriber) {
+    while (!mTerminated.get()) {
+      if (mCancelled) {
+        mTerminated.set(true);
+        mBuffer.clear();
+        return;
+      }
+      Throwable error = mError;
+      if (error != null) {
+        mTerminated.set(true);
+        mBuffer.clear();
+        subscriber.onError(error);
+        return;
+      }
+      boolean done = mDone;
+      if (mDemand.get() == 0) {
+        if (done && mBuffer.isEmpty()) {
+          complete(subscriber);
+        }
+        return;
+      }
+      T event = mBuffer.poll();
+      if (event == null) {
+        if (done) {
+          complete(subscriber);
+        }
+        return;
+      }
+      if (mDemand.get() != Long.MAX_VALUE) {
+        mDemand.decrementAndGet();
+      }
+      try {
+        subscriber.onNext(event);
+      } catch (RuntimeException e) {
+        mCancelled = true;
+        mTerminated.set(true);
+        mBuffer.clear();
+        closeSource();
+        subscriber.onError(e);
+        return;
+      }
+    }
+  }
+
+  private void complete(Subscriber<? super T> subscriber) {
+    if (mTerminated.compareAndSet(false, true)) {
+      subscriber.onComplete();
+    }
+  }
+
+  private void closeSource() {
+    Closeable source = mSource;
+    if (source != null) {
+      try {
+        source.close();
+      } catch (IOException e) {
+        // Nothing more can be done
+      }
+    }
+  }
+
+  /**
+   * Receives events from a {@link StreamPublisher}. Methods are never called concurrently.
+   * @param <T> type of events
+   */
+  public interface Subscriber<T> {
+    /**
+     * Called once before any other method. No events are delivered until they are requested.
+     */
+    void onSubscribe(Subscription subscription);
+
+    void onNext(T event);
+
+    /**
+     * Called once when the publisher failed, no more events are delivered.
+     */
+    void onError(Throwable error);
+
+    /**
+     * Called once after the publisher was closed and all buffered events were delivered.
+     */
+    void onComplete();
+  }
+
+  /**
+   * Link between a {@link StreamPublisher} and its {@link Subscriber}.
+   */
+  public interface Subscription {
+    /**
+     * Requests <code>n</code> more events.
+     */
+    void request(long n);
+
+    /**
+     * Stops delivering events and closes the attached stream.
+     */
+    void cancel();
+  }
+
+  /**
+   * Signals that a subscriber fell behind a publisher with {@link OverflowPolicy#FAIL}.
+   */
+  public static class BufferOverflowException extends RuntimeException {
+    public BufferOverflowException(int bufferSize) {
+      super("Subscriber fell behind, buffer of " + bufferSize + " events is full");
+    }
+  }
+
+  /**
+   * Builds a new StreamPublisher object.
+   * @param <T> type of events
+   */
+  public static class Builder<T> {
+    private final Executor mExecutor;
+    private int mBufferSize = 256;
+    private OverflowPolicy mOverflowPolicy = OverflowPolicy.BLOCK;
+
+    /**
+     * Creates a new StreamPublisher builder.
+     * @param executor executor the subscriber is called on
+     */
+    public Builder(Executor executor) {
+      mExecutor = checkNotNull(executor, "executor cannot be null");
+    }
+
+    /**
+     * Sets maximum number of buffered events.
+     * @param bufferSize
+     * @return Builder object so you can chain methods.
+     */
+    public Builder<T> setBufferSize(int bufferSize) {
+      checkArgument(bufferSize > 0, "bufferSize must be positive");
+      mBufferSize = bufferSize;
+      return this;
+    }
+
+    /**
+     * Sets what happens with events received while the buffer is full.
+     * @param overflowPolicy
+     * @return Builder object so you can chain methods.
+     */
+    public Builder<T> setOverflowPolicy(OverflowPolicy overflowPolicy) {
+      mOverflowPolicy = checkNotNull(overflowPolicy, "overflowPolicy cannot be null");
+      return this;
+    }
+
+    public StreamPublisher<T> build() {
+      return new StreamPublisher<T>(this);
+    }
+  }
+}
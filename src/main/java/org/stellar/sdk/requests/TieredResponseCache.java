@@ -0,0 +1,49 @@
+package org.stellar.sdk.requests;
+
+import java.io.IOException;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * {@link ResponseCache} made of several tiers, e.g. a small {@link MemoryResponseCache} in front of a larger
+ * {@link DiskResponseCache}. Entries are looked up tier by tier and copied to the faster tiers when found.
+ * New entries are stored in all tiers.
+ */
+public class TieredResponseCache implements ResponseCache {
+  private final ResponseCache[] mTiers;
+
+  /**
+   * Creates a new cache.
+   * @param tiers caches from the fastest to the slowest
+   */
+  public TieredResponseCache(ResponseCache... tiers) {
+    checkNotNull(tiers, "tiers cannot be null");
+    checkArgument(tiers.length > 0, "At least one tier required");
+    for (ResponseCache tier : tiers) {
+      checkNotNull(tier, "tier cannot be null");
+    }
+    mTiers = tiers.clone();
+  }
+
+  @Override
+  public Entry get(String uri) throws IOException {
+    for (int i = 0; i < mTiers.length; i++) {
+      Entry entry = mTiers[i].get(uri);
+      if (entry != null) {
+        for (int j = 0; j < i; j++) {
+          mTiers[j].put(uri, entry);
+        }
+        return entry;
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public void put(String uri, Entry entry) throws IOException {
+    for (ResponseCache tier : mTiers) {
+      tier.put(uri, entry);
+    }
+  }
+}
@@ -1,13 +1,17 @@
 package org.stellar.sdk.requests;
 
+import com.google.common.util.concurrent.ListenableFuture;
 import com.google.gson.reflect.TypeToken;
-import org.apache.http.client.fluent.Request;
+import org.apache.http.client.HttpClient;
+import org.apache.http.nio.client.HttpAsyncClient;
 import org.stellar.sdk.Asset;
 import org.stellar.sdk.AssetTypeCreditAlphaNum;
+import org.stellar.sdk.responses.Page;
 import org.stellar.sdk.responses.TradeResponse;
 
 import java.io.IOException;
 import java.net.URI;
+import java.util.concurrent.ExecutorService;
 
 /**
  * Builds requests connected to trades.
@@ -17,6 +21,13 @@ public class TradesRequestBuilder extends RequestBuilder {
         super(serverURI, "order_book/trades");
     }
 
+    /**
+     * Creates a new builder that sends requests using <code>httpClient</code>.
+     */
+    public TradesRequestBuilder(HttpClient httpClient, URI serverURI) {
+        super(httpClient, serverURI, "order_book/trades");
+    }
+
     public TradesRequestBuilder buyingAsset(Asset asset) {
         uriBuilder.addParameter("buying_asset_type", asset.getType());
         if (asset instanceof AssetTypeCreditAlphaNum) {
@@ -37,13 +48,63 @@ public class TradesRequestBuilder extends RequestBuilder {
         return this;
     }
 
-    public static TradeResponse execute(URI uri) throws IOException, TooManyRequestsException {
-        TypeToken type = new TypeToken<TradeResponse>() {};
-        ResponseHandler<TradeResponse> responseHandler = new ResponseHandler<TradeResponse>(type);
-        return (TradeResponse) Request.Get(uri).execute().handleResponse(responseHandler);
+    /**
+     * Requests specific <code>uri</code> and returns {@link Page} of {@link TradeResponse}.
+     * This method is helpful for getting the next set of results.
+     * @return {@link Page} of {@link TradeResponse}
+     * @throws TooManyRequestsException when too many requests were sent to the Horizon server.
+     * @throws IOException
+     */
+    public static Page<TradeResponse> execute(URI uri) throws IOException, TooManyRequestsException {
+        TypeToken type = new TypeToken<Page<TradeResponse>>() {};
+        return (Page<TradeResponse>) executeGet(HttpClientConfig.getDefaultHttpClient(), uri, type);
+    }
+
+    /**
+     * Build and execute request.
+     * @return {@link Page} of {@link TradeResponse}
+     * @throws TooManyRequestsException when too many requests were sent to the Horizon server.
+     * @throws IOException
+     */
+    public Page<TradeResponse> execute() throws IOException, TooManyRequestsException {
+        TypeToken type = new TypeToken<Page<TradeResponse>>() {};
+        return (Page<TradeResponse>) executeGet(httpClient, this.buildUri(), type);
+    }
+
+    /**
+     * Build and execute request without blocking.
+     * @param asyncClient started asynchronous HTTP client
+     * @return future completed with {@link Page} of {@link TradeResponse}
+     */
+    public ListenableFuture<Page<TradeResponse>> execute(HttpAsyncClient asyncClient) {
+        return executeGetAsync(asyncClient, httpClient, this.buildUri(), new TypeToken<Page<TradeResponse>>() {});
+    }
+
+    /**
+     * Returns records of all pages of this request. Next pages are prefetched on <code>executor</code>.
+     * Use {@link #cursor(String)} with {@link PageIterable.PageIterator#getCursor()} to resume iteration.
+     * @param executor executor on which next pages are prefetched or null to fetch them when needed
+     * @return {@link PageIterable} of {@link TradeResponse}
+     */
+    public PageIterable<TradeResponse> iterate(ExecutorService executor) {
+        return this.pageIterable(new TypeToken<Page<TradeResponse>>() {}, executor);
     }
 
-    public TradeResponse execute() throws IOException, TooManyRequestsException {
-        return this.execute(this.buildUri());
+    @Override
+    public TradesRequestBuilder cursor(String token) {
+        super.cursor(token);
+        return this;
+    }
+
+    @Override
+    public TradesRequestBuilder limit(int number) {
+        super.limit(number);
+        return this;
+    }
+
+    @Override
+    public TradesRequestBuilder order(Order direction) {
+        super.order(direction);
+        return this;
     }
 }
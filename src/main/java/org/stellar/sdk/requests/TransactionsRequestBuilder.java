@@ -1,18 +1,20 @@
 package org.stellar.sdk.requests;
 
+import com.google.common.util.concurrent.ListenableFuture;
 import com.google.gson.reflect.TypeToken;
 
-import org.apache.http.client.fluent.Request;
+import org.apache.http.client.HttpClient;
+import org.apache.http.nio.client.HttpAsyncClient;
 import org.glassfish.jersey.media.sse.EventSource;
 import org.glassfish.jersey.media.sse.InboundEvent;
 import org.glassfish.jersey.media.sse.SseFeature;
 import org.stellar.sdk.KeyPair;
-import org.stellar.sdk.responses.GsonSingleton;
 import org.stellar.sdk.responses.Page;
 import org.stellar.sdk.responses.TransactionResponse;
 
 import java.io.IOException;
 import java.net.URI;
+import java.util.concurrent.ExecutorService;
 
 import javax.ws.rs.client.Client;
 import javax.ws.rs.client.ClientBuilder;
@@ -28,6 +30,13 @@ public class TransactionsRequestBuilder extends RequestBuilder {
     super(serverURI, "transactions");
   }
 
+  /**
+   * Creates a new builder that sends requests using <code>httpClient</code>.
+   */
+  public TransactionsRequestBuilder(HttpClient httpClient, URI serverURI) {
+    super(httpClient, serverURI, "transactions");
+  }
+
   /**
    * Requests specific <code>uri</code> and returns {@link TransactionResponse}.
    * This method is helpful for getting the links.
@@ -35,8 +44,7 @@ public class TransactionsRequestBuilder extends RequestBuilder {
    */
   public TransactionResponse transaction(URI uri) throws IOException {
     TypeToken type = new TypeToken<TransactionResponse>() {};
-    ResponseHandler<TransactionResponse> responseHandler = new ResponseHandler<TransactionResponse>(type);
-    return (TransactionResponse) Request.Get(uri).execute().handleResponse(responseHandler);
+    return (TransactionResponse) executeGet(httpClient, uri, type);
   }
 
   /**
@@ -50,6 +58,16 @@ public class TransactionsRequestBuilder extends RequestBuilder {
     return this.transaction(this.buildUri());
   }
 
+  /**
+   * Requests <code>GET /transactions/{transactionId}</code> without blocking.
+   * @param asyncClient started asynchronous HTTP client
+   * @param transactionId Transaction to fetch
+   */
+  public ListenableFuture<TransactionResponse> transaction(HttpAsyncClient asyncClient, String transactionId) {
+    this.setSegments("transactions", transactionId);
+    return executeGetAsync(asyncClient, httpClient, this.buildUri(), new TypeToken<TransactionResponse>() {});
+  }
+
   /**
    * Builds request to <code>GET /accounts/{account}/transactions</code>
    * @see <a href="https://www.stellar.org/developers/horizon/reference/transactions-for-account.html">Transactions for Account</a>
@@ -80,8 +98,7 @@ public class TransactionsRequestBuilder extends RequestBuilder {
    */
   public static Page<TransactionResponse> execute(URI uri) throws IOException, TooManyRequestsException {
     TypeToken type = new TypeToken<Page<TransactionResponse>>() {};
-    ResponseHandler<Page<TransactionResponse>> responseHandler = new ResponseHandler<Page<TransactionResponse>>(type);
-    return (Page<TransactionResponse>) Request.Get(uri).execute().handleResponse(responseHandler);
+    return (Page<TransactionResponse>) executeGet(HttpClientConfig.getDefaultHttpClient(), uri, type);
   }
 
   /**
@@ -97,20 +114,31 @@ public class TransactionsRequestBuilder extends RequestBuilder {
   public EventSource stream(final EventListener<TransactionResponse> listener) {
     Client client = ClientBuilder.newBuilder().register(SseFeature.class).build();
     WebTarget target = client.target(this.buildUri());
+    final EventDecoder<TransactionResponse> decoder = EventDecoder.of(TransactionResponse.class);
     EventSource eventSource = new EventSource(target) {
       @Override
       public void onEvent(InboundEvent inboundEvent) {
-        String data = inboundEvent.readData(String.class);
-        if (data.equals("\"hello\"")) {
-          return;
+        TransactionResponse transaction = decoder.decode(inboundEvent);
+        if (transaction != null) {
+          listener.onEvent(transaction);
         }
-        TransactionResponse transaction = GsonSingleton.getInstance().fromJson(data, TransactionResponse.class);
-        listener.onEvent(transaction);
       }
     };
     return eventSource;
   }
 
+  /**
+   * Streams SSE events from horizon through <code>manager</code>. The stream shares the manager's client
+   * and reconnects after errors, resuming from the last delivered event.
+   * @param manager {@link StreamManager} opening the stream
+   * @param listener {@link EventListener} implementation with {@link TransactionResponse} type
+   * @return ManagedStream object, so you can check its health and <code>close()</code> it when not needed anymore
+   */
+  public ManagedStream<TransactionResponse> stream(StreamManager manager, EventListener<TransactionResponse> listener) {
+    checkNotNull(manager, "manager cannot be null");
+    return manager.stream(this.buildUri(), TransactionResponse.class, listener);
+  }
+
   /**
    * Build and execute request.
    * @return {@link Page} of {@link TransactionResponse}
@@ -118,7 +146,27 @@ public class TransactionsRequestBuilder extends RequestBuilder {
    * @throws IOException
    */
   public Page<TransactionResponse> execute() throws IOException, TooManyRequestsException {
-    return this.execute(this.buildUri());
+    TypeToken type = new TypeToken<Page<TransactionResponse>>() {};
+    return (Page<TransactionResponse>) executeGet(httpClient, this.buildUri(), type);
+  }
+
+  /**
+   * Build and execute request without blocking.
+   * @param asyncClient started asynchronous HTTP client
+   * @return future completed with {@link Page} of {@link TransactionResponse}
+   */
+  public ListenableFuture<Page<TransactionResponse>> execute(HttpAsyncClient asyncClient) {
+    return executeGetAsync(asyncClient, httpClient, this.buildUri(), new TypeToken<Page<TransactionResponse>>() {});
+  }
+
+  /**
+   * Returns records of all pages of this request. Next pages are prefetched on <code>executor</code>.
+   * Use {@link #cursor(String)} with {@link PageIterable.PageIterator#getCursor()} to resume iteration.
+   * @param executor executor on which next pages are prefetched or null to fetch them when needed
+   * @return {@link PageIterable} of {@link TransactionResponse}
+   */
+  public PageIterable<TransactionResponse> iterate(ExecutorService executor) {
+    return this.pageIterable(new TypeToken<Page<TransactionResponse>>() {}, executor);
   }
 
   @Override
@@ -10,6 +10,18 @@ import org.stellar.sdk.responses.effects.EffectResponse;
 import org.stellar.sdk.responses.operations.OperationResponse;
 
 public class GsonSingleton {
+  /**
+   * Reads plain fields of a record. Deserializers of polymorphic or post-processed records delegate to it
+   * since the shared instance would call them again.
+   */
+  static final Gson RECORD_GSON = new GsonBuilder()
+          .registerTypeAdapter(KeyPair.class, new KeyPairTypeAdapter().nullSafe())
+          .create();
+  /**
+   * Reads records of a flattened page, used by {@link PageDeserializer}.
+   */
+  static final Gson PAGE_GSON = recordsGsonBuilder().create();
+
   private static Gson instance = null;
 
   protected GsonSingleton() {}
@@ -25,12 +37,7 @@ public class GsonSingleton {
       TypeToken tradePageType = new TypeToken<Page<TradeResponse>>() {};
       TypeToken transactionPageType = new TypeToken<Page<TransactionResponse>>() {};
 
-      instance = new GsonBuilder()
-                      .registerTypeAdapter(Asset.class, new AssetDeserializer())
-                      .registerTypeAdapter(KeyPair.class, new KeyPairTypeAdapter().nullSafe())
-                      .registerTypeAdapter(OperationResponse.class, new OperationDeserializer())
-                      .registerTypeAdapter(EffectResponse.class, new EffectDeserializer())
-                      .registerTypeAdapter(TransactionResponse.class, new TransactionDeserializer())
+      instance = recordsGsonBuilder()
                       .registerTypeAdapter(accountPageType.getType(), new PageDeserializer<AccountResponse>(accountPageType))
                       .registerTypeAdapter(effectPageType.getType(), new PageDeserializer<AccountResponse>(effectPageType))
                       .registerTypeAdapter(ledgerPageType.getType(), new PageDeserializer<LedgerResponse>(ledgerPageType))
@@ -44,4 +51,13 @@ public class GsonSingleton {
     return instance;
   }
 
+  private static GsonBuilder recordsGsonBuilder() {
+    return new GsonBuilder()
+            .registerTypeAdapter(Asset.class, new AssetDeserializer())
+            .registerTypeAdapter(KeyPair.class, new KeyPairTypeAdapter().nullSafe())
+            .registerTypeAdapter(OperationResponse.class, new OperationDeserializer())
+            .registerTypeAdapter(EffectResponse.class, new EffectDeserializer())
+            .registerTypeAdapter(TransactionResponse.class, new TransactionDeserializer());
+  }
+
 }
@@ -1,9 +1,16 @@
 package org.stellar.sdk.responses;
 
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import com.google.gson.annotations.SerializedName;
 import com.google.gson.reflect.TypeToken;
 
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.fluent.Executor;
 import org.apache.http.client.fluent.Request;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.nio.client.HttpAsyncClient;
+import org.stellar.sdk.requests.HttpClientConfig;
 import org.stellar.sdk.requests.ResponseHandler;
 
 import java.io.IOException;
@@ -20,6 +27,8 @@ public class Page<T> extends Response {
   private ArrayList<T> records;
   @SerializedName("links")
   private Links links;
+  private transient HttpClient httpClient;
+  private transient TypeToken<Page<T>> type;
 
   Page() {}
 
@@ -40,10 +49,45 @@ public class Page<T> extends Response {
     if (this.getLinks().getNext() == null) {
       return null;
     }
-    TypeToken type = new TypeToken<Page<T>>() {};
-    ResponseHandler<Page<T>> responseHandler = new ResponseHandler<Page<T>>(type);
+    HttpClient client = httpClient != null ? httpClient : HttpClientConfig.getDefaultHttpClient();
+    TypeToken type = this.type != null ? this.type : new TypeToken<Page<T>>() {};
+    ResponseHandler<Page<T>> responseHandler = new ResponseHandler<Page<T>>(type, client);
     URI uri = new URI(this.getLinks().getNext().getHref());
-    return (Page<T>) Request.Get(uri).execute().handleResponse(responseHandler);
+    return (Page<T>) Executor.newInstance(client).execute(Request.Get(uri)).handleResponse(responseHandler);
+  }
+
+  /**
+   * Requests the next page without blocking.
+   * @param asyncClient started asynchronous HTTP client
+   * @return future completed with the next page of results or null when there is no more results
+   * @throws URISyntaxException
+   */
+  public ListenableFuture<Page<T>> getNextPage(HttpAsyncClient asyncClient) throws URISyntaxException {
+    if (this.getLinks().getNext() == null) {
+      return Futures.immediateFuture(null);
+    }
+    HttpClient client = httpClient != null ? httpClient : HttpClientConfig.getDefaultHttpClient();
+    TypeToken type = this.type != null ? this.type : new TypeToken<Page<T>>() {};
+    ResponseHandler<Page<T>> responseHandler = new ResponseHandler<Page<T>>(type, client);
+    URI uri = new URI(this.getLinks().getNext().getHref());
+    return responseHandler.executeAsync(asyncClient, new HttpGet(uri));
+  }
+
+  /**
+   * Sets HTTP client used by {@link #getNextPage()}. Set by {@link ResponseHandler} to the client that fetched this page.
+   * @param httpClient
+   */
+  public void setHttpClient(HttpClient httpClient) {
+    this.httpClient = httpClient;
+  }
+
+  /**
+   * Sets type of this page used to parse the next page. Set by {@link ResponseHandler} since
+   * type of records is not available at runtime.
+   * @param type
+   */
+  public void setType(TypeToken<Page<T>> type) {
+    this.type = type;
   }
 
   /**
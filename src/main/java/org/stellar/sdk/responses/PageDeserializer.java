@@ -1,7 +1,5 @@
 package org.stellar.sdk.responses;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import com.google.gson.JsonDeserializationContext;
 import com.google.gson.JsonDeserializer;
 import com.google.gson.JsonElement;
@@ -9,11 +7,6 @@ import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
 import com.google.gson.reflect.TypeToken;
 
-import org.stellar.sdk.Asset;
-import org.stellar.sdk.KeyPair;
-import org.stellar.sdk.responses.effects.EffectResponse;
-import org.stellar.sdk.responses.operations.OperationResponse;
-
 import java.lang.reflect.Type;
 
 class PageDeserializer<E> implements JsonDeserializer<Page<E>> {
@@ -37,15 +30,6 @@ class PageDeserializer<E> implements JsonDeserializer<Page<E>> {
     newJson.add("records", json.getAsJsonObject().get("_embedded").getAsJsonObject().get("records"));
     newJson.add("links", json.getAsJsonObject().get("_links"));
 
-    // Create new Gson object with adapters needed in Page
-    Gson gson = new GsonBuilder()
-            .registerTypeAdapter(Asset.class, new AssetDeserializer())
-            .registerTypeAdapter(KeyPair.class, new KeyPairTypeAdapter().nullSafe())
-            .registerTypeAdapter(OperationResponse.class, new OperationDeserializer())
-            .registerTypeAdapter(EffectResponse.class, new EffectDeserializer())
-            .registerTypeAdapter(TransactionResponse.class, new TransactionDeserializer())
-            .create();
-
-    return gson.fromJson(newJson, pageType.getType());
+    return GsonSingleton.PAGE_GSON.fromJson(newJson, pageType.getType());
   }
 }
@@ -0,0 +1,12 @@
+package org.stellar.sdk.responses;
+
+/**
+ * Represents a record of a paginated collection.
+ * @see <a href="https://www.stellar.org/developers/horizon/reference/resources/page.html" target="_blank">Page documentation</a>
+ */
+public interface Pageable {
+  /**
+   * Returns cursor pointing to this record. Requests with this cursor return records that follow it.
+   */
+  String getPagingToken();
+}
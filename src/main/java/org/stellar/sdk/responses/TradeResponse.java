@@ -9,7 +9,7 @@ import org.stellar.sdk.KeyPair;
  * @see org.stellar.sdk.requests.TradesRequestBuilder
  * @see org.stellar.sdk.Server#trades()
  */
-public class TradeResponse extends Response {
+public class TradeResponse extends Response implements Pageable {
     @SerializedName("id")
     private final String id;
     @SerializedName("paging_token")
@@ -1,14 +1,11 @@
 package org.stellar.sdk.responses;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import com.google.gson.JsonDeserializationContext;
 import com.google.gson.JsonDeserializer;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonParseException;
 
 import org.apache.commons.codec.binary.Base64;
-import org.stellar.sdk.KeyPair;
 import org.stellar.sdk.Memo;
 
 import java.lang.reflect.Type;
@@ -16,12 +13,7 @@ import java.lang.reflect.Type;
 public class TransactionDeserializer implements JsonDeserializer<TransactionResponse> {
   @Override
   public TransactionResponse deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context) throws JsonParseException {
-    // Create new Gson object with adapters needed in Transaction
-    Gson gson = new GsonBuilder()
-            .registerTypeAdapter(KeyPair.class, new KeyPairTypeAdapter().nullSafe())
-            .create();
-
-    TransactionResponse transaction = gson.fromJson(json, TransactionResponse.class);
+    TransactionResponse transaction = GsonSingleton.RECORD_GSON.fromJson(json, TransactionResponse.class);
 
     String memoType = json.getAsJsonObject().get("memo_type").getAsString();
     Memo memo;
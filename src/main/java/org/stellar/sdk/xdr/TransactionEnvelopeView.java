@@ -0,0 +1,229 @@
+package org.stellar.sdk.xdr;
+
+import org.apache.commons.codec.binary.Base64;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Read-only view over an XDR encoded {@link TransactionEnvelope}. Field offsets are indexed once when
+ * the view is created and only the fields that are accessed get decoded, so reading a few values
+ * (fee, source account, operation count...) does not pay for decoding the whole object graph.
+ *
+ * The view does not copy the underlying bytes, so they must not be modified while the view is in use.
+ */
+public class TransactionEnvelopeView {
+    private static final int SOURCE_ACCOUNT_OFFSET = 0;
+    private static final int FEE_OFFSET = 36;
+    private static final int SEQ_NUM_OFFSET = 40;
+    private static final int TIME_BOUNDS_OFFSET = 48;
+
+    private final ByteBuffer mBuffer;
+    private final int mMemoOffset;
+    private final int[] mOperationOffsets;
+    private final int[] mSignatureOffsets;
+    private final int mLength;
+
+    /**
+     * Creates a view over the remaining bytes of <code>buffer</code>.
+     * @param buffer buffer containing XDR encoded TransactionEnvelope, its position is not modified
+     * @throws IOException when data is not a valid TransactionEnvelope
+     */
+    public TransactionEnvelopeView(ByteBuffer buffer) throws IOException {
+        mBuffer = buffer.slice();
+        XdrSkipper skipper = new XdrSkipper(mBuffer);
+
+        skipper.skipAccountId(SOURCE_ACCOUNT_OFFSET);
+        skipper.readHyper(SEQ_NUM_OFFSET);
+        int offset = TIME_BOUNDS_OFFSET;
+        if (skipper.readInt(offset) != 0) {
+            skipper.readHyper(offset + 12);
+            offset += 4 + 16;
+        } else {
+            offset += 4;
+        }
+
+        mMemoOffset = offset;
+        offset = skipper.skipMemo(offset);
+
+        int operationsSize = skipper.readInt(offset);
+        offset += 4;
+        mOperationOffsets = new int[checkedSize(operationsSize)];
+        for (int i = 0; i < operationsSize; i++) {
+            mOperationOffsets[i] = offset;
+            offset = skipper.skipOperation(offset);
+        }
+
+        // ext
+        skipper.readInt(offset);
+        offset += 4;
+
+        int signaturesSize = skipper.readInt(offset);
+        offset += 4;
+        mSignatureOffsets = new int[checkedSize(signaturesSize)];
+        for (int i = 0; i < signaturesSize; i++) {
+            mSignatureOffsets[i] = offset;
+            offset = skipper.skipDecoratedSignature(offset);
+        }
+        mLength = offset;
+    }
+
+    /**
+     * Creates a view over XDR encoded bytes.
+     * @param bytes XDR encoded TransactionEnvelope
+     * @throws IOException when data is not a valid TransactionEnvelope
+     */
+    public TransactionEnvelopeView(byte[] bytes) throws IOException {
+        this(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Creates a view over base64-encoded TransactionEnvelope, ex. <code>TransactionResponse.getEnvelopeXdr()</code>.
+     * @param xdr base64-encoded TransactionEnvelope
+     * @throws IOException when data is not a valid TransactionEnvelope
+     */
+    public static TransactionEnvelopeView fromXdrBase64(String xdr) throws IOException {
+        return new TransactionEnvelopeView(Base64.decodeBase64(xdr));
+    }
+
+    /**
+     * Returns number of bytes the envelope occupies.
+     */
+    public int getLength() {
+        return mLength;
+    }
+
+    public AccountID getSourceAccount() {
+        try {
+            return AccountID.decode(readerAt(SOURCE_ACCOUNT_OFFSET));
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * Returns raw 32 bytes of the ed25519 public key of the source account.
+     */
+    public byte[] getSourceAccountPublicKey() {
+        byte[] publicKey = new byte[32];
+        ByteBuffer view = mBuffer.duplicate();
+        view.position(SOURCE_ACCOUNT_OFFSET + 4);
+        view.get(publicKey);
+        return publicKey;
+    }
+
+    public int getFee() {
+        return mBuffer.getInt(FEE_OFFSET);
+    }
+
+    public long getSequenceNumber() {
+        return mBuffer.getLong(SEQ_NUM_OFFSET);
+    }
+
+    /**
+     * @return TimeBounds, or null (representing no time restrictions)
+     */
+    public TimeBounds getTimeBounds() {
+        if (mBuffer.getInt(TIME_BOUNDS_OFFSET) == 0) {
+            return null;
+        }
+        try {
+            return TimeBounds.decode(readerAt(TIME_BOUNDS_OFFSET + 4));
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    public Memo getMemo() {
+        try {
+            return Memo.decode(readerAt(mMemoOffset));
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    public int getOperationCount() {
+        return mOperationOffsets.length;
+    }
+
+    /**
+     * Returns type of the operation at <code>index</code> without decoding it.
+     * @param index index of the operation
+     */
+    public OperationType getOperationType(int index) {
+        int offset = mOperationOffsets[index];
+        if (mBuffer.getInt(offset) != 0) {
+            offset += 4 + 36;
+        } else {
+            offset += 4;
+        }
+        try {
+            return OperationType.decode(readerAt(offset));
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * Decodes operation at <code>index</code>.
+     * @param index index of the operation
+     */
+    public Operation getOperation(int index) {
+        try {
+            return Operation.decode(readerAt(mOperationOffsets[index]));
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    public int getSignatureCount() {
+        return mSignatureOffsets.length;
+    }
+
+    /**
+     * Decodes signature at <code>index</code>.
+     * @param index index of the signature
+     */
+    public DecoratedSignature getSignature(int index) {
+        try {
+            return DecoratedSignature.decode(readerAt(mSignatureOffsets[index]));
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * Decodes the whole {@link Transaction}.
+     */
+    public Transaction getTransaction() {
+        try {
+            return Transaction.decode(readerAt(0));
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * Decodes the whole {@link TransactionEnvelope}.
+     */
+    public TransactionEnvelope getTransactionEnvelope() {
+        try {
+            return TransactionEnvelope.decode(readerAt(0));
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private XdrByteBufferReader readerAt(int offset) {
+        ByteBuffer view = mBuffer.duplicate();
+        view.position(offset);
+        return new XdrByteBufferReader(view);
+    }
+
+    private int checkedSize(int size) throws IOException {
+        if (size < 0 || size > mBuffer.remaining() / 4) {
+            throw new IOException("Invalid XDR array size: " + size);
+        }
+        return size;
+    }
+}
@@ -0,0 +1,170 @@
+package org.stellar.sdk.xdr;
+
+import org.apache.commons.codec.binary.Base64;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Read-only view over an XDR encoded {@link TransactionResult}. Field offsets are indexed once when
+ * the view is created and only the fields that are accessed get decoded.
+ *
+ * The view does not copy the underlying bytes, so they must not be modified while the view is in use.
+ */
+public class TransactionResultView {
+    private static final int FEE_CHARGED_OFFSET = 0;
+    private static final int RESULT_CODE_OFFSET = 8;
+
+    private final ByteBuffer mBuffer;
+    private final int[] mResultOffsets;
+    private final int mLength;
+
+    /**
+     * Creates a view over the remaining bytes of <code>buffer</code>.
+     * @param buffer buffer containing XDR encoded TransactionResult, its position is not modified
+     * @throws IOException when data is not a valid TransactionResult
+     */
+    public TransactionResultView(ByteBuffer buffer) throws IOException {
+        mBuffer = buffer.slice();
+        XdrSkipper skipper = new XdrSkipper(mBuffer);
+
+        skipper.readHyper(FEE_CHARGED_OFFSET);
+        int code = skipper.readInt(RESULT_CODE_OFFSET);
+        int offset = RESULT_CODE_OFFSET + 4;
+        if (code == TransactionResultCode.txSUCCESS.getValue() || code == TransactionResultCode.txFAILED.getValue()) {
+            int resultsSize = skipper.readInt(offset);
+            offset += 4;
+            if (resultsSize < 0 || resultsSize > mBuffer.remaining() / 4) {
+                throw new IOException("Invalid XDR array size: " + resultsSize);
+            }
+            mResultOffsets = new int[resultsSize];
+            for (int i = 0; i < resultsSize; i++) {
+                mResultOffsets[i] = offset;
+                offset = skipper.skipOperationResult(offset);
+            }
+        } else {
+            mResultOffsets = new int[0];
+        }
+
+        // ext
+        skipper.readInt(offset);
+        mLength = offset + 4;
+    }
+
+    /**
+     * Creates a view over XDR encoded bytes.
+     * @param bytes XDR encoded TransactionResult
+     * @throws IOException when data is not a valid TransactionResult
+     */
+    public TransactionResultView(byte[] bytes) throws IOException {
+        this(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Creates a view over base64-encoded TransactionResult, ex. <code>TransactionResponse.getResultXdr()</code>.
+     * @param xdr base64-encoded TransactionResult
+     * @throws IOException when data is not a valid TransactionResult
+     */
+    public static TransactionResultView fromXdrBase64(String xdr) throws IOException {
+        return new TransactionResultView(Base64.decodeBase64(xdr));
+    }
+
+    /**
+     * Returns number of bytes the result occupies.
+     */
+    public int getLength() {
+        return mLength;
+    }
+
+    public long getFeeCharged() {
+        return mBuffer.getLong(FEE_CHARGED_OFFSET);
+    }
+
+    public TransactionResultCode getResultCode() {
+        try {
+            return TransactionResultCode.decode(readerAt(RESULT_CODE_OFFSET));
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * Returns number of operation results. Results are only present when transaction
+     * result code is <code>txSUCCESS</code> or <code>txFAILED</code>.
+     */
+    public int getOperationResultCount() {
+        return mResultOffsets.length;
+    }
+
+    /**
+     * Returns outer result code of the operation at <code>index</code> without decoding it.
+     * @param index index of the operation
+     */
+    public OperationResultCode getOperationResultCode(int index) {
+        try {
+            return OperationResultCode.decode(readerAt(mResultOffsets[index]));
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * Returns type of the operation at <code>index</code>.
+     * @param index index of the operation
+     * @return OperationType, or null when the outer result code is not <code>opINNER</code>
+     */
+    public OperationType getOperationType(int index) {
+        int offset = mResultOffsets[index];
+        if (mBuffer.getInt(offset) != OperationResultCode.opINNER.getValue()) {
+            return null;
+        }
+        try {
+            return OperationType.decode(readerAt(offset + 4));
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * Returns raw value of the operation specific result code at <code>index</code>,
+     * ex. one of {@link PaymentResultCode} values for a payment operation.
+     * @param index index of the operation
+     * @throws IllegalStateException when the outer result code is not <code>opINNER</code>
+     */
+    public int getInnerResultCode(int index) {
+        int offset = mResultOffsets[index];
+        if (mBuffer.getInt(offset) != OperationResultCode.opINNER.getValue()) {
+            throw new IllegalStateException("Operation " + index + " has no inner result");
+        }
+        return mBuffer.getInt(offset + 8);
+    }
+
+    /**
+     * Decodes result of the operation at <code>index</code>.
+     * @param index index of the operation
+     */
+    public OperationResult getOperationResult(int index) {
+        try {
+            return OperationResult.decode(readerAt(mResultOffsets[index]));
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * Decodes the whole {@link TransactionResult}.
+     */
+    public TransactionResult getTransactionResult() {
+        try {
+            return TransactionResult.decode(readerAt(0));
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private XdrByteBufferReader readerAt(int offset) {
+        ByteBuffer view = mBuffer.duplicate();
+        view.position(offset);
+        return new XdrByteBufferReader(view);
+    }
+}
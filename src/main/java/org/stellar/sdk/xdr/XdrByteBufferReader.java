@@ -0,0 +1,112 @@
+package org.stellar.sdk.xdr;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * {@link XdrDataInputStream} that reads from a {@link ByteBuffer} without copying it. The reader can
+ * be pointed at another buffer by calling {@link #wrap(ByteBuffer)}.
+ *
+ * Since it is an {@link XdrDataInputStream}, every generated <code>decode</code> method
+ * accepts it directly, e.g. <code>TransactionEnvelope.decode(reader)</code>.
+ */
+public class XdrByteBufferReader extends XdrDataInputStream {
+
+    private final ByteBufferInputStream mBuffer;
+
+    /**
+     * Creates a reader over the remaining bytes of <code>buffer</code>.
+     * @param buffer buffer to read from, its position is advanced while reading
+     */
+    public XdrByteBufferReader(ByteBuffer buffer) {
+        this(new ByteBufferInputStream(buffer));
+    }
+
+    /**
+     * Creates a reader over the given byte array.
+     * @param bytes XDR encoded bytes
+     */
+    public XdrByteBufferReader(byte[] bytes) {
+        this(ByteBuffer.wrap(bytes));
+    }
+
+    private XdrByteBufferReader(ByteBufferInputStream buffer) {
+        super(buffer);
+        mBuffer = buffer;
+    }
+
+    /**
+     * Points this reader at the remaining bytes of <code>buffer</code>.
+     * @param buffer buffer to read from, its position is advanced while reading
+     */
+    public void wrap(ByteBuffer buffer) {
+        mBuffer.wrap(buffer);
+        resetPadding();
+    }
+
+    /**
+     * Returns current read position in the underlying buffer.
+     */
+    public int position() {
+        return mBuffer.mBuffer.position();
+    }
+
+    /**
+     * Returns number of bytes left to read.
+     */
+    public int remaining() {
+        return mBuffer.mBuffer.remaining();
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private ByteBuffer mBuffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            wrap(buffer);
+        }
+
+        void wrap(ByteBuffer buffer) {
+            if (buffer == null) {
+                throw new NullPointerException("buffer cannot be null");
+            }
+            mBuffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            if (!mBuffer.hasRemaining()) {
+                return -1;
+            }
+            return mBuffer.get() & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!mBuffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(len, mBuffer.remaining());
+            mBuffer.get(b, off, count);
+            return count;
+        }
+
+        @Override
+        public long skip(long n) {
+            int count = (int) Math.min(n, mBuffer.remaining());
+            if (count <= 0) {
+                return 0;
+            }
+            mBuffer.position(mBuffer.position() + count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return mBuffer.remaining();
+        }
+    }
+}
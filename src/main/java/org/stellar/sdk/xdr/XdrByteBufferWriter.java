@@ -0,0 +1,144 @@
+package org.stellar.sdk.xdr;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * {@link XdrDataOutputStream} that writes into a growable {@link ByteBuffer} which can be
+ * reused between encodings by calling {@link #reset()}.
+ *
+ * Since it is an {@link XdrDataOutputStream}, every generated <code>encode</code> method
+ * accepts it directly, e.g. <code>TransactionEnvelope.encode(writer, envelope)</code>.
+ */
+public class XdrByteBufferWriter extends XdrDataOutputStream {
+
+    private static final int DEFAULT_CAPACITY = 256;
+
+    private final ByteBufferOutputStream mBuffer;
+
+    /**
+     * Creates a writer backed by a heap buffer with a default initial capacity.
+     */
+    public XdrByteBufferWriter() {
+        this(DEFAULT_CAPACITY, false);
+    }
+
+    /**
+     * Creates a writer backed by a heap or direct buffer.
+     * @param initialCapacity initial capacity of the buffer in bytes, the buffer grows when needed
+     * @param direct when <code>true</code> a direct buffer is allocated
+     */
+    public XdrByteBufferWriter(int initialCapacity, boolean direct) {
+        this(new ByteBufferOutputStream(initialCapacity, direct));
+    }
+
+    private XdrByteBufferWriter(ByteBufferOutputStream buffer) {
+        super(buffer);
+        mBuffer = buffer;
+    }
+
+    /**
+     * Discards everything written so far, keeping the allocated buffer for the next encoding.
+     */
+    public void reset() {
+        mBuffer.reset();
+        written = 0;
+        resetPadding();
+    }
+
+    /**
+     * Returns number of bytes (including padding) written since creation or the last {@link #reset()}.
+     */
+    public int length() {
+        return mBuffer.size();
+    }
+
+    /**
+     * Returns a copy of the bytes written so far.
+     */
+    public byte[] toByteArray() {
+        return mBuffer.toByteArray();
+    }
+
+    /**
+     * Returns a read-only view of the bytes written so far. The view shares content with this writer
+     * so it is only valid until the next write or {@link #reset()}.
+     */
+    public ByteBuffer toByteBuffer() {
+        return mBuffer.toByteBuffer();
+    }
+
+    private static final class ByteBufferOutputStream extends OutputStream {
+
+        private final boolean mDirect;
+        private ByteBuffer mBuffer;
+
+        ByteBufferOutputStream(int initialCapacity, boolean direct) {
+            if (initialCapacity < 0) {
+                throw new IllegalArgumentException("initialCapacity cannot be negative");
+            }
+            mDirect = direct;
+            mBuffer = allocate(initialCapacity);
+        }
+
+        @Override
+        public void write(int b) {
+            ensureRemaining(1);
+            mBuffer.put((byte) b);
+        }
+
+        @Override
+        public void write(byte[] b, int offset, int length) {
+            ensureRemaining(length);
+            mBuffer.put(b, offset, length);
+        }
+
+        void reset() {
+            mBuffer.clear();
+        }
+
+        int size() {
+            return mBuffer.position();
+        }
+
+        byte[] toByteArray() {
+            if (mBuffer.hasArray()) {
+                return Arrays.copyOfRange(mBuffer.array(), mBuffer.arrayOffset(), mBuffer.arrayOffset() + mBuffer.position());
+            }
+            byte[] bytes = new byte[mBuffer.position()];
+            ByteBuffer view = mBuffer.duplicate();
+            view.flip();
+            view.get(bytes);
+            return bytes;
+        }
+
+        ByteBuffer toByteBuffer() {
+            ByteBuffer view = mBuffer.asReadOnlyBuffer();
+            view.flip();
+            return view;
+        }
+
+        private void ensureRemaining(int length) {
+            if (mBuffer.remaining() >= length) {
+                return;
+            }
+            int required = mBuffer.position() + length;
+            if (required < 0) {
+                throw new OutOfMemoryError("XDR buffer too large");
+            }
+            int capacity = Math.max(mBuffer.capacity() * 2, required);
+            if (capacity < 0) {
+                capacity = required;
+            }
+            ByteBuffer grown = allocate(capacity);
+            mBuffer.flip();
+            grown.put(mBuffer);
+            mBuffer = grown;
+        }
+
+        private ByteBuffer allocate(int capacity) {
+            return mDirect ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+        }
+    }
+}
@@ -22,6 +22,13 @@ public class XdrDataInputStream extends DataInputStream {
         mIn = (XdrInputStream) super.in;
     }
 
+    /**
+     * Restarts padding alignment, must be called when the underlying stream starts a new record.
+     */
+    void resetPadding() {
+        mIn.mCount = 0;
+    }
+
     public String readString() throws IOException {
         int l = readInt();
         byte[] bytes = new byte[l];
@@ -82,7 +89,7 @@ public class XdrDataInputStream extends DataInputStream {
         // The underlying input stream
         private final InputStream mIn;
 
-        // The amount of bytes read so far.
+        // The amount of bytes read so far modulo 4, kept bounded so long-lived streams never overflow.
         private int mCount;
 
         public XdrInputStream(InputStream in) {
@@ -94,7 +101,7 @@ public class XdrDataInputStream extends DataInputStream {
         public int read() throws IOException {
             int read = mIn.read();
             if (read >= 0) {
-                mCount++;
+                mCount = (mCount + 1) & 3;
             }
             return read;
         }
@@ -107,7 +114,9 @@ public class XdrDataInputStream extends DataInputStream {
         @Override
         public int read(byte[] b, int off, int len) throws IOException {
             int read = mIn.read(b, off, len);
-            mCount += read;
+            if (read > 0) {
+                mCount = (mCount + read) & 3;
+            }
             pad();
             return read;
         }
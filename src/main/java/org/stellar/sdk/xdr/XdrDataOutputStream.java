@@ -14,6 +14,13 @@ public class XdrDataOutputStream extends DataOutputStream {
         mOut = (XdrOutputStream) super.out;
     }
 
+    /**
+     * Restarts padding alignment, must be called when the underlying stream starts a new encoding.
+     */
+    void resetPadding() {
+        mOut.mCount = 0;
+    }
+
     public void writeString(String s) throws IOException {
         byte[] chars = s.getBytes(StandardCharsets.UTF_8);
         writeInt(chars.length);
@@ -57,7 +64,7 @@ public class XdrDataOutputStream extends DataOutputStream {
 
         private final OutputStream mOut;
 
-        // Number of bytes written
+        // Number of bytes written modulo 4, kept bounded so long-lived streams never overflow
         private int mCount;
 
         public XdrOutputStream(OutputStream out) {
@@ -71,7 +78,7 @@ public class XdrDataOutputStream extends DataOutputStream {
             // https://docs.oracle.com/javase/7/docs/api/java/io/OutputStream.html#write(int):
             // > The byte to be written is the eight low-order bits of the argument b.
             // > The 24 high-order bits of b are ignored.
-            mCount++;
+            mCount = (mCount + 1) & 3;
         }
 
         @Override
@@ -84,7 +91,7 @@ public class XdrDataOutputStream extends DataOutputStream {
 
         public void write(byte[] b, int offset, int length) throws IOException {
             mOut.write(b, offset, length);
-            mCount += length;
+            mCount = (mCount + length) & 3;
             pad();
         }
 
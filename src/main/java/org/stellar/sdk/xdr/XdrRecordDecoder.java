@@ -0,0 +1,56 @@
+package org.stellar.sdk.xdr;
+
+import java.io.IOException;
+
+/**
+ * Decodes a single record of type <code>T</code>. Used by {@link XdrRecordReader} to decode records
+ * of XDR files like buckets or history archive files.
+ * @param <T> type of the decoded record
+ */
+public interface XdrRecordDecoder<T> {
+    /**
+     * Decodes a record from the stream.
+     * @param stream stream positioned at the beginning of a record
+     */
+    T decode(XdrDataInputStream stream) throws IOException;
+
+    /**
+     * Decodes records of bucket files.
+     */
+    XdrRecordDecoder<BucketEntry> BUCKET_ENTRY = new XdrRecordDecoder<BucketEntry>() {
+        @Override
+        public BucketEntry decode(XdrDataInputStream stream) throws IOException {
+            return BucketEntry.decode(stream);
+        }
+    };
+
+    /**
+     * Decodes records of <code>transactions-*.xdr</code> history archive files.
+     */
+    XdrRecordDecoder<TransactionHistoryEntry> TRANSACTION_HISTORY_ENTRY = new XdrRecordDecoder<TransactionHistoryEntry>() {
+        @Override
+        public TransactionHistoryEntry decode(XdrDataInputStream stream) throws IOException {
+            return TransactionHistoryEntry.decode(stream);
+        }
+    };
+
+    /**
+     * Decodes records of <code>results-*.xdr</code> history archive files.
+     */
+    XdrRecordDecoder<TransactionHistoryResultEntry> TRANSACTION_HISTORY_RESULT_ENTRY = new XdrRecordDecoder<TransactionHistoryResultEntry>() {
+        @Override
+        public TransactionHistoryResultEntry decode(XdrDataInputStream stream) throws IOException {
+            return TransactionHistoryResultEntry.decode(stream);
+        }
+    };
+
+    /**
+     * Decodes records of <code>ledger-*.xdr</code> history archive files.
+     */
+    XdrRecordDecoder<LedgerHeaderHistoryEntry> LEDGER_HEADER_HISTORY_ENTRY = new XdrRecordDecoder<LedgerHeaderHistoryEntry>() {
+        @Override
+        public LedgerHeaderHistoryEntry decode(XdrDataInputStream stream) throws IOException {
+            return LedgerHeaderHistoryEntry.decode(stream);
+        }
+    };
+}
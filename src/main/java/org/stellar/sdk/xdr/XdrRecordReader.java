@@ -0,0 +1,314 @@
+package org.stellar.sdk.xdr;
+
+import com.google.common.collect.AbstractIterator;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.util.Iterator;
+import java.util.zip.GZIPInputStream;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Reads files made of record-marked XDR entries (RFC 5531 record marking), like bucket files
+ * or history archive files, one entry at a time. Only a single record is kept in memory so
+ * files larger than the heap can be replayed.
+ * <p>Example:</p>
+ * <pre>
+ * XdrRecordReader&lt;BucketEntry&gt; reader = new XdrRecordReader.Builder&lt;BucketEntry&gt;(channel, XdrRecordDecoder.BUCKET_ENTRY)
+ *     .setGzipped(true)
+ *     .build();
+ * try {
+ *   for (BucketEntry entry : reader) {
+ *     ...
+ *   }
+ * } finally {
+ *   reader.close();
+ * }
+ * </pre>
+ * @param <T> type of the decoded records
+ */
+public class XdrRecordReader<T> implements Iterable<T>, Closeable {
+    private static final int LAST_FRAGMENT = 0x80000000;
+    private static final int FRAGMENT_LENGTH_MASK = 0x7fffffff;
+
+    private final InputStream mIn;
+    private final XdrRecordDecoder<T> mDecoder;
+    private final int mMaxRecordSize;
+    private final byte[] mMark = new byte[4];
+    private byte[] mRecord;
+    private XdrByteBufferReader mReader;
+    private long mRecordsRead;
+
+    private XdrRecordReader(InputStream in, XdrRecordDecoder<T> decoder, int initialRecordSize, int maxRecordSize) {
+        mIn = in;
+        mDecoder = decoder;
+        mMaxRecordSize = maxRecordSize;
+        mRecord = new byte[Math.min(initialRecordSize, maxRecordSize)];
+    }
+
+    /**
+     * Reads and decodes the next record.
+     * @return decoded record or null when the end of the file has been reached
+     * @throws IOException when the file cannot be read or contains an invalid record
+     */
+    public T read() throws IOException {
+        int length = 0;
+        boolean last = false;
+        while (!last) {
+            int markRead = readFully(mMark, 0, mMark.length);
+            if (markRead == 0 && length == 0) {
+                return null;
+            }
+            if (markRead < mMark.length) {
+                throw new EOFException("Truncated record mark");
+            }
+            int mark = ((mMark[0] & 0xFF) << 24) | ((mMark[1] & 0xFF) << 16) | ((mMark[2] & 0xFF) << 8) | (mMark[3] & 0xFF);
+            last = (mark & LAST_FRAGMENT) != 0;
+            int fragmentLength = mark & FRAGMENT_LENGTH_MASK;
+            ensureCapacity(length, fragmentLength);
+            if (readFully(mRecord, length, fragmentLength) < fragmentLength) {
+                throw new EOFException("Truncated record");
+            }
+            length += fragmentLength;
+        }
+
+        ByteBuffer record = ByteBuffer.wrap(mRecord, 0, length);
+        if (mReader == null) {
+            mReader = new XdrByteBufferReader(record);
+        } else {
+            mReader.wrap(record);
+        }
+        T decoded = mDecoder.decode(mReader);
+        if (mReader.remaining() != 0) {
+            throw new IOException("Record " + mRecordsRead + " has " + mReader.remaining() + " trailing bytes");
+        }
+        mRecordsRead++;
+        return decoded;
+    }
+
+    /**
+     * Returns number of records read so far.
+     */
+    public long getRecordsRead() {
+        return mRecordsRead;
+    }
+
+    /**
+     * Returns an iterator over the remaining records. {@link IOException}s thrown while reading
+     * are rethrown wrapped in {@link RuntimeException}.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new AbstractIterator<T>() {
+            @Override
+            protected T computeNext() {
+                try {
+                    T record = read();
+                    return record != null ? record : endOfData();
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        };
+    }
+
+    /**
+     * Closes this reader and the underlying channel.
+     */
+    @Override
+    public void close() throws IOException {
+        mIn.close();
+    }
+
+    private int readFully(byte[] b, int offset, int length) throws IOException {
+        int total = 0;
+        while (total < length) {
+            int read = mIn.read(b, offset + total, length - total);
+            if (read < 0) {
+                break;
+            }
+            total += read;
+        }
+        return total;
+    }
+
+    private void ensureCapacity(int length, int fragmentLength) throws IOException {
+        // Record marks are untrusted, check them before allocating
+        if (fragmentLength > mMaxRecordSize - length) {
+            throw new IOException("Record " + mRecordsRead + " is larger than " + mMaxRecordSize + " bytes");
+        }
+        int required = length + fragmentLength;
+        if (required > mRecord.length) {
+            int capacity = (int) Math.min(Math.max(required, mRecord.length * 2L), mMaxRecordSize);
+            byte[] grown = new byte[capacity];
+            System.arraycopy(mRecord, 0, grown, 0, length);
+            mRecord = grown;
+        }
+    }
+
+    /**
+     * Builds a new XdrRecordReader object.
+     * @param <T> type of the decoded records
+     */
+    public static class Builder<T> {
+        private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+        private static final int DEFAULT_MAPPED_WINDOW_SIZE = 64 * 1024 * 1024;
+        private static final int DEFAULT_MAX_RECORD_SIZE = 16 * 1024 * 1024;
+
+        private final FileChannel mChannel;
+        private final XdrRecordDecoder<T> mDecoder;
+        private boolean mGzipped;
+        private boolean mMemoryMapped;
+        private int mBufferSize = DEFAULT_BUFFER_SIZE;
+        private int mMappedWindowSize = DEFAULT_MAPPED_WINDOW_SIZE;
+        private int mMaxRecordSize = DEFAULT_MAX_RECORD_SIZE;
+
+        /**
+         * Creates a new XdrRecordReader builder. Reading starts at the current position of <code>channel</code>.
+         * @param channel channel to read records from
+         * @param decoder decoder of a single record
+         */
+        public Builder(FileChannel channel, XdrRecordDecoder<T> decoder) {
+            mChannel = checkNotNull(channel, "channel cannot be null");
+            mDecoder = checkNotNull(decoder, "decoder cannot be null");
+        }
+
+        /**
+         * Set to <code>true</code> when the file is gzip-compressed (ex. <code>*.xdr.gz</code> files of history archives).
+         * @param gzipped
+         * @return Builder object so you can chain methods.
+         */
+        public Builder<T> setGzipped(boolean gzipped) {
+            mGzipped = gzipped;
+            return this;
+        }
+
+        /**
+         * Set to <code>true</code> to memory-map the file instead of reading it through a buffer.
+         * The file is mapped in windows so files larger than the address space can be read.
+         * @param memoryMapped
+         * @return Builder object so you can chain methods.
+         */
+        public Builder<T> setMemoryMapped(boolean memoryMapped) {
+            mMemoryMapped = memoryMapped;
+            return this;
+        }
+
+        /**
+         * Sets size of the read buffer in bytes.
+         * @param bufferSize
+         * @return Builder object so you can chain methods.
+         */
+        public Builder<T> setBufferSize(int bufferSize) {
+            checkArgument(bufferSize > 0, "bufferSize must be positive");
+            mBufferSize = bufferSize;
+            return this;
+        }
+
+        /**
+         * Sets size of the memory-mapped window in bytes.
+         * @param mappedWindowSize
+         * @return Builder object so you can chain methods.
+         */
+        public Builder<T> setMappedWindowSize(int mappedWindowSize) {
+            checkArgument(mappedWindowSize > 0, "mappedWindowSize must be positive");
+            mMappedWindowSize = mappedWindowSize;
+            return this;
+        }
+
+        /**
+         * Sets maximum size of a single record in bytes (16 MiB by default). Reading a record
+         * with a larger record mark throws {@link IOException} before any memory is allocated for it.
+         * @param maxRecordSize
+         * @return Builder object so you can chain methods.
+         */
+        public Builder<T> setMaxRecordSize(int maxRecordSize) {
+            checkArgument(maxRecordSize > 0, "maxRecordSize must be positive");
+            mMaxRecordSize = maxRecordSize;
+            return this;
+        }
+
+        public XdrRecordReader<T> build() throws IOException {
+            InputStream in;
+            if (mMemoryMapped) {
+                in = new MappedChannelInputStream(mChannel, mMappedWindowSize);
+            } else {
+                in = Channels.newInputStream(mChannel);
+            }
+            if (mGzipped) {
+                in = new GZIPInputStream(in, mBufferSize);
+            }
+            if (mGzipped || !mMemoryMapped) {
+                in = new BufferedInputStream(in, mBufferSize);
+            }
+            return new XdrRecordReader<T>(in, mDecoder, Math.min(mBufferSize, 4096), mMaxRecordSize);
+        }
+    }
+
+    /**
+     * Reads a file channel by mapping consecutive windows of it into memory.
+     */
+    private static final class MappedChannelInputStream extends InputStream {
+        private final FileChannel mChannel;
+        private final int mWindowSize;
+        private final long mSize;
+        private long mPosition;
+        private MappedByteBuffer mWindow;
+
+        MappedChannelInputStream(FileChannel channel, int windowSize) throws IOException {
+            mChannel = channel;
+            mWindowSize = windowSize;
+            mSize = channel.size();
+            mPosition = channel.position();
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!ensureWindow()) {
+                return -1;
+            }
+            return mWindow.get() & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (!ensureWindow()) {
+                return -1;
+            }
+            int count = Math.min(len, mWindow.remaining());
+            mWindow.get(b, off, count);
+            return count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            mWindow = null;
+            mChannel.close();
+        }
+
+        private boolean ensureWindow() throws IOException {
+            if (mWindow != null && mWindow.hasRemaining()) {
+                return true;
+            }
+            if (mPosition >= mSize) {
+                return false;
+            }
+            long length = Math.min(mWindowSize, mSize - mPosition);
+            mWindow = mChannel.map(FileChannel.MapMode.READ_ONLY, mPosition, length);
+            mPosition += length;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package org.stellar.sdk.xdr;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Walks over XDR encoded structures without decoding them. Every method takes the offset
+ * at which a structure starts and returns the offset right after it.
+ */
+final class XdrSkipper {
+
+    private static final int INT_SIZE = 4;
+    private static final int HYPER_SIZE = 8;
+    private static final int ACCOUNT_ID_SIZE = INT_SIZE + 32;
+
+    private final ByteBuffer mBuffer;
+
+    XdrSkipper(ByteBuffer buffer) {
+        mBuffer = buffer;
+    }
+
+    int readInt(int offset) throws IOException {
+        if (offset < 0 || offset + INT_SIZE > mBuffer.limit()) {
+            throw new IOException("Unexpected end of XDR data");
+        }
+        return mBuffer.getInt(offset);
+    }
+
+    long readHyper(int offset) throws IOException {
+        if (offset < 0 || offset + HYPER_SIZE > mBuffer.limit()) {
+            throw new IOException("Unexpected end of XDR data");
+        }
+        return mBuffer.getLong(offset);
+    }
+
+    int skipVarOpaque(int offset) throws IOException {
+        int length = readInt(offset);
+        if (length < 0) {
+            throw new IOException("Invalid XDR length: " + length);
+        }
+        return checked(offset + INT_SIZE + ((length + 3) & ~3));
+    }
+
+    int skipAccountId(int offset) throws IOException {
+        int type = readInt(offset);
+        if (type != PublicKeyType.PUBLIC_KEY_TYPE_ED25519.getValue()) {
+            throw new IOException("Unknown public key type: " + type);
+        }
+        return checked(offset + ACCOUNT_ID_SIZE);
+    }
+
+    int skipOptionalAccountId(int offset) throws IOException {
+        return readInt(offset) != 0 ? skipAccountId(offset + INT_SIZE) : offset + INT_SIZE;
+    }
+
+    int skipAsset(int offset) throws IOException {
+        int type = readInt(offset);
+        switch (type) {
+            case 0:
+                return offset + INT_SIZE;
+            case 1:
+                return skipAccountId(offset + INT_SIZE + 4);
+            case 2:
+                return skipAccountId(offset + INT_SIZE + 12);
+            default:
+                throw new IOException("Unknown asset type: " + type);
+        }
+    }
+
+    int skipMemo(int offset) throws IOException {
+        int type = readInt(offset);
+        switch (type) {
+            case 0:
+                return offset + INT_SIZE;
+            case 1:
+                return skipVarOpaque(offset + INT_SIZE);
+            case 2:
+                return checked(offset + INT_SIZE + HYPER_SIZE);
+            case 3:
+            case 4:
+                return checked(offset + INT_SIZE + 32);
+            default:
+                throw new IOException("Unknown memo type: " + type);
+        }
+    }
+
+    int skipOperation(int offset) throws IOException {
+        offset = skipOptionalAccountId(offset);
+        int type = readInt(offset);
+        offset += INT_SIZE;
+        switch (type) {
+            case 0: // CREATE_ACCOUNT
+                return checked(skipAccountId(offset) + HYPER_SIZE);
+            case 1: // PAYMENT
+                return checked(skipAsset(skipAccountId(offset)) + HYPER_SIZE);
+            case 2: // PATH_PAYMENT
+                offset = skipAsset(offset) + HYPER_SIZE;
+                offset = skipAccountId(offset);
+                offset = skipAsset(offset) + HYPER_SIZE;
+                int pathSize = readInt(offset);
+                offset += INT_SIZE;
+                for (int i = 0; i < pathSize; i++) {
+                    offset = skipAsset(offset);
+                }
+                return offset;
+            case 3: // MANAGE_OFFER
+                return checked(skipAsset(skipAsset(offset)) + 3 * HYPER_SIZE);
+            case 4: // CREATE_PASSIVE_OFFER
+                return checked(skipAsset(skipAsset(offset)) + 2 * HYPER_SIZE);
+            case 5: // SET_OPTIONS
+                offset = skipOptionalAccountId(offset);
+                for (int i = 0; i < 6; i++) {
+                    offset = readInt(offset) != 0 ? offset + 2 * INT_SIZE : offset + INT_SIZE;
+                }
+                offset = readInt(offset) != 0 ? skipVarOpaque(offset + INT_SIZE) : offset + INT_SIZE;
+                // Signer: SignerKey (all arms are 32 bytes) and weight
+                return readInt(offset) != 0 ? checked(offset + INT_SIZE + INT_SIZE + 32 + INT_SIZE) : offset + INT_SIZE;
+            case 6: // CHANGE_TRUST
+                return checked(skipAsset(offset) + HYPER_SIZE);
+            case 7: // ALLOW_TRUST
+                offset = skipAccountId(offset);
+                int assetType = readInt(offset);
+                offset += INT_SIZE + (assetType == 1 ? 4 : 12);
+                return checked(offset + INT_SIZE);
+            case 8: // ACCOUNT_MERGE
+                return skipAccountId(offset);
+            case 9: // INFLATION
+                return offset;
+            case 10: // MANAGE_DATA
+                offset = skipVarOpaque(offset);
+                return readInt(offset) != 0 ? skipVarOpaque(offset + INT_SIZE) : offset + INT_SIZE;
+            default:
+                throw new IOException("Unknown operation type: " + type);
+        }
+    }
+
+    int skipDecoratedSignature(int offset) throws IOException {
+        return skipVarOpaque(offset + 4);
+    }
+
+    int skipClaimOfferAtom(int offset) throws IOException {
+        offset = skipAccountId(offset) + HYPER_SIZE;
+        offset = skipAsset(offset) + HYPER_SIZE;
+        return checked(skipAsset(offset) + HYPER_SIZE);
+    }
+
+    int skipOfferEntry(int offset) throws IOException {
+        offset = skipAccountId(offset) + HYPER_SIZE;
+        offset = skipAsset(skipAsset(offset));
+        offset += HYPER_SIZE + HYPER_SIZE + INT_SIZE;
+        // ext
+        return checked(offset + INT_SIZE);
+    }
+
+    int skipOperationResult(int offset) throws IOException {
+        int code = readInt(offset);
+        offset += INT_SIZE;
+        if (code != OperationResultCode.opINNER.getValue()) {
+            return offset;
+        }
+        int type = readInt(offset);
+        offset += INT_SIZE;
+        int resultCode = readInt(offset);
+        offset += INT_SIZE;
+        switch (type) {
+            case 2: // PATH_PAYMENT
+                if (resultCode == PathPaymentResultCode.PATH_PAYMENT_SUCCESS.getValue()) {
+                    offset = skipClaimOfferAtoms(offset);
+                    return checked(skipAsset(skipAccountId(offset)) + HYPER_SIZE);
+                } else if (resultCode == PathPaymentResultCode.PATH_PAYMENT_NO_ISSUER.getValue()) {
+                    return skipAsset(offset);
+                }
+                return offset;
+            case 3: // MANAGE_OFFER
+            case 4: // CREATE_PASSIVE_OFFER
+                if (resultCode == ManageOfferResultCode.MANAGE_OFFER_SUCCESS.getValue()) {
+                    offset = skipClaimOfferAtoms(offset);
+                    int effect = readInt(offset);
+                    offset += INT_SIZE;
+                    if (effect == ManageOfferEffect.MANAGE_OFFER_CREATED.getValue() || effect == ManageOfferEffect.MANAGE_OFFER_UPDATED.getValue()) {
+                        offset = skipOfferEntry(offset);
+                    }
+                }
+                return offset;
+            case 8: // ACCOUNT_MERGE
+                return resultCode == AccountMergeResultCode.ACCOUNT_MERGE_SUCCESS.getValue() ? checked(offset + HYPER_SIZE) : offset;
+            case 9: // INFLATION
+                if (resultCode == InflationResultCode.INFLATION_SUCCESS.getValue()) {
+                    int payouts = readInt(offset);
+                    offset += INT_SIZE;
+                    for (int i = 0; i < payouts; i++) {
+                        offset = skipAccountId(offset) + HYPER_SIZE;
+                    }
+                }
+                return checked(offset);
+            case 0:
+            case 1:
+            case 5:
+            case 6:
+            case 7:
+            case 10:
+                return offset;
+            default:
+                throw new IOException("Unknown operation type: " + type);
+        }
+    }
+
+    private int skipClaimOfferAtoms(int offset) throws IOException {
+        int size = readInt(offset);
+        offset += INT_SIZE;
+        for (int i = 0; i < size; i++) {
+            offset = skipClaimOfferAtom(offset);
+        }
+        return offset;
+    }
+
+    private int checked(int offset) throws IOException {
+        if (offset < 0 || offset > mBuffer.limit()) {
+            throw new IOException("Unexpected end of XDR data");
+        }
+        return offset;
+    }
+}
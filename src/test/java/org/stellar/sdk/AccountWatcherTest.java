@@ -0,0 +1,169 @@
+package org.stellar.sdk;
+
+import com.sun.net.httpserver.HttpExchange;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.stellar.sdk.requests.EventListener;
+import org.stellar.sdk.requests.FakeHorizon;
+import org.stellar.sdk.requests.StreamManager;
+import org.stellar.sdk.responses.GsonSingleton;
+import org.stellar.sdk.responses.operations.OperationResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class AccountWatcherTest {
+  private final KeyPair alice = KeyPair.random();
+  private final KeyPair bob = KeyPair.random();
+  private final KeyPair carol = KeyPair.random();
+  private final KeyPair dave = KeyPair.random();
+  private final CountDownLatch subscribed = new CountDownLatch(1);
+  private FakeHorizon horizon;
+  private Server server;
+  private StreamManager manager;
+  private String query;
+
+  /**
+   * Records ids of received operations.
+   */
+  private static class RecordingListener implements EventListener<OperationResponse> {
+    final List<Long> ids = Collections.synchronizedList(new ArrayList<Long>());
+
+    @Override
+    public void onEvent(OperationResponse operation) {
+      ids.add(operation.getId());
+    }
+  }
+
+  private static String payment(long id, KeyPair from, KeyPair to) {
+    return "{\"id\": " + id + ", \"paging_token\": \"" + id + "\", \"source_account\": \"" + from.getAccountId() +
+            "\", \"from\": \"" + from.getAccountId() + "\", \"to\": \"" + to.getAccountId() +
+            "\", \"amount\": \"1.0\", \"asset_type\": \"native\", \"type\": \"payment\", \"type_i\": 1}";
+  }
+
+  private static String createAccount(long id, KeyPair funder, KeyPair account) {
+    return "{\"id\": " + id + ", \"paging_token\": \"" + id + "\", \"source_account\": \"" + funder.getAccountId() +
+            "\", \"funder\": \"" + funder.getAccountId() + "\", \"account\": \"" + account.getAccountId() +
+            "\", \"starting_balance\": \"10.0\", \"type\": \"create_account\", \"type_i\": 0}";
+  }
+
+  private static OperationResponse parse(String json) {
+    return GsonSingleton.getInstance().fromJson(json, OperationResponse.class);
+  }
+
+  @Before
+  public void setUp() throws IOException {
+    horizon = new FakeHorizon().handle("/payments", new FakeHorizon.Handler() {
+      @Override
+      public String handle(HttpExchange exchange) throws IOException {
+        query = exchange.getRequestURI().getQuery();
+        try {
+          subscribed.await(5, TimeUnit.SECONDS);
+          exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+          exchange.sendResponseHeaders(200, 0);
+          OutputStream out = exchange.getResponseBody();
+          String[] events = {payment(1, alice, bob), payment(2, carol, dave), createAccount(3, dave, alice)};
+          for (int i = 0; i < events.length; i++) {
+            out.write(("id: " + (i + 1) + "\ndata: " + events[i] + "\n\n").getBytes(StandardCharsets.UTF_8));
+          }
+          out.flush();
+          Thread.sleep(5000);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        return null;
+      }
+    });
+    server = new Server(horizon.getUri());
+    manager = new StreamManager(50, 100);
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    manager.close();
+    server.close();
+    horizon.stop();
+  }
+
+  @Test
+  public void testDispatchesStreamToWatchedAccounts() throws InterruptedException {
+    AccountWatcher watcher = new AccountWatcher.Builder(server, manager).setCursor("100").build();
+    RecordingListener aliceListener = new RecordingListener();
+    RecordingListener bobListener = new RecordingListener();
+    watcher.subscribe(KeyPair.fromAccountId(alice.getAccountId()), aliceListener);
+    watcher.subscribe(bob, bobListener);
+    subscribed.countDown();
+
+    long deadline = System.currentTimeMillis() + 5000;
+    while (aliceListener.ids.size() < 2 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertEquals(Arrays.asList(1L, 3L), aliceListener.ids);
+    assertEquals(Arrays.asList(1L), bobListener.ids);
+    assertEquals("cursor=100", query);
+    assertEquals(1, manager.getStreams().size());
+
+    watcher.close();
+    assertTrue(manager.getStreams().isEmpty());
+  }
+
+  @Test
+  public void testSubscribeAndUnsubscribe() {
+    AccountWatcher watcher = new AccountWatcher.Builder(server, manager).build();
+    RecordingListener first = new RecordingListener();
+    RecordingListener second = new RecordingListener();
+    watcher.subscribe(alice, first);
+    watcher.subscribe(alice, second);
+    // Subscribed to both sides of the payment, but receives it once
+    watcher.subscribe(bob, first);
+    assertEquals(2, watcher.getWatchedAccounts());
+
+    watcher.dispatch(parse(payment(1, alice, bob)));
+    assertEquals(Arrays.asList(1L), first.ids);
+    assertEquals(Arrays.asList(1L), second.ids);
+
+    watcher.unsubscribe(alice, first);
+    watcher.dispatch(parse(payment(2, alice, carol)));
+    assertEquals(Arrays.asList(1L), first.ids);
+    assertEquals(Arrays.asList(1L, 2L), second.ids);
+
+    watcher.unsubscribe(alice);
+    watcher.unsubscribe(bob, first);
+    assertFalse(watcher.isWatched(alice));
+    assertEquals(0, watcher.getWatchedAccounts());
+    watcher.dispatch(parse(payment(3, alice, bob)));
+    assertEquals(Arrays.asList(1L, 2L), second.ids);
+    watcher.close();
+  }
+
+  @Test
+  public void testFailingListenerDoesNotStopOthers() {
+    AccountWatcher watcher = new AccountWatcher.Builder(server, manager).build();
+    RecordingListener listener = new RecordingListener();
+    watcher.subscribe(alice, new EventListener<OperationResponse>() {
+      @Override
+      public void onEvent(OperationResponse operation) {
+        throw new IllegalStateException("failed");
+      }
+    });
+    watcher.subscribe(bob, listener);
+
+    watcher.dispatch(parse(payment(1, alice, bob)));
+    assertEquals(Arrays.asList(1L), listener.ids);
+    assertEquals(1, watcher.getListenerErrors());
+    watcher.close();
+  }
+}
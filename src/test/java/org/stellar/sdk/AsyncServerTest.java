@@ -0,0 +1,145 @@
+package org.stellar.sdk;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.stellar.sdk.requests.HttpClientConfig;
+import org.stellar.sdk.requests.TooManyRequestsException;
+import org.stellar.sdk.responses.LedgerResponse;
+import org.stellar.sdk.responses.Page;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class AsyncServerTest {
+  private HttpServer httpServer;
+  private ExecutorService httpServerExecutor;
+  private Server server;
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final AtomicInteger maxInFlight = new AtomicInteger();
+
+  @Before
+  public void setUp() throws IOException {
+    httpServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    httpServerExecutor = Executors.newCachedThreadPool();
+    httpServer.setExecutor(httpServerExecutor);
+    final String serverUri = "http://127.0.0.1:" + httpServer.getAddress().getPort();
+    httpServer.createContext("/ledgers", new HttpHandler() {
+      @Override
+      public void handle(HttpExchange exchange) throws IOException {
+        int current = inFlight.incrementAndGet();
+        synchronized (maxInFlight) {
+          maxInFlight.set(Math.max(maxInFlight.get(), current));
+        }
+        try {
+          Thread.sleep(20);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        inFlight.decrementAndGet();
+        String json = "{\"_embedded\": {\"records\": []}, \"_links\": {\"self\": {\"href\": \"" + serverUri + "/ledgers\"}}}";
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("X-Ratelimit-Limit", "3600");
+        exchange.getResponseHeaders().add("X-Ratelimit-Remaining", "3599");
+        exchange.getResponseHeaders().add("X-Ratelimit-Reset", "3600");
+        exchange.sendResponseHeaders(200, body.length);
+        OutputStream out = exchange.getResponseBody();
+        out.write(body);
+        out.close();
+      }
+    });
+    httpServer.createContext("/accounts", new HttpHandler() {
+      @Override
+      public void handle(HttpExchange exchange) throws IOException {
+        exchange.sendResponseHeaders(404, -1);
+        exchange.close();
+      }
+    });
+    httpServer.createContext("/transactions", new HttpHandler() {
+      @Override
+      public void handle(HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().add("Retry-After", "10");
+        exchange.sendResponseHeaders(429, -1);
+        exchange.close();
+      }
+    });
+    httpServer.start();
+    server = new Server(serverUri, new HttpClientConfig.Builder().build());
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    Network.use(null);
+    server.close();
+    httpServer.stop(0);
+    httpServerExecutor.shutdownNow();
+  }
+
+  @Test
+  public void testMaxConnectionsPerRoute() throws ExecutionException, InterruptedException, IOException {
+    AsyncServer async = new AsyncServer(server, new HttpClientConfig.Builder().setMaxConnectionsPerRoute(2).build());
+    try {
+      List<ListenableFuture<Page<LedgerResponse>>> futures = new ArrayList<ListenableFuture<Page<LedgerResponse>>>();
+      for (int i = 0; i < 8; i++) {
+        futures.add(async.execute(server.ledgers().limit(10)));
+      }
+      for (ListenableFuture<Page<LedgerResponse>> future : futures) {
+        assertEquals(0, future.get().getRecords().size());
+      }
+      assertTrue(maxInFlight.get() <= 2);
+    } finally {
+      async.close();
+    }
+  }
+
+  @Test
+  public void testFailedRequest() throws InterruptedException, IOException {
+    AsyncServer async = new AsyncServer(server);
+    try {
+      async.account(KeyPair.fromAccountId("GDW6AUTBXTOC7FIKUO5BOO3OGLK4SF7ZPOBLMQHMZDI45J2Z6VXRB5NR")).get();
+      fail();
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof IOException);
+    } finally {
+      async.close();
+    }
+  }
+
+  @Test
+  public void testSubmitTransactionTooManyRequests() throws InterruptedException, IOException {
+    Network.useTestNetwork();
+    KeyPair source = KeyPair.fromSecretSeed("SCH27VUZZ6UAKB67BDNF6FA42YMBMQCBKXWGMFD5TZ6S5ZZCZFLRXKHS");
+    Transaction transaction = new Transaction.Builder(new Account(source, 2908908335136768L))
+            .addOperation(new CreateAccountOperation.Builder(KeyPair.fromAccountId("GDW6AUTBXTOC7FIKUO5BOO3OGLK4SF7ZPOBLMQHMZDI45J2Z6VXRB5NR"), "2000").build())
+            .build();
+    transaction.sign(source);
+
+    AsyncServer async = new AsyncServer(server);
+    try {
+      async.submitTransaction(transaction).get();
+      fail("Didn't throw TooManyRequestsException");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof TooManyRequestsException);
+      assertEquals(10, ((TooManyRequestsException) e.getCause()).getRetryAfter());
+    } finally {
+      async.close();
+    }
+  }
+}
@@ -0,0 +1,161 @@
+package org.stellar.sdk;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.stellar.sdk.requests.AccountsRequestBuilder;
+import org.stellar.sdk.responses.AccountResponse;
+import org.stellar.sdk.responses.GsonSingleton;
+import org.stellar.sdk.responses.SubmitTransactionResponse;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ChannelAccountPoolTest {
+  private static final String SUCCESS = "{\"hash\": \"abc\", \"ledger\": 1}";
+  private static final String BAD_SEQ = "{\"extras\": {\"result_codes\": {\"transaction\": \"tx_bad_seq\"}}}";
+
+  private final KeyPair source = KeyPair.fromSecretSeed("SCH27VUZZ6UAKB67BDNF6FA42YMBMQCBKXWGMFD5TZ6S5ZZCZFLRXKHS");
+  private final KeyPair destination = KeyPair.fromAccountId("GDW6AUTBXTOC7FIKUO5BOO3OGLK4SF7ZPOBLMQHMZDI45J2Z6VXRB5NR");
+  private final List<KeyPair> channels = Arrays.asList(KeyPair.random(), KeyPair.random(), KeyPair.random());
+  private final Map<String, List<Long>> submitted = new HashMap<String, List<Long>>();
+  private Server server;
+  private AccountsRequestBuilder accounts;
+
+  @Before
+  public void setUp() throws IOException {
+    Network.useTestNetwork();
+    server = mock(Server.class);
+    accounts = mock(AccountsRequestBuilder.class);
+    when(server.accounts()).thenReturn(accounts);
+    when(accounts.noCache()).thenReturn(accounts);
+    for (KeyPair channel : channels) {
+      AccountResponse accountResponse = mock(AccountResponse.class);
+      when(accountResponse.getSequenceNumber()).thenReturn(1000L);
+      when(accounts.account(channel)).thenReturn(accountResponse);
+      submitted.put(channel.getAccountId(), Collections.synchronizedList(new ArrayList<Long>()));
+    }
+  }
+
+  private TransactionSubmissionQueue.TransactionFactory paymentFactory(final boolean withOperationSource) {
+    return new TransactionSubmissionQueue.TransactionFactory() {
+      @Override
+      public Transaction build(TransactionBuilderAccount channel) {
+        PaymentOperation.Builder payment = new PaymentOperation.Builder(destination, new AssetTypeNative(), "1");
+        if (withOperationSource) {
+          payment.setSourceAccount(source);
+        }
+        Transaction transaction = new Transaction.Builder(channel).addOperation(payment.build()).build();
+        transaction.sign(source);
+        return transaction;
+      }
+    };
+  }
+
+  @Test
+  public void testSubmitFromManyThreads() throws Exception {
+    when(server.submitTransaction(any(Transaction.class))).thenAnswer(new Answer<SubmitTransactionResponse>() {
+      @Override
+      public SubmitTransactionResponse answer(InvocationOnMock invocation) {
+        Transaction transaction = (Transaction) invocation.getArguments()[0];
+        assertEquals(2, transaction.getSignatures().size());
+        submitted.get(transaction.getSourceAccount().getAccountId()).add(transaction.getSequenceNumber());
+        return GsonSingleton.getInstance().fromJson(SUCCESS, SubmitTransactionResponse.class);
+      }
+    });
+
+    final ChannelAccountPool pool = new ChannelAccountPool(server, channels);
+    ExecutorService executor = Executors.newFixedThreadPool(6);
+    try {
+      List<Future<SubmitTransactionResponse>> futures = new ArrayList<Future<SubmitTransactionResponse>>();
+      for (int i = 0; i < 30; i++) {
+        futures.add(executor.submit(new Callable<SubmitTransactionResponse>() {
+          @Override
+          public SubmitTransactionResponse call() throws Exception {
+            return pool.submit(paymentFactory(true));
+          }
+        }));
+      }
+      for (Future<SubmitTransactionResponse> future : futures) {
+        assertTrue(future.get().isSuccess());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    int total = 0;
+    for (List<Long> sequenceNumbers : submitted.values()) {
+      // Every channel uses consecutive sequence numbers
+      for (int i = 0; i < sequenceNumbers.size(); i++) {
+        assertEquals(Long.valueOf(1001 + i), sequenceNumbers.get(i));
+      }
+      total += sequenceNumbers.size();
+    }
+    assertEquals(30, total);
+    assertEquals(3, pool.getIdleCount());
+  }
+
+  @Test
+  public void testResyncAfterBadSequence() throws IOException, InterruptedException {
+    KeyPair channel = channels.get(0);
+    AccountResponse accountResponse = mock(AccountResponse.class);
+    when(accountResponse.getSequenceNumber()).thenReturn(1000L, 2000L);
+    when(accounts.account(channel)).thenReturn(accountResponse);
+    when(server.submitTransaction(any(Transaction.class))).thenAnswer(new Answer<SubmitTransactionResponse>() {
+      @Override
+      public SubmitTransactionResponse answer(InvocationOnMock invocation) {
+        Transaction transaction = (Transaction) invocation.getArguments()[0];
+        String json = transaction.getSequenceNumber() > 2000 ? SUCCESS : BAD_SEQ;
+        return GsonSingleton.getInstance().fromJson(json, SubmitTransactionResponse.class);
+      }
+    });
+
+    ChannelAccountPool pool = new ChannelAccountPool(server, Arrays.asList(channel));
+    assertFalse(pool.submit(paymentFactory(true)).isSuccess());
+    assertTrue(pool.submit(paymentFactory(true)).isSuccess());
+  }
+
+  @Test
+  public void testLease() throws IOException, InterruptedException {
+    ChannelAccountPool pool = new ChannelAccountPool(server, channels.subList(0, 1));
+    ChannelAccountPool.ChannelAccount channel = pool.lease();
+    assertTrue(channel.isLeased());
+    assertEquals(Long.valueOf(1000), channel.getSequenceNumber());
+    assertNull(pool.lease(10, TimeUnit.MILLISECONDS));
+    pool.release(channel, false);
+    assertFalse(channel.isLeased());
+    assertEquals(1, pool.getIdleCount());
+  }
+
+  @Test
+  public void testOperationWithoutSource() throws IOException, InterruptedException {
+    ChannelAccountPool pool = new ChannelAccountPool(server, channels);
+    try {
+      pool.submit(paymentFactory(false));
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertTrue(e.getMessage().contains("source account"));
+    }
+    assertEquals(3, pool.getIdleCount());
+  }
+}
@@ -0,0 +1,172 @@
+package org.stellar.sdk;
+
+import com.sun.net.httpserver.HttpExchange;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.stellar.sdk.requests.EventListener;
+import org.stellar.sdk.requests.FakeHorizon;
+import org.stellar.sdk.requests.StreamManager;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LedgerBundleStreamTest {
+  private static final long LEDGER_5 = 5L << 32;
+  private static final long LEDGER_7 = 7L << 32;
+
+  private FakeHorizon horizon;
+  private Server server;
+  private StreamManager manager;
+  private final List<String> queries = Collections.synchronizedList(new ArrayList<String>());
+
+  /**
+   * Sends <code>id, data</code> pairs as SSE events and keeps the connection open.
+   */
+  private static String stream(HttpExchange exchange, String... events) throws IOException {
+    exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+    exchange.sendResponseHeaders(200, 0);
+    OutputStream out = exchange.getResponseBody();
+    out.write("retry: 10\nevent: open\ndata: \"hello\"\n\n".getBytes(StandardCharsets.UTF_8));
+    for (int i = 0; i < events.length; i += 2) {
+      out.write(("id: " + events[i] + "\ndata: " + events[i + 1] + "\n\n").getBytes(StandardCharsets.UTF_8));
+    }
+    out.flush();
+    try {
+      Thread.sleep(5000);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    return null;
+  }
+
+  private static String[] ledger(long sequence, int transactions, int operations) {
+    return new String[] {String.valueOf(sequence << 32), "{\"sequence\": " + sequence + ", \"transaction_count\": " +
+            transactions + ", \"operation_count\": " + operations + "}"};
+  }
+
+  private static String[] transaction(long sequence) {
+    String token = String.valueOf((sequence << 32) + 4096);
+    return new String[] {token, "{\"hash\": \"tx" + sequence + "\", \"ledger\": " + sequence +
+            ", \"memo_type\": \"none\", \"paging_token\": \"" + token + "\"}"};
+  }
+
+  private static String[] operation(long id) {
+    return new String[] {String.valueOf(id), "{\"id\": " + id + ", \"paging_token\": \"" + id +
+            "\", \"type\": \"create_account\", \"type_i\": 0}"};
+  }
+
+  private static String[] effect(long operationId) {
+    String token = operationId + "-1";
+    return new String[] {token, "{\"id\": \"" + token + "\", \"paging_token\": \"" + token +
+            "\", \"type\": \"account_created\", \"type_i\": 0}"};
+  }
+
+  private static String[] concat(String[]... events) {
+    List<String> all = new ArrayList<String>();
+    for (String[] event : events) {
+      Collections.addAll(all, event);
+    }
+    return all.toArray(new String[all.size()]);
+  }
+
+  private void serve(String path, final String... events) {
+    horizon.handle(path, new FakeHorizon.Handler() {
+      @Override
+      public String handle(HttpExchange exchange) throws IOException {
+        queries.add(exchange.getRequestURI().getPath() + "?" + exchange.getRequestURI().getQuery());
+        return stream(exchange, events);
+      }
+    });
+  }
+
+  /**
+   * Serves <code>GET /ledgers/{sequence}/effects</code> as a single page followed by an empty one.
+   */
+  private void serveLedgerEffects(long sequence, final String... effects) {
+    final String path = "/ledgers/" + sequence + "/effects";
+    horizon.handle(path, new FakeHorizon.Handler() {
+      @Override
+      public String handle(HttpExchange exchange) {
+        queries.add(path);
+        String query = exchange.getRequestURI().getQuery();
+        StringBuilder records = new StringBuilder();
+        if (query == null || !query.contains("cursor=last")) {
+          for (int i = 1; i < effects.length; i += 2) {
+            records.append(records.length() > 0 ? "," : "").append(effects[i]);
+          }
+        }
+        String next = horizon.getUri() + path + "?cursor=last";
+        return "{\"_embedded\": {\"records\": [" + records + "]}, \"_links\": {\"next\": {\"href\": \"" + next + "\"}}}";
+      }
+    });
+  }
+
+  @Before
+  public void setUp() throws IOException {
+    horizon = new FakeHorizon();
+    serve("/ledgers", concat(ledger(5, 1, 2), ledger(6, 0, 0), ledger(7, 1, 1)));
+    serve("/transactions", concat(transaction(5), transaction(7)));
+    serve("/operations", concat(operation(LEDGER_5 + 4097), operation(LEDGER_5 + 4098), operation(LEDGER_7 + 4097)));
+    // Quiet network: the effects stream never moves past ledger 5
+    serve("/effects", concat(effect(LEDGER_5 + 4097), effect(LEDGER_5 + 4098)));
+    serveLedgerEffects(5, concat(effect(LEDGER_5 + 4097), effect(LEDGER_5 + 4098)));
+    serveLedgerEffects(7, effect(LEDGER_7 + 4097));
+    server = new Server(horizon.getUri());
+    manager = new StreamManager(50, 100);
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    manager.close();
+    server.close();
+    horizon.stop();
+  }
+
+  @Test
+  public void testGroupsRecordsByLedger() throws InterruptedException {
+    final List<LedgerBundle> bundles = Collections.synchronizedList(new ArrayList<LedgerBundle>());
+    final CountDownLatch received = new CountDownLatch(3);
+    LedgerBundleStream stream = new LedgerBundleStream.Builder(server, manager, new EventListener<LedgerBundle>() {
+      @Override
+      public void onEvent(LedgerBundle bundle) {
+        bundles.add(bundle);
+        received.countDown();
+      }
+    }).setStartLedger(5).build();
+
+    assertTrue(received.await(10, TimeUnit.SECONDS));
+    assertEquals(5, bundles.get(0).getSequence());
+    assertEquals(1, bundles.get(0).getTransactions().size());
+    assertEquals("tx5", bundles.get(0).getTransactions().get(0).getHash());
+    assertEquals(2, bundles.get(0).getOperations().size());
+    assertEquals(new Long(LEDGER_5 + 4098), bundles.get(0).getOperations().get(1).getId());
+    assertEquals(2, bundles.get(0).getEffects().size());
+    assertEquals(6, bundles.get(1).getSequence());
+    assertTrue(bundles.get(1).getTransactions().isEmpty());
+
+    // Effects of the last ledger are fetched instead of waiting for effects of a later one
+    assertEquals(7, bundles.get(2).getSequence());
+    assertEquals(1, bundles.get(2).getEffects().size());
+    assertEquals(LEDGER_7 + 4097 + "-1", bundles.get(2).getEffects().get(0).getPagingToken());
+    assertEquals(8, stream.getNextLedger());
+    assertEquals(0, stream.getPendingLedgers());
+    assertTrue(queries.contains("/ledgers/7/effects"));
+    assertTrue(queries.contains("/ledgers?cursor=" + (4L << 32)));
+    assertTrue(queries.contains("/transactions?cursor=" + LEDGER_5));
+    assertTrue(queries.contains("/effects?cursor=" + LEDGER_5));
+
+    stream.close();
+    assertEquals(0, stream.getPendingLedgers());
+  }
+}
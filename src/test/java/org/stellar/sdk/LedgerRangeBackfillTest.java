@@ -0,0 +1,158 @@
+package org.stellar.sdk;
+
+import com.sun.net.httpserver.HttpExchange;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.stellar.sdk.requests.FakeHorizon;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class LedgerRangeBackfillTest {
+  private static final String EMPTY_PAGE = "{\"_embedded\": {\"records\": []}, \"_links\": {}}";
+
+  private FakeHorizon horizon;
+  private Server server;
+  private final AtomicBoolean rateLimited = new AtomicBoolean();
+
+  @Before
+  public void setUp() throws IOException {
+    horizon = new FakeHorizon();
+    horizon.handle("/ledgers", new FakeHorizon.Handler() {
+      @Override
+      public String handle(HttpExchange exchange) throws IOException {
+        String[] path = exchange.getRequestURI().getPath().split("/");
+        long sequence = Long.parseLong(path[2]);
+        if (sequence == 3 && rateLimited.compareAndSet(true, false)) {
+          exchange.getResponseHeaders().add("Retry-After", "0");
+          FakeHorizon.respond(exchange, 429, "{}");
+          return null;
+        }
+        try {
+          // Lower ledgers are slower so they complete out of order
+          Thread.sleep((10 - sequence) * 5);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        if (path.length == 3) {
+          return "{\"sequence\": " + sequence + "}";
+        }
+        String query = exchange.getRequestURI().getQuery();
+        if (query != null && query.contains("cursor=")) {
+          return EMPTY_PAGE;
+        }
+        String record;
+        if (path[3].equals("transactions")) {
+          record = "{\"hash\": \"tx" + sequence + "\", \"ledger\": " + sequence + ", \"memo_type\": \"none\", \"paging_token\": \"" + sequence + "\"}";
+        } else {
+          record = "{\"id\": " + sequence + ", \"type_i\": 0, \"type\": \"create_account\", \"paging_token\": \"" + sequence + "\"}";
+        }
+        String next = horizon.getUri() + exchange.getRequestURI().getPath() + "?cursor=" + sequence;
+        return "{\"_embedded\": {\"records\": [" + record + "]}, \"_links\": {\"next\": {\"href\": \"" + next + "\"}}}";
+      }
+    });
+    server = new Server(horizon.getUri());
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    server.close();
+    horizon.stop();
+  }
+
+  @Test
+  public void testDeliversLedgersInOrder() throws IOException, InterruptedException {
+    final List<LedgerRangeBackfill.LedgerRecords> delivered = new ArrayList<LedgerRangeBackfill.LedgerRecords>();
+    new LedgerRangeBackfill.Builder(server, 1, 9)
+            .setConcurrency(4)
+            .build()
+            .run(new LedgerRangeBackfill.Sink() {
+              @Override
+              public void onLedger(LedgerRangeBackfill.LedgerRecords records) {
+                delivered.add(records);
+              }
+            });
+
+    assertEquals(9, delivered.size());
+    for (int i = 0; i < 9; i++) {
+      LedgerRangeBackfill.LedgerRecords records = delivered.get(i);
+      assertEquals(i + 1, records.getLedgerSequence());
+      assertEquals(Long.valueOf(i + 1), records.getLedger().getSequence());
+      assertEquals(1, records.getTransactions().size());
+      assertEquals("tx" + (i + 1), records.getTransactions().get(0).getHash());
+      assertEquals(1, records.getOperations().size());
+      assertEquals(1, records.getPayments().size());
+    }
+  }
+
+  @Test
+  public void testSkipsExcludedRecords() throws IOException, InterruptedException {
+    final List<LedgerRangeBackfill.LedgerRecords> delivered = new ArrayList<LedgerRangeBackfill.LedgerRecords>();
+    new LedgerRangeBackfill.Builder(server, 5, 6)
+            .setIncludeOperations(false)
+            .setIncludePayments(false)
+            .build()
+            .run(new LedgerRangeBackfill.Sink() {
+              @Override
+              public void onLedger(LedgerRangeBackfill.LedgerRecords records) {
+                delivered.add(records);
+              }
+            });
+
+    assertEquals(2, delivered.size());
+    assertTrue(delivered.get(0).getOperations().isEmpty());
+    assertTrue(delivered.get(0).getPayments().isEmpty());
+    // ledger and transactions pages (one with records and an empty one) for both ledgers
+    assertEquals(6, horizon.getRequestsCount());
+  }
+
+  @Test
+  public void testRetriesRateLimitedLedger() throws IOException, InterruptedException {
+    rateLimited.set(true);
+    final List<Long> delivered = new ArrayList<Long>();
+    new LedgerRangeBackfill.Builder(server, 2, 4)
+            .setIncludeTransactions(false)
+            .setIncludeOperations(false)
+            .setIncludePayments(false)
+            .build()
+            .run(new LedgerRangeBackfill.Sink() {
+              @Override
+              public void onLedger(LedgerRangeBackfill.LedgerRecords records) {
+                delivered.add(records.getLedgerSequence());
+              }
+            });
+
+    assertEquals(3, delivered.size());
+    assertEquals(Long.valueOf(3), delivered.get(1));
+  }
+
+  @Test
+  public void testStopsWhenSinkFails() throws InterruptedException {
+    final List<Long> delivered = new ArrayList<Long>();
+    try {
+      new LedgerRangeBackfill.Builder(server, 1, 9)
+              .build()
+              .run(new LedgerRangeBackfill.Sink() {
+                @Override
+                public void onLedger(LedgerRangeBackfill.LedgerRecords records) throws IOException {
+                  delivered.add(records.getLedgerSequence());
+                  if (records.getLedgerSequence() == 2) {
+                    throw new IOException("sink full");
+                  }
+                }
+              });
+      fail();
+    } catch (IOException e) {
+      assertEquals("sink full", e.getMessage());
+    }
+    assertEquals(2, delivered.size());
+  }
+}
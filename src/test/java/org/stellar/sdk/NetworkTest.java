@@ -3,6 +3,7 @@ package org.stellar.sdk;
 import org.junit.After;
 import org.junit.Test;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 
@@ -28,4 +29,13 @@ public class NetworkTest {
         Network.usePublicNetwork();
         assertEquals("Public Global Stellar Network ; September 2015", Network.current().getNetworkPassphrase());
     }
+
+    @Test
+    public void testNetworkId() {
+        Network.usePublicNetwork();
+        Network testnet = new Network("Test SDF Network ; September 2015");
+        assertArrayEquals(Util.hash("Test SDF Network ; September 2015".getBytes()), testnet.getNetworkId());
+        testnet.getNetworkId()[0] ^= 1;
+        assertArrayEquals(Util.hash("Test SDF Network ; September 2015".getBytes()), testnet.getNetworkId());
+    }
 }
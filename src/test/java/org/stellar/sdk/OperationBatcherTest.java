@@ -0,0 +1,154 @@
+package org.stellar.sdk;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class OperationBatcherTest {
+  private final KeyPair source = KeyPair.fromSecretSeed("SCH27VUZZ6UAKB67BDNF6FA42YMBMQCBKXWGMFD5TZ6S5ZZCZFLRXKHS");
+  private final KeyPair destination = KeyPair.fromAccountId("GDW6AUTBXTOC7FIKUO5BOO3OGLK4SF7ZPOBLMQHMZDI45J2Z6VXRB5NR");
+
+  @Before
+  public void setUp() {
+    Network.useTestNetwork();
+  }
+
+  private Operation payment() {
+    return new PaymentOperation.Builder(destination, new AssetTypeNative(), "1").build();
+  }
+
+  @Test
+  public void testPacksOperations() throws InterruptedException {
+    final Account account = new Account(source, 100L);
+    final OperationBatcher batcher = new OperationBatcher.Builder(account, source)
+            .setQueueCapacity(2)
+            .build();
+    final AtomicReference<Exception> producerError = new AtomicReference<Exception>();
+    Thread producer = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          for (int i = 0; i < 1050; i++) {
+            batcher.add(payment());
+          }
+          batcher.close();
+        } catch (Exception e) {
+          producerError.set(e);
+        }
+      }
+    });
+    producer.start();
+
+    List<Transaction> transactions = new ArrayList<Transaction>();
+    Transaction transaction;
+    while ((transaction = batcher.take()) != null) {
+      transactions.add(transaction);
+    }
+    producer.join();
+    assertNull(producerError.get());
+
+    assertEquals(11, transactions.size());
+    for (int i = 0; i < transactions.size(); i++) {
+      assertEquals(101 + i, transactions.get(i).getSequenceNumber());
+      assertEquals(i < 10 ? 100 : 50, transactions.get(i).getOperations().length);
+      assertEquals(1, transactions.get(i).getSignatures().size());
+    }
+    assertEquals(Long.valueOf(111), account.getSequenceNumber());
+    assertTrue(batcher.isDrained());
+    assertNull(batcher.take());
+  }
+
+  @Test
+  public void testFeeBudget() throws InterruptedException {
+    OperationBatcher batcher = new OperationBatcher.Builder(new Account(source, 100L), source)
+            .setMaxFee(750)
+            .setMemo(Memo.text("payroll"))
+            .build();
+    assertEquals(7, batcher.getOperationsPerTransaction());
+    for (int i = 0; i < 7; i++) {
+      batcher.add(payment());
+    }
+    Transaction transaction = batcher.poll(1, TimeUnit.SECONDS);
+    assertEquals(700, transaction.getFee());
+    assertEquals("payroll", ((MemoText) transaction.getMemo()).getText());
+    assertNull(batcher.poll(10, TimeUnit.MILLISECONDS));
+    assertFalse(batcher.isDrained());
+  }
+
+  @Test
+  public void testAddAfterClose() throws InterruptedException {
+    OperationBatcher batcher = new OperationBatcher.Builder(new Account(source, 100L)).build();
+    batcher.close();
+    try {
+      batcher.add(payment());
+      fail();
+    } catch (IllegalStateException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void testInterruptedAddKeepsTransaction() throws InterruptedException {
+    Account account = new Account(source, 100L);
+    OperationBatcher batcher = new OperationBatcher.Builder(account, source)
+            .setMaxOperations(1)
+            .setQueueCapacity(1)
+            .build();
+    batcher.add(payment());
+    Thread.currentThread().interrupt();
+    try {
+      batcher.add(payment());
+      fail("Didn't throw InterruptedException");
+    } catch (InterruptedException e) {
+      // expected
+    }
+    assertEquals(2, batcher.getTransactionsCount());
+    assertEquals(101, batcher.take().getSequenceNumber());
+
+    batcher.flush();
+    Transaction transaction = batcher.take();
+    assertEquals(102, transaction.getSequenceNumber());
+    assertEquals(1, transaction.getOperations().length);
+    assertEquals(Long.valueOf(102), account.getSequenceNumber());
+    assertNull(batcher.poll(0, TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  public void testInterruptedAddAcceptsOperation() throws InterruptedException {
+    Account account = new Account(source, 100L);
+    OperationBatcher batcher = new OperationBatcher.Builder(account, source)
+            .setMaxOperations(1)
+            .setQueueCapacity(2)
+            .build();
+    batcher.add(payment());
+    batcher.add(payment());
+    // Queue is full, both operations are accepted although their transactions wait
+    for (int i = 0; i < 2; i++) {
+      Thread.currentThread().interrupt();
+      try {
+        batcher.add(payment());
+        fail("Didn't throw InterruptedException");
+      } catch (InterruptedException e) {
+        // expected
+      }
+    }
+    assertEquals(4, batcher.getTransactionsCount());
+    assertEquals(101, batcher.take().getSequenceNumber());
+    assertEquals(102, batcher.take().getSequenceNumber());
+
+    batcher.flush();
+    assertEquals(103, batcher.take().getSequenceNumber());
+    assertEquals(104, batcher.take().getSequenceNumber());
+    assertNull(batcher.poll(0, TimeUnit.MILLISECONDS));
+  }
+}
@@ -10,6 +10,7 @@ import org.apache.http.StatusLine;
 import org.apache.http.client.HttpClient;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.message.BasicStatusLine;
+import org.apache.http.protocol.HttpContext;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -80,7 +81,7 @@ public class ServerTest extends TestCase {
         server.setHttpClient(mockClient);
 
         when(mockResponse.getEntity()).thenReturn(mockEntity);
-        when(mockClient.execute((HttpPost) any())).thenReturn(mockResponse);
+        when(mockClient.execute((HttpPost) any(), (HttpContext) any())).thenReturn(mockResponse);
     }
 
     @After
@@ -0,0 +1,63 @@
+package org.stellar.sdk;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.assertEquals;
+
+public class TransactionBatchSignerTest {
+  private ExecutorService executor;
+
+  @Before
+  public void setUp() {
+    Network.useTestNetwork();
+    executor = Executors.newFixedThreadPool(4);
+  }
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void testSignMatchesSequentialSigning() throws InterruptedException {
+    KeyPair source = KeyPair.fromSecretSeed("SCH27VUZZ6UAKB67BDNF6FA42YMBMQCBKXWGMFD5TZ6S5ZZCZFLRXKHS");
+    KeyPair signer = KeyPair.random();
+    KeyPair destination = KeyPair.fromAccountId("GDW6AUTBXTOC7FIKUO5BOO3OGLK4SF7ZPOBLMQHMZDI45J2Z6VXRB5NR");
+
+    Account batchAccount = new Account(source, 2908908335136768L);
+    Account sequentialAccount = new Account(source, 2908908335136768L);
+    List<Transaction> batch = new ArrayList<Transaction>();
+    List<Transaction> sequential = new ArrayList<Transaction>();
+    for (int i = 0; i < 50; i++) {
+      batch.add(new Transaction.Builder(batchAccount)
+              .addOperation(new PaymentOperation.Builder(destination, new AssetTypeNative(), "1").build())
+              .build());
+      Transaction transaction = new Transaction.Builder(sequentialAccount)
+              .addOperation(new PaymentOperation.Builder(destination, new AssetTypeNative(), "1").build())
+              .build();
+      transaction.sign(source);
+      transaction.sign(signer);
+      sequential.add(transaction);
+    }
+
+    new TransactionBatchSigner(executor, 8).sign(batch, source, signer);
+
+    for (int i = 0; i < batch.size(); i++) {
+      assertEquals(2, batch.get(i).getSignatures().size());
+      assertEquals(sequential.get(i).toEnvelopeXdrBase64(), batch.get(i).toEnvelopeXdrBase64());
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testSignerWithoutSecretKey() throws InterruptedException {
+    KeyPair signer = KeyPair.fromAccountId("GDW6AUTBXTOC7FIKUO5BOO3OGLK4SF7ZPOBLMQHMZDI45J2Z6VXRB5NR");
+    new TransactionBatchSigner(executor).sign(new ArrayList<Transaction>(), signer);
+  }
+}
@@ -0,0 +1,81 @@
+package org.stellar.sdk;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.stellar.sdk.xdr.TransactionEnvelope;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class TransactionBatchVerifierTest {
+  private ExecutorService executor;
+
+  @Before
+  public void setUp() {
+    Network.useTestNetwork();
+    executor = Executors.newFixedThreadPool(4);
+  }
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void testVerify() throws InterruptedException {
+    KeyPair source = KeyPair.fromSecretSeed("SCH27VUZZ6UAKB67BDNF6FA42YMBMQCBKXWGMFD5TZ6S5ZZCZFLRXKHS");
+    KeyPair signer = KeyPair.random();
+    KeyPair unknown = KeyPair.random();
+    KeyPair destination = KeyPair.fromAccountId("GDW6AUTBXTOC7FIKUO5BOO3OGLK4SF7ZPOBLMQHMZDI45J2Z6VXRB5NR");
+
+    Account account = new Account(source, 2908908335136768L);
+    List<TransactionEnvelope> envelopes = new ArrayList<TransactionEnvelope>();
+    for (int i = 0; i < 20; i++) {
+      Transaction transaction = new Transaction.Builder(account)
+              .addOperation(new PaymentOperation.Builder(destination, new AssetTypeNative(), "1").build())
+              .build();
+      transaction.sign(source);
+      transaction.sign(signer);
+      transaction.sign(unknown);
+      envelopes.add(transaction.toEnvelopeXdr());
+    }
+
+    List<List<TransactionBatchVerifier.SignatureResult>> results = new TransactionBatchVerifier(executor, 3)
+            .verify(envelopes, Arrays.asList(source, KeyPair.fromPublicKey(signer.getPublicKey())));
+
+    assertEquals(envelopes.size(), results.size());
+    for (List<TransactionBatchVerifier.SignatureResult> envelopeResults : results) {
+      assertEquals(3, envelopeResults.size());
+      assertSame(source, envelopeResults.get(0).getSigner());
+      assertTrue(envelopeResults.get(1).isValid());
+      assertFalse(envelopeResults.get(2).isValid());
+      assertNull(envelopeResults.get(2).getSigner());
+      assertEquals(2, envelopeResults.get(2).getSignatureIndex());
+    }
+  }
+
+  @Test
+  public void testVerifyWrongNetwork() throws InterruptedException {
+    KeyPair source = KeyPair.fromSecretSeed("SCH27VUZZ6UAKB67BDNF6FA42YMBMQCBKXWGMFD5TZ6S5ZZCZFLRXKHS");
+    KeyPair destination = KeyPair.fromAccountId("GDW6AUTBXTOC7FIKUO5BOO3OGLK4SF7ZPOBLMQHMZDI45J2Z6VXRB5NR");
+    Transaction transaction = new Transaction.Builder(new Account(source, 1L))
+            .addOperation(new PaymentOperation.Builder(destination, new AssetTypeNative(), "1").build())
+            .build();
+    transaction.sign(source);
+
+    Network.usePublicNetwork();
+    List<TransactionBatchVerifier.SignatureResult> results = new TransactionBatchVerifier(executor)
+            .verify(transaction.toEnvelopeXdr(), Arrays.asList(source));
+    assertFalse(results.get(0).isValid());
+  }
+}
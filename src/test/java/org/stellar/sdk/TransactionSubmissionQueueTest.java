@@ -0,0 +1,187 @@
+package org.stellar.sdk;
+
+import com.google.common.util.concurrent.ListenableFuture;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.stellar.sdk.requests.AccountsRequestBuilder;
+import org.stellar.sdk.responses.AccountResponse;
+import org.stellar.sdk.responses.GsonSingleton;
+import org.stellar.sdk.responses.SubmitTransactionResponse;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TransactionSubmissionQueueTest {
+  private static final String SUCCESS = "{\"hash\": \"abc\", \"ledger\": 1}";
+  private static final String BAD_SEQ = "{\"extras\": {\"result_codes\": {\"transaction\": \"tx_bad_seq\"}}}";
+
+  private final KeyPair source = KeyPair.fromSecretSeed("SCH27VUZZ6UAKB67BDNF6FA42YMBMQCBKXWGMFD5TZ6S5ZZCZFLRXKHS");
+  private final KeyPair destination = KeyPair.fromAccountId("GDW6AUTBXTOC7FIKUO5BOO3OGLK4SF7ZPOBLMQHMZDI45J2Z6VXRB5NR");
+  private Server server;
+  private AccountResponse accountResponse;
+  private final List<Long> submitted = Collections.synchronizedList(new ArrayList<Long>());
+
+  @Before
+  public void setUp() throws IOException {
+    Network.useTestNetwork();
+    server = mock(Server.class);
+    AccountsRequestBuilder accounts = mock(AccountsRequestBuilder.class);
+    accountResponse = mock(AccountResponse.class);
+    when(server.accounts()).thenReturn(accounts);
+    when(accounts.noCache()).thenReturn(accounts);
+    when(accounts.account(any(KeyPair.class))).thenReturn(accountResponse);
+  }
+
+  private TransactionSubmissionQueue.TransactionFactory paymentFactory() {
+    return new TransactionSubmissionQueue.TransactionFactory() {
+      @Override
+      public Transaction build(TransactionBuilderAccount account) {
+        Transaction transaction = new Transaction.Builder(account)
+                .addOperation(new PaymentOperation.Builder(destination, new AssetTypeNative(), "1").build())
+                .build();
+        transaction.sign(source);
+        return transaction;
+      }
+    };
+  }
+
+  private static SubmitTransactionResponse response(String json) {
+    return GsonSingleton.getInstance().fromJson(json, SubmitTransactionResponse.class);
+  }
+
+  @Test
+  public void testConcurrentSubmissionsGetConsecutiveSequenceNumbers() throws IOException, ExecutionException, InterruptedException {
+    when(accountResponse.getSequenceNumber()).thenReturn(100L);
+    when(server.submitTransaction(any(Transaction.class))).thenAnswer(new Answer<SubmitTransactionResponse>() {
+      @Override
+      public SubmitTransactionResponse answer(InvocationOnMock invocation) {
+        submitted.add(((Transaction) invocation.getArguments()[0]).getSequenceNumber());
+        return response(SUCCESS);
+      }
+    });
+
+    TransactionSubmissionQueue queue = new TransactionSubmissionQueue(server, source, 4);
+    List<ListenableFuture<SubmitTransactionResponse>> futures = new ArrayList<ListenableFuture<SubmitTransactionResponse>>();
+    for (int i = 0; i < 20; i++) {
+      futures.add(queue.submit(paymentFactory()));
+    }
+    for (ListenableFuture<SubmitTransactionResponse> future : futures) {
+      assertTrue(future.get().isSuccess());
+    }
+    queue.close();
+
+    List<Long> sequenceNumbers = new ArrayList<Long>(submitted);
+    Collections.sort(sequenceNumbers);
+    assertEquals(20, sequenceNumbers.size());
+    for (int i = 0; i < 20; i++) {
+      assertEquals(Long.valueOf(101 + i), sequenceNumbers.get(i));
+    }
+    verify(server, times(1)).accounts();
+  }
+
+  @Test
+  public void testResyncAfterBadSequence() throws IOException, ExecutionException, InterruptedException {
+    // Sequence number was used by another client after it was loaded for the first time
+    when(accountResponse.getSequenceNumber()).thenReturn(100L, 105L);
+    when(server.submitTransaction(any(Transaction.class))).thenAnswer(new Answer<SubmitTransactionResponse>() {
+      @Override
+      public SubmitTransactionResponse answer(InvocationOnMock invocation) {
+        long sequenceNumber = ((Transaction) invocation.getArguments()[0]).getSequenceNumber();
+        submitted.add(sequenceNumber);
+        return response(sequenceNumber > 105 ? SUCCESS : BAD_SEQ);
+      }
+    });
+
+    TransactionSubmissionQueue queue = new TransactionSubmissionQueue(server, source, 1);
+    assertTrue(queue.submit(paymentFactory()).get().isSuccess());
+    assertTrue(queue.submit(paymentFactory()).get().isSuccess());
+    queue.close();
+
+    assertEquals(3, submitted.size());
+    assertEquals(Long.valueOf(101), submitted.get(0));
+    assertEquals(Long.valueOf(106), submitted.get(1));
+    assertEquals(Long.valueOf(107), submitted.get(2));
+  }
+
+  @Test
+  public void testGivesUpAfterMaxRetries() throws IOException, ExecutionException, InterruptedException {
+    when(accountResponse.getSequenceNumber()).thenReturn(100L);
+    when(server.submitTransaction(any(Transaction.class))).thenReturn(response(BAD_SEQ));
+
+    TransactionSubmissionQueue queue = new TransactionSubmissionQueue(server, source, 1, 2);
+    SubmitTransactionResponse response = queue.submit(paymentFactory()).get();
+    queue.close();
+
+    assertFalse(response.isSuccess());
+    verify(server, times(3)).submitTransaction(any(Transaction.class));
+  }
+
+  @Test
+  public void testResyncAfterIOException() throws IOException, ExecutionException, InterruptedException {
+    when(accountResponse.getSequenceNumber()).thenReturn(100L, 101L);
+    when(server.submitTransaction(any(Transaction.class))).thenAnswer(new Answer<SubmitTransactionResponse>() {
+      @Override
+      public SubmitTransactionResponse answer(InvocationOnMock invocation) throws IOException {
+        long sequenceNumber = ((Transaction) invocation.getArguments()[0]).getSequenceNumber();
+        submitted.add(sequenceNumber);
+        if (sequenceNumber == 101) {
+          // Transaction was applied but the response was lost
+          throw new IOException("Connection reset");
+        }
+        return response(SUCCESS);
+      }
+    });
+
+    TransactionSubmissionQueue queue = new TransactionSubmissionQueue(server, source, 1);
+    try {
+      queue.submit(paymentFactory()).get();
+      fail("Didn't throw ExecutionException");
+    } catch (ExecutionException expectedException) {
+      assertTrue(expectedException.getCause() instanceof IOException);
+    }
+    assertTrue(queue.submit(paymentFactory()).get().isSuccess());
+    queue.close();
+
+    assertEquals(Long.valueOf(102), submitted.get(1));
+    verify(server, times(2)).accounts();
+  }
+
+  @Test
+  public void testStaleSequenceNumberNeverReusesAcceptedOne() throws IOException, ExecutionException, InterruptedException {
+    // Second load returns a sequence number from before the first transaction was applied
+    when(accountResponse.getSequenceNumber()).thenReturn(100L, 100L);
+    when(server.submitTransaction(any(Transaction.class))).thenAnswer(new Answer<SubmitTransactionResponse>() {
+      @Override
+      public SubmitTransactionResponse answer(InvocationOnMock invocation) {
+        submitted.add(((Transaction) invocation.getArguments()[0]).getSequenceNumber());
+        return response(SUCCESS);
+      }
+    });
+
+    TransactionSubmissionQueue queue = new TransactionSubmissionQueue(server, source, 1);
+    assertTrue(queue.submit(paymentFactory()).get().isSuccess());
+    queue.resync();
+    assertTrue(queue.submit(paymentFactory()).get().isSuccess());
+    queue.close();
+
+    assertEquals(Long.valueOf(101), submitted.get(0));
+    assertEquals(Long.valueOf(102), submitted.get(1));
+    verify(server, times(2)).accounts();
+  }
+}
@@ -1,15 +1,19 @@
 package org.stellar.sdk;
 
+import org.apache.commons.codec.binary.Base64;
 import org.junit.Before;
 import org.junit.Test;
 import org.stellar.sdk.xdr.XdrDataInputStream;
+import org.stellar.sdk.xdr.XdrDataOutputStream;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.security.SecureRandom;
 import java.util.Arrays;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -181,4 +185,72 @@ public class TransactionTest {
       assertTrue(exception.getMessage().contains("Memo has been already added."));
     }
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testBuilderWithNetwork() {
+    // GBPMKIRA2OQW2XZZQUCQILI5TMVZ6JNRKM423BSAISDM7ZFWQ6KWEBC4
+    KeyPair source = KeyPair.fromSecretSeed("SCH27VUZZ6UAKB67BDNF6FA42YMBMQCBKXWGMFD5TZ6S5ZZCZFLRXKHS");
+    KeyPair destination = KeyPair.fromAccountId("GDW6AUTBXTOC7FIKUO5BOO3OGLK4SF7ZPOBLMQHMZDI45J2Z6VXRB5NR");
+
+    Network.usePublicNetwork();
+    Account account = new Account(source, 2908908335136768L);
+    Transaction transaction = new Transaction.Builder(account)
+            .addOperation(new CreateAccountOperation.Builder(destination, "2000").build())
+            .setNetwork(new Network("Test SDF Network ; September 2015"))
+            .build();
+
+    transaction.sign(source);
+
+    assertEquals(
+            "AAAAAF7FIiDToW1fOYUFBC0dmyufJbFTOa2GQESGz+S2h5ViAAAAZAAKVaMAAAABAAAAAAAAAAAAAAABAAAAAAAAAAAAAAAA7eBSYbzcL5UKo7oXO24y1ckX+XuCtkDsyNHOp1n1bxAAAAAEqBfIAAAAAAAAAAABtoeVYgAAAEDLki9Oi700N60Lo8gUmEFHbKvYG4QSqXiLIt9T0ru2O5BphVl/jR9tYtHAD+UeDYhgXNgwUxqTEu1WukvEyYcD",
+            transaction.toEnvelopeXdrBase64());
+  }
+
+  @Test
+  public void testSignInNetwork() {
+    // GBPMKIRA2OQW2XZZQUCQILI5TMVZ6JNRKM423BSAISDM7ZFWQ6KWEBC4
+    KeyPair source = KeyPair.fromSecretSeed("SCH27VUZZ6UAKB67BDNF6FA42YMBMQCBKXWGMFD5TZ6S5ZZCZFLRXKHS");
+    KeyPair destination = KeyPair.fromAccountId("GDW6AUTBXTOC7FIKUO5BOO3OGLK4SF7ZPOBLMQHMZDI45J2Z6VXRB5NR");
+    Network testnet = Network.current();
+
+    Network.usePublicNetwork();
+    Account account = new Account(source, 2908908335136768L);
+    Transaction transaction = new Transaction.Builder(account)
+            .addOperation(new CreateAccountOperation.Builder(destination, "2000").build())
+            .build();
+
+    assertFalse(Arrays.equals(transaction.hash(), transaction.hash(testnet)));
+    transaction.sign(source, testnet);
+
+    assertEquals(
+            "AAAAAF7FIiDToW1fOYUFBC0dmyufJbFTOa2GQESGz+S2h5ViAAAAZAAKVaMAAAABAAAAAAAAAAAAAAABAAAAAAAAAAAAAAAA7eBSYbzcL5UKo7oXO24y1ckX+XuCtkDsyNHOp1n1bxAAAAAEqBfIAAAAAAAAAAABtoeVYgAAAEDLki9Oi700N60Lo8gUmEFHbKvYG4QSqXiLIt9T0ru2O5BphVl/jR9tYtHAD+UeDYhgXNgwUxqTEu1WukvEyYcD",
+            transaction.toEnvelopeXdrBase64());
+  }
+
+  @Test
+  public void testHashIsCachedPerNetwork() throws IOException {
+    // GBPMKIRA2OQW2XZZQUCQILI5TMVZ6JNRKM423BSAISDM7ZFWQ6KWEBC4
+    KeyPair source = KeyPair.fromSecretSeed("SCH27VUZZ6UAKB67BDNF6FA42YMBMQCBKXWGMFD5TZ6S5ZZCZFLRXKHS");
+    KeyPair destination = KeyPair.fromAccountId("GDW6AUTBXTOC7FIKUO5BOO3OGLK4SF7ZPOBLMQHMZDI45J2Z6VXRB5NR");
+
+    Account account = new Account(source, 2908908335136768L);
+    Transaction transaction = new Transaction.Builder(account)
+            .addOperation(new CreateAccountOperation.Builder(destination, "2000").build())
+            .addMemo(Memo.text("Hello world!"))
+            .build();
+
+    byte[] testnetHash = transaction.hash();
+    testnetHash[0] ^= 1;
+    assertTrue(Arrays.equals(Util.hash(transaction.signatureBase()), transaction.hash()));
+
+    Network.usePublicNetwork();
+    byte[] publicHash = transaction.hash();
+    assertFalse(Arrays.equals(transaction.hash(new Network("Test SDF Network ; September 2015")), publicHash));
+    assertTrue(Arrays.equals(Util.hash(transaction.signatureBase()), publicHash));
+
+    transaction.sign(source);
+    ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+    org.stellar.sdk.xdr.TransactionEnvelope.encode(new XdrDataOutputStream(byteArrayOutputStream), transaction.toEnvelopeXdr());
+    assertEquals(new Base64().encodeAsString(byteArrayOutputStream.toByteArray()), transaction.toEnvelopeXdrBase64());
+  }
+}
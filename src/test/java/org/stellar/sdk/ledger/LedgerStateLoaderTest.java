@@ -0,0 +1,147 @@
+package org.stellar.sdk.ledger;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.stellar.sdk.KeyPair;
+import org.stellar.sdk.xdr.AccountID;
+import org.stellar.sdk.xdr.BucketEntry;
+import org.stellar.sdk.xdr.BucketEntryType;
+import org.stellar.sdk.xdr.DataEntry;
+import org.stellar.sdk.xdr.DataValue;
+import org.stellar.sdk.xdr.LedgerEntry;
+import org.stellar.sdk.xdr.LedgerEntryType;
+import org.stellar.sdk.xdr.String64;
+import org.stellar.sdk.xdr.Uint32;
+import org.stellar.sdk.xdr.XdrByteBufferWriter;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class LedgerStateLoaderTest {
+  private static final KeyPair ACCOUNT = KeyPair.fromAccountId("GDW6AUTBXTOC7FIKUO5BOO3OGLK4SF7ZPOBLMQHMZDI45J2Z6VXRB5NR");
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void testNewerBucketsShadowOlderBuckets() throws IOException {
+    File newest = writeBucket("newest.xdr", dead("a"), live("b", 2));
+    File middle = writeBucket("middle.xdr.gz", live("c", 2));
+    File oldest = writeBucket("oldest.xdr", live("a", 1), live("b", 1), live("c", 1), live("d", 1));
+
+    LedgerState state = LedgerStateLoader.loadBuckets(Arrays.asList(newest, middle, oldest));
+
+    assertEquals(3, state.size());
+    assertEquals(3, state.getData().size());
+    assertEquals(0, state.getAccounts().size());
+    assertNull(state.get(LedgerState.keyOf(entry("a", 1))));
+    assertArrayEquals(new byte[]{2}, state.get(LedgerState.keyOf(entry("b", 1))).getData().getData().getDataValue().getDataValue());
+    assertArrayEquals(new byte[]{2}, state.get(LedgerState.keyOf(entry("c", 1))).getData().getData().getDataValue().getDataValue());
+    assertArrayEquals(new byte[]{1}, state.get(LedgerState.keyOf(entry("d", 1))).getData().getData().getDataValue().getDataValue());
+  }
+
+  @Test
+  public void testBucketsMergedOutOfOrder() throws IOException {
+    File newest = writeBucket("newest.xdr", dead("a"), live("b", 3));
+    File middle = writeBucket("middle.xdr", live("b", 2), live("c", 2));
+    File oldest = writeBucket("oldest.xdr", live("a", 1), live("b", 1), live("c", 1));
+
+    // Queued buckets run newest submitted first, so the oldest bucket is merged before the middle one
+    ExecutorService executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingDeque<Runnable>() {
+      @Override
+      public boolean offer(Runnable runnable) {
+        return offerFirst(runnable);
+      }
+    });
+    LedgerState state;
+    try {
+      state = new LedgerStateLoader(executor, 3).load(Arrays.asList(newest, middle, oldest));
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertEquals(2, state.size());
+    assertNull(state.get(LedgerState.keyOf(entry("a", 1))));
+    assertArrayEquals(new byte[]{3}, state.get(LedgerState.keyOf(entry("b", 1))).getData().getData().getDataValue().getDataValue());
+    assertArrayEquals(new byte[]{2}, state.get(LedgerState.keyOf(entry("c", 1))).getData().getData().getDataValue().getDataValue());
+  }
+
+  private File writeBucket(String name, BucketEntry... entries) throws IOException {
+    File file = folder.newFile(name);
+    OutputStream out = new FileOutputStream(file);
+    if (name.endsWith(".gz")) {
+      out = new GZIPOutputStream(out);
+    }
+    try {
+      XdrByteBufferWriter writer = new XdrByteBufferWriter();
+      for (BucketEntry entry : entries) {
+        writer.reset();
+        BucketEntry.encode(writer, entry);
+        int mark = writer.length() | 0x80000000;
+        out.write(new byte[]{(byte) (mark >>> 24), (byte) (mark >>> 16), (byte) (mark >>> 8), (byte) mark});
+        out.write(writer.toByteArray());
+      }
+    } finally {
+      out.close();
+    }
+    return file;
+  }
+
+  private static BucketEntry live(String name, int value) {
+    BucketEntry bucketEntry = new BucketEntry();
+    bucketEntry.setDiscriminant(BucketEntryType.LIVEENTRY);
+    bucketEntry.setLiveEntry(entry(name, value));
+    return bucketEntry;
+  }
+
+  private static BucketEntry dead(String name) {
+    BucketEntry bucketEntry = new BucketEntry();
+    bucketEntry.setDiscriminant(BucketEntryType.DEADENTRY);
+    bucketEntry.setDeadEntry(LedgerState.keyOf(entry(name, 0)));
+    return bucketEntry;
+  }
+
+  private static LedgerEntry entry(String name, int value) {
+    AccountID accountID = new AccountID();
+    accountID.setAccountID(ACCOUNT.getXdrPublicKey());
+    String64 dataName = new String64();
+    dataName.setString64(name);
+    DataValue dataValue = new DataValue();
+    dataValue.setDataValue(new byte[]{(byte) value});
+    DataEntry.DataEntryExt dataExt = new DataEntry.DataEntryExt();
+    dataExt.setDiscriminant(0);
+
+    DataEntry data = new DataEntry();
+    data.setAccountID(accountID);
+    data.setDataName(dataName);
+    data.setDataValue(dataValue);
+    data.setExt(dataExt);
+
+    LedgerEntry.LedgerEntryData entryData = new LedgerEntry.LedgerEntryData();
+    entryData.setDiscriminant(LedgerEntryType.DATA);
+    entryData.setData(data);
+    LedgerEntry.LedgerEntryExt entryExt = new LedgerEntry.LedgerEntryExt();
+    entryExt.setDiscriminant(0);
+    Uint32 lastModified = new Uint32();
+    lastModified.setUint32(1);
+
+    LedgerEntry entry = new LedgerEntry();
+    entry.setLastModifiedLedgerSeq(lastModified);
+    entry.setData(entryData);
+    entry.setExt(entryExt);
+    return entry;
+  }
+}
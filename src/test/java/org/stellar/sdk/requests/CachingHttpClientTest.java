@@ -0,0 +1,188 @@
+package org.stellar.sdk.requests;
+
+import com.sun.net.httpserver.HttpExchange;
+
+import org.apache.http.Header;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.message.BasicHeader;
+import org.apache.http.util.EntityUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.stellar.sdk.Server;
+import org.stellar.sdk.responses.LedgerResponse;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CachingHttpClientTest {
+  private static final String ACCOUNT = "/accounts/GDW6AUTBXTOC7FIKUO5BOO3OGLK4SF7ZPOBLMQHMZDI45J2Z6VXRB5NR";
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private FakeHorizon horizon;
+  private Server server;
+  private CachingHttpClient client;
+
+  @Before
+  public void setUp() throws IOException {
+    horizon = new FakeHorizon()
+            .handle("/ledgers", new FakeHorizon.Handler() {
+              @Override
+              public String handle(HttpExchange exchange) throws IOException {
+                String path = exchange.getRequestURI().getPath();
+                if (path.equals("/ledgers/404")) {
+                  FakeHorizon.respond(exchange, 404, "{}");
+                  return null;
+                }
+                if (path.equals("/ledgers")) {
+                  return "{\"_embedded\": {\"records\": []}, \"_links\": {}}";
+                }
+                return "{\"sequence\": " + path.substring("/ledgers/".length()) + "}";
+              }
+            })
+            .handle("/accounts", new FakeHorizon.Handler() {
+              @Override
+              public String handle(HttpExchange exchange) throws IOException {
+                exchange.getResponseHeaders().add("ETag", "\"v1\"");
+                if ("\"v1\"".equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                  exchange.getResponseHeaders().add("X-Ratelimit-Limit", "3600");
+                  exchange.sendResponseHeaders(304, -1);
+                  return null;
+                }
+                return "{\"id\": \"account\"}";
+              }
+            });
+    HttpClientConfig config = new HttpClientConfig.Builder()
+            .setResponseCache(new MemoryResponseCache(1024 * 1024))
+            .setResponseCacheTtl(100)
+            .build();
+    server = new Server(horizon.getUri(), config);
+    client = (CachingHttpClient) server.getHttpClient();
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    server.close();
+    horizon.stop();
+  }
+
+  private String get(String path) throws IOException {
+    CloseableHttpResponse response = client.execute(new HttpGet(horizon.getUri() + path));
+    try {
+      return EntityUtils.toString(response.getEntity());
+    } finally {
+      response.close();
+    }
+  }
+
+  @Test
+  public void testCachesImmutableResources() throws IOException {
+    LedgerResponse first = server.ledgers().ledger(5);
+    LedgerResponse second = server.ledgers().ledger(5);
+
+    assertEquals(Long.valueOf(5), second.getSequence());
+    assertEquals(3600, second.getRateLimitLimit());
+    assertEquals(first.getSequence(), second.getSequence());
+    assertEquals(1, horizon.getRequestsCount());
+    assertEquals(1, client.getHits());
+    assertEquals(1, client.getMisses());
+  }
+
+  @Test
+  public void testDoesNotCacheCollectionsAndErrors() throws IOException {
+    server.ledgers().execute();
+    server.ledgers().execute();
+    for (int i = 0; i < 2; i++) {
+      try {
+        server.ledgers().ledger(404);
+        fail();
+      } catch (IOException e) {
+        // expected
+      }
+    }
+    assertEquals(4, horizon.getRequestsCount());
+    assertEquals(0, client.getHits());
+  }
+
+  @Test
+  public void testRevalidatesExpiredMutableResources() throws IOException, InterruptedException {
+    assertEquals("{\"id\": \"account\"}", get(ACCOUNT));
+    assertEquals("{\"id\": \"account\"}", get(ACCOUNT));
+    assertEquals(1, horizon.getRequestsCount());
+
+    Thread.sleep(150);
+    // Horizon answers 304 Not Modified and the cached body is returned
+    assertEquals("{\"id\": \"account\"}", get(ACCOUNT));
+    assertEquals(2, horizon.getRequestsCount());
+    assertEquals("{\"id\": \"account\"}", get(ACCOUNT));
+    assertEquals(2, horizon.getRequestsCount());
+  }
+
+  @Test
+  public void testNoCacheBypassesCache() throws IOException {
+    assertEquals("{\"id\": \"account\"}", get(ACCOUNT));
+
+    HttpGet request = new HttpGet(horizon.getUri() + ACCOUNT);
+    request.setHeader("Cache-Control", "no-cache");
+    CloseableHttpResponse response = client.execute(request);
+    try {
+      assertEquals(200, response.getStatusLine().getStatusCode());
+      assertEquals("{\"id\": \"account\"}", EntityUtils.toString(response.getEntity()));
+    } finally {
+      response.close();
+    }
+    assertEquals(2, horizon.getRequestsCount());
+    assertEquals(0, client.getHits());
+
+    // Fresh response replaced the cached one
+    assertEquals("{\"id\": \"account\"}", get(ACCOUNT));
+    assertEquals(2, horizon.getRequestsCount());
+  }
+
+  @Test
+  public void testDiskCache() throws IOException {
+    DiskResponseCache disk = new DiskResponseCache(folder.getRoot(), 1024 * 1024);
+    Header[] headers = {new BasicHeader("Content-Type", "application/json")};
+    disk.put("http://horizon/ledgers/1", new ResponseCache.Entry(new byte[]{1, 2, 3}, headers, ResponseCache.Entry.NEVER));
+
+    ResponseCache.Entry entry = new DiskResponseCache(folder.getRoot(), 1024 * 1024).get("http://horizon/ledgers/1");
+    assertNotNull(entry);
+    assertArrayEquals(new byte[]{1, 2, 3}, entry.getBody());
+    assertEquals("application/json", entry.getHeaders()[0].getValue());
+    assertEquals(ResponseCache.Entry.NEVER, entry.getExpiresAt());
+    assertNull(disk.get("http://horizon/ledgers/2"));
+  }
+
+  @Test
+  public void testDiskCacheEvictsWhenFull() throws IOException {
+    DiskResponseCache disk = new DiskResponseCache(folder.getRoot(), 2000);
+    for (int i = 0; i < 10; i++) {
+      disk.put("http://horizon/ledgers/" + i, new ResponseCache.Entry(new byte[500], new Header[0], ResponseCache.Entry.NEVER));
+    }
+    assertTrue(disk.getSize() <= 2000);
+    assertNotNull(disk.get("http://horizon/ledgers/9"));
+  }
+
+  @Test
+  public void testTieredCachePromotesEntries() throws IOException {
+    MemoryResponseCache memory = new MemoryResponseCache(1024);
+    DiskResponseCache disk = new DiskResponseCache(folder.getRoot(), 1024 * 1024);
+    disk.put("http://horizon/ledgers/1", new ResponseCache.Entry(new byte[]{1}, new Header[0], ResponseCache.Entry.NEVER));
+
+    TieredResponseCache cache = new TieredResponseCache(memory, disk);
+    assertNotNull(cache.get("http://horizon/ledgers/1"));
+    assertEquals(1, memory.size());
+    assertNotNull(memory.get("http://horizon/ledgers/1"));
+  }
+}
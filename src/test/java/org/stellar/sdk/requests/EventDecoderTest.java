@@ -0,0 +1,67 @@
+package org.stellar.sdk.requests;
+
+import com.google.gson.JsonParseException;
+
+import org.junit.Test;
+import org.stellar.sdk.AssetTypeNative;
+import org.stellar.sdk.responses.LedgerResponse;
+import org.stellar.sdk.responses.operations.OperationResponse;
+import org.stellar.sdk.responses.operations.PaymentOperationResponse;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class EventDecoderTest {
+  private static byte[] bytes(String json) {
+    return json.getBytes(StandardCharsets.UTF_8);
+  }
+
+  @Test
+  public void testSkipsHello() {
+    EventDecoder<LedgerResponse> decoder = EventDecoder.of(LedgerResponse.class);
+    assertNull(decoder.decode(bytes("\"hello\"")));
+    assertNull(decoder.decode(new byte[0]));
+    assertNull(decoder.decode((byte[]) null));
+  }
+
+  @Test
+  public void testDecodesLedger() {
+    LedgerResponse ledger = EventDecoder.of(LedgerResponse.class).decode(bytes(
+            "{\"sequence\": 898826, \"hash\": \"686bb246db89b099cd3963a4633eb5e4315d89dfd3cbbe3f7d98c8d80bd1b8e3\", " +
+            "\"paging_token\": \"3860428274794496\", \"transaction_count\": 5}"));
+
+    assertEquals(new Long(898826), ledger.getSequence());
+    assertEquals("686bb246db89b099cd3963a4633eb5e4315d89dfd3cbbe3f7d98c8d80bd1b8e3", ledger.getHash());
+    assertEquals("3860428274794496", ledger.getPagingToken());
+    assertEquals(new Integer(5), ledger.getTransactionCount());
+  }
+
+  @Test
+  public void testDecodesOperationSubclass() {
+    OperationResponse operation = EventDecoder.of(OperationResponse.class).decode(bytes(
+            "{\"amount\": \"100.0\", \"asset_type\": \"native\", " +
+            "\"from\": \"GB6NVEN5HSUBKMYCE5ZOWSK5K23TBWRUQLZY3KNMXUZ3AQ2ESC4MY4AQ\", \"id\": 3940808587743233, " +
+            "\"paging_token\": \"3940808587743233\", \"source_account\": \"GB6NVEN5HSUBKMYCE5ZOWSK5K23TBWRUQLZY3KNMXUZ3AQ2ESC4MY4AQ\", " +
+            "\"to\": \"GDWNY2POLGK65VVKIH5KQSH7VWLKRTQ5M6ADLJAYC2UEHEBEARCZJWWI\", \"type\": \"payment\", \"type_i\": 1}"));
+
+    assertTrue(operation instanceof PaymentOperationResponse);
+    PaymentOperationResponse payment = (PaymentOperationResponse) operation;
+    assertEquals("GDWNY2POLGK65VVKIH5KQSH7VWLKRTQ5M6ADLJAYC2UEHEBEARCZJWWI", payment.getTo().getAccountId());
+    assertEquals("100.0", payment.getAmount());
+    assertEquals(new AssetTypeNative(), payment.getAsset());
+  }
+
+  @Test(expected = JsonParseException.class)
+  public void testInvalidData() {
+    EventDecoder.of(LedgerResponse.class).decode(bytes("{\"sequence\": "));
+  }
+
+  @Test
+  public void testDecodersAreShared() {
+    assertSame(EventDecoder.of(LedgerResponse.class), EventDecoder.of(LedgerResponse.class));
+  }
+}
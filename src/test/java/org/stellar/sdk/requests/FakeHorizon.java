@@ -0,0 +1,79 @@
+package org.stellar.sdk.requests;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local HTTP server answering requests like Horizon does, used in tests.
+ */
+public class FakeHorizon {
+  private final HttpServer mServer;
+  private final ExecutorService mExecutor;
+  private final AtomicInteger mRequests = new AtomicInteger();
+
+  /**
+   * Returns response body for a request or null when the handler sent the response itself.
+   */
+  public interface Handler {
+    String handle(HttpExchange exchange) throws IOException;
+  }
+
+  public FakeHorizon() throws IOException {
+    mServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    mExecutor = Executors.newCachedThreadPool();
+    mServer.setExecutor(mExecutor);
+    mServer.start();
+  }
+
+  public String getUri() {
+    return "http://127.0.0.1:" + mServer.getAddress().getPort();
+  }
+
+  public int getRequestsCount() {
+    return mRequests.get();
+  }
+
+  public FakeHorizon handle(String path, final Handler handler) {
+    mServer.createContext(path, new HttpHandler() {
+      @Override
+      public void handle(HttpExchange exchange) throws IOException {
+        mRequests.incrementAndGet();
+        try {
+          String body = handler.handle(exchange);
+          if (body != null) {
+            respond(exchange, 200, body);
+          }
+        } finally {
+          exchange.close();
+        }
+      }
+    });
+    return this;
+  }
+
+  public static void respond(HttpExchange exchange, int status, String body) throws IOException {
+    byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().add("Content-Type", "application/hal+json");
+    exchange.getResponseHeaders().add("X-Ratelimit-Limit", "3600");
+    exchange.getResponseHeaders().add("X-Ratelimit-Remaining", "3599");
+    exchange.getResponseHeaders().add("X-Ratelimit-Reset", "3600");
+    exchange.sendResponseHeaders(status, bytes.length);
+    OutputStream out = exchange.getResponseBody();
+    out.write(bytes);
+    out.close();
+  }
+
+  public void stop() {
+    mServer.stop(0);
+    mExecutor.shutdownNow();
+  }
+}
@@ -0,0 +1,126 @@
+package org.stellar.sdk.requests;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import org.apache.http.HttpException;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.protocol.HttpContext;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.stellar.sdk.Server;
+import org.stellar.sdk.responses.LedgerResponse;
+import org.stellar.sdk.responses.Page;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class HttpClientConfigTest {
+  private HttpServer httpServer;
+  private String serverUri;
+
+  @Before
+  public void setUp() throws IOException {
+    httpServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    serverUri = "http://127.0.0.1:" + httpServer.getAddress().getPort();
+    httpServer.createContext("/ledgers", new HttpHandler() {
+      @Override
+      public void handle(HttpExchange exchange) throws IOException {
+        String next = exchange.getRequestURI().getQuery() == null ?
+                ",\"next\": {\"href\": \"" + serverUri + "/ledgers?cursor=2\"}" : "";
+        String json = "{\"_embedded\": {\"records\": []}, \"_links\": {\"self\": {\"href\": \"" + serverUri + "/ledgers\"}" + next + "}}";
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("X-Ratelimit-Limit", "3600");
+        exchange.getResponseHeaders().add("X-Ratelimit-Remaining", "3599");
+        exchange.getResponseHeaders().add("X-Ratelimit-Reset", "3600");
+        exchange.sendResponseHeaders(200, body.length);
+        OutputStream out = exchange.getResponseBody();
+        out.write(body);
+        out.close();
+      }
+    });
+    httpServer.start();
+  }
+
+  @After
+  public void tearDown() {
+    httpServer.stop(0);
+  }
+
+  @Test
+  public void testServerClientIsUsedByBuildersAndPages() throws IOException, URISyntaxException {
+    final AtomicInteger requests = new AtomicInteger();
+    CloseableHttpClient httpClient = HttpClients.custom()
+            .addInterceptorFirst(new HttpRequestInterceptor() {
+              @Override
+              public void process(HttpRequest request, HttpContext context) throws HttpException, IOException {
+                requests.incrementAndGet();
+              }
+            })
+            .build();
+    try {
+      Server server = new Server(serverUri, httpClient);
+      Page<LedgerResponse> page = server.ledgers().execute();
+      assertEquals(1, requests.get());
+      Page<LedgerResponse> nextPage = page.getNextPage();
+      assertEquals(2, requests.get());
+      assertNull(nextPage.getNextPage());
+    } finally {
+      httpClient.close();
+    }
+  }
+
+  @Test
+  public void testPooledClient() throws IOException {
+    HttpClientConfig config = new HttpClientConfig.Builder()
+            .setMaxConnections(4)
+            .setMaxConnectionsPerRoute(2)
+            .setSocketTimeout(5000)
+            .build();
+    Server server = new Server(serverUri, config);
+    try {
+      // More requests than pooled connections, so connections must be released after every request
+      for (int i = 0; i < 10; i++) {
+        assertEquals(0, server.ledgers().execute().getRecords().size());
+      }
+    } finally {
+      server.close();
+    }
+  }
+
+  @Test
+  public void testDefaultServersShareClient() throws IOException {
+    Server first = new Server(serverUri);
+    Server second = new Server(serverUri);
+    assertSame(HttpClientConfig.getDefaultHttpClient(), first.getHttpClient());
+    assertSame(first.getHttpClient(), second.getHttpClient());
+
+    // Shared client stays open
+    first.close();
+    assertEquals(0, second.ledgers().execute().getRecords().size());
+  }
+
+  @Test
+  public void testInvalidConfig() {
+    try {
+      new HttpClientConfig.Builder().setMaxConnections(2).setMaxConnectionsPerRoute(4).build();
+      fail();
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+  }
+}
@@ -0,0 +1,129 @@
+package org.stellar.sdk.requests;
+
+import com.sun.net.httpserver.HttpExchange;
+
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.util.EntityUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.stellar.sdk.Server;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LoadBalancingHttpClientTest {
+  private final List<FakeHorizon> nodes = new ArrayList<FakeHorizon>();
+  private final AtomicBoolean failing = new AtomicBoolean();
+  private LoadBalancingHttpClient client;
+
+  @Before
+  public void setUp() throws IOException {
+    List<URI> endpoints = new ArrayList<URI>();
+    for (int i = 0; i < 3; i++) {
+      final int index = i;
+      FakeHorizon node = new FakeHorizon().handle("/ledgers", new FakeHorizon.Handler() {
+        @Override
+        public String handle(HttpExchange exchange) throws IOException {
+          if (index == 0 && failing.get()) {
+            FakeHorizon.respond(exchange, 503, "{}");
+            return null;
+          }
+          return "{\"sequence\": " + index + "}";
+        }
+      });
+      nodes.add(node);
+      endpoints.add(URI.create(node.getUri()));
+    }
+    client = new LoadBalancingHttpClient(new HttpClientConfig.Builder().build().createHttpClient(), endpoints, 2, 60000);
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    client.close();
+    for (FakeHorizon node : nodes) {
+      node.stop();
+    }
+  }
+
+  private int get(String affinityKey) throws IOException {
+    HttpClientContext context = HttpClientContext.create();
+    if (affinityKey != null) {
+      context.setAttribute(LoadBalancingHttpClient.AFFINITY_KEY, affinityKey);
+    }
+    CloseableHttpResponse response = client.execute(new HttpGet(nodes.get(0).getUri() + "/ledgers/1"), context);
+    try {
+      return response.getStatusLine().getStatusCode();
+    } finally {
+      EntityUtils.consumeQuietly(response.getEntity());
+      response.close();
+    }
+  }
+
+  @Test
+  public void testSpreadsRequests() throws IOException {
+    for (int i = 0; i < 30; i++) {
+      assertEquals(200, get(null));
+    }
+    for (FakeHorizon node : nodes) {
+      assertTrue(node.getRequestsCount() > 0);
+    }
+  }
+
+  @Test
+  public void testEjectsFailingNode() throws IOException {
+    failing.set(true);
+    int failures = 0;
+    for (int i = 0; i < 30; i++) {
+      if (get(null) != 200) {
+        failures++;
+      }
+    }
+    assertEquals(2, failures);
+    assertEquals(2, nodes.get(0).getRequestsCount());
+    assertFalse(client.getNodes().get(0).isHealthy());
+    assertTrue(client.getNodes().get(0).getErrorRate() > 0);
+  }
+
+  @Test
+  public void testAffinityKeySticksToNode() throws IOException {
+    for (int i = 0; i < 10; i++) {
+      assertEquals(200, get("abc"));
+    }
+    int used = 0;
+    for (FakeHorizon node : nodes) {
+      if (node.getRequestsCount() > 0) {
+        assertEquals(10, node.getRequestsCount());
+        used++;
+      }
+    }
+    assertEquals(1, used);
+  }
+
+  @Test
+  public void testServerWithSeveralNodes() throws IOException {
+    Server server = new Server(Arrays.asList(nodes.get(0).getUri(), nodes.get(1).getUri(), nodes.get(2).getUri()));
+    try {
+      List<Long> sequences = new ArrayList<Long>();
+      for (int i = 0; i < 6; i++) {
+        long sequence = server.ledgers().ledger(1).getSequence();
+        if (!sequences.contains(sequence)) {
+          sequences.add(sequence);
+        }
+      }
+      assertTrue(sequences.size() > 1);
+    } finally {
+      server.close();
+    }
+  }
+}
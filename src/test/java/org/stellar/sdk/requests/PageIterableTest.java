@@ -0,0 +1,95 @@
+package org.stellar.sdk.requests;
+
+import com.sun.net.httpserver.HttpExchange;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.stellar.sdk.Server;
+import org.stellar.sdk.responses.LedgerResponse;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+public class PageIterableTest {
+  private static final int RECORDS = 5;
+
+  private FakeHorizon horizon;
+  private Server server;
+  private ExecutorService executor;
+
+  @Before
+  public void setUp() throws IOException {
+    horizon = new FakeHorizon();
+    // Two records per page, cursor is sequence of the last record
+    horizon.handle("/ledgers", new FakeHorizon.Handler() {
+      @Override
+      public String handle(HttpExchange exchange) {
+        String query = exchange.getRequestURI().getQuery();
+        int cursor = query != null && query.contains("cursor=") ? Integer.parseInt(query.replaceAll(".*cursor=(\\d+).*", "$1")) : 0;
+        StringBuilder records = new StringBuilder();
+        int last = Math.min(cursor + 2, RECORDS);
+        for (int sequence = cursor + 1; sequence <= last; sequence++) {
+          if (records.length() > 0) {
+            records.append(",");
+          }
+          records.append("{\"sequence\": ").append(sequence).append(", \"paging_token\": \"").append(sequence).append("\"}");
+        }
+        String next = horizon.getUri() + "/ledgers?cursor=" + Math.max(last, cursor);
+        return "{\"_embedded\": {\"records\": [" + records + "]}, \"_links\": {\"next\": {\"href\": \"" + next + "\"}}}";
+      }
+    });
+    server = new Server(horizon.getUri());
+    executor = Executors.newSingleThreadExecutor();
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    executor.shutdownNow();
+    server.close();
+    horizon.stop();
+  }
+
+  private static List<Long> sequences(Iterable<LedgerResponse> ledgers) {
+    List<Long> sequences = new ArrayList<Long>();
+    for (LedgerResponse ledger : ledgers) {
+      sequences.add(ledger.getSequence());
+    }
+    return sequences;
+  }
+
+  @Test
+  public void testIteratesAllPages() {
+    assertEquals(Arrays.asList(1L, 2L, 3L, 4L, 5L), sequences(server.ledgers().iterate(executor)));
+    // 3 pages with records and an empty one
+    assertEquals(4, horizon.getRequestsCount());
+  }
+
+  @Test
+  public void testIteratesWithoutPrefetch() {
+    assertEquals(Arrays.asList(1L, 2L, 3L, 4L, 5L), sequences(server.ledgers().iterate(null)));
+  }
+
+  @Test
+  public void testResumeFromCursor() {
+    PageIterable.PageIterator<LedgerResponse> iterator = server.ledgers().iterate(executor).iterator();
+    assertNull(iterator.getCursor());
+    iterator.next();
+    iterator.next();
+    iterator.next();
+    String cursor = iterator.getCursor();
+    assertEquals("3", cursor);
+    iterator.close();
+    assertFalse(iterator.hasNext());
+
+    assertEquals(Arrays.asList(4L, 5L), sequences(server.ledgers().cursor(cursor).iterate(executor)));
+  }
+}
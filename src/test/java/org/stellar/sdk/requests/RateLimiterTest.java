@@ -0,0 +1,122 @@
+package org.stellar.sdk.requests;
+
+import com.sun.net.httpserver.HttpExchange;
+
+import org.junit.After;
+import org.junit.Test;
+import org.stellar.sdk.Server;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RateLimiterTest {
+  private FakeHorizon horizon;
+  private Server server;
+
+  @After
+  public void tearDown() throws IOException {
+    if (server != null) {
+      server.close();
+    }
+    if (horizon != null) {
+      horizon.stop();
+    }
+  }
+
+  private static long millisSince(long start) {
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+  }
+
+  @Test
+  public void testBurstThenPaced() throws InterruptedException {
+    RateLimiter limiter = new RateLimiter.Builder().setMaxRequestsPerSecond(20).setBurst(2).build();
+    long start = System.nanoTime();
+    limiter.acquire();
+    limiter.acquire();
+    assertTrue(millisSince(start) < 40);
+    limiter.acquire();
+    limiter.acquire();
+    assertTrue(millisSince(start) >= 90);
+  }
+
+  @Test
+  public void testRateFollowsHeaders() throws InterruptedException {
+    RateLimiter limiter = new RateLimiter.Builder().setMaxRequestsPerSecond(100).setBurst(5).build();
+    limiter.onRateLimit(3600, 3600);
+    assertEquals(1.0, limiter.getRequestsPerSecond(), 0.001);
+    limiter.onRateLimit(1000000, 10);
+    assertEquals(100.0, limiter.getRequestsPerSecond(), 0.001);
+
+    // Only two requests left in the current window
+    limiter.onRateLimit(2, 1);
+    long start = System.nanoTime();
+    limiter.acquire();
+    limiter.acquire();
+    assertTrue(millisSince(start) < 40);
+    limiter.acquire();
+    assertTrue(millisSince(start) >= 450);
+  }
+
+  @Test
+  public void testRetryAfterPausesRequests() throws InterruptedException {
+    RateLimiter limiter = new RateLimiter.Builder().build();
+    long start = System.nanoTime();
+    limiter.onRetryAfter(1);
+    limiter.acquire();
+    assertTrue(millisSince(start) >= 990);
+  }
+
+  @Test
+  public void testRetriesTooManyRequests() throws IOException {
+    final AtomicInteger ledgerRequests = new AtomicInteger();
+    horizon = new FakeHorizon().handle("/ledgers", new FakeHorizon.Handler() {
+      @Override
+      public String handle(HttpExchange exchange) throws IOException {
+        if (ledgerRequests.incrementAndGet() == 1) {
+          exchange.getResponseHeaders().add("Retry-After", "1");
+          FakeHorizon.respond(exchange, 429, "{}");
+          return null;
+        }
+        return "{\"sequence\": 5}";
+      }
+    });
+    HttpClientConfig config = new HttpClientConfig.Builder()
+            .setRateLimiter(new RateLimiter.Builder().build())
+            .build();
+    server = new Server(horizon.getUri(), config);
+
+    long start = System.nanoTime();
+    assertEquals(Long.valueOf(5), server.ledgers().ledger(5).getSequence());
+    assertEquals(2, ledgerRequests.get());
+    assertTrue(millisSince(start) >= 990);
+  }
+
+  @Test
+  public void testThrowsWhenRetriesExhausted() throws IOException {
+    horizon = new FakeHorizon().handle("/ledgers", new FakeHorizon.Handler() {
+      @Override
+      public String handle(HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().add("Retry-After", "0");
+        FakeHorizon.respond(exchange, 429, "{}");
+        return null;
+      }
+    });
+    HttpClientConfig config = new HttpClientConfig.Builder()
+            .setRateLimiter(new RateLimiter.Builder().setMaxRetries(2).build())
+            .build();
+    server = new Server(horizon.getUri(), config);
+
+    try {
+      server.ledgers().ledger(5);
+      fail();
+    } catch (TooManyRequestsException e) {
+      assertEquals(0, e.getRetryAfter());
+    }
+    assertEquals(3, horizon.getRequestsCount());
+  }
+}
@@ -0,0 +1,245 @@
+package org.stellar.sdk.requests;
+
+import com.sun.net.httpserver.HttpExchange;
+
+import org.apache.http.client.HttpResponseException;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpPost;
+import org.junit.After;
+import org.junit.Test;
+import org.stellar.sdk.Server;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RetryingHttpClientTest {
+  private FakeHorizon horizon;
+  private FakeHorizon backup;
+  private Server server;
+
+  @After
+  public void tearDown() throws IOException {
+    if (server != null) {
+      server.close();
+    }
+    if (horizon != null) {
+      horizon.stop();
+    }
+    if (backup != null) {
+      backup.stop();
+    }
+  }
+
+  private static FakeHorizon.Handler failing(final int failures, final int statusCode) {
+    final AtomicInteger requests = new AtomicInteger();
+    return new FakeHorizon.Handler() {
+      @Override
+      public String handle(HttpExchange exchange) throws IOException {
+        if (requests.incrementAndGet() <= failures) {
+          FakeHorizon.respond(exchange, statusCode, "{}");
+          return null;
+        }
+        return "{\"sequence\": 7}";
+      }
+    };
+  }
+
+  private Server server(RetryPolicy policy) {
+    return new Server(horizon.getUri(), new HttpClientConfig.Builder().setRetryPolicy(policy).build());
+  }
+
+  @Test
+  public void testBackoffIsBounded() {
+    RetryPolicy policy = new RetryPolicy.Builder().setInitialBackoff(100).setMaxBackoff(1000).build();
+    for (int i = 0; i < 100; i++) {
+      long backoff = policy.backoff(i % 8);
+      assertTrue(backoff >= 0);
+      assertTrue(backoff < Math.min(1000, 100 << (i % 8)) || backoff == 0);
+    }
+  }
+
+  @Test
+  public void testRetriesServerErrors() throws IOException {
+    horizon = new FakeHorizon().handle("/ledgers", failing(2, 503));
+    server = server(new RetryPolicy.Builder().setInitialBackoff(10).build());
+
+    assertEquals(Long.valueOf(7), server.ledgers().ledger(7).getSequence());
+    assertEquals(3, horizon.getRequestsCount());
+  }
+
+  @Test
+  public void testGivesUpAfterMaxRetries() throws IOException {
+    horizon = new FakeHorizon().handle("/ledgers", failing(10, 500));
+    server = server(new RetryPolicy.Builder().setMaxRetries(2).setInitialBackoff(10).build());
+
+    try {
+      server.ledgers().ledger(7);
+      fail();
+    } catch (HttpResponseException e) {
+      assertEquals(500, e.getStatusCode());
+    }
+    assertEquals(3, horizon.getRequestsCount());
+  }
+
+  @Test
+  public void testDoesNotRetryClientErrorsAndPosts() throws IOException {
+    horizon = new FakeHorizon().handle("/ledgers", failing(10, 404)).handle("/transactions", failing(10, 503));
+    server = server(new RetryPolicy.Builder().setInitialBackoff(10).build());
+
+    try {
+      server.ledgers().ledger(7);
+      fail();
+    } catch (HttpResponseException e) {
+      assertEquals(404, e.getStatusCode());
+    }
+    CloseableHttpResponse response = ((RetryingHttpClient) server.getHttpClient()).execute(new HttpPost(horizon.getUri() + "/transactions"));
+    assertEquals(503, response.getStatusLine().getStatusCode());
+    response.close();
+    assertEquals(2, horizon.getRequestsCount());
+  }
+
+  @Test
+  public void testTooManyRequestsRetriedByRateLimiterOnly() throws IOException {
+    final AtomicInteger requests = new AtomicInteger();
+    horizon = new FakeHorizon().handle("/ledgers", new FakeHorizon.Handler() {
+      @Override
+      public String handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        exchange.getResponseHeaders().add("Retry-After", "0");
+        FakeHorizon.respond(exchange, 429, "{}");
+        return null;
+      }
+    });
+    server = new Server(horizon.getUri(), new HttpClientConfig.Builder()
+            .setRateLimiter(new RateLimiter.Builder().setMaxRetries(2).build())
+            .setRetryPolicy(new RetryPolicy.Builder().setMaxRetries(3).setInitialBackoff(10).build())
+            .build());
+
+    try {
+      server.ledgers().ledger(7);
+      fail("Didn't throw TooManyRequestsException");
+    } catch (TooManyRequestsException e) {
+      // expected
+    }
+    assertEquals(3, requests.get());
+  }
+
+  @Test
+  public void testHedgeKeepsServerPath() throws IOException {
+    final AtomicBoolean slow = new AtomicBoolean();
+    horizon = new FakeHorizon().handle("/ledgers", new FakeHorizon.Handler() {
+      @Override
+      public String handle(HttpExchange exchange) {
+        if (slow.get()) {
+          try {
+            Thread.sleep(3000);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        }
+        return "{\"sequence\": 1}";
+      }
+    });
+    backup = new FakeHorizon().handle("/horizon/ledgers", new FakeHorizon.Handler() {
+      @Override
+      public String handle(HttpExchange exchange) {
+        return "{\"sequence\": 2}";
+      }
+    });
+    server = server(new RetryPolicy.Builder().setHedging(URI.create(backup.getUri() + "/horizon/"), 0.9).build());
+
+    for (int i = 0; i < 20; i++) {
+      server.ledgers().ledger(1);
+    }
+    slow.set(true);
+    assertEquals(Long.valueOf(2), server.ledgers().ledger(1).getSequence());
+    assertEquals(1, backup.getRequestsCount());
+  }
+
+  @Test
+  public void testHedgesAroundLoadBalancer() throws IOException {
+    final AtomicBoolean slow = new AtomicBoolean();
+    FakeHorizon.Handler node = new FakeHorizon.Handler() {
+      @Override
+      public String handle(HttpExchange exchange) {
+        if (slow.get()) {
+          try {
+            Thread.sleep(3000);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        }
+        return "{\"sequence\": 1}";
+      }
+    };
+    horizon = new FakeHorizon().handle("/ledgers", node);
+    FakeHorizon other = new FakeHorizon().handle("/ledgers", node);
+    backup = new FakeHorizon().handle("/ledgers", new FakeHorizon.Handler() {
+      @Override
+      public String handle(HttpExchange exchange) {
+        return "{\"sequence\": 2}";
+      }
+    });
+    try {
+      server = new Server(Arrays.asList(horizon.getUri(), other.getUri()), new HttpClientConfig.Builder()
+              .setRetryPolicy(new RetryPolicy.Builder().setHedging(URI.create(backup.getUri()), 0.9).build())
+              .build());
+      for (int i = 0; i < 20; i++) {
+        server.ledgers().ledger(1);
+      }
+      assertEquals(20, horizon.getRequestsCount() + other.getRequestsCount());
+
+      slow.set(true);
+      assertEquals(Long.valueOf(2), server.ledgers().ledger(1).getSequence());
+      assertEquals(1, backup.getRequestsCount());
+      assertEquals(21, horizon.getRequestsCount() + other.getRequestsCount());
+    } finally {
+      other.stop();
+    }
+  }
+
+  @Test
+  public void testHedgesSlowRequests() throws IOException {
+    final AtomicBoolean slow = new AtomicBoolean();
+    horizon = new FakeHorizon().handle("/ledgers", new FakeHorizon.Handler() {
+      @Override
+      public String handle(HttpExchange exchange) {
+        if (slow.get()) {
+          try {
+            Thread.sleep(3000);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        }
+        return "{\"sequence\": 1}";
+      }
+    });
+    backup = new FakeHorizon().handle("/ledgers", new FakeHorizon.Handler() {
+      @Override
+      public String handle(HttpExchange exchange) {
+        return "{\"sequence\": 2}";
+      }
+    });
+    server = server(new RetryPolicy.Builder().setHedging(URI.create(backup.getUri()), 0.9).build());
+
+    // Not hedged until 20 response times are known
+    for (int i = 0; i < 20; i++) {
+      assertEquals(Long.valueOf(1), server.ledgers().ledger(1).getSequence());
+    }
+    assertEquals(0, backup.getRequestsCount());
+
+    slow.set(true);
+    long start = System.nanoTime();
+    assertEquals(Long.valueOf(2), server.ledgers().ledger(1).getSequence());
+    assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 2000);
+    assertEquals(1, backup.getRequestsCount());
+  }
+}
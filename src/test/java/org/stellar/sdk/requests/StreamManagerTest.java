@@ -0,0 +1,172 @@
+package org.stellar.sdk.requests;
+
+import com.sun.net.httpserver.HttpExchange;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.stellar.sdk.Server;
+import org.stellar.sdk.responses.LedgerResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class StreamManagerTest {
+  private FakeHorizon horizon;
+  private Server server;
+  private StreamManager manager;
+  private final List<String> queries = Collections.synchronizedList(new ArrayList<String>());
+
+  static void sendEvents(HttpExchange exchange, long... sequences) throws IOException {
+    exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+    exchange.sendResponseHeaders(200, 0);
+    OutputStream out = exchange.getResponseBody();
+    out.write("retry: 10\nevent: open\ndata: \"hello\"\n\n".getBytes(StandardCharsets.UTF_8));
+    for (long sequence : sequences) {
+      String event = "id: " + sequence + "\ndata: {\"sequence\": " + sequence + ", \"paging_token\": \"" + sequence + "\"}\n\n";
+      out.write(event.getBytes(StandardCharsets.UTF_8));
+    }
+    out.flush();
+  }
+
+  @Before
+  public void setUp() throws IOException {
+    horizon = new FakeHorizon().handle("/ledgers", new FakeHorizon.Handler() {
+      @Override
+      public String handle(HttpExchange exchange) throws IOException {
+        String query = exchange.getRequestURI().getQuery();
+        queries.add(query);
+        if (query == null) {
+          // First connection drops after two ledgers
+          sendEvents(exchange, 1, 2);
+          return null;
+        }
+        sendEvents(exchange, Long.parseLong(query.replaceAll(".*cursor=(\\d+).*", "$1")) + 1);
+        try {
+          Thread.sleep(5000);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        return null;
+      }
+    });
+    server = new Server(horizon.getUri());
+    manager = new StreamManager(50, 100);
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    manager.close();
+    server.close();
+    horizon.stop();
+  }
+
+  @Test
+  public void testResumesFromLastCursor() throws InterruptedException {
+    final List<Long> sequences = Collections.synchronizedList(new ArrayList<Long>());
+    final CountDownLatch received = new CountDownLatch(3);
+    ManagedStream<LedgerResponse> stream = server.ledgers().stream(manager, new EventListener<LedgerResponse>() {
+      @Override
+      public void onEvent(LedgerResponse ledger) {
+        sequences.add(ledger.getSequence());
+        received.countDown();
+      }
+    });
+
+    assertTrue(received.await(10, TimeUnit.SECONDS));
+    assertEquals(Arrays.asList(1L, 2L, 3L), sequences);
+    assertEquals(Arrays.asList(null, "cursor=2"), queries);
+    // Cursor advances once the listener returned
+    long deadline = System.currentTimeMillis() + 5000;
+    while (!"3".equals(stream.getCursor()) && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertEquals("3", stream.getCursor());
+    assertEquals(1, stream.getReconnects());
+    assertTrue(stream.isHealthy());
+    assertEquals(1, manager.getConnectedCount());
+
+    stream.close();
+    assertEquals(ManagedStream.State.CLOSED, stream.getState());
+    assertTrue(manager.getStreams().isEmpty());
+  }
+
+  @Test
+  public void testSkipsEventAfterMaxRedeliveries() throws InterruptedException {
+    manager.close();
+    manager = new StreamManager(50, 100, 2);
+    final AtomicInteger failures = new AtomicInteger();
+    final List<Long> sequences = Collections.synchronizedList(new ArrayList<Long>());
+    final CountDownLatch received = new CountDownLatch(2);
+    ManagedStream<LedgerResponse> stream = server.ledgers().stream(manager, new EventListener<LedgerResponse>() {
+      @Override
+      public void onEvent(LedgerResponse ledger) {
+        if (ledger.getSequence() == 1) {
+          failures.incrementAndGet();
+          throw new IllegalStateException("Cannot process ledger 1");
+        }
+        sequences.add(ledger.getSequence());
+        received.countDown();
+      }
+    });
+
+    assertTrue(received.await(10, TimeUnit.SECONDS));
+    // Delivered once and redelivered twice, then skipped
+    assertEquals(3, failures.get());
+    assertEquals(Arrays.asList(2L, 3L), sequences);
+    assertEquals(Arrays.asList(null, null, null, "cursor=2"), queries);
+    assertEquals(1, stream.getSkipped());
+    assertTrue(stream.getLastError() instanceof IllegalStateException);
+  }
+
+  @Test
+  public void testStreamsShareManager() throws InterruptedException {
+    final CountDownLatch received = new CountDownLatch(6);
+    EventListener<LedgerResponse> listener = new EventListener<LedgerResponse>() {
+      @Override
+      public void onEvent(LedgerResponse ledger) {
+        received.countDown();
+      }
+    };
+    server.ledgers().stream(manager, listener);
+    server.ledgers().stream(manager, listener);
+
+    assertTrue(received.await(10, TimeUnit.SECONDS));
+    assertEquals(2, manager.getStreams().size());
+    manager.close();
+    assertTrue(manager.getStreams().isEmpty());
+  }
+
+  @Test
+  public void testReconnectsAfterError() throws InterruptedException, IOException {
+    // Nothing is served, every connection fails with 404
+    horizon.stop();
+    horizon = new FakeHorizon();
+    ManagedStream<LedgerResponse> stream = manager.stream(URI.create(horizon.getUri() + "/ledgers"), LedgerResponse.class,
+            new EventListener<LedgerResponse>() {
+              @Override
+              public void onEvent(LedgerResponse ledger) {
+              }
+            });
+    long deadline = System.currentTimeMillis() + 5000;
+    while (stream.getReconnects() < 2 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(20);
+    }
+    assertTrue(stream.getReconnects() >= 2);
+    assertTrue(stream.getLastError() != null);
+    assertNull(stream.getCursor());
+  }
+}
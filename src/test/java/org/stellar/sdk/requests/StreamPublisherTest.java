@@ -0,0 +1,297 @@
+package org.stellar.sdk.requests;
+
+import com.sun.net.httpserver.HttpExchange;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.stellar.sdk.Server;
+import org.stellar.sdk.responses.LedgerResponse;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class StreamPublisherTest {
+  private ExecutorService executor;
+
+  @Before
+  public void setUp() {
+    executor = Executors.newSingleThreadExecutor();
+  }
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  /**
+   * Records events and requests them only when told to.
+   */
+  private static class RecordingSubscriber implements StreamPublisher.Subscriber<Integer> {
+    final List<Integer> events = Collections.synchronizedList(new ArrayList<Integer>());
+    final CountDownLatch terminated = new CountDownLatch(1);
+    volatile StreamPublisher.Subscription subscription;
+    volatile Throwable error;
+    volatile boolean completed;
+
+    @Override
+    public void onSubscribe(StreamPublisher.Subscription subscription) {
+      this.subscription = subscription;
+    }
+
+    @Override
+    public void onNext(Integer event) {
+      events.add(event);
+    }
+
+    @Override
+    public void onError(Throwable error) {
+      this.error = error;
+      terminated.countDown();
+    }
+
+    @Override
+    public void onComplete() {
+      completed = true;
+      terminated.countDown();
+    }
+  }
+
+  private StreamPublisher<Integer> publisher(int bufferSize, StreamPublisher.OverflowPolicy policy) {
+    return new StreamPublisher.Builder<Integer>(executor).setBufferSize(bufferSize).setOverflowPolicy(policy).build();
+  }
+
+  private void awaitEvents(RecordingSubscriber subscriber, int count) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5000;
+    while (subscriber.events.size() < count && System.currentTimeMillis() < deadline) {
+      Thread.sleep(5);
+    }
+  }
+
+  @Test
+  public void testDeliversOnlyRequestedEvents() throws InterruptedException {
+    StreamPublisher<Integer> publisher = publisher(10, StreamPublisher.OverflowPolicy.BLOCK);
+    RecordingSubscriber subscriber = new RecordingSubscriber();
+    publisher.subscribe(subscriber);
+    for (int i = 1; i <= 5; i++) {
+      publisher.onEvent(i);
+    }
+
+    subscriber.subscription.request(2);
+    awaitEvents(subscriber, 2);
+    Thread.sleep(50);
+    assertEquals(Arrays.asList(1, 2), subscriber.events);
+    assertEquals(3, publisher.getBuffered());
+
+    publisher.close();
+    subscriber.subscription.request(Long.MAX_VALUE);
+    assertTrue(subscriber.terminated.await(5, TimeUnit.SECONDS));
+    assertEquals(Arrays.asList(1, 2, 3, 4, 5), subscriber.events);
+    assertTrue(subscriber.completed);
+  }
+
+  @Test
+  public void testDropOldest() throws InterruptedException {
+    StreamPublisher<Integer> publisher = publisher(3, StreamPublisher.OverflowPolicy.DROP_OLDEST);
+    for (int i = 1; i <= 5; i++) {
+      publisher.onEvent(i);
+    }
+    RecordingSubscriber subscriber = new RecordingSubscriber();
+    publisher.subscribe(subscriber);
+    publisher.close();
+    subscriber.subscription.request(10);
+
+    assertTrue(subscriber.terminated.await(5, TimeUnit.SECONDS));
+    assertEquals(Arrays.asList(3, 4, 5), subscriber.events);
+    assertEquals(2, publisher.getDropped());
+  }
+
+  @Test
+  public void testDropLatest() throws InterruptedException {
+    StreamPublisher<Integer> publisher = publisher(3, StreamPublisher.OverflowPolicy.DROP_LATEST);
+    for (int i = 1; i <= 5; i++) {
+      publisher.onEvent(i);
+    }
+    RecordingSubscriber subscriber = new RecordingSubscriber();
+    publisher.subscribe(subscriber);
+    publisher.close();
+    subscriber.subscription.request(10);
+
+    assertTrue(subscriber.terminated.await(5, TimeUnit.SECONDS));
+    assertEquals(Arrays.asList(1, 2, 3), subscriber.events);
+    assertEquals(2, publisher.getDropped());
+  }
+
+  @Test
+  public void testFailClosesSource() throws InterruptedException {
+    final AtomicBoolean sourceClosed = new AtomicBoolean();
+    StreamPublisher<Integer> publisher = publisher(2, StreamPublisher.OverflowPolicy.FAIL).attach(new Closeable() {
+      @Override
+      public void close() {
+        sourceClosed.set(true);
+      }
+    });
+    RecordingSubscriber subscriber = new RecordingSubscriber();
+    publisher.subscribe(subscriber);
+    for (int i = 1; i <= 3; i++) {
+      publisher.onEvent(i);
+    }
+
+    assertTrue(subscriber.terminated.await(5, TimeUnit.SECONDS));
+    assertTrue(subscriber.error instanceof StreamPublisher.BufferOverflowException);
+    assertTrue(sourceClosed.get());
+  }
+
+  @Test
+  public void testTerminatesOnlyAfterOnSubscribe() throws InterruptedException {
+    final StreamPublisher<Integer> publisher = publisher(2, StreamPublisher.OverflowPolicy.BLOCK);
+    final AtomicBoolean terminatedEarly = new AtomicBoolean();
+    RecordingSubscriber subscriber = new RecordingSubscriber() {
+      @Override
+      public void onSubscribe(StreamPublisher.Subscription subscription) {
+        super.onSubscribe(subscription);
+        publisher.close();
+        subscription.request(1);
+        try {
+          // Give the executor a chance to complete the subscriber too early
+          Thread.sleep(50);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        terminatedEarly.set(terminated.getCount() == 0);
+      }
+    };
+    publisher.subscribe(subscriber);
+
+    assertTrue(subscriber.terminated.await(5, TimeUnit.SECONDS));
+    assertTrue(subscriber.completed);
+    assertFalse(terminatedEarly.get());
+  }
+
+  @Test
+  public void testBlockWaitsForSubscriber() throws InterruptedException {
+    final StreamPublisher<Integer> publisher = publisher(1, StreamPublisher.OverflowPolicy.BLOCK);
+    RecordingSubscriber subscriber = new RecordingSubscriber();
+    publisher.subscribe(subscriber);
+    final CountDownLatch produced = new CountDownLatch(1);
+    Thread producer = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        for (int i = 1; i <= 3; i++) {
+          publisher.onEvent(i);
+        }
+        produced.countDown();
+      }
+    });
+    producer.start();
+
+    assertFalse(produced.await(200, TimeUnit.MILLISECONDS));
+    subscriber.subscription.request(3);
+    assertTrue(produced.await(5, TimeUnit.SECONDS));
+    awaitEvents(subscriber, 3);
+    assertEquals(Arrays.asList(1, 2, 3), subscriber.events);
+    assertEquals(0, publisher.getDropped());
+  }
+
+  @Test
+  public void testBlockThrowsWhenInterrupted() throws InterruptedException {
+    final StreamPublisher<Integer> publisher = publisher(1, StreamPublisher.OverflowPolicy.BLOCK);
+    RecordingSubscriber subscriber = new RecordingSubscriber();
+    publisher.subscribe(subscriber);
+    publisher.onEvent(1);
+    final AtomicBoolean thrown = new AtomicBoolean();
+    Thread producer = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        Thread.currentThread().interrupt();
+        try {
+          publisher.onEvent(2);
+        } catch (RuntimeException e) {
+          thrown.set(Thread.currentThread().isInterrupted());
+        }
+      }
+    });
+    producer.start();
+    producer.join();
+
+    assertTrue(thrown.get());
+    subscriber.subscription.request(2);
+    awaitEvents(subscriber, 1);
+    assertEquals(Arrays.asList(1), subscriber.events);
+    assertEquals(0, publisher.getDropped());
+  }
+
+  @Test
+  public void testPublishesManagedStream() throws IOException, InterruptedException {
+    FakeHorizon horizon = new FakeHorizon().handle("/ledgers", new FakeHorizon.Handler() {
+      @Override
+      public String handle(HttpExchange exchange) throws IOException {
+        StreamManagerTest.sendEvents(exchange, 1, 2, 3);
+        try {
+          Thread.sleep(5000);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        return null;
+      }
+    });
+    Server server = new Server(horizon.getUri());
+    StreamManager manager = new StreamManager();
+    try {
+      StreamPublisher<LedgerResponse> publisher = new StreamPublisher.Builder<LedgerResponse>(executor).build();
+      final ManagedStream<LedgerResponse> stream = server.ledgers().stream(manager, publisher);
+      publisher.attach(stream);
+      final List<Long> sequences = Collections.synchronizedList(new ArrayList<Long>());
+      final CountDownLatch received = new CountDownLatch(2);
+      publisher.subscribe(new StreamPublisher.Subscriber<LedgerResponse>() {
+        private StreamPublisher.Subscription subscription;
+
+        @Override
+        public void onSubscribe(StreamPublisher.Subscription subscription) {
+          this.subscription = subscription;
+          subscription.request(1);
+        }
+
+        @Override
+        public void onNext(LedgerResponse ledger) {
+          sequences.add(ledger.getSequence());
+          received.countDown();
+          if (sequences.size() == 2) {
+            subscription.cancel();
+          } else {
+            subscription.request(1);
+          }
+        }
+
+        @Override
+        public void onError(Throwable error) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+      });
+
+      assertTrue(received.await(5, TimeUnit.SECONDS));
+      assertEquals(Arrays.asList(1L, 2L), sequences);
+      assertEquals(ManagedStream.State.CLOSED, stream.getState());
+    } finally {
+      manager.close();
+      server.close();
+      horizon.stop();
+    }
+  }
+}
@@ -1,11 +1,19 @@
 package org.stellar.sdk.requests;
 
+import com.sun.net.httpserver.HttpExchange;
+
 import org.junit.Test;
 import org.stellar.sdk.Asset;
 import org.stellar.sdk.KeyPair;
 import org.stellar.sdk.Server;
+import org.stellar.sdk.responses.Page;
+import org.stellar.sdk.responses.TradeResponse;
 
+import java.io.IOException;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import static org.junit.Assert.assertEquals;
 
@@ -33,4 +41,34 @@ public class TradesRequestBuilderTest {
                 "order=asc", uri.toString());
 
     }
+
+    @Test
+    public void testIteratesTradePages() throws IOException {
+        final FakeHorizon horizon = new FakeHorizon();
+        horizon.handle("/order_book/trades", new FakeHorizon.Handler() {
+            @Override
+            public String handle(HttpExchange exchange) {
+                String query = exchange.getRequestURI().getQuery();
+                String records = query != null && query.contains("cursor=2") ? "" :
+                        "{\"id\": \"1\", \"paging_token\": \"1\"}, {\"id\": \"2\", \"paging_token\": \"2\"}";
+                String next = horizon.getUri() + "/order_book/trades?cursor=2";
+                return "{\"_embedded\": {\"records\": [" + records + "]}, \"_links\": {\"next\": {\"href\": \"" + next + "\"}}}";
+            }
+        });
+        Server server = new Server(horizon.getUri());
+        try {
+            Page<TradeResponse> page = server.trades().execute();
+            assertEquals(2, page.getRecords().size());
+            assertEquals("2", page.getRecords().get(1).getPagingToken());
+
+            List<String> ids = new ArrayList<String>();
+            for (TradeResponse trade : server.trades().iterate(null)) {
+                ids.add(trade.getId());
+            }
+            assertEquals(Arrays.asList("1", "2"), ids);
+        } finally {
+            server.close();
+            horizon.stop();
+        }
+    }
 }
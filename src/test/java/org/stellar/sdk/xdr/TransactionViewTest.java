@@ -0,0 +1,128 @@
+package org.stellar.sdk.xdr;
+
+import org.apache.commons.codec.binary.Base64;
+import org.junit.Test;
+import org.stellar.sdk.AccountMergeOperation;
+import org.stellar.sdk.AllowTrustOperation;
+import org.stellar.sdk.AssetTypeCreditAlphaNum12;
+import org.stellar.sdk.AssetTypeCreditAlphaNum4;
+import org.stellar.sdk.AssetTypeNative;
+import org.stellar.sdk.ChangeTrustOperation;
+import org.stellar.sdk.CreatePassiveOfferOperation;
+import org.stellar.sdk.InflationOperation;
+import org.stellar.sdk.KeyPair;
+import org.stellar.sdk.ManageDataOperation;
+import org.stellar.sdk.ManageOfferOperation;
+import org.stellar.sdk.Network;
+import org.stellar.sdk.PathPaymentOperation;
+import org.stellar.sdk.PaymentOperation;
+import org.stellar.sdk.SetOptionsOperation;
+import org.stellar.sdk.Signer;
+import org.stellar.sdk.TimeBounds;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+public class TransactionViewTest {
+
+    @Test
+    public void testEnvelopeView() throws IOException {
+        // pubnet - ledgerseq 5845058, txid  d5ec6645d86cdcae8212cbe60feaefb8d6b1a8b7d11aeea590608b0863ace4de
+        String txBody = "AAAAAERmsKL73CyLV/HvjyQCERDXXpWE70Xhyb6MR5qPO3yQAAAAZAAIbkEAACD7AAAAAAAAAAN43bSwpXw8tSAhl7TBtQeOZTQAXwAAAAAAAAAAAAAAAAAAAAEAAAABAAAAAP1qe44j+i4uIT+arbD4QDQBt8ryEeJd7a0jskQ3nwDeAAAAAAAAAADdVhDVFrUiS/jPrRpblXY4bAW9u4hbRI2Hhw+2ATsFpQAAAAAtPWvAAAAAAAAAAAGPO3yQAAAAQHGWVHCBsjTyap/OY9JjPHmzWtN2Y2sL98aMERc/xJ3hcWz6kdQAwjlEhilItCyokDHCrvALZy3v/1TlaDqprA0=";
+        byte[] bytes = Base64.decodeBase64(txBody);
+
+        TransactionEnvelopeView view = TransactionEnvelopeView.fromXdrBase64(txBody);
+        TransactionEnvelope envelope = TransactionEnvelope.decode(new XdrByteBufferReader(bytes));
+
+        assertEquals(bytes.length, view.getLength());
+        assertEquals(100, view.getFee());
+        assertEquals(2373025265623291L, view.getSequenceNumber());
+        assertArrayEquals(envelope.getTx().getSourceAccount().getAccountID().getEd25519().getUint256(), view.getSourceAccountPublicKey());
+        assertNull(view.getTimeBounds());
+        assertEquals(MemoType.MEMO_HASH, view.getMemo().getDiscriminant());
+        assertEquals(1, view.getOperationCount());
+        assertEquals(OperationType.CREATE_ACCOUNT, view.getOperationType(0));
+        assertEquals(Long.valueOf(759000000L), view.getOperation(0).getBody().getCreateAccountOp().getStartingBalance().getInt64());
+        assertEquals(1, view.getSignatureCount());
+        assertArrayEquals(envelope.getSignatures()[0].getSignature().getSignature(), view.getSignature(0).getSignature().getSignature());
+    }
+
+    @Test
+    public void testEnvelopeViewAllOperations() throws IOException {
+        Network.useTestNetwork();
+        KeyPair source = KeyPair.fromSecretSeed("SCH27VUZZ6UAKB67BDNF6FA42YMBMQCBKXWGMFD5TZ6S5ZZCZFLRXKHS");
+        KeyPair other = KeyPair.fromAccountId("GDW6AUTBXTOC7FIKUO5BOO3OGLK4SF7ZPOBLMQHMZDI45J2Z6VXRB5NR");
+        AssetTypeCreditAlphaNum4 usd = new AssetTypeCreditAlphaNum4("USD", other);
+        AssetTypeCreditAlphaNum12 test = new AssetTypeCreditAlphaNum12("TESTTEST", other);
+
+        org.stellar.sdk.Transaction transaction = new org.stellar.sdk.Transaction.Builder(new org.stellar.sdk.Account(source, 1L))
+                .addOperation(new PaymentOperation.Builder(other, usd, "10").setSourceAccount(other).build())
+                .addOperation(new PathPaymentOperation.Builder(new AssetTypeNative(), "1", other, test, "2").setPath(new org.stellar.sdk.Asset[]{usd, test}).build())
+                .addOperation(new ManageOfferOperation.Builder(usd, test, "1", "0.5").setOfferId(7).build())
+                .addOperation(new CreatePassiveOfferOperation.Builder(test, usd, "1", "2").build())
+                .addOperation(new SetOptionsOperation.Builder().setInflationDestination(other).setHighThreshold(3).setHomeDomain("stellar.org").setSigner(Signer.ed25519PublicKey(other), 1).build())
+                .addOperation(new SetOptionsOperation.Builder().build())
+                .addOperation(new ChangeTrustOperation.Builder(test, "100").build())
+                .addOperation(new AllowTrustOperation.Builder(other, "USD", true).build())
+                .addOperation(new AllowTrustOperation.Builder(other, "TESTTEST", false).build())
+                .addOperation(new AccountMergeOperation.Builder(other).build())
+                .addOperation(new InflationOperation())
+                .addOperation(new ManageDataOperation.Builder("name", new byte[]{1, 2, 3}).build())
+                .addOperation(new ManageDataOperation.Builder("name", null).build())
+                .addMemo(org.stellar.sdk.Memo.text("abcde"))
+                .addTimeBounds(new TimeBounds(42, 1337))
+                .build();
+        transaction.sign(source);
+        transaction.sign(other.getPublicKey());
+
+        TransactionEnvelopeView view = TransactionEnvelopeView.fromXdrBase64(transaction.toEnvelopeXdrBase64());
+        TransactionEnvelope envelope = transaction.toEnvelopeXdr();
+
+        assertEquals(Base64.decodeBase64(transaction.toEnvelopeXdrBase64()).length, view.getLength());
+        assertEquals(transaction.getFee(), view.getFee());
+        assertEquals(transaction.getSequenceNumber(), view.getSequenceNumber());
+        assertEquals(Long.valueOf(1337), view.getTimeBounds().getMaxTime().getUint64());
+        assertEquals("abcde", view.getMemo().getText());
+        assertEquals(envelope.getTx().getOperations().length, view.getOperationCount());
+        for (int i = 0; i < view.getOperationCount(); i++) {
+            assertEquals(envelope.getTx().getOperations()[i].getBody().getDiscriminant(), view.getOperationType(i));
+            assertEquals(envelope.getTx().getOperations()[i].getBody().getDiscriminant(), view.getOperation(i).getBody().getDiscriminant());
+        }
+        assertEquals(2, view.getSignatureCount());
+        assertArrayEquals(other.getPublicKey(), view.getSignature(1).getSignature().getSignature());
+    }
+
+    @Test
+    public void testResultView() throws IOException {
+        // pubnet - ledgerseq 5845058, txid  d5ec6645d86cdcae8212cbe60feaefb8d6b1a8b7d11aeea590608b0863ace4de
+        byte[] pair = Base64.decodeBase64("1exmRdhs3K6CEsvmD+rvuNaxqLfRGu6lkGCLCGOs5N4AAAAAAAAAZAAAAAAAAAABAAAAAAAAAAAAAAAAAAAAAA==");
+        // Skip transaction hash
+        byte[] bytes = Arrays.copyOfRange(pair, 32, pair.length);
+
+        TransactionResultView view = new TransactionResultView(bytes);
+        assertEquals(bytes.length, view.getLength());
+        assertEquals(100L, view.getFeeCharged());
+        assertEquals(TransactionResultCode.txSUCCESS, view.getResultCode());
+        assertEquals(1, view.getOperationResultCount());
+        assertEquals(OperationResultCode.opINNER, view.getOperationResultCode(0));
+        assertEquals(OperationType.CREATE_ACCOUNT, view.getOperationType(0));
+        assertEquals(CreateAccountResultCode.CREATE_ACCOUNT_SUCCESS.getValue(), view.getInnerResultCode(0));
+        assertEquals(CreateAccountResultCode.CREATE_ACCOUNT_SUCCESS, view.getOperationResult(0).getTr().getCreateAccountResult().getDiscriminant());
+    }
+
+    @Test
+    public void testTruncatedEnvelope() {
+        byte[] bytes = Base64.decodeBase64("AAAAAERmsKL73CyLV/HvjyQCERDXXpWE70Xhyb6MR5qPO3yQAAAAZAAIbkEAACD7AAAAAAAAAAN43bSw");
+        try {
+            new TransactionEnvelopeView(bytes);
+            fail("Didn't throw IOException");
+        } catch (IOException expectedException) {
+            assertEquals("Unexpected end of XDR data", expectedException.getMessage());
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package org.stellar.sdk.xdr;
+
+import org.apache.commons.codec.binary.Base64;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class XdrByteBufferTest {
+    // pubnet - ledgerseq 5845058, txid  d5ec6645d86cdcae8212cbe60feaefb8d6b1a8b7d11aeea590608b0863ace4de
+    private static final String TX_ENVELOPE = "AAAAAERmsKL73CyLV/HvjyQCERDXXpWE70Xhyb6MR5qPO3yQAAAAZAAIbkEAACD7AAAAAAAAAAN43bSwpXw8tSAhl7TBtQeOZTQAXwAAAAAAAAAAAAAAAAAAAAEAAAABAAAAAP1qe44j+i4uIT+arbD4QDQBt8ryEeJd7a0jskQ3nwDeAAAAAAAAAADdVhDVFrUiS/jPrRpblXY4bAW9u4hbRI2Hhw+2ATsFpQAAAAAtPWvAAAAAAAAAAAGPO3yQAAAAQHGWVHCBsjTyap/OY9JjPHmzWtN2Y2sL98aMERc/xJ3hcWz6kdQAwjlEhilItCyokDHCrvALZy3v/1TlaDqprA0=";
+
+    @Test
+    public void testRoundTripMatchesStreams() throws IOException {
+        byte[] bytes = new Base64().decode(TX_ENVELOPE);
+
+        TransactionEnvelope envelope = TransactionEnvelope.decode(new XdrByteBufferReader(bytes));
+        assertEquals(new Long(2373025265623291L), envelope.getTx().getSeqNum().getSequenceNumber().getUint64());
+
+        ByteArrayOutputStream byteOutputStream = new ByteArrayOutputStream();
+        TransactionEnvelope.encode(new XdrDataOutputStream(byteOutputStream), envelope);
+
+        XdrByteBufferWriter writer = new XdrByteBufferWriter();
+        TransactionEnvelope.encode(writer, envelope);
+
+        assertTrue(Arrays.equals(bytes, byteOutputStream.toByteArray()));
+        assertTrue(Arrays.equals(bytes, writer.toByteArray()));
+        assertEquals(bytes.length, writer.length());
+    }
+
+    @Test
+    public void testGrowDirectBufferAndReuse() throws IOException {
+        byte[] bytes = new Base64().decode(TX_ENVELOPE);
+        TransactionEnvelope envelope = TransactionEnvelope.decode(new XdrByteBufferReader(bytes));
+
+        XdrByteBufferWriter writer = new XdrByteBufferWriter(1, true);
+        for (int i = 0; i < 3; i++) {
+            writer.reset();
+            TransactionEnvelope.encode(writer, envelope);
+            assertTrue(Arrays.equals(bytes, writer.toByteArray()));
+        }
+
+        ByteBuffer view = writer.toByteBuffer();
+        assertEquals(bytes.length, view.remaining());
+        TransactionEnvelope decoded = TransactionEnvelope.decode(new XdrByteBufferReader(view));
+        assertEquals(envelope.getSignatures().length, decoded.getSignatures().length);
+        assertEquals(0, view.remaining());
+    }
+
+    @Test
+    public void testStringPadding() throws IOException {
+        XdrByteBufferWriter writer = new XdrByteBufferWriter();
+        writer.writeString("abcde");
+        writer.writeInt(42);
+        assertEquals(16, writer.length());
+
+        XdrByteBufferReader reader = new XdrByteBufferReader(writer.toByteArray());
+        assertEquals("abcde", reader.readString());
+        assertEquals(42, reader.readInt());
+        assertEquals(0, reader.remaining());
+    }
+
+    @Test
+    public void testResetRestartsPadding() throws IOException {
+        XdrByteBufferWriter writer = new XdrByteBufferWriter();
+        writer.writeByte(1);
+        writer.reset();
+        writer.writeString("abcde");
+        assertEquals(12, writer.length());
+
+        XdrByteBufferReader reader = new XdrByteBufferReader(writer.toByteArray());
+        assertEquals("abcde", reader.readString());
+        assertEquals(0, reader.remaining());
+    }
+
+    @Test
+    public void testWrapRestartsPadding() throws IOException {
+        XdrByteBufferReader reader = new XdrByteBufferReader(new byte[]{1});
+        assertEquals(1, reader.readByte());
+
+        XdrByteBufferWriter writer = new XdrByteBufferWriter();
+        writer.writeString("abcde");
+        reader.wrap(writer.toByteBuffer());
+        assertEquals("abcde", reader.readString());
+        assertEquals(0, reader.remaining());
+    }
+}
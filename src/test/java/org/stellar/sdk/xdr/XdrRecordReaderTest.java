@@ -0,0 +1,165 @@
+package org.stellar.sdk.xdr;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+public class XdrRecordReaderTest {
+    private static final int ENTRIES = 20;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testReadPlain() throws IOException {
+        File file = writeBucket(false);
+        assertEntries(read(file, false, false));
+        assertEntries(read(file, false, true));
+    }
+
+    @Test
+    public void testReadGzipped() throws IOException {
+        File file = writeBucket(true);
+        assertEntries(read(file, true, false));
+        assertEntries(read(file, true, true));
+    }
+
+    @Test
+    public void testTruncatedRecord() throws IOException {
+        File file = folder.newFile();
+        OutputStream out = new FileOutputStream(file);
+        out.write(new byte[]{(byte) 0x80, 0, 0, 8, 0, 0, 0, 1});
+        out.close();
+
+        XdrRecordReader<BucketEntry> reader = new XdrRecordReader.Builder<BucketEntry>(new FileInputStream(file).getChannel(), XdrRecordDecoder.BUCKET_ENTRY).build();
+        try {
+            reader.read();
+            fail("Didn't throw IOException");
+        } catch (IOException expectedException) {
+            assertEquals("Truncated record", expectedException.getMessage());
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Test
+    public void testRecordTooLarge() throws IOException {
+        File file = folder.newFile();
+        OutputStream out = new FileOutputStream(file);
+        // Split record whose second fragment goes past the limit
+        out.write(new byte[]{0, 0, 0, 8, 0, 0, 0, 0, 0, 0, 0, 0, (byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff});
+        out.close();
+
+        XdrRecordReader<BucketEntry> reader = new XdrRecordReader.Builder<BucketEntry>(new FileInputStream(file).getChannel(), XdrRecordDecoder.BUCKET_ENTRY)
+                .setMaxRecordSize(1024)
+                .build();
+        try {
+            reader.read();
+            fail("Didn't throw IOException");
+        } catch (IOException expectedException) {
+            assertEquals("Record 0 is larger than 1024 bytes", expectedException.getMessage());
+        } finally {
+            reader.close();
+        }
+    }
+
+    private List<BucketEntry> read(File file, boolean gzipped, boolean memoryMapped) throws IOException {
+        XdrRecordReader<BucketEntry> reader = new XdrRecordReader.Builder<BucketEntry>(new FileInputStream(file).getChannel(), XdrRecordDecoder.BUCKET_ENTRY)
+                .setGzipped(gzipped)
+                .setMemoryMapped(memoryMapped)
+                .setMappedWindowSize(30)
+                .setBufferSize(16)
+                .build();
+        List<BucketEntry> entries = new ArrayList<BucketEntry>();
+        try {
+            for (BucketEntry entry : reader) {
+                entries.add(entry);
+            }
+            assertNull(reader.read());
+            assertEquals(ENTRIES, reader.getRecordsRead());
+        } finally {
+            reader.close();
+        }
+        return entries;
+    }
+
+    private void assertEntries(List<BucketEntry> entries) {
+        assertEquals(ENTRIES, entries.size());
+        for (int i = 0; i < ENTRIES; i++) {
+            assertEquals(BucketEntryType.DEADENTRY, entries.get(i).getDiscriminant());
+            assertArrayEquals(publicKey(i), entries.get(i).getDeadEntry().getAccount().getAccountID().getAccountID().getEd25519().getUint256());
+        }
+    }
+
+    private File writeBucket(boolean gzipped) throws IOException {
+        File file = folder.newFile();
+        OutputStream out = new FileOutputStream(file);
+        if (gzipped) {
+            out = new GZIPOutputStream(out);
+        }
+        try {
+            XdrByteBufferWriter writer = new XdrByteBufferWriter();
+            for (int i = 0; i < ENTRIES; i++) {
+                writer.reset();
+                BucketEntry.encode(writer, deadEntry(i));
+                byte[] record = writer.toByteArray();
+                if (i % 2 == 0) {
+                    writeFragment(out, record, 0, record.length, true);
+                } else {
+                    // Split odd records into two fragments
+                    writeFragment(out, record, 0, 8, false);
+                    writeFragment(out, record, 8, record.length - 8, true);
+                }
+            }
+        } finally {
+            out.close();
+        }
+        return file;
+    }
+
+    private static void writeFragment(OutputStream out, byte[] record, int offset, int length, boolean last) throws IOException {
+        int mark = last ? (length | 0x80000000) : length;
+        out.write(new byte[]{(byte) (mark >>> 24), (byte) (mark >>> 16), (byte) (mark >>> 8), (byte) mark});
+        out.write(record, offset, length);
+    }
+
+    private static BucketEntry deadEntry(int i) {
+        Uint256 ed25519 = new Uint256();
+        ed25519.setUint256(publicKey(i));
+        PublicKey publicKey = new PublicKey();
+        publicKey.setDiscriminant(PublicKeyType.PUBLIC_KEY_TYPE_ED25519);
+        publicKey.setEd25519(ed25519);
+        AccountID accountID = new AccountID();
+        accountID.setAccountID(publicKey);
+        LedgerKey.LedgerKeyAccount account = new LedgerKey.LedgerKeyAccount();
+        account.setAccountID(accountID);
+        LedgerKey key = new LedgerKey();
+        key.setDiscriminant(LedgerEntryType.ACCOUNT);
+        key.setAccount(account);
+        BucketEntry entry = new BucketEntry();
+        entry.setDiscriminant(BucketEntryType.DEADENTRY);
+        entry.setDeadEntry(key);
+        return entry;
+    }
+
+    private static byte[] publicKey(int i) {
+        byte[] publicKey = new byte[32];
+        Arrays.fill(publicKey, (byte) i);
+        return publicKey;
+    }
+}